@@ -0,0 +1,489 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Tests for the bulk operations of IndexedUnsortedList: addAll, removeAll, retainAll,
+ * removeIf, replaceAll and clear. Every list is checked against java.util.ArrayList,
+ * including lists that rely on the interface defaults and IUArrayList and
+ * IUDoubleLinkedList with their element index enabled.
+ * Run with: java BulkOperationsTester
+ *
+ * @author The Boobies
+ */
+public class BulkOperationsTester {
+
+	//tracking number of tests and test results
+	private int passes = 0;
+	private int failures = 0;
+	private int totalRun = 0;
+
+	/**
+	 * Size of the list whose removeIf must run in linear time
+	 * @var int
+	 */
+	private static final int LARGE = 1_000_000;
+
+	public static void main(String[] args) {
+		new BulkOperationsTester().runTests();
+	}
+
+	private void runTests() {
+		for (String name : ListFixtures.NAMES) {
+			Supplier<IndexedUnsortedList<Integer>> factory = () -> ListFixtures.newList(name);
+
+			printTest(name + "_addAll_append", testAddAll(factory, -1));
+			printTest(name + "_addAll_front", testAddAll(factory, 0));
+			printTest(name + "_addAll_middle", testAddAll(factory, 3));
+			printTest(name + "_addAll_itself", testAddAllItself(factory));
+			printTest(name + "_addAll_empty_false", testAddAllEmpty(factory));
+			printTest(name + "_addAll_badIndex_IOOBE", testAddAllBadIndex(factory));
+			printTest(name + "_removeAll", testRemoveAll(factory));
+			printTest(name + "_retainAll", testRetainAll(factory));
+			printTest(name + "_removeIf_none_all_half", testRemoveIf(factory));
+			printTest(name + "_removeIf_mutatingFilter_CME", testRemoveIfMutating(factory));
+			printTest(name + "_replaceAll", testReplaceAll(factory));
+			// the interface default replaceAll goes by index and cannot see modifications
+			if (name.startsWith("IUArrayList") || name.startsWith("IUSingleLinkedList") || name.startsWith("IUDoubleLinkedList")) {
+				printTest(name + "_replaceAll_mutatingOperator_CME", testReplaceAllMutating(factory));
+			}
+			printTest(name + "_clear_thenReuse", testClear(factory));
+			printTest(name + "_randomBulkOperations", testRandomOperations(factory, new Random(23)));
+		}
+
+		printTest("IUArrayList_removeIf_halfOfMillion_linear", testRemoveIfLinear(() -> ListFixtures.newList("IUArrayList")));
+		printTest("IUSingleLinkedList_removeIf_halfOfMillion_linear", testRemoveIfLinear(() -> ListFixtures.newList("IUSingleLinkedList")));
+		printTest("IUDoubleLinkedList_removeIf_halfOfMillion_linear", testRemoveIfLinear(() -> ListFixtures.newList("IUDoubleLinkedList")));
+		printTest("IUDoubleLinkedList_indexed_removeIf_halfOfMillion_linear",
+				testRemoveIfLinear(() -> ListFixtures.newList("IUDoubleLinkedList_indexed")));
+
+		System.out.printf("\nTotal Tests Run: %d,  Passed: %d (%.1f%%),  Failed: %d\n",
+				totalRun, passes, passes*100.0/totalRun, failures);
+	}
+
+	/**
+	 * Prints a test name and its result, and keeps count
+	 * @param testDesc name of the test
+	 * @param result whether the test passed
+	 */
+	private void printTest(String testDesc, boolean result) {
+		totalRun++;
+		if (result) { passes++; }
+		else { failures++; }
+		System.out.printf("%-56s\t%s\n", testDesc, (result ? "   PASS" : "***FAIL***"));
+	}
+
+	/**
+	 * Adds a block of elements at an index, or at the end when the index is negative
+	 * @return true if the list matches the model and addAll reports the change
+	 */
+	private boolean testAddAll(Supplier<IndexedUnsortedList<Integer>> factory, int index) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 6);
+			List<Integer> block = Arrays.asList(100, 101, 102, 103);
+
+			if (index < 0) {
+				if (!list.addAll(block) || !model.addAll(block)) {
+					return false;
+				}
+			} else if (!list.addAll(index, block) || !model.addAll(index, block)) {
+				return false;
+			}
+
+			// an Iterable that is not a Collection takes the element-by-element path
+			Iterable<Integer> iterable = () -> Arrays.asList(200, 201).iterator();
+			list.addAll(list.size() / 2, iterable);
+			model.addAll(model.size() / 2, Arrays.asList(200, 201));
+
+			return ListFixtures.matches(list, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if a list added into itself holds two copies of what it held
+	 */
+	private boolean testAddAllItself(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 5);
+
+			list.addAll(2, list);
+			model.addAll(2, new ArrayList<Integer>(model));
+			list.addAll(list);
+			model.addAll(new ArrayList<Integer>(model));
+
+			return ListFixtures.matches(list, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if adding nothing reports no change
+	 */
+	private boolean testAddAllEmpty(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 3);
+
+			return !list.addAll(Collections.<Integer>emptyList()) && !list.addAll(1, Collections.<Integer>emptyList())
+				&& ListFixtures.matches(list, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if addAll past either end throws IndexOutOfBoundsException and changes nothing
+	 */
+	private boolean testAddAllBadIndex(Supplier<IndexedUnsortedList<Integer>> factory) {
+		List<Integer> model = new ArrayList<Integer>();
+		IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 3);
+
+		for (int index : new int[] { -1, 4 }) {
+			try {
+				list.addAll(index, Arrays.asList(7, 8));
+				return false;
+			} catch (IndexOutOfBoundsException e) {
+				// expected
+			} catch (Exception e) {
+				e.printStackTrace();
+				return false;
+			}
+		}
+
+		return ListFixtures.matches(list, model);
+	}
+
+	/**
+	 * @return true if removeAll removes every occurrence of the given elements and reports it
+	 */
+	private boolean testRemoveAll(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 10);
+
+			list.addAll(Arrays.asList(3, 3, 9));
+			model.addAll(Arrays.asList(3, 3, 9));
+
+			Set<Integer> doomed = new HashSet<Integer>(Arrays.asList(3, 9, 42));
+
+			if (!list.removeAll(doomed) || !model.removeAll(doomed) || !ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			return !list.removeAll(doomed) && list.removeAll(new HashSet<Integer>(model)) && list.isEmpty();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if retainAll keeps only the given elements and reports it
+	 */
+	private boolean testRetainAll(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 10);
+			Set<Integer> kept = new HashSet<Integer>(Arrays.asList(0, 4, 5, 9, 42));
+
+			if (!list.retainAll(kept) || !model.retainAll(kept) || !ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			return !list.retainAll(kept) && ListFixtures.matches(list, model)
+				&& list.retainAll(Collections.emptySet()) && list.isEmpty();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if removeIf matching nothing, every other element and everything all behave
+	 */
+	private boolean testRemoveIf(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 101);
+
+			if (list.removeIf(element -> element < 0) || !ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			if (!list.removeIf(element -> element % 2 == 0) || !model.removeIf(element -> element % 2 == 0)
+					|| !ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			// the list must still work normally at both ends after the splice
+			list.addToFront(-1);
+			list.addToRear(-2);
+			model.add(0, -1);
+			model.add(-2);
+
+			if (!ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			return list.removeIf(element -> true) && list.isEmpty() && list.size() == 0 && !list.iterator().hasNext();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if a filter that adds to the list makes removeIf throw ConcurrentModificationException
+	 */
+	private boolean testRemoveIfMutating(Supplier<IndexedUnsortedList<Integer>> factory) {
+		IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, new ArrayList<Integer>(), 10);
+
+		try {
+			list.removeIf(element -> {
+				if (element == 5) {
+					list.addToRear(99);
+				}
+
+				return element % 2 == 0;
+			});
+		} catch (ConcurrentModificationException e) {
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return true if replaceAll replaces every element in order
+	 */
+	private boolean testReplaceAll(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 20);
+
+			list.replaceAll(element -> element * 3 % 7);
+			model.replaceAll(element -> element * 3 % 7);
+
+			if (!ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			// lookups must see the new elements, including with an element index
+			return list.indexOf(6) == model.indexOf(6) && list.contains(0) && !list.contains(19);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if an operator that removes from the list makes replaceAll throw ConcurrentModificationException
+	 */
+	private boolean testReplaceAllMutating(Supplier<IndexedUnsortedList<Integer>> factory) {
+		IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, new ArrayList<Integer>(), 10);
+
+		try {
+			list.replaceAll(element -> {
+				if (element == 5) {
+					list.removeLast();
+				}
+
+				return element + 1;
+			});
+		} catch (ConcurrentModificationException e) {
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+
+		return false;
+	}
+
+	/**
+	 * @return true if a cleared list is empty and can be filled again
+	 */
+	private boolean testClear(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 50);
+
+			list.clear();
+			model.clear();
+
+			if (!list.isEmpty() || list.size() != 0 || list.contains(3) || list.indexOf(3) != -1) {
+				return false;
+			}
+
+			list.addAll(Arrays.asList(3, 1, 3));
+			list.addToFront(7);
+			model.addAll(Arrays.asList(7, 3, 1, 3));
+
+			return ListFixtures.matches(list, model) && list.indexOf(3) == 1;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Mixes every bulk operation with single-element changes, checking the whole list after each
+	 * @return true if the list always matches the model
+	 */
+	private boolean testRandomOperations(Supplier<IndexedUnsortedList<Integer>> factory, Random random) {
+		try {
+			for (int trial = 0; trial < 50; trial++) {
+				IndexedUnsortedList<Integer> list = factory.get();
+				List<Integer> model = new ArrayList<Integer>();
+
+				for (int step = 0; step < 60; step++) {
+					switch (random.nextInt(9)) {
+					case 0: {
+						List<Integer> block = randomBlock(random, 8);
+						if (list.addAll(block) != model.addAll(block)) {
+							return false;
+						}
+						break;
+					}
+					case 1: {
+						List<Integer> block = randomBlock(random, 8);
+						int index = random.nextInt(model.size() + 1);
+						if (list.addAll(index, block) != model.addAll(index, block)) {
+							return false;
+						}
+						break;
+					}
+					case 2: {
+						int modulus = random.nextInt(5) + 1;
+						if (list.removeIf(element -> element % modulus == 0) != model.removeIf(element -> element % modulus == 0)) {
+							return false;
+						}
+						break;
+					}
+					case 3: {
+						Set<Integer> doomed = new HashSet<Integer>(randomBlock(random, 3));
+						if (list.removeAll(doomed) != model.removeAll(doomed)) {
+							return false;
+						}
+						break;
+					}
+					case 4: {
+						Set<Integer> kept = new HashSet<Integer>(randomBlock(random, 15));
+						if (list.retainAll(kept) != model.retainAll(kept)) {
+							return false;
+						}
+						break;
+					}
+					case 5:
+						list.replaceAll(element -> (element + 3) % 20);
+						model.replaceAll(element -> (element + 3) % 20);
+						break;
+					case 6:
+						if (random.nextInt(4) == 0) {
+							list.clear();
+							model.clear();
+						}
+						break;
+					case 7: {
+						Integer element = random.nextInt(20);
+						if (model.contains(element)) {
+							list.remove(element);
+							model.remove(element);
+						}
+						break;
+					}
+					default: {
+						Integer element = random.nextInt(20);
+						list.addToFront(element);
+						list.addToRear(element);
+						model.add(0, element);
+						model.add(element);
+					}
+					}
+
+					if (!ListFixtures.matches(list, model)) {
+						return false;
+					}
+				}
+			}
+
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Times removeIf of every other element at a tenth of the size and at full size
+	 * A quadratic removeIf takes about a hundred times longer at full size, a linear one about ten
+	 * @return true if the full-size run takes less than forty times as long, and the result is right
+	 */
+	private boolean testRemoveIfLinear(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			long small = Long.MAX_VALUE;
+			long large = Long.MAX_VALUE;
+
+			// best of several rounds, so the first runs pay for the JIT and not the comparison
+			for (int round = 0; round < 3; round++) {
+				small = Math.min(small, timeRemoveIf(factory, LARGE / 10));
+				large = Math.min(large, timeRemoveIf(factory, LARGE));
+			}
+
+			return large < 40 * small;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return nanoseconds removeIf took to remove the odd elements from a list of the given size,
+	 *         or Long.MAX_VALUE if the result was wrong
+	 */
+	private static long timeRemoveIf(Supplier<IndexedUnsortedList<Integer>> factory, int size) {
+		IndexedUnsortedList<Integer> list = factory.get();
+
+		for (int i = 0; i < size; i++) {
+			list.addToRear(i);
+		}
+
+		long start = System.nanoTime();
+		list.removeIf(element -> (element & 1) == 1);
+		long elapsed = System.nanoTime() - start;
+
+		if (list.size() != size / 2 || list.get(size / 4) != size / 2 || list.last() != size - 2) {
+			return Long.MAX_VALUE;
+		}
+
+		return elapsed;
+	}
+
+	/**
+	 * @return up to limit - 1 elements between 0 and 19
+	 */
+	private static List<Integer> randomBlock(Random random, int limit) {
+		List<Integer> block = new ArrayList<Integer>();
+
+		for (int k = random.nextInt(limit); k > 0; k--) {
+			block.add(random.nextInt(20));
+		}
+
+		return block;
+	}
+}
@@ -0,0 +1,570 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+/**
+ * Tests for the optional element index of IUArrayList and IUDoubleLinkedList.
+ * Each test drives a list with the index enabled and checks indexOf and contains
+ * against a plain scan of the same elements. IUArrayList matches elements by identity
+ * and IUDoubleLinkedList by equals, with or without the index, so the pool of elements
+ * holds Strings that are equal without being the same object.
+ * ListTester runs its full suite against both lists with the index enabled as well.
+ * Run with: java ElementIndexTester
+ *
+ * @author The Boobies
+ */
+public class ElementIndexTester {
+
+	//tracking number of tests and test results
+	private int passes = 0;
+	private int failures = 0;
+	private int totalRun = 0;
+
+	/**
+	 * Elements the tests draw from; pool[i] and pool[i + POOL / 2] are equal but not the same object
+	 * @var String array
+	 */
+	private final String[] pool;
+
+	/**
+	 * Number of elements in the pool
+	 * @var int
+	 */
+	private static final int POOL = 24;
+
+	public static void main(String[] args) {
+		new ElementIndexTester().runTests();
+	}
+
+	public ElementIndexTester() {
+		pool = new String[POOL];
+
+		for (int i = 0; i < POOL; i++) {
+			pool[i] = new String("e" + (i % (POOL / 2)));
+		}
+	}
+
+	private void runTests() {
+		printTest("IUArrayList_matchesByIdentity_indexed", testMatching(indexedArrayList(), true));
+		printTest("IUArrayList_matchesByIdentity_plain", testMatching(new IUArrayList<String>(), true));
+		printTest("IUDoubleLinkedList_matchesByEquals_indexed", testMatching(indexedDoubleLinkedList(), false));
+		printTest("IUDoubleLinkedList_matchesByEquals_plain", testMatching(new IUDoubleLinkedList<String>(), false));
+		printTest("IUArrayList_duplicates_firstOccurrence", testDuplicates(indexedArrayList(), true));
+		printTest("IUDoubleLinkedList_duplicates_firstOccurrence", testDuplicates(indexedDoubleLinkedList(), false));
+		printTest("IUArrayList_randomOperations", testRandomOperations(indexedArrayList(), true, new Random(21)));
+		printTest("IUDoubleLinkedList_randomOperations", testRandomOperations(indexedDoubleLinkedList(), false, new Random(21)));
+		printTest("IUArrayList_clear_thenReuse", testClear(indexedArrayList(), true));
+		printTest("IUDoubleLinkedList_clear_thenReuse", testClear(indexedDoubleLinkedList(), false));
+		printTest("IUArrayList_linearizeAndReorder", testLinearize());
+		printTest("IUDoubleLinkedList_sort", testSort());
+		printTest("IUDoubleLinkedList_detachAndAdopt_mergeSplice", testDetachAndAdopt());
+		printTest("IUArrayList_toggleIndex", testToggle(indexedArrayList(), true));
+		printTest("IUDoubleLinkedList_toggleIndex", testToggle(indexedDoubleLinkedList(), false));
+
+		System.out.printf("\nTotal Tests Run: %d,  Passed: %d (%.1f%%),  Failed: %d\n",
+				totalRun, passes, passes*100.0/totalRun, failures);
+	}
+
+	/**
+	 * Prints a test name and its result, and keeps count
+	 * @param testDesc name of the test
+	 * @param result whether the test passed
+	 */
+	private void printTest(String testDesc, boolean result) {
+		totalRun++;
+		if (result) { passes++; }
+		else { failures++; }
+		System.out.printf("%-46s\t%s\n", testDesc, (result ? "   PASS" : "***FAIL***"));
+	}
+
+	/**
+	 * @return an empty IUArrayList with the element index enabled
+	 */
+	private static IUArrayList<String> indexedArrayList() {
+		IUArrayList<String> list = new IUArrayList<String>();
+		list.setElementIndexEnabled(true);
+		return list;
+	}
+
+	/**
+	 * @return an empty IUDoubleLinkedList with the element index enabled
+	 */
+	private static IUDoubleLinkedList<String> indexedDoubleLinkedList() {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		list.setElementIndexEnabled(true);
+		return list;
+	}
+
+	/**
+	 * Checks that an element equal to, but not the same as, a stored one is found only when
+	 * the list matches by equals
+	 * @param list empty list to test
+	 * @param identity whether the list matches by identity
+	 * @return true if indexOf, contains and remove agree with the list's matching rule
+	 */
+	private boolean testMatching(IndexedUnsortedList<String> list, boolean identity) {
+		try {
+			String stored = pool[0];
+			String twin = pool[POOL / 2];
+
+			list.addToRear(pool[1]);
+			list.addToRear(stored);
+
+			if (list.indexOf(stored) != 1 || !list.contains(stored)) {
+				return false;
+			}
+
+			if (identity) {
+				if (list.indexOf(twin) != -1 || list.contains(twin)) {
+					return false;
+				}
+
+				try {
+					list.remove(twin);
+					return false;
+				} catch (java.util.NoSuchElementException e) {
+					// expected: the twin is not the stored object
+				}
+
+				return list.size() == 2;
+			}
+
+			return list.indexOf(twin) == 1 && list.contains(twin) && list.remove(twin) == stored && list.size() == 1;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Checks that lookups find the first of several occurrences as earlier ones are removed
+	 * @param list empty list to test
+	 * @param identity whether the list matches by identity
+	 * @return true if every lookup matches a scan
+	 */
+	private boolean testDuplicates(IndexedUnsortedList<String> list, boolean identity) {
+		try {
+			List<String> model = new ArrayList<String>();
+
+			for (int i = 0; i < 5; i++) {
+				for (String element : new String[] { pool[2], pool[3], pool[2 + POOL / 2] }) {
+					list.addToRear(element);
+					model.add(element);
+				}
+			}
+
+			for (int index = scan(model, pool[2], identity); index >= 0; index = scan(model, pool[2], identity)) {
+				if (!lookupsMatch(list, model, identity)) {
+					return false;
+				}
+
+				list.remove(pool[2]);
+				model.remove(index);
+			}
+
+			while (!model.isEmpty()) {
+				if (!lookupsMatch(list, model, identity)) {
+					return false;
+				}
+
+				list.removeFirst();
+				model.remove(0);
+			}
+
+			return lookupsMatch(list, model, identity);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Applies a long random sequence of every kind of change, checking every lookup after each
+	 * @param list empty list to test
+	 * @param identity whether the list matches by identity
+	 * @param random source of the operations
+	 * @return true if the list and every lookup always match a model list
+	 */
+	private boolean testRandomOperations(IndexedUnsortedList<String> list, boolean identity, Random random) {
+		try {
+			List<String> model = new ArrayList<String>();
+
+			for (int step = 0; step < 4000; step++) {
+				String element = pool[random.nextInt(POOL)];
+				int size = model.size();
+
+				switch (random.nextInt(16)) {
+				case 0:
+					list.addToFront(element);
+					model.add(0, element);
+					break;
+				case 1:
+					list.addToRear(element);
+					model.add(element);
+					break;
+				case 2: {
+					int index = random.nextInt(size + 1);
+					list.add(index, element);
+					model.add(index, element);
+					break;
+				}
+				case 3:
+					if (size > 0) {
+						list.removeFirst();
+						model.remove(0);
+					}
+					break;
+				case 4:
+					if (size > 0) {
+						list.removeLast();
+						model.remove(size - 1);
+					}
+					break;
+				case 5:
+					if (size > 0) {
+						int index = random.nextInt(size);
+						list.remove(index);
+						model.remove(index);
+					}
+					break;
+				case 6: {
+					int index = scan(model, element, identity);
+					if (index >= 0) {
+						list.remove(element);
+						model.remove(index);
+					}
+					break;
+				}
+				case 7: {
+					int index = scan(model, element, identity);
+					if (index >= 0) {
+						String added = pool[random.nextInt(POOL)];
+						list.addAfter(added, element);
+						model.add(index + 1, added);
+					}
+					break;
+				}
+				case 8:
+					if (size > 0) {
+						int index = random.nextInt(size);
+						list.set(index, element);
+						model.set(index, element);
+					}
+					break;
+				case 9: {
+					Iterator<String> it = list.iterator();
+					Iterator<String> modelIt = model.iterator();
+					while (modelIt.hasNext()) {
+						it.next();
+						modelIt.next();
+						if (random.nextInt(5) == 0) {
+							it.remove();
+							modelIt.remove();
+						}
+					}
+					break;
+				}
+				case 10: {
+					int index = random.nextInt(size + 1);
+					ListIterator<String> it = list.listIterator(index);
+					ListIterator<String> modelIt = model.listIterator(index);
+					for (int k = 0; k < 6; k++) {
+						int move = random.nextInt(3);
+						if (move == 0 && modelIt.hasNext()) {
+							it.next();
+							modelIt.next();
+							if (random.nextBoolean()) {
+								it.set(element);
+								modelIt.set(element);
+							} else {
+								it.remove();
+								modelIt.remove();
+							}
+						} else if (move == 1 && modelIt.hasPrevious()) {
+							it.previous();
+							modelIt.previous();
+						} else {
+							it.add(element);
+							modelIt.add(element);
+						}
+					}
+					break;
+				}
+				case 11: {
+					List<String> block = new ArrayList<String>();
+					for (int k = random.nextInt(8); k > 0; k--) {
+						block.add(pool[random.nextInt(POOL)]);
+					}
+					int index = random.nextInt(size + 1);
+					list.addAll(index, block);
+					model.addAll(index, block);
+					break;
+				}
+				case 12: {
+					String doomed = element;
+					list.removeIf(candidate -> identity ? candidate == doomed : candidate.equals(doomed));
+					model.removeIf(candidate -> identity ? candidate == doomed : candidate.equals(doomed));
+					break;
+				}
+				case 13: {
+					int from = random.nextInt(size + 1);
+					int to = from + random.nextInt(Math.min(size - from, 6) + 1);
+					list.subList(from, to).clear();
+					model.subList(from, to).clear();
+					break;
+				}
+				case 14:
+					if (random.nextInt(40) == 0) {
+						list.clear();
+						model.clear();
+					}
+					break;
+				default:
+					list.replaceAll(candidate -> candidate == pool[0] ? pool[1] : candidate);
+					model.replaceAll(candidate -> candidate == pool[0] ? pool[1] : candidate);
+					break;
+				}
+
+				if (!contentsMatch(list, model) || !lookupsMatch(list, model, identity)) {
+					System.out.println("mismatch at step " + step);
+					return false;
+				}
+			}
+
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Clears a filled list and fills it again
+	 * @param list empty list to test
+	 * @param identity whether the list matches by identity
+	 * @return true if nothing is found after the clear and everything is found after refilling
+	 */
+	private boolean testClear(IndexedUnsortedList<String> list, boolean identity) {
+		try {
+			List<String> model = new ArrayList<String>(Arrays.asList(pool));
+			list.addAll(model);
+
+			if (!lookupsMatch(list, model, identity)) {
+				return false;
+			}
+
+			list.clear();
+			model.clear();
+
+			if (!lookupsMatch(list, model, identity)) {
+				return false;
+			}
+
+			for (int i = POOL - 1; i >= 0; i -= 2) {
+				list.addToFront(pool[i]);
+				model.add(0, pool[i]);
+			}
+
+			return lookupsMatch(list, model, identity);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Reorders IUArrayList's backing array in place the way Lab12's Sort does
+	 * @return true if every lookup reflects the new order
+	 */
+	private boolean testLinearize() {
+		try {
+			IUArrayList<String> list = indexedArrayList();
+			List<String> model = new ArrayList<String>();
+
+			for (int i = 0; i < 3 * POOL; i++) {
+				// front insertions leave the ring wrapped, so linearize has to move elements too
+				String element = pool[(i * 7) % POOL];
+				list.addToFront(element);
+				model.add(0, element);
+			}
+
+			list.indexOf(pool[0]);
+			Object[] elements = list.linearize();
+			Arrays.sort(elements, 0, list.size());
+			model.sort(Comparator.naturalOrder());
+
+			return contentsMatch(list, model) && lookupsMatch(list, model, true);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Sorts an indexed IUDoubleLinkedList by relinking its nodes
+	 * @return true if every lookup reflects the sorted order
+	 */
+	private boolean testSort() {
+		try {
+			IUDoubleLinkedList<String> list = indexedDoubleLinkedList();
+			List<String> model = new ArrayList<String>();
+
+			for (int i = 0; i < 3 * POOL; i++) {
+				String element = pool[(i * 5) % POOL];
+				list.addToRear(element);
+				model.add(element);
+			}
+
+			list.indexOf(pool[0]);
+			list.sort(Comparator.reverseOrder());
+			model.sort(Comparator.reverseOrder());
+
+			return contentsMatch(list, model) && lookupsMatch(list, model, false);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Moves the nodes of one indexed IUDoubleLinkedList into another, the way Lab12's
+	 * Sort.merge splices its inputs into the result
+	 * @return true if the emptied source finds nothing and both lists work afterwards
+	 */
+	private boolean testDetachAndAdopt() {
+		try {
+			IUDoubleLinkedList<String> source = indexedDoubleLinkedList();
+			IUDoubleLinkedList<String> target = indexedDoubleLinkedList();
+			List<String> model = new ArrayList<String>();
+
+			for (int i = 0; i < POOL; i++) {
+				source.addToRear(pool[i]);
+				model.add(pool[i]);
+			}
+
+			target.addToRear(pool[0]);
+			source.indexOf(pool[3]);
+			target.indexOf(pool[0]);
+
+			Node<String> first = source.detachNodes();
+			Node<String> last = first;
+
+			while (last.getNext() != null) {
+				last = last.getNext();
+			}
+
+			target.adoptNodes(first, last, model.size());
+
+			if (!lookupsMatch(source, new ArrayList<String>(), false) || !lookupsMatch(target, model, false)) {
+				return false;
+			}
+
+			source.addToRear(pool[5]);
+			target.remove(pool[5]);
+			model.remove(5);
+
+			return lookupsMatch(source, Arrays.asList(pool[5]), false) && contentsMatch(target, model)
+				&& lookupsMatch(target, model, false);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Turns the index off and on again between changes
+	 * @param list empty list to test
+	 * @param identity whether the list matches by identity
+	 * @return true if every lookup matches a scan in both states
+	 */
+	private boolean testToggle(IndexedUnsortedList<String> list, boolean identity) {
+		try {
+			List<String> model = new ArrayList<String>();
+			Random random = new Random(5);
+
+			for (int round = 0; round < 200; round++) {
+				String element = pool[random.nextInt(POOL)];
+
+				if (random.nextBoolean() || model.isEmpty()) {
+					list.addToFront(element);
+					model.add(0, element);
+				} else {
+					list.removeLast();
+					model.remove(model.size() - 1);
+				}
+
+				if (round % 17 == 0) {
+					setIndexEnabled(list, round % 34 != 0);
+				}
+
+				if (!lookupsMatch(list, model, identity)) {
+					return false;
+				}
+			}
+
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	private static void setIndexEnabled(IndexedUnsortedList<String> list, boolean enabled) {
+		if (list instanceof IUArrayList) {
+			((IUArrayList<String>) list).setElementIndexEnabled(enabled);
+		} else {
+			((IUDoubleLinkedList<String>) list).setElementIndexEnabled(enabled);
+		}
+	}
+
+	/**
+	 * @return true if indexOf and contains agree with a scan of the model for every pool element
+	 */
+	private boolean lookupsMatch(IndexedUnsortedList<String> list, List<String> model, boolean identity) {
+		for (String element : pool) {
+			int expected = scan(model, element, identity);
+
+			if (list.indexOf(element) != expected || list.contains(element) != (expected >= 0)) {
+				return false;
+			}
+		}
+
+		return list.indexOf("absent") == -1 && !list.contains("absent");
+	}
+
+	/**
+	 * @return true if the list holds the same objects as the model, in the same order
+	 */
+	private static boolean contentsMatch(IndexedUnsortedList<String> list, List<String> model) {
+		if (list.size() != model.size()) {
+			return false;
+		}
+
+		Iterator<String> it = list.iterator();
+
+		for (String element : model) {
+			if (!it.hasNext() || it.next() != element) {
+				return false;
+			}
+		}
+
+		return !it.hasNext();
+	}
+
+	/**
+	 * @return index of the first model element matching by identity or equals, or -1
+	 */
+	private static int scan(List<String> model, String element, boolean identity) {
+		for (int i = 0; i < model.size(); i++) {
+			if (identity ? model.get(i) == element : model.get(i).equals(element)) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+}
@@ -1,8 +1,16 @@
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * ArrayList implementation of IndexedUnsortedList interface
@@ -18,18 +26,101 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
      */
     private final static int DEFAULT_CAPACITY = 100;
 
+    /**
+     * Factor the array capacity is multiplied by when the list fills up
+     * @var double
+     */
+    private final static double DEFAULT_GROWTH_FACTOR = 2.0;
+
+    /**
+     * Fraction of the capacity the list has to drop to before the array shrinks
+     * Kept well below 1 / growth factor so a list hovering around a size
+     * does not grow and shrink on every other call
+     * @var double
+     */
+    private final static double DEFAULT_SHRINK_THRESHOLD = 0.25;
+
     /**
      * Array list collection for generics
      * @var T array
      */
     private T[] list;
 
+    /**
+     * Array slot holding the first element of the list
+     * The elements wrap around the end of the array, so front and rear
+     * operations never have to shift the rest of the list
+     * @var int
+     */
+    private int front;
+
     /**
      * Both rear and modification counters
      * @var int
      */
     private int rear, modCount;
 
+    /**
+     * Capacity the array never shrinks below
+     * @var int
+     */
+    private final int minCapacity;
+
+    /**
+     * Capacity growth factor and shrink threshold for this list
+     * @var double
+     */
+    private final double growthFactor, shrinkThreshold;
+
+    /**
+     * Optional element index, mapping each element to a hint at its position and its number
+     * of occurrences; null unless enabled with setElementIndexEnabled
+     * @var IdentityHashMap<T, IndexEntry>
+     */
+    private IdentityHashMap<T, IndexEntry> elementIndex;
+
+    /**
+     * Position of index 0 in the element index; index i is at position indexBase + i
+     * Front operations move the base, so only shifts in the middle make the hints drift
+     * @var long
+     */
+    private long indexBase;
+
+    /**
+     * Whether the element index has to be rebuilt before its next lookup
+     * Set when the elements are reordered through linearize; mutations skip the index until then
+     * @var boolean
+     */
+    private boolean elementIndexStale;
+
+    /**
+     * Element index entry: where an element was last seen and how many slots hold it
+     * Shifts do not update the hint; the next lookup searches outward from it and repairs it
+     */
+    private static class IndexEntry {
+
+        /**
+         * Position the element was last seen at
+         * @var long
+         */
+        private long hint;
+
+        /**
+         * Number of slots holding the element
+         * @var int
+         */
+        private int count;
+
+        /**
+         * Class constructor
+         * @param hint position the element was stored at
+         */
+        private IndexEntry(long hint) {
+            this.hint = hint;
+            this.count = 1;
+        }
+    }
+
     /**
      * Class constructor taking no paramaters
      */
@@ -42,8 +133,27 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
      * @param initialCapacity   the initial capacity for the list array
      */
     public IUArrayList(int initialCapacity) {
-        rear = modCount = 0;
+        this(initialCapacity, DEFAULT_GROWTH_FACTOR, DEFAULT_SHRINK_THRESHOLD);
+    }
+
+    /**
+     * Class constructor taking a capacity policy
+     * @param initialCapacity   the initial capacity for the list array, also the smallest it shrinks to
+     * @param growthFactor      factor the capacity is multiplied by when the array is full (must be greater than 1)
+     * @param shrinkThreshold   fraction of the capacity the size must drop to before the array shrinks
+     *                          by the growth factor (0 disables shrinking, must be below 1 / growthFactor)
+     * @throws IllegalArgumentException thrown if any of the parameters are out of range
+     */
+    public IUArrayList(int initialCapacity, double growthFactor, double shrinkThreshold) {
+        if (initialCapacity < 0 || !(growthFactor > 1.0) || shrinkThreshold < 0.0 || shrinkThreshold >= 1.0 / growthFactor) {
+            throw new IllegalArgumentException();
+        }
+
+        front = rear = modCount = 0;
         list = (T[])(new Object[initialCapacity]);
+        minCapacity = initialCapacity;
+        this.growthFactor = growthFactor;
+        this.shrinkThreshold = shrinkThreshold;
     }
 
     /**
@@ -52,20 +162,14 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
      */
     @Override
     public void addToFront(T element) {
-        if (this.isEmpty()) {
-            this.list[0] = element;
-        } else {
-            if (this.size() == this.list.length) {
-                this.expandCapacity();
-            }
-
-            for (int shift = rear-1; shift >= 0; shift--) {
-                this.list[shift+1] = this.list[shift];
-            }
-
-            this.list[0] = element;
+        if (this.size() == this.list.length) {
+            this.expandCapacity();
         }
 
+        this.front = this.front == 0 ? this.list.length - 1 : this.front - 1;
+        this.list[front] = element;
+        this.indexBase--;
+        this.indexAdded(element, 0);
         this.modCount++;
         this.rear++;
     }
@@ -80,7 +184,8 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             this.expandCapacity();
         }
 
-        this.list[rear] = element;
+        this.list[slot(rear)] = element;
+        this.indexAdded(element, rear);
         this.modCount++;
         this.rear++;
     }
@@ -120,19 +225,26 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
      */
     @Override
     public void add(int index, T element) {
+        if (index < 0 || index > rear) {
+            throw new IndexOutOfBoundsException();
+        }
+
         if (this.size() == this.list.length) {
             this.expandCapacity();
         }
 
-        if (index < 0 || index > rear) {
-            throw new IndexOutOfBoundsException();
-        }
+        if (index < rear / 2) {
+            // Closer to the front, so move the leading elements back one slot
+            this.indexBase--;
+            this.front = this.front == 0 ? this.list.length - 1 : this.front - 1;
 
-        for (int shift = rear; shift > index; shift--) {
-            this.list[shift] = this.list[shift-1];
+            this.shiftRange(1, index + 1, -1);
+        } else {
+            this.shiftRange(index, rear, 1);
         }
 
-        this.list[index] = element;
+        this.list[slot(index)] = element;
+        this.indexAdded(element, index);
         this.modCount++;
         this.rear++;
     }
@@ -148,15 +260,15 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             throw new NoSuchElementException();
         }
 
-        T result = this.list[0];
+        T result = this.list[front];
 
-        for (int shift = 0; shift < rear-1; shift++) {
-            this.list[shift] = this.list[shift+1];
-        }
-
-        this.list[rear-1] = null;
+        this.indexRemoved(result);
+        this.indexBase++;
+        this.list[front] = null;
+        this.front = slot(1);
         this.rear--;
         this.modCount++;
+        this.shrinkIfSparse();
 
         return result;
     }
@@ -172,11 +284,13 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             throw new NoSuchElementException();
         }
 
-        T result = this.list[rear-1];
+        T result = this.list[slot(rear-1)];
 
-        this.list[rear-1] = null;
+        this.indexRemoved(result);
+        this.list[slot(rear-1)] = null;
         this.rear--;
         this.modCount++;
+        this.shrinkIfSparse();
 
         return result;
     }
@@ -189,35 +303,18 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
      */
     @Override
     public T remove(T element) {
-        if (this.isEmpty()) {
-            throw new NoSuchElementException();
-        }
-
-        T[] temp = (T[])(new Object[rear]);
-        boolean exists = false;
-        T result = null;
-
-        for (int i = 0, j = 0; i < this.rear; i++) {
-            if (this.list[i] != element) {
-                temp[j++] = this.list[i];
-            } else {
-                exists = true;
-                result = this.list[i];
-            }
-        }
+        int index = this.indexOf(element);
 
-        if (!exists) {
+        if (index < 0) {
             throw new NoSuchElementException();
-        } else {
-            this.list = temp;
-            this.rear--;
-            this.modCount++;
-            return result;
         }
+
+        return this.remove(index);
     }
 
     /**
      * Removes an item from the list at the given index and also returns the removed element
+     * Only the elements on the shorter side of the index are shifted, in place
      * @param   int     index   index at which to remove an element
      * @throws  IndexOutOfBoundsException   thrown is the given index is out of range
      * @return  T   element removed from the list
@@ -228,25 +325,26 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             throw new IndexOutOfBoundsException();
         }
 
-        T result = this.list[index];
+        T result = this.list[slot(index)];
 
-        if ((rear - 1) == 0) {
-            this.list = (T[])(new Object[DEFAULT_CAPACITY]);
-            this.rear = 0;
-        } else {
-            T[] temp = (T[])(new Object[rear-1]);
+        this.indexRemoved(result);
 
-            for (int i = 0, j = 0; i < rear - 1; i++) {
-                if (i != index) {
-                    temp[j++] = this.list[i];
-                }
-            }
+        if (index < rear / 2) {
+            this.indexBase++;
+            this.shiftRange(0, index, 1);
+
+            this.list[front] = null;
+            this.front = slot(1);
+        } else {
+            this.shiftRange(index + 1, rear, -1);
 
-            this.list = temp;
-            this.rear--;
-            this.modCount++;
+            this.list[slot(rear-1)] = null;
         }
 
+        this.rear--;
+        this.modCount++;
+        this.shrinkIfSparse();
+
         return result;
     }
 
@@ -262,7 +360,9 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             throw new IndexOutOfBoundsException();
         }
 
-        this.list[index] = element;
+        this.indexRemoved(this.list[slot(index)]);
+        this.list[slot(index)] = element;
+        this.indexAdded(element, index);
         this.modCount++;
     }
 
@@ -278,7 +378,7 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             throw new IndexOutOfBoundsException();
         }
 
-        T result = this.list[index];
+        T result = this.list[slot(index)];
         
         return result;
     }
@@ -295,10 +395,14 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             return -1;
         }
 
+        if (this.elementIndex != null) {
+            return this.indexedPosition(element);
+        }
+
         int result = -1;
 
-        for (int i = 0; i < this.list.length; i++) {
-            if (this.list[i] == element) {
+        for (int i = 0; i < this.rear; i++) {
+            if (this.list[slot(i)] == element) {
                 result = i;
                 break;
             }
@@ -318,7 +422,7 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             throw new NoSuchElementException();
         }
 
-        return this.list[0];
+        return this.list[front];
     }
 
     /**
@@ -332,7 +436,7 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             throw new NoSuchElementException();
         }
 
-        return this.list[rear - 1];
+        return this.list[slot(rear - 1)];
     }
 
     /**
@@ -346,10 +450,14 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
             return false;
         }
 
+        if (this.elementIndex != null) {
+            return this.indexedPosition(target) >= 0;
+        }
+
         boolean exists = false;
 
-        for (int i = 0; i < this.list.length; i++) {
-            if (this.list[i] == target) {
+        for (int i = 0; i < this.rear; i++) {
+            if (this.list[slot(i)] == target) {
                 exists = true;
                 break;
             }
@@ -376,6 +484,315 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
         return this.rear;
     }
 
+    /**
+     * Inserts every element of the source at the given index
+     * The source is copied out first, the array grows at most once, and the shorter
+     * side of the list moves by the whole block in one shift
+     * @param   int             index       index the first added element ends up at
+     * @param   Iterable<T>     elements    elements to add, in order
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  boolean     true if any element was added
+     */
+    @Override
+    public boolean addAll(int index, Iterable<? extends T> elements) {
+        if (index < 0 || index > rear) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        Object[] added = toArray(elements);
+        int length = added.length;
+
+        if (length == 0) {
+            return false;
+        }
+
+        if (this.rear + length > this.list.length) {
+            this.resize(Math.max(this.rear + length, (int)(this.list.length * growthFactor)));
+        }
+
+        if (index < rear / 2) {
+            // Closer to the front, so move the leading elements back by the whole block
+            this.indexBase -= length;
+            this.front = this.front < length ? this.front - length + this.list.length : this.front - length;
+
+            this.shiftRange(length, index + length, -length);
+        } else {
+            this.shiftRange(index, rear, length);
+        }
+
+        for (int i = 0; i < length; i++) {
+            @SuppressWarnings("unchecked")
+            T element = (T)added[i];
+
+            this.list[slot(index + i)] = element;
+            this.indexAdded(element, index + i);
+        }
+
+        this.rear += length;
+        this.modCount++;
+
+        return true;
+    }
+
+    /**
+     * Removes every element matching the filter in one compaction pass
+     * The filter is applied to every element before anything moves, so a filter
+     * that throws leaves the list as it was
+     * @param   Predicate<T>    filter  selects the elements to remove
+     * @throws  ConcurrentModificationException thrown if the filter modified the list
+     * @return  boolean     true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+
+        int expectedModCount = this.modCount;
+        boolean[] doomed = null;
+
+        for (int i = 0; i < this.rear; i++) {
+            if (filter.test(this.list[slot(i)])) {
+                if (doomed == null) {
+                    doomed = new boolean[this.rear];
+                }
+
+                doomed[i] = true;
+            }
+        }
+
+        if (this.modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        if (doomed == null) {
+            return false;
+        }
+
+        int kept = 0;
+
+        for (int i = 0; i < this.rear; i++) {
+            T element = this.list[slot(i)];
+
+            if (doomed[i]) {
+                this.indexRemoved(element);
+            } else {
+                this.list[slot(kept++)] = element;
+            }
+        }
+
+        for (int i = kept; i < this.rear; i++) {
+            this.list[slot(i)] = null;
+        }
+
+        this.rear = kept;
+        this.modCount++;
+        this.shrinkIfSparse();
+
+        return true;
+    }
+
+    /**
+     * Replaces every element with the result of the operator, in one pass over the array
+     * Counts as a single modification
+     * @param   UnaryOperator<T>    operator    operator to apply to each element
+     * @throws  ConcurrentModificationException thrown if the operator modified the list
+     */
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+
+        int expectedModCount = this.modCount;
+
+        for (int i = 0; i < this.rear; i++) {
+            int slot = slot(i);
+            T element = operator.apply(this.list[slot]);
+
+            if (this.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            this.indexRemoved(this.list[slot]);
+            this.list[slot] = element;
+            this.indexAdded(element, i);
+        }
+
+        this.modCount++;
+    }
+
+    /**
+     * Removes every element, shrinking the array back to its initial capacity
+     */
+    @Override
+    public void clear() {
+        if (this.list.length > minCapacity) {
+            @SuppressWarnings("unchecked")
+            T[] emptied = (T[])(new Object[minCapacity]);
+
+            this.list = emptied;
+        } else if (this.front + this.rear <= this.list.length) {
+            Arrays.fill(this.list, this.front, this.front + this.rear, null);
+        } else {
+            Arrays.fill(this.list, this.front, this.list.length, null);
+            Arrays.fill(this.list, 0, this.front + this.rear - this.list.length, null);
+        }
+
+        if (this.elementIndex != null) {
+            this.elementIndex.clear();
+            this.elementIndexStale = false;
+        }
+
+        this.front = this.rear = 0;
+        this.modCount++;
+    }
+
+    /**
+     * Returns a view of the elements from fromIndex to toIndex, backed by this list
+     * Creating the view is constant time, and so is every access through it
+     * @param   int     fromIndex   index of the first element of the view
+     * @param   int     toIndex     index just past the last element of the view
+     * @throws  IndexOutOfBoundsException   thrown if the range is out of bounds
+     * @return  IndexedUnsortedList<T>  view of the range
+     */
+    @Override
+    public IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > rear || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new IUArrayListSubList(fromIndex, toIndex - fromIndex);
+    }
+
+    /**
+     * SubList view sub class, mapping view indexes onto the list by a fixed offset
+     * Changes through the view go through this list's own methods, so they shift only
+     * the shorter side of the array and keep the element index up to date
+     */
+    private class IUArrayListSubList extends SubList<T> {
+
+        /**
+         * List index of the first element of the view, and the list modification counter the view expects
+         * @var int
+         */
+        private int offset, expectedModCount;
+
+        /**
+         * Class constructor
+         * @param offset    list index of the first element of the view
+         * @param size      number of elements in the view
+         */
+        public IUArrayListSubList(int offset, int size) {
+            super(size);
+            this.offset = offset;
+            this.expectedModCount = modCount;
+        }
+
+        /**
+         * Throws if the list was modified other than through this view
+         * @throws  ConcurrentModificationException thrown if the list was modified
+         */
+        @Override
+        void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Records a change made through the view
+         * @param   int     delta   change in the number of elements
+         */
+        private void changed(int delta) {
+            size += delta;
+            viewModCount++;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Gets the element at an index already checked
+         * @param   int     index   index in the view
+         * @return  T   element at the index
+         */
+        @Override
+        T element(int index) {
+            return list[slot(offset + index)];
+        }
+
+        /**
+         * Sets the element at the given index of the view
+         * @param   int     index   index in the view
+         * @param   T       element element to store
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         */
+        @Override
+        public void set(int index, T element) {
+            checkForComodification();
+            checkElementIndex(index);
+
+            IUArrayList.this.set(offset + index, element);
+            changed(0);
+        }
+
+        /**
+         * Inserts an element at the given index of the view
+         * @param   int     index   index in the view
+         * @param   T       element element to insert
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         */
+        @Override
+        public void add(int index, T element) {
+            checkForComodification();
+            checkPositionIndex(index);
+
+            IUArrayList.this.add(offset + index, element);
+            changed(1);
+        }
+
+        /**
+         * Removes the element at the given index of the view
+         * @param   int     index   index in the view
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         * @return  T   element removed
+         */
+        @Override
+        public T remove(int index) {
+            checkForComodification();
+            checkElementIndex(index);
+
+            T result = IUArrayList.this.remove(offset + index);
+            changed(-1);
+
+            return result;
+        }
+
+        /**
+         * Returns the index of the element in the view, matched by identity like the list itself
+         * @param   T   element     element to look for
+         * @return  int     index in the view, or -1 if the view does not contain it
+         */
+        @Override
+        public int indexOf(T element) {
+            checkForComodification();
+
+            for (int i = 0; i < size; i++) {
+                if (list[slot(offset + i)] == element) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        /**
+         * Removes every element of the view from the list with a single shift
+         */
+        @Override
+        public void clear() {
+            checkForComodification();
+
+            removeRange(offset, offset + size);
+            changed(-size);
+        }
+    }
+
     /**
      * Iterator to help with traversing through the list
      * @return  IUArrayListIterator
@@ -430,8 +847,6 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }
 
-            canRemove = false;
-
             return current < rear;
         }
 
@@ -446,7 +861,7 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
                 throw new NoSuchElementException();
             }
 
-            T item = list[current];
+            T item = list[slot(current)];
             current++;
             canRemove = true;
 
@@ -467,7 +882,8 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
                 throw new IllegalStateException();
             }
 
-            outer.remove(current-1);
+            current--;
+            outer.remove(current);
             iterModCount++;
             canRemove = false;
         }
@@ -479,35 +895,671 @@ public class IUArrayList<T> implements IndexedUnsortedList<T> {
      */
     @Override
     public ListIterator<T> listIterator() {
-        throw new UnsupportedOperationException();
+        return new IUArrayListListIterator(0, this);
     }
 
+    /**
+     * List iterator starting before the given index
+     * @param   int     startingIndex   index of the element the first call to next returns
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  ListIterator<T>
+     */
     @Override
     public ListIterator<T> listIterator(int startingIndex) {
-        throw new UnsupportedOperationException();
+        return new IUArrayListListIterator(startingIndex, this);
     }
 
     /**
-     * Doubles the capacity of the array
+     * Enumeration of various list iterator states
      */
-    private void expandCapacity() {
-        this.list = Arrays.copyOf(this.list, this.list.length * 2);
-    }
-    
+    private enum ListIteratorState { PREVIOUS, NEXT, NEITHER }
+
     /**
-     * toString method
-     * Lists all current elements contained within the list
+     * List iterator sub class
+     * Moving the cursor and set are constant time; add and remove shift
+     * the shorter side of the array once through add(int) and remove(int)
+     */
+    private class IUArrayListListIterator implements ListIterator<T> {
+
+        /**
+         * Index of the element next would return, and the list iterator modification counter
+         * @var int
+         */
+        private int nextIndex, listIterModCount;
+
+        /**
+         * Index of the element last returned by next or previous
+         * @var int
+         */
+        private int lastReturned;
+
+        /**
+         * Holds the current list iterator state we are in
+         * @var ListIteratorState
+         */
+        private ListIteratorState state;
+
+        /**
+         * Instance of the parent "outer" class
+         * @var IUArrayList<T>
+         */
+        private IUArrayList<T> outer;
+
+        /**
+         * Class constructor
+         * @param startingIndex index in which to start iteration on
+         * @param outer         instance to the parent "outer" class
+         */
+        public IUArrayListListIterator(int startingIndex, IUArrayList<T> outer) {
+            if (startingIndex < 0 || startingIndex > rear) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            this.outer = outer;
+            nextIndex = startingIndex;
+            lastReturned = -1;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+        }
+
+        /**
+         * Returns whether there is another element after the cursor
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  boolean     true if a next element exists, false otherwise
+         */
+        @Override
+        public boolean hasNext() {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            return nextIndex < rear;
+        }
+
+        /**
+         * Returns whether there is another element before the cursor
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  boolean     true if a previous element exists, false otherwise
+         */
+        @Override
+        public boolean hasPrevious() {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            return nextIndex > 0;
+        }
+
+        /**
+         * Returns the element after the cursor and moves the cursor past it
+         * @throws  NoSuchElementException  thrown if there is no next element
+         * @return  T   next element in the iteration
+         */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = nextIndex;
+            nextIndex++;
+            state = ListIteratorState.NEXT;
+
+            return list[slot(lastReturned)];
+        }
+
+        /**
+         * Returns the element before the cursor and moves the cursor before it
+         * @throws  NoSuchElementException  thrown if there is no previous element
+         * @return  T   previous element in the iteration
+         */
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+
+            nextIndex--;
+            lastReturned = nextIndex;
+            state = ListIteratorState.PREVIOUS;
+
+            return list[slot(lastReturned)];
+        }
+
+        /**
+         * Returns the next index in the iteration
+         * @return  int     next index in the iteration
+         */
+        @Override
+        public int nextIndex() {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            return nextIndex;
+        }
+
+        /**
+         * Returns the previous index in the iteration
+         * @return  int     previous index in the iteration
+         */
+        @Override
+        public int previousIndex() {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            return nextIndex - 1;
+        }
+
+        /**
+         * Removes the element last returned by next or previous
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @throws  IllegalStateException           thrown if next or previous has not been called since the last add or remove
+         */
+        @Override
+        public void remove() {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (state == ListIteratorState.NEITHER) {
+                throw new IllegalStateException();
+            }
+
+            outer.remove(lastReturned);
+
+            if (lastReturned < nextIndex) {
+                nextIndex--;
+            }
+
+            lastReturned = -1;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+        }
+
+        /**
+         * Replaces the element last returned by next or previous
+         * @param   T   element     element to put in its place
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @throws  IllegalStateException           thrown if next or previous has not been called since the last add or remove
+         */
+        @Override
+        public void set(T element) {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (state == ListIteratorState.NEITHER) {
+                throw new IllegalStateException();
+            }
+
+            outer.set(lastReturned, element);
+            listIterModCount = modCount;
+        }
+
+        /**
+         * Inserts an element just before the cursor
+         * @param   T   element     element to add to the list
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         */
+        @Override
+        public void add(T element) {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            outer.add(nextIndex, element);
+            nextIndex++;
+            lastReturned = -1;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+        }
+    }
+
+    /**
+     * Spliterator over the list that splits its index range in half in constant time
+     * Binds to the list on first use and fails fast if the list is modified structurally after that
+     * @return  Spliterator<T>
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new IUArrayListSpliterator(0, -1, 0);
+    }
+
+    /**
+     * Spliterator sub class covering the list indexes [index, fence)
+     */
+    private class IUArrayListSpliterator implements Spliterator<T> {
+
+        /**
+         * Index of the next element, index just past the last element (-1 until first use)
+         * and the modification counter the spliterator expects
+         * @var int
+         */
+        private int index, fence, expectedModCount;
+
+        /**
+         * Class constructor
+         * @param index             first list index covered
+         * @param fence             list index just past the last one covered, or -1 to bind on first use
+         * @param expectedModCount  modification counter the list should still have
+         */
+        public IUArrayListSpliterator(int index, int fence, int expectedModCount) {
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /**
+         * Returns the fence, binding to the current size of the list on first use
+         * @return  int     list index just past the last one covered
+         */
+        private int getFence() {
+            if (fence < 0) {
+                fence = rear;
+                expectedModCount = modCount;
+            }
+
+            return fence;
+        }
+
+        /**
+         * Hands the first half of the remaining range to a new spliterator
+         * @return  Spliterator<T>  spliterator over the first half, or null if fewer than two elements remain
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            int high = getFence();
+            int low = index;
+            int middle = (low + high) >>> 1;
+
+            if (low >= middle) {
+                return null;
+            }
+
+            index = middle;
+
+            return new IUArrayListSpliterator(low, middle, expectedModCount);
+        }
+
+        /**
+         * Passes the next element to the action
+         * @param   Consumer<T>     action  action to perform
+         * @throws  ConcurrentModificationException thrown if the list was modified structurally
+         * @return  boolean     true if there was an element
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+
+            if (index >= getFence()) {
+                return false;
+            }
+
+            action.accept(list[slot(index++)]);
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            return true;
+        }
+
+        /**
+         * Passes every remaining element to the action, checking for modification once at the end
+         * @param   Consumer<T>     action  action to perform
+         * @throws  ConcurrentModificationException thrown if the list was modified structurally
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+
+            int high = getFence();
+            T[] elements = list;
+            int start = front;
+
+            for (int i = index; i < high; i++) {
+                int slot = start + i;
+
+                action.accept(elements[slot >= elements.length ? slot - elements.length : slot]);
+            }
+
+            index = high;
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Returns the exact number of elements left
+         * @return  long    remaining elements
+         */
+        @Override
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        /**
+         * @return  int     ORDERED, SIZED and SUBSIZED
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+
+    /**
+     * Removes the elements at list indexes [start, end), moving whichever side of the range is shorter once
+     * @param   int     start   first list index to remove
+     * @param   int     end     list index just past the last one to remove
+     */
+    private void removeRange(int start, int end) {
+        int length = end - start;
+
+        if (length <= 0) {
+            return;
+        }
+
+        for (int i = start; i < end; i++) {
+            this.indexRemoved(this.list[slot(i)]);
+        }
+
+        if (start < this.rear - end) {
+            this.shiftRange(0, start, length);
+
+            for (int i = 0; i < length; i++) {
+                this.list[slot(i)] = null;
+            }
+
+            this.indexBase += length;
+            this.front = slot(length);
+        } else {
+            this.shiftRange(end, this.rear, -length);
+
+            for (int i = this.rear - length; i < this.rear; i++) {
+                this.list[slot(i)] = null;
+            }
+        }
+
+        this.rear -= length;
+        this.modCount++;
+        this.shrinkIfSparse();
+    }
+
+    /**
+     * Copies the elements of a source into a new array, so adding a list to itself sees it unchanged
+     * @param   Iterable<T>     elements    source to copy
+     * @return  Object array    the elements in iteration order
+     */
+    private static Object[] toArray(Iterable<?> elements) {
+        if (elements instanceof Collection) {
+            return ((Collection<?>)elements).toArray();
+        }
+
+        if (elements instanceof IndexedUnsortedList) {
+            Object[] copy = new Object[((IndexedUnsortedList<?>)elements).size()];
+            int i = 0;
+
+            for (Object element : elements) {
+                copy[i++] = element;
+            }
+
+            return copy;
+        }
+
+        ArrayList<Object> copy = new ArrayList<Object>();
+
+        for (Object element : elements) {
+            copy.add(element);
+        }
+
+        return copy.toArray();
+    }
+
+    /**
+     * Maps a list index to the array slot holding that element
+     * @param   int     index   list index to map
+     * @return  int     array slot for the given index
+     */
+    private int slot(int index) {
+        int slot = this.front + index;
+
+        return slot >= this.list.length ? slot - this.list.length : slot;
+    }
+
+    /**
+     * Moves the elements at list indexes [start, end) by offset positions
+     * The block is copied in pieces that are contiguous at both source and destination:
+     * one arraycopy when nothing wraps around the end of the array, and at most three
+     * when the source, the destination or both wrap. Moving up copies the pieces from the
+     * top down and moving down copies them from the bottom up, so no piece overwrites
+     * elements that have not been moved yet
+     * @param   int     start   first list index to move
+     * @param   int     end     list index just past the last one to move
+     * @param   int     offset  how far to move the block
+     */
+    private void shiftRange(int start, int end, int offset) {
+        int capacity = this.list.length;
+
+        if (offset < 0) {
+            for (int index = start; index < end; ) {
+                int source = slot(index);
+                int destination = slot(index + offset);
+                int run = Math.min(end - index, Math.min(capacity - source, capacity - destination));
+
+                System.arraycopy(this.list, source, this.list, destination, run);
+                index += run;
+            }
+        } else {
+            for (int index = end; index > start; ) {
+                int source = slot(index - 1);
+                int destination = slot(index - 1 + offset);
+                int run = Math.min(index - start, Math.min(source + 1, destination + 1));
+
+                System.arraycopy(this.list, source - run + 1, this.list, destination - run + 1, run);
+                index -= run;
+            }
+        }
+    }
+
+    /**
+     * Makes sure the array can hold at least the given number of elements without growing
+     * @param   int     capacity    number of elements the list should be able to hold
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > this.list.length) {
+            this.resize(capacity);
+        }
+    }
+
+    /**
+     * Shrinks the array so its capacity matches the current size of the list
+     */
+    public void trimToSize() {
+        if (this.rear < this.list.length) {
+            this.resize(this.rear);
+        }
+    }
+
+    /**
+     * Unwraps the ring so the elements occupy slots 0 to size() - 1 and hands out the backing array
+     * Lets Sort reorder the elements in place; counts as a structural modification
+     * @return  Object array    backing array, holding the list in slots 0 to size() - 1
+     */
+    Object[] linearize() {
+        if (this.front != 0) {
+            this.resize(this.list.length);
+        }
+
+        // the caller may reorder every element, so rebuilding the index beats repairing each hint
+        this.elementIndexStale = true;
+        this.modCount++;
+
+        return this.list;
+    }
+
+    /**
+     * Turns the element index on or off
+     * With the index on, contains, indexOf, addAfter and remove by element find their position
+     * in expected constant time instead of scanning the list, at the cost of a hash entry per
+     * distinct element. Elements are matched by identity, like the scans they replace
+     * @param   boolean     enabled     true to keep an element index, false to drop it
+     */
+    public void setElementIndexEnabled(boolean enabled) {
+        if (!enabled) {
+            this.elementIndex = null;
+        } else if (this.elementIndex == null) {
+            this.elementIndex = new IdentityHashMap<T, IndexEntry>();
+            this.elementIndexStale = true;
+        }
+    }
+
+    /**
+     * Returns whether the list keeps an element index
+     * @return  boolean     true if the element index is on
+     */
+    public boolean isElementIndexEnabled() {
+        return this.elementIndex != null;
+    }
+
+    /**
+     * Looks up the index of the first occurrence of an element through the element index
+     * Rebuilds the index first if it is stale. An element held once is searched for outward
+     * from its hint, which costs as many steps as it has drifted; an element held more than
+     * once is scanned for from the front, since the hint need not be its first occurrence
+     * @param   T   element     element to look up
+     * @return  int     index of the first occurrence, or -1 if the list does not contain the element
+     */
+    private int indexedPosition(T element) {
+        if (this.elementIndexStale) {
+            this.elementIndex.clear();
+            this.elementIndexStale = false;
+
+            for (int i = 0; i < this.rear; i++) {
+                this.indexAdded(this.list[slot(i)], i);
+            }
+        }
+
+        IndexEntry entry = this.elementIndex.get(element);
+
+        if (entry == null) {
+            return -1;
+        }
+
+        int index = (int)Math.max(0, Math.min(this.rear - 1, entry.hint - this.indexBase));
+
+        if (entry.count > 1) {
+            index = 0;
+
+            while (this.list[slot(index)] != element) {
+                index++;
+            }
+        } else if (this.list[slot(index)] != element) {
+            for (int distance = 1; ; distance++) {
+                if (index - distance >= 0 && this.list[slot(index - distance)] == element) {
+                    index -= distance;
+                    break;
+                }
+
+                if (index + distance < this.rear && this.list[slot(index + distance)] == element) {
+                    index += distance;
+                    break;
+                }
+            }
+        }
+
+        entry.hint = this.indexBase + index;
+
+        return index;
+    }
+
+    /**
+     * Records an element just stored at the given index in the element index
+     * @param   T       element     element stored
+     * @param   int     index       index it was stored at
+     */
+    private void indexAdded(T element, int index) {
+        if (this.elementIndex == null || this.elementIndexStale) {
+            return;
+        }
+
+        IndexEntry entry = this.elementIndex.get(element);
+
+        if (entry == null) {
+            this.elementIndex.put(element, new IndexEntry(this.indexBase + index));
+        } else {
+            entry.count++;
+        }
+    }
+
+    /**
+     * Drops an element about to be removed or overwritten from the element index
+     * @param   T   element     element being removed
+     */
+    private void indexRemoved(T element) {
+        if (this.elementIndex == null || this.elementIndexStale) {
+            return;
+        }
+
+        IndexEntry entry = this.elementIndex.get(element);
+
+        if (--entry.count == 0) {
+            this.elementIndex.remove(element);
+        }
+    }
+
+    /**
+     * Grows the capacity of the array by the growth factor
+     */
+    private void expandCapacity() {
+        this.resize(Math.max(this.list.length + 1, (int)(this.list.length * growthFactor)));
+    }
+
+    /**
+     * Shrinks the array by the growth factor once the size drops below the shrink threshold
+     */
+    private void shrinkIfSparse() {
+        if (this.list.length > minCapacity && this.rear < this.list.length * shrinkThreshold) {
+            this.resize(Math.max(minCapacity, (int)(this.list.length / growthFactor)));
+        }
+    }
+
+    /**
+     * Moves the elements into a new array of the given capacity
+     * The elements are unwrapped so the front of the list lands back at slot 0
+     * @param   int     capacity    capacity of the new array
+     */
+    private void resize(int capacity) {
+        T[] resized = (T[])(new Object[capacity]);
+        int leading = Math.min(this.rear, this.list.length - this.front);
+
+        System.arraycopy(this.list, this.front, resized, 0, leading);
+        System.arraycopy(this.list, 0, resized, leading, this.rear - leading);
+
+        this.list = resized;
+        this.front = 0;
+    }
+    
+    /**
+     * toString method
+     * Lists all current elements contained within the list
      * @return  String  list of all current elements in the list
      */
     public String toString() {
-        String result = "[";
+        StringBuilder result = new StringBuilder("[");
 
         for (int i = 0; i < this.rear; i++) {
-            result += i == 0 ? this.list[i] : ", " + this.list[i];
+            result.append(i == 0 ? "" : ", ").append(this.list[slot(i)]);
         }
 
-        result += "]";
+        result.append("]");
 
-        return result;
+        return result.toString();
     }
 }
@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * SingleLinkedList implementation of IndexedUnsortedList interface
@@ -20,12 +22,73 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
      */
     private Node<T> head, tail;
 
+    /**
+     * Node checkpoints recorded by the last split spliterator, reused while the list is unmodified
+     * Dropped whenever a node leaves the list, so the cache never keeps a removed node reachable
+     * @var NodeSpliterator.Checkpoints<T>
+     */
+    private NodeSpliterator.Checkpoints<T> checkpoints;
+
+    /**
+     * Last node reached by index, so nearby lookups can start from it
+     * @var Node<T>
+     */
+    private Node<T> finger;
+
+    /**
+     * Index of the finger node
+     * @var int
+     */
+    private int fingerIndex;
+
+    /**
+     * Optional element index, mapping each element to its first node and number of occurrences
+     * Null unless enabled with setElementIndexEnabled
+     * @var HashMap<T, IndexEntry<T>>
+     */
+    private HashMap<T, IndexEntry<T>> elementIndex;
+
+    /**
+     * Whether the element index has to be rebuilt before its next lookup
+     * Set after the nodes are reordered wholesale; mutations skip the index until then
+     * @var boolean
+     */
+    private boolean elementIndexStale;
+
+    /**
+     * Element index entry: the first node holding an element and how many nodes hold it
+     * The first node is null when it is not known, and is found again by the next lookup that needs it
+     */
+    private static class IndexEntry<T> {
+
+        /**
+         * First node holding the element, or null if not known
+         * @var Node<T>
+         */
+        private Node<T> first;
+
+        /**
+         * Number of nodes holding the element
+         * @var int
+         */
+        private int count;
+
+        /**
+         * Class constructor
+         * @param first node holding the first occurrence of the element
+         */
+        private IndexEntry(Node<T> first) {
+            this.first = first;
+            this.count = 1;
+        }
+    }
+
     /**
      * Class constructor
      */
     public IUDoubleLinkedList() {
-        count = modCount = 0;
-        head = tail = null;
+        count = modCount = fingerIndex = 0;
+        head = tail = finger = null;
     }
 
     /**
@@ -47,6 +110,8 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             head = newNode;
         }
 
+        insertedAt(0);
+        indexAdded(newNode);
         count++;
         modCount++;
     }
@@ -60,22 +125,15 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
     public void addToRear(T element) {
         Node<T> newNode = new Node<T>(element);
 
-        newNode.setNext(null);
-        Node<T> current = head;
-
-        if (head == null) {
-            newNode.setPrevious(null);
-            newNode.setNext(null);
+        if (tail == null) {
             head = tail = newNode;
         } else {
-            while (current.getNext() != null) {
-                current = current.getNext();
-            }
-
-            current.setNext(newNode);
-            newNode.setPrevious(current);
+            tail.setNext(newNode);
+            newNode.setPrevious(tail);
+            tail = newNode;
         }
 
+        indexAdded(newNode);
         count++;
         modCount++;
     }
@@ -100,29 +158,30 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
      */
     @Override
     public void addAfter(T element, T target) {
-        if (this.isEmpty() || (int)target < 0) {
-            throw new NoSuchElementException();
-        }
+        if (elementIndex != null) {
+            Node<T> found = indexedNode(target);
 
-        Node<T> current = head;
-        Node<T> newNode = new Node<T>(element);
+            if (found == null) {
+                throw new NoSuchElementException();
+            }
 
-        while (current.getNext() != null) {
-            if (current.getElement().equals(target)) {
-                newNode.setPrevious(current);
-                newNode.setNext(current.getNext());
-                current.setNext(newNode);
+            linkBefore(element, found.getNext(), -1);
+            return;
+        }
 
-                if (newNode.getNext() != null) {
-                    newNode.getNext().setPrevious(newNode);
-                }
-            }
+        Node<T> current = head;
+        int index = 0;
 
+        while (current != null && !current.getElement().equals(target)) {
             current = current.getNext();
+            index++;
         }
 
-        count++;
-        modCount++;
+        if (current == null) {
+            throw new NoSuchElementException();
+        }
+
+        linkBefore(element, current.getNext(), index + 1);
     }
 
     /**
@@ -136,26 +195,9 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
     public void add(int index, T element) {
         if (index < 0 || index > count) {
             throw new IndexOutOfBoundsException();
-        } else if (index == 0) {
-            addToFront(element);
-        } else if (index == count) {
-            addToRear(element);
-        } else {
-            Node<T> newNode = new Node<T>(element);
-            Node<T> current = head;
-
-            for (int i = 1; i < index; i++) {
-                current = current.getNext();
-            }
-
-            newNode.setNext(current.getNext());
-            current.setNext(newNode);
-            newNode.setPrevious(current);
-            newNode.getNext().setPrevious(newNode);
-
-            count++;
-            modCount++;
         }
+
+        linkBefore(element, index == count ? null : nodeAt(index), index);
     }
 
     /**
@@ -169,23 +211,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             throw new NoSuchElementException();
         }
 
-        T result = null;
-
-        if (head.getNext() == null) {
-            result = head.getElement();
-            head = null;
-            tail = null;
-        } else {
-            result = head.getElement();
-            Node<T> current = head.getNext();
-            current.setPrevious(null);
-            head = current;
-        }
-
-        count--;
-        modCount++;
-
-        return result;
+        return unlink(head, 0);
     }
 
     /**
@@ -199,30 +225,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             throw new NoSuchElementException();
         }
 
-        T result = null;
-
-        if (head.getNext() == null) {
-            result = head.getElement();
-            head = null;
-            tail = null;
-        } else {
-            Node<T> current = head;
-
-            while (current.getNext() != null) {
-                current = current.getNext();
-            }
-
-            Node<T> lastNode = current;
-            result = lastNode.getElement();
-            Node<T> previous = current.getPrevious();
-            previous.setNext(null);
-            previous.setPrevious(current.getPrevious().getPrevious());
-        }
-
-        count--;
-        modCount++;
-
-        return result;
+        return unlink(tail, count - 1);
     }
 
     /**
@@ -233,62 +236,29 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
      */
     @Override
     public T remove(T element) {
-        if (this.isEmpty() || (int)element < 0) {
-            throw new NoSuchElementException();
-        }
-
-        T result = null;
-
-        if (head.getNext() == null) {
-            result = head.getElement();
-            head = null;
-            tail = null;
-            count--;
-            modCount++;
-        } else {
-            Node<T> current = head;
-            
-            while (current.getNext() != null) {
-                if (current.getElement().equals(element)) {
-                    break;
-                }
+        if (elementIndex != null) {
+            Node<T> found = indexedNode(element);
 
-                current = current.getNext();
+            if (found == null) {
+                throw new NoSuchElementException();
             }
 
-            result = current.getElement();
+            return unlink(found, -1);
+        }
 
-            if (current.getPrevious() == null) {
-                if (current.getNext() == null) {
-                    head = null;
-                    tail = null;
-                    count--;
-                    modCount++;
-                } else {
-                    removeFirst();
-                }
-            } else {
-                Node<T> previousNode = null;
-                Node<T> nextNode = null;
+        Node<T> current = head;
+        int index = 0;
 
-                if (current.getNext() == null) {
-                    removeLast();
-                } else {
-                    previousNode = current.getPrevious();
-                    nextNode = current.getNext();
-                    previousNode.setNext(nextNode);
-                    nextNode.setPrevious(previousNode);
-                    count--;
-                    modCount++;
-                }
-            }
+        while (current != null && !current.getElement().equals(element)) {
+            current = current.getNext();
+            index++;
         }
 
-        if (result == null) {
+        if (current == null) {
             throw new NoSuchElementException();
         }
 
-        return result;
+        return unlink(current, index);
     }
 
     /**
@@ -303,49 +273,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             throw new IndexOutOfBoundsException();
         }
 
-        T result = null;
-
-        if (head.getNext() == null) {
-            result = head.getElement();
-            head = tail = null;
-            modCount++;
-            count--;
-        } else if (index == 0) {
-            result = removeFirst();
-        } else if (index == count - 1) {
-            result = removeLast();
-        } else {
-            Node<T> current = head;
-
-            for (int i = 0; i < count; i++) {
-                if (i == index) {
-                    break;
-                } else {
-                    current = current.getNext();
-                }
-            }
-
-            result = current.getElement();
-
-            Node<T> previous = null;
-            Node<T> next = null;
-
-            if (current.getNext() == null) {
-                previous = current.getPrevious();
-                next = current;
-            } else {
-                previous = current.getPrevious();
-                next = current.getNext();
-            }
-
-            previous.setNext(next);
-            next.setPrevious(previous);
-
-            modCount++;
-            count--;
-        }
-
-        return result;
+        return unlink(nodeAt(index), index);
     }
 
     /**
@@ -361,17 +289,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             throw new IndexOutOfBoundsException();
         }
 
-        Node<T> current = head;
-
-        for (int i = 0; i < count; i++) {
-            if (i == index) {
-                current.setElement(element);
-                break;
-            } else {
-                current = current.getNext();
-            }
-        }
-
+        replaceElement(nodeAt(index), element);
         modCount++;
     }
 
@@ -387,19 +305,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             throw new IndexOutOfBoundsException();
         }
 
-        T result = null;
-        Node<T> current = head;
-
-        for (int i = 0; i < count; i++) {
-            if (i == index) {
-                result = current.getElement();
-                break;
-            } else {
-                current = current.getNext();
-            }
-        }
-
-        return result;
+        return nodeAt(index).getElement();
     }
 
     /**
@@ -414,6 +320,18 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             return -1;
         }
 
+        if (elementIndex != null) {
+            Node<T> found = indexedNode(element);
+            int index = -1;
+
+            // the index only knows the node; count the links back to the head
+            for (Node<T> current = found; current != null; current = current.getPrevious()) {
+                index++;
+            }
+
+            return index;
+        }
+
         Node<T> current = head;
 
         for (int i = 0; i < count; i++) {
@@ -438,80 +356,502 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             throw new NoSuchElementException();
         }
 
-        return head.getElement();
-    }
+        return head.getElement();
+    }
+
+    /**
+     * Returns the last element in the list
+     * @throws  NoSuchElementException   thrown if the list is currently empty
+     * @return  T   the last element in the list
+     */
+    @Override
+    public T last() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return tail.getElement();
+    }
+
+    /**
+     * Returns whether the specified target is contained within the list
+     * @param   T   target  element to check whether list contains or not
+     * @return  boolean     true if list contains target element, false if list does NOT contain target element
+     */
+    @Override
+    public boolean contains(T target) {
+        if (this.isEmpty()) {
+            return false;
+        }
+
+        if (elementIndex != null) {
+            return indexedNode(target) != null;
+        }
+
+        Node<T> current = head;
+
+        while (current != null) {
+            if (current.getElement().equals(target)) {
+                return true;
+            } else {
+                current = current.getNext();
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns whether the list is currently empty
+     * @return  boolean     true if list is empty, false if list is not emtpy
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns the current size of the list
+     * @return  int     current size of the list
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Sorts the list in place by relinking its nodes, see NodeMergeSort
+     * Stable, allocates no nodes, and counts as one modification
+     * @param   Comparator<T>   c   ordering to sort by
+     */
+    public void sort(Comparator<? super T> c) {
+        modCount++;
+        finger = null;
+        fingerIndex = 0;
+        elementIndexStale = true;
+
+        if (count < 2) {
+            return;
+        }
+
+        head = NodeMergeSort.sort(head, count, c);
+        Node<T> previous = null;
+
+        // the merge only rewrote next links; rebuild the previous links and tail in one pass
+        for (Node<T> current = head; current != null; current = current.getNext()) {
+            current.setPrevious(previous);
+            previous = current;
+        }
+
+        tail = previous;
+    }
+
+    /**
+     * Inserts every element of the source at the given index
+     * The new nodes are linked into a chain while the source is read, then the whole
+     * chain is spliced in at once; only the walk to the index depends on the list size
+     * @param   int             index       index the first added element ends up at
+     * @param   Iterable<T>     elements    elements to add, in order
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  boolean     true if any element was added
+     */
+    @Override
+    public boolean addAll(int index, Iterable<? extends T> elements) {
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        Node<T> first = null;
+        Node<T> last = null;
+        int added = 0;
+
+        // reading the whole source before splicing means adding a list to itself copies it once
+        for (T element : elements) {
+            Node<T> newNode = new Node<T>(element);
+
+            if (first == null) {
+                first = newNode;
+            } else {
+                last.setNext(newNode);
+                newNode.setPrevious(last);
+            }
+
+            last = newNode;
+            added++;
+        }
+
+        if (added == 0) {
+            return false;
+        }
+
+        Node<T> successor = index == count ? null : nodeAt(index);
+        Node<T> previous = successor == null ? tail : successor.getPrevious();
+
+        first.setPrevious(previous);
+        last.setNext(successor);
+
+        if (previous == null) {
+            head = first;
+        } else {
+            previous.setNext(first);
+        }
+
+        if (successor == null) {
+            tail = last;
+        } else {
+            successor.setPrevious(last);
+        }
+
+        if (finger != null && index <= fingerIndex) {
+            fingerIndex += added;
+        }
+
+        for (Node<T> current = first; current != successor; current = current.getNext()) {
+            indexAdded(current);
+        }
+
+        count += added;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Removes every element matching the filter
+     * Tests every element before changing anything, then makes one pass linking each
+     * surviving node straight to the previous survivor, instead of unlinking removed
+     * nodes one by one; counts as a single modification
+     * @param   Predicate<T>    filter  selects the elements to remove
+     * @throws  ConcurrentModificationException thrown if the filter modifies the list
+     * @return  boolean     true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+
+        int expectedModCount = modCount;
+        boolean[] doomed = null;
+        int removed = 0;
+        int index = 0;
+
+        for (Node<T> current = head; current != null; current = current.getNext()) {
+            if (filter.test(current.getElement())) {
+                if (doomed == null) {
+                    doomed = new boolean[count];
+                }
+
+                doomed[index] = true;
+                removed++;
+            }
+
+            index++;
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        if (doomed == null) {
+            return false;
+        }
+
+        Node<T> survivor = null;
+        Node<T> current = head;
+
+        for (index = 0; current != null; index++) {
+            Node<T> next = current.getNext();
+
+            if (doomed[index]) {
+                indexRemoved(current);
+                current.setNext(null);
+                current.setPrevious(null);
+            } else {
+                splice(survivor, current);
+                survivor = current;
+            }
+
+            current = next;
+        }
+
+        splice(survivor, null);
+        count -= removed;
+        finger = null;
+        checkpoints = null;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Links two nodes as neighbours, dropping whatever lay between them
+     * @param   Node<T>     previous    node to come first, or null for the head
+     * @param   Node<T>     next        node to come second, or null for the tail
+     */
+    private void splice(Node<T> previous, Node<T> next) {
+        if (previous == null) {
+            head = next;
+        } else {
+            previous.setNext(next);
+        }
+
+        if (next == null) {
+            tail = previous;
+        } else {
+            next.setPrevious(previous);
+        }
+    }
+
+    /**
+     * Replaces every element with the result of the operator, in one traversal
+     * Counts as a single modification
+     * @param   UnaryOperator<T>    operator    operator to apply to each element
+     * @throws  ConcurrentModificationException thrown if the operator modified the list
+     */
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+
+        int expectedModCount = modCount;
+
+        for (Node<T> current = head; current != null; current = current.getNext()) {
+            T element = operator.apply(current.getElement());
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            replaceElement(current, element);
+        }
+
+        modCount++;
+    }
+
+    /**
+     * Removes every element by dropping the whole chain at once
+     */
+    @Override
+    public void clear() {
+        head = tail = finger = null;
+        count = fingerIndex = 0;
+
+        if (elementIndex != null) {
+            elementIndex.clear();
+            elementIndexStale = false;
+        }
+
+        modCount++;
+        checkpoints = null;
+    }
+
+    /**
+     * Returns a view of the elements from fromIndex to toIndex, backed by this list
+     * Creating the view is constant time; it finds its boundary nodes on first use
+     * @param   int     fromIndex   index of the first element of the view
+     * @param   int     toIndex     index just past the last element of the view
+     * @throws  IndexOutOfBoundsException   thrown if the range is out of bounds
+     * @return  IndexedUnsortedList<T>  view of the range
+     */
+    @Override
+    public IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > count || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new IUDoubleLinkedListSubList(fromIndex, toIndex);
+    }
+
+    /**
+     * SubList view sub class, holding the nodes just outside its range
+     * The boundary nodes never change while the view is valid, since only nodes inside
+     * the range are added or removed through it. Like the list, the view keeps its own
+     * finger so walking it by index costs a single link hop per step
+     */
+    private class IUDoubleLinkedListSubList extends SubList<T> {
+
+        /**
+         * Node just before the first element and node just after the last element (null at the ends of the list)
+         * @var Node<T>
+         */
+        private Node<T> before, after;
+
+        /**
+         * List index of the first element, until the boundary nodes are found (-1 after)
+         * @var int
+         */
+        private int fromIndex;
+
+        /**
+         * Last node of the view reached by index
+         * @var Node<T>
+         */
+        private Node<T> viewFinger;
+
+        /**
+         * Index in the view of the finger node, and the list modification counter the view expects
+         * @var int
+         */
+        private int viewFingerIndex, expectedModCount;
+
+        /**
+         * Class constructor
+         * @param fromIndex list index of the first element of the view
+         * @param toIndex   list index just past the last element of the view
+         */
+        public IUDoubleLinkedListSubList(int fromIndex, int toIndex) {
+            super(toIndex - fromIndex);
+            this.fromIndex = fromIndex;
+            this.expectedModCount = modCount;
+        }
+
+        /**
+         * Throws if the list was modified other than through this view, then finds the boundary nodes if needed
+         * @throws  ConcurrentModificationException thrown if the list was modified
+         */
+        @Override
+        void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (fromIndex >= 0) {
+                before = fromIndex == 0 ? null : nodeAt(fromIndex - 1);
+                after = fromIndex + size == count ? null : nodeAt(fromIndex + size);
+                fromIndex = -1;
+            }
+        }
+
+        /**
+         * Records a change made through the view
+         * @param   int     delta   change in the number of elements
+         */
+        private void changed(int delta) {
+            size += delta;
+            viewModCount++;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Finds the node at the given index of the view, from whichever end or the finger is closest
+         * @param   int     index   index in the view (must be in range)
+         * @return  Node<T>     node at the index
+         */
+        private Node<T> viewNode(int index) {
+            Node<T> current = before == null ? head : before.getNext();
+            int position = 0;
+
+            if (size - 1 - index < index) {
+                current = after == null ? tail : after.getPrevious();
+                position = size - 1;
+            }
+
+            if (viewFinger != null && Math.abs(index - viewFingerIndex) < Math.abs(index - position)) {
+                current = viewFinger;
+                position = viewFingerIndex;
+            }
+
+            while (position < index) {
+                current = current.getNext();
+                position++;
+            }
+
+            while (position > index) {
+                current = current.getPrevious();
+                position--;
+            }
+
+            viewFinger = current;
+            viewFingerIndex = index;
+
+            return current;
+        }
+
+        /**
+         * Gets the element at an index already checked
+         * @param   int     index   index in the view
+         * @return  T   element at the index
+         */
+        @Override
+        T element(int index) {
+            return viewNode(index).getElement();
+        }
+
+        /**
+         * Sets the element at the given index of the view
+         * @param   int     index   index in the view
+         * @param   T       element element to store
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         */
+        @Override
+        public void set(int index, T element) {
+            checkForComodification();
+            checkElementIndex(index);
 
-    /**
-     * Returns the last element in the list
-     * @throws  NoSuchElementException   thrown if the list is currently empty
-     * @return  T   the last element in the list
-     */
-    @Override
-    public T last() {
-        if (this.isEmpty()) {
-            throw new NoSuchElementException();
+            replaceElement(viewNode(index), element);
+            modCount++;
+            changed(0);
         }
 
-        Node<T> current = head;
-        T result = null;
+        /**
+         * Inserts an element at the given index of the view
+         * The list index is not known, so the list drops its own finger
+         * @param   int     index   index in the view
+         * @param   T       element element to insert
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         */
+        @Override
+        public void add(int index, T element) {
+            checkForComodification();
+            checkPositionIndex(index);
 
-        while (current != null) {
-            if (current.getNext() == null) {
-                result = current.getElement();
-                break;
-            } else {
-                current = current.getNext();
-            }
-        }
+            linkBefore(element, index == size ? after : viewNode(index), -1);
 
-        return result;
-    }
+            if (viewFinger != null && index <= viewFingerIndex) {
+                viewFingerIndex++;
+            }
 
-    /**
-     * Returns whether the specified target is contained within the list
-     * @param   T   target  element to check whether list contains or not
-     * @return  boolean     true if list contains target element, false if list does NOT contain target element
-     */
-    @Override
-    public boolean contains(T target) {
-        if (this.isEmpty()) {
-            return false;
+            changed(1);
         }
 
-        Node<T> current = head;
+        /**
+         * Removes the element at the given index of the view
+         * @param   int     index   index in the view
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         * @return  T   element removed
+         */
+        @Override
+        public T remove(int index) {
+            checkForComodification();
+            checkElementIndex(index);
 
-        while (current != null) {
-            if (current.getElement().equals(target)) {
-                return true;
+            Node<T> node = viewNode(index);
+
+            // hand the finger to a neighbour inside the view, as the list does
+            if (index < size - 1) {
+                viewFinger = node.getNext();
             } else {
-                current = current.getNext();
+                viewFinger = index > 0 ? node.getPrevious() : null;
+                viewFingerIndex = index - 1;
             }
-        }
 
-        return false;
-    }
+            T result = unlink(node, -1);
+            changed(-1);
 
-    /**
-     * Returns whether the list is currently empty
-     * @return  boolean     true if list is empty, false if list is not emtpy
-     */
-    @Override
-    public boolean isEmpty() {
-        return this.size() == 0;
+            return result;
+        }
     }
 
     /**
-     * Returns the current size of the list
-     * @return  int     current size of the list
+     * Spliterator over the list that splits at precomputed node checkpoints, see NodeSpliterator
+     * @return  Spliterator<T>
      */
     @Override
-    public int size() {
-        return count;
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator<T>(head, count, () -> modCount, checkpoints, recorded -> checkpoints = recorded);
     }
 
     /**
      * Iterator to assist in tranversing through the list
-     * @return  IUSingleLinkedListIterator
+     * @return  IUDoubleLinkedListIterator
      */
     @Override
     public Iterator<T> iterator() {
@@ -520,14 +860,27 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
     /**
      * Iterator sub class for our list iterator
+     * Walks the nodes directly, so each step is constant time
      */
     private class IUDoubleLinkedListIterator implements Iterator<T> {
 
         /**
-         * Iterator current index and iterator modification counter
+         * Node holding the next element to return
+         * @var Node<T>
+         */
+        private Node<T> nextNode;
+
+        /**
+         * Node holding the element last returned by next
+         * @var Node<T>
+         */
+        private Node<T> lastReturned;
+
+        /**
+         * Index of the next node and iterator modification counter
          * @var int
          */
-        private int current, iterModeCount;
+        private int nextIndex, iterModeCount;
 
         /**
          * Flag indicating whether its safe to remove an element from the list
@@ -549,7 +902,9 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             this.outer = outer;
             canRemove = false;
             iterModeCount = modCount;
-            current = 0;
+            nextNode = head;
+            nextIndex = 0;
+            lastReturned = null;
         }
 
         /**
@@ -563,9 +918,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }
 
-            canRemove = false;
-
-            return current < count;
+            return nextNode != null;
         }
 
         /**
@@ -578,10 +931,12 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new NoSuchElementException();
             }
 
-            T item = get(current);
-            current++;
+            lastReturned = nextNode;
+            nextNode = nextNode.getNext();
+            nextIndex++;
             canRemove = true;
-            return item;
+
+            return lastReturned.getElement();
         }
         
         /**
@@ -599,8 +954,10 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new IllegalStateException();
             }
 
-            outer.remove(current-1);
-            iterModeCount++;
+            nextIndex--;
+            outer.unlink(lastReturned, nextIndex);
+            lastReturned = null;
+            iterModeCount = modCount;
             canRemove = false;
         }
     }
@@ -629,9 +986,17 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
     /**
      * List Cursor class to help assist tracking the current position in the list
+     * The cursor sits between two nodes and remembers the node after it,
+     * so moving it is a single link hop
      */
     private class ListCursor {
-        
+
+        /**
+         * Node just after the cursor (null when the cursor is at the end)
+         * @var Node<T>
+         */
+        private Node<T> nextNode;
+
         /**
          * Previous and next index values
          * @var int
@@ -640,10 +1005,13 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
 
         /**
          * Class constructor
+         * @param startingIndex index of the node just after the cursor
          */
-        public ListCursor() {
-            previousIndex = -1;
-            nextIndex = 0;
+        public ListCursor(int startingIndex) {
+            nextIndex = startingIndex;
+            previousIndex = startingIndex - 1;
+
+            nextNode = startingIndex == count ? null : nodeAt(startingIndex);
         }
 
         /**
@@ -662,11 +1030,28 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
             return previousIndex;
         }
 
+        /**
+         * Returns the node just after the cursor
+         * @return  Node<T>  the next node, or null at the end of the list
+         */
+        public Node<T> getNextNode() {
+            return nextNode;
+        }
+
+        /**
+         * Returns the node just before the cursor
+         * @return  Node<T>  the previous node, or null at the start of the list
+         */
+        public Node<T> getPreviousNode() {
+            return nextNode == null ? tail : nextNode.getPrevious();
+        }
+
         /**
          * Shifts the cursor one element to the right
          */
         public void shiftRight() {
-            if (nextIndex < count) {
+            if (nextNode != null) {
+                nextNode = nextNode.getNext();
                 previousIndex++;
                 nextIndex++;
             }
@@ -677,10 +1062,35 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
          */
         public void shiftLeft() {
             if (previousIndex > -1) {
+                nextNode = getPreviousNode();
                 previousIndex--;
                 nextIndex--;
             }
         }
+
+        /**
+         * Moves the cursor past a node that was just inserted before it
+         */
+        public void skipInserted() {
+            previousIndex++;
+            nextIndex++;
+        }
+
+        /**
+         * Re-anchors the cursor after the node just after it was removed
+         * @param   Node<T>  node    node that now follows the cursor
+         */
+        public void replaceNext(Node<T> node) {
+            nextNode = node;
+        }
+
+        /**
+         * Accounts for the node just before the cursor being removed
+         */
+        public void dropPrevious() {
+            previousIndex--;
+            nextIndex--;
+        }
     }
 
     /**
@@ -694,6 +1104,12 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
          */
         private ListCursor cursor;
 
+        /**
+         * Node holding the element last returned by next or previous
+         * @var Node<T>
+         */
+        private Node<T> lastReturned;
+
         /**
          * List iterator modification counter
          * @var int
@@ -726,20 +1142,15 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
          * @param outer         instance to the parent "outer" class
          */
         public IUDoubleLinkedListListIterator(int startingIndex, IUDoubleLinkedList<T> outer) {
-            cursor = new ListCursor();
-            listIterModCount = modCount;
-            state = ListIteratorState.NEITHER;
-            this.outer = outer;
-
             if (startingIndex < 0 || startingIndex > count) {
                 throw new IndexOutOfBoundsException();
             }
 
-            if (startingIndex > 0) {
-                for (int i = 0; i < startingIndex; i++) {
-                    cursor.shiftRight();
-                }
-            }
+            cursor = new ListCursor(startingIndex);
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+            lastReturned = null;
+            this.outer = outer;
         }
 
         /**
@@ -753,9 +1164,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }
 
-            state = ListIteratorState.NEITHER;
-
-            return cursor.getNextIndex() < count;
+            return cursor.getNextNode() != null;
         }
 
         /**
@@ -769,8 +1178,6 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }
 
-            state = ListIteratorState.NEITHER;
-
             return cursor.getPreviousIndex() > -1;
         }
 
@@ -784,11 +1191,11 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new NoSuchElementException();
             }
 
-            T item = outer.get(cursor.getNextIndex());
+            lastReturned = cursor.getNextNode();
             cursor.shiftRight();
             state = ListIteratorState.NEXT;
             
-            return item;
+            return lastReturned.getElement();
         }
 
         /**
@@ -801,11 +1208,11 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new NoSuchElementException();
             }
 
-            T item = outer.get(cursor.getPreviousIndex());
             cursor.shiftLeft();
+            lastReturned = cursor.getNextNode();
             state = ListIteratorState.PREVIOUS;
 
-            return item;
+            return lastReturned.getElement();
         }
 
         /**
@@ -835,7 +1242,7 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
         }
 
         /**
-         * Removes an node from the list at the current iteration point
+         * Removes the node last returned by next or previous
          */
         @Override
         public void remove() {
@@ -843,25 +1250,29 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }            
 
+            int index;
+
             switch (state) {
                 case NEXT:
-                    outer.remove(cursor.getPreviousIndex());
-                    listIterModCount++;
-                    cursor.shiftLeft();
-                    state = ListIteratorState.NEITHER;
+                    index = cursor.getPreviousIndex();
+                    cursor.dropPrevious();
                     break;
                 case PREVIOUS:
-                    outer.remove(cursor.getNextIndex());
-                    listIterModCount++;
-                    state = ListIteratorState.NEITHER;
+                    index = cursor.getNextIndex();
+                    cursor.replaceNext(lastReturned.getNext());
                     break;
                 default:
                     throw new IllegalStateException();
             }
+
+            outer.unlink(lastReturned, index);
+            lastReturned = null;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
         }
 
         /**
-         * Overrides the current node in the iteration with a new element
+         * Overrides the element last returned by next or previous
          * @param   T   element to override current element with
          */
         @Override
@@ -870,25 +1281,17 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }
 
-            switch (state) {
-                case NEXT:
-                    outer.set(cursor.getPreviousIndex(), element);
-                    listIterModCount++;
-                    cursor.shiftLeft();
-                    state = ListIteratorState.NEITHER;
-                    break;
-                case PREVIOUS:
-                    outer.set(cursor.getNextIndex(), element);
-                    listIterModCount++;
-                    state = ListIteratorState.NEITHER;
-                    break;
-                default:
-                    throw new IllegalStateException();
+            if (state == ListIteratorState.NEITHER) {
+                throw new IllegalStateException();
             }
+
+            replaceElement(lastReturned, element);
+            modCount++;
+            listIterModCount = modCount;
         }
         
         /**
-         * Adds an element to the list at the current iteration
+         * Adds an element to the list just before the cursor
          * @param   T   element to add to the list
          */
         @Override
@@ -897,26 +1300,310 @@ public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }
 
-            outer.add(cursor.getPreviousIndex() + 1, element);
+            outer.linkBefore(element, cursor.getNextNode(), cursor.getNextIndex());
+            cursor.skipInserted();
+            lastReturned = null;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
         }
     }
     
+    /**
+     * Empties the list and hands over its chain of nodes, for splicing them into another list
+     * @return  Node<T>     former head node, or null if the list was empty
+     */
+    Node<T> detachNodes() {
+        Node<T> detached = head;
+
+        head = tail = finger = null;
+        count = fingerIndex = 0;
+
+        // an empty index is up to date, and holds no references to the nodes handed over
+        if (elementIndex != null) {
+            elementIndex.clear();
+            elementIndexStale = false;
+        }
+
+        modCount++;
+        checkpoints = null;
+
+        return detached;
+    }
+
+    /**
+     * Replaces the contents of the list with an already linked chain of nodes
+     * @param   Node<T>     first   first node of the chain, with no previous node
+     * @param   Node<T>     last    last node of the chain, with no next node
+     * @param   int         size    number of nodes in the chain
+     */
+    void adoptNodes(Node<T> first, Node<T> last, int size) {
+        head = first;
+        tail = last;
+        count = size;
+        finger = null;
+        fingerIndex = 0;
+        elementIndexStale = true;
+        modCount++;
+    }
+
+    /**
+     * Links a new node holding the element in just before the given node
+     * @param   T           element     element to add to the list
+     * @param   Node<T>     successor   node to insert before, or null to append
+     * @param   int         index       index the new element ends up at, or -1 if not known
+     */
+    private void linkBefore(T element, Node<T> successor, int index) {
+        if (successor == null) {
+            addToRear(element);
+        } else if (successor == head) {
+            addToFront(element);
+        } else {
+            Node<T> newNode = new Node<T>(element);
+            Node<T> previous = successor.getPrevious();
+
+            newNode.setPrevious(previous);
+            newNode.setNext(successor);
+            previous.setNext(newNode);
+            successor.setPrevious(newNode);
+
+            insertedAt(index);
+            indexAdded(newNode);
+            count++;
+            modCount++;
+        }
+    }
+
+    /**
+     * Splices a node out of the list, keeping head, tail and the finger up to date
+     * @param   Node<T>     node    node to remove from the list
+     * @param   int         index   index of the node being removed, or -1 if not known
+     * @return  T   element held by the removed node
+     */
+    private T unlink(Node<T> node, int index) {
+        indexRemoved(node);
+
+        Node<T> previous = node.getPrevious();
+        Node<T> next = node.getNext();
+
+        if (previous == null) {
+            head = next;
+        } else {
+            previous.setNext(next);
+        }
+
+        if (next == null) {
+            tail = previous;
+        } else {
+            next.setPrevious(previous);
+        }
+
+        if (index < 0) {
+            // removed by element, so its index is unknown and the finger index can no longer be trusted
+            finger = null;
+        } else if (finger == node) {
+            // Hand the finger to a neighbour so scan-and-remove loops stay local
+            finger = next != null ? next : previous;
+            fingerIndex = next != null ? index : index - 1;
+        } else if (finger != null && index < fingerIndex) {
+            fingerIndex--;
+        }
+
+        node.setNext(null);
+        node.setPrevious(null);
+
+        count--;
+        modCount++;
+        checkpoints = null;
+
+        return node.getElement();
+    }
+
+    /**
+     * Finds the node at the given index, starting from whichever of
+     * head, tail or the finger is closest, and moves the finger there
+     * @param   int     index   index of the node to find (must be in range)
+     * @return  Node<T>     node at the given index
+     */
+    private Node<T> nodeAt(int index) {
+        Node<T> current = head;
+        int position = 0;
+
+        if (count - 1 - index < index) {
+            current = tail;
+            position = count - 1;
+        }
+
+        if (finger != null && Math.abs(index - fingerIndex) < Math.abs(index - position)) {
+            current = finger;
+            position = fingerIndex;
+        }
+
+        while (position < index) {
+            current = current.getNext();
+            position++;
+        }
+
+        while (position > index) {
+            current = current.getPrevious();
+            position--;
+        }
+
+        finger = current;
+        fingerIndex = index;
+
+        return current;
+    }
+
+    /**
+     * Keeps the finger index in step with an element inserted at the given index
+     * @param   int     index   index the new element was inserted at, or -1 if not known
+     */
+    private void insertedAt(int index) {
+        if (index < 0) {
+            finger = null;
+        } else if (finger != null && index <= fingerIndex) {
+            fingerIndex++;
+        }
+    }
+
+    /**
+     * Turns the element index on or off
+     * With the index on, contains, addAfter and remove by element find their node in expected
+     * constant time instead of scanning the list, at the cost of a hash entry per distinct element.
+     * Elements are matched with equals and hashCode, like the scans they replace
+     * @param   boolean     enabled     true to keep an element index, false to drop it
+     */
+    public void setElementIndexEnabled(boolean enabled) {
+        if (!enabled) {
+            elementIndex = null;
+        } else if (elementIndex == null) {
+            elementIndex = new HashMap<T, IndexEntry<T>>();
+            elementIndexStale = true;
+        }
+    }
+
+    /**
+     * Returns whether the list keeps an element index
+     * @return  boolean     true if the element index is on
+     */
+    public boolean isElementIndexEnabled() {
+        return elementIndex != null;
+    }
+
+    /**
+     * Looks up the first node holding an element through the element index
+     * Rebuilds the index first if it is stale, and finds the first node again if it is not known
+     * @param   T   element     element to look up
+     * @return  Node<T>     first node holding the element, or null if the list does not contain it
+     */
+    private Node<T> indexedNode(T element) {
+        if (elementIndexStale) {
+            elementIndex.clear();
+            elementIndexStale = false;
+
+            // walking from the head, the first node seen for each element is its first occurrence
+            for (Node<T> current = head; current != null; current = current.getNext()) {
+                IndexEntry<T> entry = elementIndex.get(current.getElement());
+
+                if (entry == null) {
+                    elementIndex.put(current.getElement(), new IndexEntry<T>(current));
+                } else {
+                    entry.count++;
+                }
+            }
+        }
+
+        IndexEntry<T> entry = elementIndex.get(element);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (entry.first == null) {
+            Node<T> current = head;
+
+            while (!Objects.equals(current.getElement(), element)) {
+                current = current.getNext();
+            }
+
+            entry.first = current;
+        }
+
+        return entry.first;
+    }
+
+    /**
+     * Records a node that was just linked into the list in the element index
+     * A node at the head is the first occurrence and one at the tail is not; anywhere
+     * else the first occurrence is no longer known if the element was already present
+     * @param   Node<T>     node    node just linked in
+     */
+    private void indexAdded(Node<T> node) {
+        if (elementIndex == null || elementIndexStale) {
+            return;
+        }
+
+        IndexEntry<T> entry = elementIndex.get(node.getElement());
+
+        if (entry == null) {
+            elementIndex.put(node.getElement(), new IndexEntry<T>(node));
+            return;
+        }
+
+        entry.count++;
+
+        if (node.getPrevious() == null) {
+            entry.first = node;
+        } else if (node.getNext() != null) {
+            entry.first = null;
+        }
+    }
+
+    /**
+     * Drops a node that is about to be unlinked from the element index
+     * @param   Node<T>     node    node being removed
+     */
+    private void indexRemoved(Node<T> node) {
+        if (elementIndex == null || elementIndexStale) {
+            return;
+        }
+
+        IndexEntry<T> entry = elementIndex.get(node.getElement());
+
+        if (--entry.count == 0) {
+            elementIndex.remove(node.getElement());
+        } else if (entry.first == node) {
+            entry.first = null;
+        }
+    }
+
+    /**
+     * Replaces the element held by a node, keeping the element index up to date
+     * @param   Node<T>     node        node to update
+     * @param   T           element     new element for the node
+     */
+    private void replaceElement(Node<T> node, T element) {
+        indexRemoved(node);
+        node.setElement(element);
+        indexAdded(node);
+    }
+
     /**
      * toString method
      * Lists all current elements contained within the list
      * @return  String  list of all current elements in the list
      */
     public String toString() {
-        String result = "[";
+        StringBuilder result = new StringBuilder("[");
         Node<T> current = head;
         
         while (current != null) {
-            result += (current.getPrevious() == null ? "" : ",") + current.getElement();
+            result.append(current.getPrevious() == null ? "" : ",").append(current.getElement());
             current = current.getNext();
         }
 
-        result += "]";
+        result.append("]");
 
-        return result;
+        return result.toString();
     }
 }
@@ -0,0 +1,898 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * ArrayList of primitive ints, without boxing
+ * Offers the same operations as IndexedUnsortedList, storing the values
+ * directly in an int array laid out as a circular buffer like IUArrayList.
+ * Use boxed() where an IndexedUnsortedList<Integer> is needed
+ *
+ * @author The Boobies
+ */
+public class IUIntArrayList {
+
+    /**
+     * Initial capacity for the list array
+     * @var int
+     */
+    private final static int DEFAULT_CAPACITY = 100;
+
+    /**
+     * Array holding the values
+     * @var int array
+     */
+    private int[] list;
+
+    /**
+     * Array slot holding the first value of the list
+     * @var int
+     */
+    private int front;
+
+    /**
+     * Both rear and modification counters
+     * @var int
+     */
+    private int rear, modCount;
+
+    /**
+     * Class constructor taking no paramaters
+     */
+    public IUIntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Class constructor taking parameters
+     * @param initialCapacity   the initial capacity for the list array
+     * @throws IllegalArgumentException thrown if the capacity is negative
+     */
+    public IUIntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        front = rear = modCount = 0;
+        list = new int[initialCapacity];
+    }
+
+    /**
+     * Adds a value to the front of the list
+     * @param   int     element value to add to the front of the list
+     */
+    public void addToFront(int element) {
+        if (rear == list.length) {
+            expandCapacity();
+        }
+
+        front = front == 0 ? list.length - 1 : front - 1;
+        list[front] = element;
+        modCount++;
+        rear++;
+    }
+
+    /**
+     * Adds a value to the rear of the list
+     * @param   int     element value to add to the rear of the list
+     */
+    public void addToRear(int element) {
+        if (rear == list.length) {
+            expandCapacity();
+        }
+
+        list[slot(rear)] = element;
+        modCount++;
+        rear++;
+    }
+
+    /**
+     * Adds a value to the rear of the list
+     * @param   int     element the value to add to the list
+     */
+    public void add(int element) {
+        addToRear(element);
+    }
+
+    /**
+     * Adds a value after the first occurrence of the target value
+     * @param   int     element value to add after target value
+     * @param   int     target  target value
+     * @throws  NoSuchElementException  thrown when the target is not in the list
+     */
+    public void addAfter(int element, int target) {
+        int targetIdx = indexOf(target);
+
+        if (targetIdx < 0) {
+            throw new NoSuchElementException();
+        }
+
+        add(targetIdx+1, element);
+    }
+
+    /**
+     * Adds a value at the given index of the list
+     * @param   int     index   index at which to add the value
+     * @param   int     element value to add at the given index
+     * @throws  IndexOutOfBoundsException   thrown when the index is out of range
+     */
+    public void add(int index, int element) {
+        if (index < 0 || index > rear) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (rear == list.length) {
+            expandCapacity();
+        }
+
+        if (index < rear / 2) {
+            // Closer to the front, so move the leading values back one slot
+            front = front == 0 ? list.length - 1 : front - 1;
+
+            shiftRange(1, index + 1, -1);
+        } else {
+            shiftRange(index, rear, 1);
+        }
+
+        list[slot(index)] = element;
+        modCount++;
+        rear++;
+    }
+
+    /**
+     * Removes the first value from the list and also returns it
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  int     value removed from the list
+     */
+    public int removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        int result = list[front];
+
+        front = slot(1);
+        rear--;
+        modCount++;
+
+        return result;
+    }
+
+    /**
+     * Removes the last value from the list and also returns it
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  int     value removed from the list
+     */
+    public int removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        int result = list[slot(rear-1)];
+
+        rear--;
+        modCount++;
+
+        return result;
+    }
+
+    /**
+     * Removes the first occurrence of the given value from the list
+     * Named apart from remove(int) so a value is never mistaken for an index
+     * @param   int     element value to remove from the list
+     * @throws  NoSuchElementException  thrown if the value is not in the list
+     * @return  int     value removed from the list
+     */
+    public int removeElement(int element) {
+        int index = indexOf(element);
+
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+
+        return remove(index);
+    }
+
+    /**
+     * Removes the value at the given index and also returns it
+     * @param   int     index   index at which to remove a value
+     * @throws  IndexOutOfBoundsException   thrown is the given index is out of range
+     * @return  int     value removed from the list
+     */
+    public int remove(int index) {
+        if (index < 0 || index > rear - 1) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        int result = list[slot(index)];
+
+        if (index < rear / 2) {
+            shiftRange(0, index, 1);
+
+            front = slot(1);
+        } else {
+            shiftRange(index + 1, rear, -1);
+        }
+
+        rear--;
+        modCount++;
+
+        return result;
+    }
+
+    /**
+     * Replaces the value at the given index
+     * @param   int     index   index at which to set the value
+     * @param   int     element value to set at the given index
+     * @throws  IndexOutOfBoundsException   thrown if the given index is out of range
+     */
+    public void set(int index, int element) {
+        if (index < 0 || index > rear - 1) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        list[slot(index)] = element;
+        modCount++;
+    }
+
+    /**
+     * Gets the value at the given index of the list
+     * @param   int     index   index at which to get a value
+     * @throws  IndexOutOfBoundsException   thrown if the given index is out of range
+     * @return  int     value at given index
+     */
+    public int get(int index) {
+        if (index < 0 || index > rear - 1) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return list[slot(index)];
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given value
+     * @param   int     element value to get index for in the list
+     * @return  int     (-1 if value not found or list is empty)
+     */
+    public int indexOf(int element) {
+        for (int i = 0; i < rear; i++) {
+            if (list[slot(i)] == element) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the first value in the list
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  int     first value
+     */
+    public int first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return list[front];
+    }
+
+    /**
+     * Returns the last value in the list
+     * @throws  NoSuchElementException thrown if the list is currently empty
+     * @return  int     last value
+     */
+    public int last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return list[slot(rear - 1)];
+    }
+
+    /**
+     * Returns whether the list contains the given value
+     * @param   int     target  value to look for in the list
+     * @return  boolean     true if found, false if not found
+     */
+    public boolean contains(int target) {
+        return indexOf(target) >= 0;
+    }
+
+    /**
+     * Returns whether the list is currently empty
+     * @return  boolean     true if empty, false if not empty
+     */
+    public boolean isEmpty() {
+        return rear == 0;
+    }
+
+    /**
+     * Returns the current size of the list
+     * @return  int     current size
+     */
+    public int size() {
+        return rear;
+    }
+
+    /**
+     * Iterator over the values in the list, without boxing them
+     * @return  PrimitiveIterator.OfInt
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new IUIntArrayListIterator();
+    }
+
+    /**
+     * Returns an IndexedUnsortedList view of this list
+     * Values are boxed on the way out and unboxed on the way in;
+     * changes through the view are changes to this list
+     * @return  IndexedUnsortedList<Integer>
+     */
+    public IndexedUnsortedList<Integer> boxed() {
+        return new BoxedView();
+    }
+
+    /**
+     * Iterator sub class
+     */
+    private class IUIntArrayListIterator implements PrimitiveIterator.OfInt {
+
+        /**
+         * Current and iterator modification counters
+         * @var int
+         */
+        private int current, iterModCount;
+
+        /**
+         * Boolean flag to indicate if a value can be removed
+         * @var boolean
+         */
+        private boolean canRemove;
+
+        /**
+         * Class constructor
+         */
+        public IUIntArrayListIterator() {
+            current = 0;
+            canRemove = false;
+            iterModCount = modCount;
+        }
+
+        /**
+         * Returns whether the list has another value
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  boolean     true if the list has another value
+         */
+        @Override
+        public boolean hasNext() {
+            if (iterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            return current < rear;
+        }
+
+        /**
+         * Returns the next value in the list
+         * @throws NoSuchElementException   thrown if there is not a next value in the list
+         * @return  int     the next value
+         */
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            int item = list[slot(current)];
+            current++;
+            canRemove = true;
+
+            return item;
+        }
+
+        /**
+         * Removes the value last returned by next from the list
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @throws  IllegalStateException           thrown if next has not been called since the last remove
+         */
+        @Override
+        public void remove() {
+            if (iterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (!canRemove) {
+                throw new IllegalStateException();
+            }
+
+            current--;
+            IUIntArrayList.this.remove(current);
+            iterModCount = modCount;
+            canRemove = false;
+        }
+    }
+
+    /**
+     * Boxing adapter presenting the list as an IndexedUnsortedList
+     */
+    private class BoxedView implements IndexedUnsortedList<Integer> {
+
+        /**
+         * Adds a value to the front of the list
+         * @param   Integer element value to add
+         */
+        @Override
+        public void addToFront(Integer element) {
+            IUIntArrayList.this.addToFront(element);
+        }
+
+        /**
+         * Adds a value to the rear of the list
+         * @param   Integer element value to add
+         */
+        @Override
+        public void addToRear(Integer element) {
+            IUIntArrayList.this.addToRear(element);
+        }
+
+        /**
+         * Adds a value to the rear of the list
+         * @param   Integer element value to add
+         */
+        @Override
+        public void add(Integer element) {
+            IUIntArrayList.this.addToRear(element);
+        }
+
+        /**
+         * Adds a value after the first occurrence of the target value
+         * @param   Integer element value to add
+         * @param   Integer target  target value
+         * @throws  NoSuchElementException  thrown when the target is null or not in the list
+         */
+        @Override
+        public void addAfter(Integer element, Integer target) {
+            if (target == null) {
+                throw new NoSuchElementException();
+            }
+
+            IUIntArrayList.this.addAfter(element, target);
+        }
+
+        /**
+         * Adds a value at the given index
+         * @param   int     index   index at which to add the value
+         * @param   Integer element value to add
+         */
+        @Override
+        public void add(int index, Integer element) {
+            IUIntArrayList.this.add(index, (int)element);
+        }
+
+        /**
+         * Removes the first value from the list
+         * @return  Integer value removed from the list
+         */
+        @Override
+        public Integer removeFirst() {
+            return IUIntArrayList.this.removeFirst();
+        }
+
+        /**
+         * Removes the last value from the list
+         * @return  Integer value removed from the list
+         */
+        @Override
+        public Integer removeLast() {
+            return IUIntArrayList.this.removeLast();
+        }
+
+        /**
+         * Removes the first occurrence of the given value
+         * @param   Integer element value to remove
+         * @throws  NoSuchElementException  thrown when the value is null or not in the list
+         * @return  Integer value removed from the list
+         */
+        @Override
+        public Integer remove(Integer element) {
+            if (element == null) {
+                throw new NoSuchElementException();
+            }
+
+            return IUIntArrayList.this.removeElement(element);
+        }
+
+        /**
+         * Removes the value at the given index
+         * @param   int     index   index at which to remove a value
+         * @return  Integer value removed from the list
+         */
+        @Override
+        public Integer remove(int index) {
+            return IUIntArrayList.this.remove(index);
+        }
+
+        /**
+         * Replaces the value at the given index
+         * @param   int     index   index at which to set the value
+         * @param   Integer element value to set
+         */
+        @Override
+        public void set(int index, Integer element) {
+            IUIntArrayList.this.set(index, (int)element);
+        }
+
+        /**
+         * Returns the value at the given index
+         * @param   int     index   index at which to get a value
+         * @return  Integer value at the given index
+         */
+        @Override
+        public Integer get(int index) {
+            return IUIntArrayList.this.get(index);
+        }
+
+        /**
+         * Returns the index of the first occurrence of the given value
+         * @param   Integer element value to look for
+         * @return  int     index of the value, or -1 if it is null or not in the list
+         */
+        @Override
+        public int indexOf(Integer element) {
+            return element == null ? -1 : IUIntArrayList.this.indexOf(element);
+        }
+
+        /**
+         * Returns the first value in the list
+         * @return  Integer first value
+         */
+        @Override
+        public Integer first() {
+            return IUIntArrayList.this.first();
+        }
+
+        /**
+         * Returns the last value in the list
+         * @return  Integer last value
+         */
+        @Override
+        public Integer last() {
+            return IUIntArrayList.this.last();
+        }
+
+        /**
+         * Returns whether the list contains the given value
+         * @param   Integer target  value to look for
+         * @return  boolean     true if found, false if null or not found
+         */
+        @Override
+        public boolean contains(Integer target) {
+            return target != null && IUIntArrayList.this.contains(target);
+        }
+
+        /**
+         * Returns whether the list is empty
+         * @return  boolean     true if empty, false if not empty
+         */
+        @Override
+        public boolean isEmpty() {
+            return IUIntArrayList.this.isEmpty();
+        }
+
+        /**
+         * Returns the number of values in the list
+         * @return  int     current size
+         */
+        @Override
+        public int size() {
+            return IUIntArrayList.this.size();
+        }
+
+        /**
+         * Returns the primitive iterator, which boxes each value as it is returned
+         * @return  Iterator<Integer>
+         */
+        @Override
+        public Iterator<Integer> iterator() {
+            return IUIntArrayList.this.iterator();
+        }
+
+        /**
+         * Returns a list iterator starting before the first value
+         * @return  ListIterator<Integer>
+         */
+        @Override
+        public ListIterator<Integer> listIterator() {
+            return new BoxedListIterator(0);
+        }
+
+        /**
+         * Returns a list iterator starting before the value at the given index
+         * @param   int     startingIndex   index of the value next returns first
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         * @return  ListIterator<Integer>
+         */
+        @Override
+        public ListIterator<Integer> listIterator(int startingIndex) {
+            return new BoxedListIterator(startingIndex);
+        }
+
+        /**
+         * Returns a view of the values in [fromIndex, toIndex) that fails fast once the list is modified around it
+         * @param   int     fromIndex   first index in the view
+         * @param   int     toIndex     index just past the last one in the view
+         * @throws  IndexOutOfBoundsException   thrown if the range is out of bounds
+         * @return  IndexedUnsortedList<Integer>
+         */
+        @Override
+        public IndexedUnsortedList<Integer> subList(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > rear || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            return new SubList.Forwarding<Integer>(this, fromIndex, toIndex, () -> modCount);
+        }
+
+        /**
+         * Returns the list as a string
+         * @return  String  list of all current values in the list
+         */
+        @Override
+        public String toString() {
+            return IUIntArrayList.this.toString();
+        }
+
+        /**
+         * List iterator over the boxed view
+         * Moves a cursor over the values by index; set, add and remove go through the
+         * list's own indexed methods and fail fast once the list is modified elsewhere
+         */
+        private class BoxedListIterator implements ListIterator<Integer> {
+
+            /**
+             * Index of the value next would return, and the list iterator modification counter
+             * @var int
+             */
+            private int nextIndex, listIterModCount;
+
+            /**
+             * Index of the value last returned by next or previous, or -1 after add or remove
+             * @var int
+             */
+            private int lastReturned;
+
+            /**
+             * Class constructor
+             * @param   int     startingIndex   index of the value next returns first
+             * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+             */
+            public BoxedListIterator(int startingIndex) {
+                if (startingIndex < 0 || startingIndex > rear) {
+                    throw new IndexOutOfBoundsException();
+                }
+
+                nextIndex = startingIndex;
+                lastReturned = -1;
+                listIterModCount = modCount;
+            }
+
+            /**
+             * Throws if the list was modified other than through this iterator
+             * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+             */
+            private void checkForComodification() {
+                if (listIterModCount != modCount) {
+                    throw new ConcurrentModificationException();
+                }
+            }
+
+            /**
+             * Returns whether there is another value after the cursor
+             * @return  boolean     true if a next value exists, false otherwise
+             */
+            @Override
+            public boolean hasNext() {
+                checkForComodification();
+
+                return nextIndex < rear;
+            }
+
+            /**
+             * Returns whether there is another value before the cursor
+             * @return  boolean     true if a previous value exists, false otherwise
+             */
+            @Override
+            public boolean hasPrevious() {
+                checkForComodification();
+
+                return nextIndex > 0;
+            }
+
+            /**
+             * Returns the value after the cursor and moves the cursor past it
+             * @throws  NoSuchElementException  thrown if there is no next value
+             * @return  Integer next value in the iteration
+             */
+            @Override
+            public Integer next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                lastReturned = nextIndex++;
+
+                return list[slot(lastReturned)];
+            }
+
+            /**
+             * Returns the value before the cursor and moves the cursor before it
+             * @throws  NoSuchElementException  thrown if there is no previous value
+             * @return  Integer previous value in the iteration
+             */
+            @Override
+            public Integer previous() {
+                if (!hasPrevious()) {
+                    throw new NoSuchElementException();
+                }
+
+                lastReturned = --nextIndex;
+
+                return list[slot(lastReturned)];
+            }
+
+            /**
+             * Returns the index of the value next would return
+             * @return  int     next index in the iteration
+             */
+            @Override
+            public int nextIndex() {
+                checkForComodification();
+
+                return nextIndex;
+            }
+
+            /**
+             * Returns the index of the value previous would return
+             * @return  int     previous index in the iteration
+             */
+            @Override
+            public int previousIndex() {
+                checkForComodification();
+
+                return nextIndex - 1;
+            }
+
+            /**
+             * Removes the value last returned by next or previous
+             * @throws  IllegalStateException   thrown if next or previous has not been called since the last add or remove
+             */
+            @Override
+            public void remove() {
+                checkForComodification();
+
+                if (lastReturned < 0) {
+                    throw new IllegalStateException();
+                }
+
+                IUIntArrayList.this.remove(lastReturned);
+
+                if (lastReturned < nextIndex) {
+                    nextIndex--;
+                }
+
+                lastReturned = -1;
+                listIterModCount = modCount;
+            }
+
+            /**
+             * Replaces the value last returned by next or previous
+             * @param   Integer element value to put in its place
+             * @throws  IllegalStateException   thrown if next or previous has not been called since the last add or remove
+             */
+            @Override
+            public void set(Integer element) {
+                checkForComodification();
+
+                if (lastReturned < 0) {
+                    throw new IllegalStateException();
+                }
+
+                IUIntArrayList.this.set(lastReturned, (int)element);
+                listIterModCount = modCount;
+            }
+
+            /**
+             * Inserts a value just before the cursor
+             * @param   Integer element value to add to the list
+             */
+            @Override
+            public void add(Integer element) {
+                checkForComodification();
+
+                IUIntArrayList.this.add(nextIndex++, (int)element);
+                lastReturned = -1;
+                listIterModCount = modCount;
+            }
+        }
+    }
+
+    /**
+     * Maps a list index to the array slot holding that value
+     * @param   int     index   list index to map
+     * @return  int     array slot for the given index
+     */
+    private int slot(int index) {
+        int slot = front + index;
+
+        return slot >= list.length ? slot - list.length : slot;
+    }
+
+    /**
+     * Moves the values at list indexes [start, end) by offset positions
+     * Copies the block in at most three arraycopy pieces, each contiguous at both source
+     * and destination, in the order that never overwrites values still to be moved
+     * @param   int     start   first list index to move
+     * @param   int     end     list index just past the last one to move
+     * @param   int     offset  how far to move the block
+     */
+    private void shiftRange(int start, int end, int offset) {
+        int capacity = list.length;
+
+        if (offset < 0) {
+            for (int index = start; index < end; ) {
+                int source = slot(index);
+                int destination = slot(index + offset);
+                int run = Math.min(end - index, Math.min(capacity - source, capacity - destination));
+
+                System.arraycopy(list, source, list, destination, run);
+                index += run;
+            }
+        } else {
+            for (int index = end; index > start; ) {
+                int source = slot(index - 1);
+                int destination = slot(index - 1 + offset);
+                int run = Math.min(index - start, Math.min(source + 1, destination + 1));
+
+                System.arraycopy(list, source - run + 1, list, destination - run + 1, run);
+                index -= run;
+            }
+        }
+    }
+
+    /**
+     * Doubles the capacity of the array, unwrapping the values back to slot 0
+     */
+    private void expandCapacity() {
+        int[] larger = new int[Math.max(1, list.length * 2)];
+        int leading = Math.min(rear, list.length - front);
+
+        System.arraycopy(list, front, larger, 0, leading);
+        System.arraycopy(list, 0, larger, leading, rear - leading);
+
+        list = larger;
+        front = 0;
+    }
+
+    /**
+     * toString method
+     * Lists all current values contained within the list
+     * @return  String  list of all current values in the list
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+
+        for (int i = 0; i < rear; i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+
+            result.append(list[slot(i)]);
+        }
+
+        return result.append("]").toString();
+    }
+}
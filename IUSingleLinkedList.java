@@ -1,7 +1,12 @@
+import java.util.Comparator;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * SingleLinkedList implementation of IndexedUnsortedList interface
@@ -23,6 +28,13 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
      */
     private Node<T> head, tail;
 
+    /**
+     * Node checkpoints recorded by the last split spliterator, reused while the list is unmodified
+     * Dropped whenever a node leaves the list, so the cache never keeps a removed node reachable
+     * @var NodeSpliterator.Checkpoints<T>
+     */
+    private NodeSpliterator.Checkpoints<T> checkpoints;
+
     /**
      * Class constructor that sets up our class properties
      */
@@ -93,21 +105,22 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
      */
     @Override
     public void addAfter(T element, T target) {
-        if (this.isEmpty() || (int)target < 0) {
+        Node<T> current = head;
+
+        while (current != null && !current.getElement().equals(target)) {
+            current = current.getNext();
+        }
+
+        if (current == null) {
             throw new NoSuchElementException();
         }
 
-        Node<T> current = head;
         Node<T> newNode = new Node<T>(element);
+        newNode.setNext(current.getNext());
+        current.setNext(newNode);
 
-        while (current != null) {
-            if (current.getElement().equals(target)) {
-                newNode.setNext(current.getNext());
-                current.setNext(newNode);
-                break;
-            } else {
-                current = current.getNext();
-            }
+        if (current == tail) {
+            tail = newNode;
         }
 
         modCount++;
@@ -167,6 +180,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
         }
 
         modCount++;
+        checkpoints = null;
         count--;
         return result;
     }
@@ -198,10 +212,11 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
             Node<T> lastNode = current.getNext();
             result = lastNode.getElement();
             current.setNext(null);
-            lastNode = null;
+            tail = current;
         }
 
         modCount++;
+        checkpoints = null;
         count--;
 
         return result;
@@ -245,6 +260,10 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
             result = current.getElement();
 
+            if (current == tail) {
+                tail = previous;
+            }
+
             if (previous != null) {
                 current = previous.getNext();
                 previous.setNext(current.getNext());
@@ -259,6 +278,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
         }
 
         modCount++;
+        checkpoints = null;
         count--;
 
         return result;
@@ -282,6 +302,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
             result = head.getElement();
             head = tail = null;
             modCount++;
+            checkpoints = null;
             count--;
         } else if (index == 0) {
             result = head.getElement();
@@ -308,6 +329,10 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
             result = current.getElement();
 
+            if (current == tail) {
+                tail = previous;
+            }
+
             if (previous != null) {
                 current = previous.getNext();
                 previous.setNext(current.getNext());
@@ -317,6 +342,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
             }
 
             modCount++;
+            checkpoints = null;
             count--;
         }
 
@@ -484,6 +510,555 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
         return count;
     }
 
+    /**
+     * Sorts the list in place by relinking its nodes, see NodeMergeSort
+     * Stable, allocates no nodes, and counts as one modification
+     * @param   Comparator<T>   c   ordering to sort by
+     */
+    public void sort(Comparator<? super T> c) {
+        modCount++;
+
+        if (count < 2) {
+            return;
+        }
+
+        head = NodeMergeSort.sort(head, count, c);
+        Node<T> current = head;
+
+        while (current.getNext() != null) {
+            current = current.getNext();
+        }
+
+        tail = current;
+    }
+
+    /**
+     * Inserts every element of the source at the given index
+     * The new nodes are linked into a chain while the source is read, then the whole
+     * chain is spliced in after the node before the index, found with a single walk
+     * @param   int             index       index the first added element ends up at
+     * @param   Iterable<T>     elements    elements to add, in order
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  boolean     true if any element was added
+     */
+    @Override
+    public boolean addAll(int index, Iterable<? extends T> elements) {
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        Node<T> first = null;
+        Node<T> last = null;
+        int added = 0;
+
+        // reading the whole source before splicing means adding a list to itself copies it once
+        for (T element : elements) {
+            Node<T> newNode = new Node<T>(element);
+
+            if (first == null) {
+                first = newNode;
+            } else {
+                last.setNext(newNode);
+            }
+
+            last = newNode;
+            added++;
+        }
+
+        if (added == 0) {
+            return false;
+        }
+
+        if (index == 0) {
+            last.setNext(head);
+            head = first;
+        } else {
+            Node<T> previous = tail;
+
+            if (index < count) {
+                previous = head;
+
+                for (int i = 0; i < index - 1; i++) {
+                    previous = previous.getNext();
+                }
+            }
+
+            last.setNext(previous.getNext());
+            previous.setNext(first);
+        }
+
+        if (last.getNext() == null) {
+            tail = last;
+        }
+
+        count += added;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Removes every element matching the filter
+     * Tests every element before changing anything, then relinks the surviving nodes
+     * in one traversal, keeping a trailing node to relink from; counts as a single modification
+     * @param   Predicate<T>    filter  selects the elements to remove
+     * @throws  ConcurrentModificationException thrown if the filter modifies the list
+     * @return  boolean     true if any element was removed
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+
+        int expectedModCount = modCount;
+        boolean[] doomed = null;
+        int removed = 0;
+        int index = 0;
+
+        for (Node<T> current = head; current != null; current = current.getNext()) {
+            if (filter.test(current.getElement())) {
+                if (doomed == null) {
+                    doomed = new boolean[count];
+                }
+
+                doomed[index] = true;
+                removed++;
+            }
+
+            index++;
+        }
+
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        if (doomed == null) {
+            return false;
+        }
+
+        Node<T> survivor = null;
+        Node<T> current = head;
+
+        for (index = 0; current != null; index++) {
+            Node<T> next = current.getNext();
+
+            if (doomed[index]) {
+                current.setNext(null);
+            } else if (survivor == null) {
+                head = survivor = current;
+            } else {
+                survivor.setNext(current);
+                survivor = current;
+            }
+
+            current = next;
+        }
+
+        if (survivor == null) {
+            head = null;
+        } else {
+            survivor.setNext(null);
+        }
+
+        tail = survivor;
+        count -= removed;
+        checkpoints = null;
+        modCount++;
+
+        return true;
+    }
+
+    /**
+     * Replaces every element with the result of the operator, in one traversal
+     * Counts as a single modification
+     * @param   UnaryOperator<T>    operator    operator to apply to each element
+     * @throws  ConcurrentModificationException thrown if the operator modified the list
+     */
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+
+        int expectedModCount = modCount;
+
+        for (Node<T> current = head; current != null; current = current.getNext()) {
+            T element = operator.apply(current.getElement());
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            current.setElement(element);
+        }
+
+        modCount++;
+    }
+
+    /**
+     * Removes every element by dropping the whole chain at once
+     */
+    @Override
+    public void clear() {
+        head = tail = null;
+        count = 0;
+        modCount++;
+        checkpoints = null;
+    }
+
+    /**
+     * Returns a view of the elements from fromIndex to toIndex, backed by this list
+     * Creating the view is constant time; it finds the node before its range on first use
+     * @param   int     fromIndex   index of the first element of the view
+     * @param   int     toIndex     index just past the last element of the view
+     * @throws  IndexOutOfBoundsException   thrown if the range is out of bounds
+     * @return  IndexedUnsortedList<T>  view of the range
+     */
+    @Override
+    public IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > count || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new IUSingleLinkedListSubList(fromIndex, toIndex);
+    }
+
+    /**
+     * SubList view sub class, holding the node just before its range
+     * That node never changes while the view is valid, since only nodes inside the range
+     * are added or removed through it. The view keeps a finger on the last node it reached,
+     * so walking it forward by index costs a single link hop per step; walking backward
+     * starts over from the front of the view, as the links only run one way
+     */
+    private class IUSingleLinkedListSubList extends SubList<T> {
+
+        /**
+         * Node just before the first element (null if the view starts at the head)
+         * @var Node<T>
+         */
+        private Node<T> before;
+
+        /**
+         * List index of the first element, until the node before it is found (-1 after)
+         * @var int
+         */
+        private int fromIndex;
+
+        /**
+         * Last node of the view reached by index
+         * @var Node<T>
+         */
+        private Node<T> viewFinger;
+
+        /**
+         * Index in the view of the finger node, and the list modification counter the view expects
+         * @var int
+         */
+        private int viewFingerIndex, expectedModCount;
+
+        /**
+         * Class constructor
+         * @param fromIndex list index of the first element of the view
+         * @param toIndex   list index just past the last element of the view
+         */
+        public IUSingleLinkedListSubList(int fromIndex, int toIndex) {
+            super(toIndex - fromIndex);
+            this.fromIndex = fromIndex;
+            this.expectedModCount = modCount;
+        }
+
+        /**
+         * Throws if the list was modified other than through this view, then finds the node before the range if needed
+         * @throws  ConcurrentModificationException thrown if the list was modified
+         */
+        @Override
+        void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (fromIndex >= 0) {
+                before = null;
+
+                if (fromIndex > 0) {
+                    before = head;
+
+                    for (int i = 1; i < fromIndex; i++) {
+                        before = before.getNext();
+                    }
+                }
+
+                fromIndex = -1;
+            }
+        }
+
+        /**
+         * Records a change made through the view
+         * @param   int     delta   change in the number of elements
+         */
+        private void changed(int delta) {
+            size += delta;
+            viewModCount++;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Finds the node at the given index of the view, from the finger if it is not past the index
+         * @param   int     index   index in the view (must be in range)
+         * @return  Node<T>     node at the index
+         */
+        private Node<T> viewNode(int index) {
+            Node<T> current = before == null ? head : before.getNext();
+            int position = 0;
+
+            if (viewFinger != null && viewFingerIndex <= index) {
+                current = viewFinger;
+                position = viewFingerIndex;
+            }
+
+            while (position < index) {
+                current = current.getNext();
+                position++;
+            }
+
+            viewFinger = current;
+            viewFingerIndex = index;
+
+            return current;
+        }
+
+        /**
+         * Finds the node just before the given index of the view
+         * @param   int     index   index in the view (0 to size)
+         * @return  Node<T>     node before the index, or null if that is the head of the list
+         */
+        private Node<T> nodeBefore(int index) {
+            return index == 0 ? before : viewNode(index - 1);
+        }
+
+        /**
+         * Gets the element at an index already checked
+         * @param   int     index   index in the view
+         * @return  T   element at the index
+         */
+        @Override
+        T element(int index) {
+            return viewNode(index).getElement();
+        }
+
+        /**
+         * Sets the element at the given index of the view
+         * @param   int     index   index in the view
+         * @param   T       element element to store
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         */
+        @Override
+        public void set(int index, T element) {
+            checkForComodification();
+            checkElementIndex(index);
+
+            viewNode(index).setElement(element);
+            modCount++;
+            changed(0);
+        }
+
+        /**
+         * Inserts an element at the given index of the view
+         * @param   int     index   index in the view
+         * @param   T       element element to insert
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         */
+        @Override
+        public void add(int index, T element) {
+            checkForComodification();
+            checkPositionIndex(index);
+
+            Node<T> previous = nodeBefore(index);
+            Node<T> newNode = new Node<T>(element);
+
+            if (previous == null) {
+                newNode.setNext(head);
+                head = newNode;
+            } else {
+                newNode.setNext(previous.getNext());
+                previous.setNext(newNode);
+            }
+
+            if (newNode.getNext() == null) {
+                tail = newNode;
+            }
+
+            if (viewFinger != null && index <= viewFingerIndex) {
+                viewFingerIndex++;
+            }
+
+            count++;
+            modCount++;
+            changed(1);
+        }
+
+        /**
+         * Removes the element at the given index of the view
+         * @param   int     index   index in the view
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         * @return  T   element removed
+         */
+        @Override
+        public T remove(int index) {
+            checkForComodification();
+            checkElementIndex(index);
+
+            Node<T> previous = nodeBefore(index);
+            Node<T> node = previous == null ? head : previous.getNext();
+
+            if (previous == null) {
+                head = node.getNext();
+            } else {
+                previous.setNext(node.getNext());
+            }
+
+            if (node == tail) {
+                tail = previous;
+            }
+
+            if (viewFinger == node) {
+                viewFinger = null;
+            } else if (viewFinger != null && index < viewFingerIndex) {
+                viewFingerIndex--;
+            }
+
+            node.setNext(null);
+            count--;
+            modCount++;
+            checkpoints = null;
+            changed(-1);
+
+            return node.getElement();
+        }
+
+        /**
+         * Removes every element of the view from the list, unlinking the range in one pass from the node before it
+         */
+        @Override
+        public void clear() {
+            checkForComodification();
+
+            if (size == 0) {
+                return;
+            }
+
+            Node<T> current = before == null ? head : before.getNext();
+
+            for (int index = 0; index < size; index++) {
+                Node<T> next = current.getNext();
+                current.setNext(null);
+                current = next;
+            }
+
+            if (before == null) {
+                head = current;
+            } else {
+                before.setNext(current);
+            }
+
+            if (current == null) {
+                tail = before;
+            }
+
+            count -= size;
+            modCount++;
+            checkpoints = null;
+            viewFinger = null;
+            changed(-size);
+        }
+
+        /**
+         * Removes every element of the view that matches the filter in two passes over the range
+         * The first pass only tests the elements, so a filter that throws or modifies the list
+         * leaves the list as it was; the second relinks the survivors from the node before the range
+         * @param   Predicate<? super T>    filter  test for the elements to remove
+         * @throws  ConcurrentModificationException thrown if the filter modifies the list
+         * @return  boolean     true if any element was removed
+         */
+        @Override
+        public boolean removeIf(Predicate<? super T> filter) {
+            Objects.requireNonNull(filter);
+            checkForComodification();
+
+            int expectedModCount = modCount;
+            boolean[] doomed = null;
+            int removed = 0;
+            Node<T> first = before == null ? head : before.getNext();
+            Node<T> current = first;
+
+            for (int index = 0; index < size && current != null; index++) {
+                if (filter.test(current.getElement())) {
+                    if (doomed == null) {
+                        doomed = new boolean[size];
+                    }
+
+                    doomed[index] = true;
+                    removed++;
+                }
+
+                current = current.getNext();
+            }
+
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            if (doomed == null) {
+                return false;
+            }
+
+            Node<T> survivor = before;
+            current = first;
+
+            for (int index = 0; index < size; index++) {
+                Node<T> next = current.getNext();
+
+                if (!doomed[index]) {
+                    if (survivor == null) {
+                        head = current;
+                    } else {
+                        survivor.setNext(current);
+                    }
+
+                    survivor = current;
+                } else {
+                    current.setNext(null);
+                }
+
+                current = next;
+            }
+
+            if (survivor == null) {
+                head = current;
+            } else {
+                survivor.setNext(current);
+            }
+
+            if (current == null) {
+                tail = survivor;
+            }
+
+            count -= removed;
+            modCount++;
+            checkpoints = null;
+            viewFinger = null;
+            changed(-removed);
+
+            return true;
+        }
+    }
+
+    /**
+     * Spliterator over the list that splits at precomputed node checkpoints, see NodeSpliterator
+     * @return  Spliterator<T>
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new NodeSpliterator<T>(head, count, () -> modCount, checkpoints, recorded -> checkpoints = recorded);
+    }
+
     /**
      * Iterator to assist in tranversing through the list
      * @return  IUSingleLinkedListIterator
@@ -495,13 +1070,27 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
 
     /**
      * Iterator sub class for our list iterator
+     * Walks the nodes directly, so each step is constant time
      */
     private class IUSingleLinkedListIterator implements Iterator<T> {
         /**
-         * Iterator current index and iterator modification counter
+         * Node holding the next element to return
+         * @var Node<T>
+         */
+        private Node<T> nextNode;
+
+        /**
+         * Node holding the element last returned by next, and the node before it
+         * Singly linked nodes cannot look back, so the predecessor is kept for remove
+         * @var Node<T>
+         */
+        private Node<T> lastReturned, beforeLast;
+
+        /**
+         * Iterator modification counter
          * @var int
          */
-        private int current, iterModeCount;
+        private int iterModeCount;
 
         /**
          * Flag indicating whether its safe to remove an element from the list
@@ -523,7 +1112,8 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
             this.outer = outer;
             canRemove = false;
             iterModeCount = modCount;
-            current = 0;
+            nextNode = head;
+            lastReturned = beforeLast = null;
         }
 
         /**
@@ -537,9 +1127,7 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new ConcurrentModificationException();
             }
 
-            canRemove = false;
-
-            return current < count;
+            return nextNode != null;
         }
 
         /**
@@ -552,10 +1140,16 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new NoSuchElementException();
             }
 
-            T item = get(current);
-            current++;
+            // After a remove the predecessor is unchanged, so only advance it past live nodes
+            if (lastReturned != null) {
+                beforeLast = lastReturned;
+            }
+
+            lastReturned = nextNode;
+            nextNode = nextNode.getNext();
             canRemove = true;
-            return item;
+
+            return lastReturned.getElement();
         }
         
         /**
@@ -573,8 +1167,22 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
                 throw new IllegalStateException();
             }
 
-            outer.remove(current-1);
-            iterModeCount++;
+            if (beforeLast == null) {
+                head = nextNode;
+            } else {
+                beforeLast.setNext(nextNode);
+            }
+
+            if (lastReturned == tail) {
+                tail = beforeLast;
+            }
+
+            lastReturned.setNext(null);
+            lastReturned = null;
+            count--;
+            modCount++;
+            checkpoints = null;
+            iterModeCount = modCount;
             canRemove = false;
         }
     }
@@ -601,23 +1209,23 @@ public class IUSingleLinkedList<T> implements IndexedUnsortedList<T> {
      * @return  String  list of all current elements in the list
      */
     public String toString() {
-        String result = "[";
+        StringBuilder result = new StringBuilder("[");
         Node<T> current = head;
         boolean initial = true;
 
         while (current != null) {
             if (initial) {
-                result += current.getElement();
+                result.append(current.getElement());
                 initial = false;
             } else {
-                result += "," + current.getElement();
+                result.append(",").append(current.getElement());
             }
 
             current = current.getNext();
         }
 
-        result += "]";
+        result.append("]");
 
-        return result;
+        return result.toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,845 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Balanced tree implementation of IndexedUnsortedList interface
+ * Elements are kept in an AVL tree ordered by list position, with every
+ * node storing the size of its subtree so an index can be found by
+ * descending from the root. Positional add, remove, get and set are
+ * O(log n); iterators step between neighbouring nodes through parent
+ * links, which is O(1) amortized.
+ *
+ * @param <T> - type of elements held in this collection
+ * @author The Boobies
+ */
+public class IUTreeList<T> implements IndexedUnsortedList<T> {
+
+    /**
+     * Root of the tree
+     * @var TreeNode<T>
+     */
+    private TreeNode<T> root;
+
+    /**
+     * Modification counter
+     * @var int
+     */
+    private int modCount;
+
+    /**
+     * Element removed by the most recent call to delete
+     * @var T
+     */
+    private T removed;
+
+    /**
+     * Class constructor
+     */
+    public IUTreeList() {
+        root = null;
+        modCount = 0;
+    }
+
+    /**
+     * Adds an element to the front of the list
+     * @param   T   element     element to add to the front of the list
+     */
+    @Override
+    public void addToFront(T element) {
+        add(0, element);
+    }
+
+    /**
+     * Adds an element to the end of the list
+     * @param   T   element     element to add to the end of the list
+     */
+    @Override
+    public void addToRear(T element) {
+        add(size(), element);
+    }
+
+    /**
+     * Adds an element to the end of the list
+     * @param   T   element     element to add to the list
+     */
+    @Override
+    public void add(T element) {
+        add(size(), element);
+    }
+
+    /**
+     * Adds an element after a target element in the list
+     * @param   T   element     the element to add after the target
+     * @param   T   target      target element to add element after
+     * @throws  NoSuchElementException  thrown if the target is not in the list
+     */
+    @Override
+    public void addAfter(T element, T target) {
+        int index = indexOf(target);
+
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+
+        add(index + 1, element);
+    }
+
+    /**
+     * Adds an element at a specific index in the list
+     * @param   int     index   index to add element to inside the list
+     * @param   T       element the element to add at the specified index
+     * @throws  IndexOutOfBoundsException   thrown if the specified index is out of range
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        root = insert(root, index, element);
+        root.parent = null;
+        modCount++;
+    }
+
+    /**
+     * Removes the first element in the list and also returns it
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  T   first element in the list
+     */
+    @Override
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return remove(0);
+    }
+
+    /**
+     * Removes the last element in the list and also returns it
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  T   last element in the list
+     */
+    @Override
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return remove(size() - 1);
+    }
+
+    /**
+     * Removes the first element matching the given element and also returns it
+     * @param   T   element     the element to remove from the list
+     * @throws  NoSuchElementException  thrown if the element is not in the list
+     * @return  T   element removed from the list
+     */
+    @Override
+    public T remove(T element) {
+        int index = indexOf(element);
+
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+
+        return remove(index);
+    }
+
+    /**
+     * Removes the element at the specified index and also returns it
+     * @param   int     index   index at which to remove an element
+     * @throws  IndexOutOfBoundsException   thrown if the specified index is out of range
+     * @return  T   element removed from the list
+     */
+    @Override
+    public T remove(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        root = delete(root, index);
+
+        if (root != null) {
+            root.parent = null;
+        }
+
+        modCount++;
+
+        return removed;
+    }
+
+    /**
+     * Sets the element at the specified index
+     * @param   int     index   index in the list to assign element to
+     * @param   T       element the element to assign to the specified index
+     * @throws  IndexOutOfBoundsException   thrown if the specified index is out of range
+     */
+    @Override
+    public void set(int index, T element) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        nodeAt(index).element = element;
+        modCount++;
+    }
+
+    /**
+     * Gets the element at the specified index
+     * @param   int     index   index in list to return element from
+     * @throws  IndexOutOfBoundsException   thrown if the specified index is out of range
+     * @return  T   element at the specified index
+     */
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return nodeAt(index).element;
+    }
+
+    /**
+     * Returns the index of the first element matching the given element
+     * @param   T   element     element to find in the list
+     * @return  int     index of the element; -1 if it is not in the list
+     */
+    @Override
+    public int indexOf(T element) {
+        int index = 0;
+
+        for (TreeNode<T> current = leftmost(root); current != null; current = successor(current)) {
+            if (current.element.equals(element)) {
+                return index;
+            }
+
+            index++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the first element in the list
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  T   the first element in the list
+     */
+    @Override
+    public T first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return leftmost(root).element;
+    }
+
+    /**
+     * Returns the last element in the list
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  T   the last element in the list
+     */
+    @Override
+    public T last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return rightmost(root).element;
+    }
+
+    /**
+     * Returns whether the list contains the target element
+     * @param   T   target  element to look for
+     * @return  boolean     true if the list contains the target
+     */
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) >= 0;
+    }
+
+    /**
+     * Returns whether the list is currently empty
+     * @return  boolean     true if list is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns the current size of the list
+     * @return  int     current size of the list
+     */
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Iterator to assist in traversing through the list
+     * @return  Iterator<T>
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new IUTreeListIterator(0);
+    }
+
+    /**
+     * Returns an instance of the list iterator
+     * @return  ListIterator<T>
+     */
+    @Override
+    public ListIterator<T> listIterator() {
+        return new IUTreeListIterator(0);
+    }
+
+    /**
+     * Returns an instance of the list iterator positioned before the given index
+     * @param   int     startingIndex   index of the element the first call to next returns
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  ListIterator<T>
+     */
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        return new IUTreeListIterator(startingIndex);
+    }
+
+    /**
+     * Returns a view of the elements from fromIndex to toIndex, backed by this list
+     * The view forwards to the list by index and reads the list's modification counter,
+     * so any change made to the list around the view makes it fail fast
+     * @param   int     fromIndex   index of the first element of the view
+     * @param   int     toIndex     index just past the last element of the view
+     * @throws  IndexOutOfBoundsException   thrown if the range is out of bounds
+     * @return  IndexedUnsortedList<T>  view of the range
+     */
+    @Override
+    public IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new SubList.Forwarding<T>(this, fromIndex, toIndex, () -> modCount);
+    }
+
+    /**
+     * Enumeration of various list iterator states
+     */
+    private enum ListIteratorState { PREVIOUS, NEXT, NEITHER }
+
+    /**
+     * List iterator class implementation, also used as the plain iterator
+     */
+    private class IUTreeListIterator implements ListIterator<T> {
+
+        /**
+         * Node just after the cursor (null at the end of the list)
+         * @var TreeNode<T>
+         */
+        private TreeNode<T> nextNode;
+
+        /**
+         * Node last returned by next or previous
+         * @var TreeNode<T>
+         */
+        private TreeNode<T> lastReturned;
+
+        /**
+         * Index of the next node and the list iterator modification counter
+         * @var int
+         */
+        private int nextIndex, listIterModCount;
+
+        /**
+         * Holds the current list iterator state we are in
+         * @var ListIteratorState
+         */
+        private ListIteratorState state;
+
+        /**
+         * Class constructor
+         * @param startingIndex index in which to start iteration on
+         */
+        public IUTreeListIterator(int startingIndex) {
+            if (startingIndex < 0 || startingIndex > size()) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            nextIndex = startingIndex;
+            nextNode = startingIndex == size() ? null : nodeAt(startingIndex);
+            lastReturned = null;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+        }
+
+        /**
+         * Returns whether there is another element after the cursor
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  boolean     true if a next element exists, false otherwise
+         */
+        @Override
+        public boolean hasNext() {
+            checkForComodification();
+
+            return nextNode != null;
+        }
+
+        /**
+         * Returns whether there is another element before the cursor
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  boolean     true if a previous element exists, false otherwise
+         */
+        @Override
+        public boolean hasPrevious() {
+            checkForComodification();
+
+            return nextIndex > 0;
+        }
+
+        /**
+         * Returns the element after the cursor and moves the cursor past it
+         * @throws  NoSuchElementException  thrown if there is no next element
+         * @return  T   next element in the iteration
+         */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = nextNode;
+            nextNode = successor(nextNode);
+            nextIndex++;
+            state = ListIteratorState.NEXT;
+
+            return lastReturned.element;
+        }
+
+        /**
+         * Returns the element before the cursor and moves the cursor before it
+         * @throws  NoSuchElementException  thrown if there is no previous element
+         * @return  T   previous element in the iteration
+         */
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+
+            nextNode = nextNode == null ? rightmost(root) : predecessor(nextNode);
+            lastReturned = nextNode;
+            nextIndex--;
+            state = ListIteratorState.PREVIOUS;
+
+            return lastReturned.element;
+        }
+
+        /**
+         * Returns the index of the element next would return
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  int     next index in the iteration
+         */
+        @Override
+        public int nextIndex() {
+            checkForComodification();
+
+            return nextIndex;
+        }
+
+        /**
+         * Returns the index of the element previous would return
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  int     previous index in the iteration
+         */
+        @Override
+        public int previousIndex() {
+            checkForComodification();
+
+            return nextIndex - 1;
+        }
+
+        /**
+         * Removes the element last returned by next or previous
+         * Deleting can move elements between nodes, so the cursor node is looked up again
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @throws  IllegalStateException           thrown if next or previous has not been called since the last add or remove
+         */
+        @Override
+        public void remove() {
+            checkForComodification();
+
+            if (state == ListIteratorState.NEITHER) {
+                throw new IllegalStateException();
+            }
+
+            if (state == ListIteratorState.NEXT) {
+                nextIndex--;
+            }
+
+            IUTreeList.this.remove(nextIndex);
+            reposition();
+        }
+
+        /**
+         * Replaces the element last returned by next or previous
+         * @param   T   element     element to put in its place
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @throws  IllegalStateException           thrown if next or previous has not been called since the last add or remove
+         */
+        @Override
+        public void set(T element) {
+            checkForComodification();
+
+            if (state == ListIteratorState.NEITHER) {
+                throw new IllegalStateException();
+            }
+
+            lastReturned.element = element;
+            modCount++;
+            listIterModCount = modCount;
+        }
+
+        /**
+         * Inserts an element just before the cursor
+         * @param   T   element     element to add to the list
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         */
+        @Override
+        public void add(T element) {
+            checkForComodification();
+
+            IUTreeList.this.add(nextIndex, element);
+            nextIndex++;
+            reposition();
+        }
+
+        /**
+         * Finds the cursor node again after the tree has been restructured
+         */
+        private void reposition() {
+            nextNode = nextIndex == size() ? null : nodeAt(nextIndex);
+            lastReturned = null;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+        }
+
+        /**
+         * Makes sure the list has not been changed by anything but this iterator
+         * @throws  ConcurrentModificationException thrown if the list was modified elsewhere
+         */
+        private void checkForComodification() {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Inserts an element at the given index of a subtree
+     * @param   TreeNode<T>     node    root of the subtree
+     * @param   int             index   index within the subtree
+     * @param   T               element element to insert
+     * @return  TreeNode<T>     new root of the subtree
+     */
+    private TreeNode<T> insert(TreeNode<T> node, int index, T element) {
+        if (node == null) {
+            return new TreeNode<T>(element);
+        }
+
+        int leftSize = size(node.left);
+
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, element);
+        } else {
+            node.right = insert(node.right, index - leftSize - 1, element);
+        }
+
+        return balance(node);
+    }
+
+    /**
+     * Deletes the element at the given index of a subtree, storing it in removed
+     * @param   TreeNode<T>     node    root of the subtree
+     * @param   int             index   index within the subtree
+     * @return  TreeNode<T>     new root of the subtree
+     */
+    private TreeNode<T> delete(TreeNode<T> node, int index) {
+        int leftSize = size(node.left);
+
+        if (index < leftSize) {
+            node.left = delete(node.left, index);
+        } else if (index > leftSize) {
+            node.right = delete(node.right, index - leftSize - 1);
+        } else {
+            removed = node.element;
+
+            if (node.left == null) {
+                return node.right;
+            } else if (node.right == null) {
+                return node.left;
+            }
+
+            // Two children: pull the successor's element up and delete its node instead
+            node.element = leftmost(node.right).element;
+            node.right = deleteLeftmost(node.right);
+        }
+
+        return balance(node);
+    }
+
+    /**
+     * Deletes the leftmost node of a subtree
+     * @param   TreeNode<T>     node    root of the subtree
+     * @return  TreeNode<T>     new root of the subtree
+     */
+    private TreeNode<T> deleteLeftmost(TreeNode<T> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+
+        node.left = deleteLeftmost(node.left);
+
+        return balance(node);
+    }
+
+    /**
+     * Restores the AVL height invariant at a node after one of its subtrees changed
+     * @param   TreeNode<T>     node    node to rebalance
+     * @return  TreeNode<T>     new root of the subtree
+     */
+    private TreeNode<T> balance(TreeNode<T> node) {
+        update(node);
+
+        int skew = height(node.left) - height(node.right);
+
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+
+            return rotateRight(node);
+        } else if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+
+            return rotateLeft(node);
+        }
+
+        return node;
+    }
+
+    /**
+     * Rotates a subtree to the right
+     * @param   TreeNode<T>     node    root of the subtree
+     * @return  TreeNode<T>     new root of the subtree
+     */
+    private TreeNode<T> rotateRight(TreeNode<T> node) {
+        TreeNode<T> pivot = node.left;
+
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+
+        return pivot;
+    }
+
+    /**
+     * Rotates a subtree to the left
+     * @param   TreeNode<T>     node    root of the subtree
+     * @return  TreeNode<T>     new root of the subtree
+     */
+    private TreeNode<T> rotateLeft(TreeNode<T> node) {
+        TreeNode<T> pivot = node.right;
+
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+
+        return pivot;
+    }
+
+    /**
+     * Recomputes a node's size and height and points its children back at it
+     * @param   TreeNode<T>     node    node to update
+     */
+    private void update(TreeNode<T> node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+
+        if (node.left != null) {
+            node.left.parent = node;
+        }
+
+        if (node.right != null) {
+            node.right.parent = node;
+        }
+    }
+
+    /**
+     * Finds the node at the given index by descending on subtree sizes
+     * @param   int     index   index of the node (must be in range)
+     * @return  TreeNode<T>     node at the given index
+     */
+    private TreeNode<T> nodeAt(int index) {
+        TreeNode<T> current = root;
+
+        while (true) {
+            int leftSize = size(current.left);
+
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                current = current.right;
+            } else {
+                return current;
+            }
+        }
+    }
+
+    /**
+     * Returns the node after the given one in list order
+     * @param   TreeNode<T>     node    node to start from
+     * @return  TreeNode<T>     next node, or null at the end of the list
+     */
+    private TreeNode<T> successor(TreeNode<T> node) {
+        if (node.right != null) {
+            return leftmost(node.right);
+        }
+
+        while (node.parent != null && node.parent.right == node) {
+            node = node.parent;
+        }
+
+        return node.parent;
+    }
+
+    /**
+     * Returns the node before the given one in list order
+     * @param   TreeNode<T>     node    node to start from
+     * @return  TreeNode<T>     previous node, or null at the start of the list
+     */
+    private TreeNode<T> predecessor(TreeNode<T> node) {
+        if (node.left != null) {
+            return rightmost(node.left);
+        }
+
+        while (node.parent != null && node.parent.left == node) {
+            node = node.parent;
+        }
+
+        return node.parent;
+    }
+
+    /**
+     * Returns the leftmost node of a subtree
+     * @param   TreeNode<T>     node    root of the subtree
+     * @return  TreeNode<T>     leftmost node, or null for an empty subtree
+     */
+    private TreeNode<T> leftmost(TreeNode<T> node) {
+        if (node == null) {
+            return null;
+        }
+
+        while (node.left != null) {
+            node = node.left;
+        }
+
+        return node;
+    }
+
+    /**
+     * Returns the rightmost node of a subtree
+     * @param   TreeNode<T>     node    root of the subtree
+     * @return  TreeNode<T>     rightmost node, or null for an empty subtree
+     */
+    private TreeNode<T> rightmost(TreeNode<T> node) {
+        if (node == null) {
+            return null;
+        }
+
+        while (node.right != null) {
+            node = node.right;
+        }
+
+        return node;
+    }
+
+    /**
+     * Size of a subtree, treating null as empty
+     * @param   TreeNode<T>     node    root of the subtree
+     * @return  int     number of nodes in the subtree
+     */
+    private static int size(TreeNode<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Height of a subtree, treating null as 0
+     * @param   TreeNode<T>     node    root of the subtree
+     * @return  int     height of the subtree
+     */
+    private static int height(TreeNode<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * toString method
+     * Lists all current elements contained within the list
+     * @return  String  list of all current elements in the list
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+
+        for (TreeNode<T> current = leftmost(root); current != null; current = successor(current)) {
+            if (result.length() > 1) {
+                result.append(", ");
+            }
+
+            result.append(current.element);
+        }
+
+        return result.append("]").toString();
+    }
+
+    /**
+     * Tree node holding one element plus the size and height of its subtree
+     */
+    private static class TreeNode<T> {
+
+        /**
+         * Element held by this node
+         * @var T
+         */
+        private T element;
+
+        /**
+         * Child and parent nodes
+         * @var TreeNode<T>
+         */
+        private TreeNode<T> left, right, parent;
+
+        /**
+         * Number of nodes and height of the subtree rooted here
+         * @var int
+         */
+        private int size, height;
+
+        /**
+         * Class constructor for a new leaf
+         * @param element   element held by the node
+         */
+        public TreeNode(T element) {
+            this.element = element;
+            left = right = parent = null;
+            size = height = 1;
+        }
+    }
+}
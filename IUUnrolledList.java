@@ -0,0 +1,828 @@
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Unrolled doubly linked implementation of IndexedUnsortedList interface
+ * Each link holds a small array of elements instead of a single one,
+ * so traversal touches far fewer objects and the per-element overhead is
+ * an array slot rather than a whole node. Full chunks split in half on
+ * insert; sparse chunks merge with a neighbour on remove.
+ *
+ * @param <T> - type of elements held in this collection
+ * @author The Boobies
+ */
+public class IUUnrolledList<T> implements IndexedUnsortedList<T> {
+
+    /**
+     * Number of elements a chunk can hold
+     * @var int
+     */
+    private final static int CHUNK_CAPACITY = 64;
+
+    /**
+     * A chunk holding fewer elements than this tries to merge with a neighbour
+     * @var int
+     */
+    private final static int MIN_FILL = CHUNK_CAPACITY / 4;
+
+    /**
+     * First and last chunks (no chunk in the list is ever empty)
+     * @var Chunk<T>
+     */
+    private Chunk<T> head, tail;
+
+    /**
+     * List and modification counters
+     * @var int
+     */
+    private int count, modCount;
+
+    /**
+     * Offset within the chunk returned by the most recent call to locate
+     * @var int
+     */
+    private int locatedOffset;
+
+    /**
+     * Chunk and offset now holding the element that followed the one most
+     * recently removed by removeAt (null chunk when it was the last element)
+     * @var Chunk<T>
+     */
+    private Chunk<T> followChunk;
+
+    /**
+     * Offset within followChunk
+     * @var int
+     */
+    private int followOffset;
+
+    /**
+     * Class constructor
+     */
+    public IUUnrolledList() {
+        head = tail = null;
+        count = modCount = 0;
+    }
+
+    /**
+     * Adds an element to the front of the list
+     * @param   T   element     element to add to the front of the list
+     */
+    @Override
+    public void addToFront(T element) {
+        add(0, element);
+    }
+
+    /**
+     * Adds an element to the end of the list
+     * @param   T   element     element to add to the end of the list
+     */
+    @Override
+    public void addToRear(T element) {
+        if (tail == null || tail.count == CHUNK_CAPACITY) {
+            linkAfter(tail, new Chunk<T>());
+        }
+
+        tail.elements[tail.count++] = element;
+        count++;
+        modCount++;
+    }
+
+    /**
+     * Adds an element to the end of the list
+     * @param   T   element     element to add to the list
+     */
+    @Override
+    public void add(T element) {
+        addToRear(element);
+    }
+
+    /**
+     * Adds an element after a target element in the list
+     * @param   T   element     the element to add after the target
+     * @param   T   target      target element to add element after
+     * @throws  NoSuchElementException  thrown if the target is not in the list
+     */
+    @Override
+    public void addAfter(T element, T target) {
+        int index = indexOf(target);
+
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+
+        add(index + 1, element);
+    }
+
+    /**
+     * Adds an element at a specific index in the list
+     * @param   int     index   index to add element to inside the list
+     * @param   T       element the element to add at the specified index
+     * @throws  IndexOutOfBoundsException   thrown if the specified index is out of range
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (index == count) {
+            addToRear(element);
+            return;
+        }
+
+        Chunk<T> chunk = locate(index);
+        int offset = locatedOffset;
+
+        if (chunk.count == CHUNK_CAPACITY) {
+            Chunk<T> upper = split(chunk);
+
+            if (offset > chunk.count) {
+                offset -= chunk.count;
+                chunk = upper;
+            }
+        }
+
+        System.arraycopy(chunk.elements, offset, chunk.elements, offset + 1, chunk.count - offset);
+        chunk.elements[offset] = element;
+        chunk.count++;
+        count++;
+        modCount++;
+    }
+
+    /**
+     * Removes the first element in the list and also returns it
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  T   first element in the list
+     */
+    @Override
+    public T removeFirst() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return removeAt(head, 0);
+    }
+
+    /**
+     * Removes the last element in the list and also returns it
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  T   last element in the list
+     */
+    @Override
+    public T removeLast() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return removeAt(tail, tail.count - 1);
+    }
+
+    /**
+     * Removes the first element matching the given element and also returns it
+     * @param   T   element     the element to remove from the list
+     * @throws  NoSuchElementException  thrown if the element is not in the list
+     * @return  T   element removed from the list
+     */
+    @Override
+    public T remove(T element) {
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int offset = 0; offset < chunk.count; offset++) {
+                if (chunk.elements[offset].equals(element)) {
+                    return removeAt(chunk, offset);
+                }
+            }
+        }
+
+        throw new NoSuchElementException();
+    }
+
+    /**
+     * Removes the element at the specified index and also returns it
+     * @param   int     index   index at which to remove an element
+     * @throws  IndexOutOfBoundsException   thrown if the specified index is out of range
+     * @return  T   element removed from the list
+     */
+    @Override
+    public T remove(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        Chunk<T> chunk = locate(index);
+
+        return removeAt(chunk, locatedOffset);
+    }
+
+    /**
+     * Sets the element at the specified index
+     * @param   int     index   index in the list to assign element to
+     * @param   T       element the element to assign to the specified index
+     * @throws  IndexOutOfBoundsException   thrown if the specified index is out of range
+     */
+    @Override
+    public void set(int index, T element) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        locate(index).elements[locatedOffset] = element;
+        modCount++;
+    }
+
+    /**
+     * Gets the element at the specified index
+     * @param   int     index   index in list to return element from
+     * @throws  IndexOutOfBoundsException   thrown if the specified index is out of range
+     * @return  T   element at the specified index
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return (T)locate(index).elements[locatedOffset];
+    }
+
+    /**
+     * Returns the index of the first element matching the given element
+     * @param   T   element     element to find in the list
+     * @return  int     index of the element; -1 if it is not in the list
+     */
+    @Override
+    public int indexOf(T element) {
+        int base = 0;
+
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int offset = 0; offset < chunk.count; offset++) {
+                if (chunk.elements[offset].equals(element)) {
+                    return base + offset;
+                }
+            }
+
+            base += chunk.count;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the first element in the list
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  T   the first element in the list
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T first() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return (T)head.elements[0];
+    }
+
+    /**
+     * Returns the last element in the list
+     * @throws  NoSuchElementException  thrown if the list is currently empty
+     * @return  T   the last element in the list
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T last() {
+        if (isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return (T)tail.elements[tail.count - 1];
+    }
+
+    /**
+     * Returns whether the list contains the target element
+     * @param   T   target  element to look for
+     * @return  boolean     true if the list contains the target
+     */
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) >= 0;
+    }
+
+    /**
+     * Returns whether the list is currently empty
+     * @return  boolean     true if list is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Returns the current size of the list
+     * @return  int     current size of the list
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Iterator to assist in traversing through the list
+     * @return  Iterator<T>
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new IUUnrolledListIterator(0);
+    }
+
+    /**
+     * Returns an instance of the list iterator
+     * @return  ListIterator<T>
+     */
+    @Override
+    public ListIterator<T> listIterator() {
+        return new IUUnrolledListIterator(0);
+    }
+
+    /**
+     * Returns an instance of the list iterator positioned before the given index
+     * @param   int     startingIndex   index of the element the first call to next returns
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  ListIterator<T>
+     */
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        return new IUUnrolledListIterator(startingIndex);
+    }
+
+    /**
+     * Returns a view of the elements from fromIndex to toIndex, backed by this list
+     * The view forwards to the list by index and reads the list's modification counter,
+     * so any change made to the list around the view makes it fail fast
+     * @param   int     fromIndex   index of the first element of the view
+     * @param   int     toIndex     index just past the last element of the view
+     * @throws  IndexOutOfBoundsException   thrown if the range is out of bounds
+     * @return  IndexedUnsortedList<T>  view of the range
+     */
+    @Override
+    public IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > count || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new SubList.Forwarding<T>(this, fromIndex, toIndex, () -> modCount);
+    }
+
+    /**
+     * Enumeration of various list iterator states
+     */
+    private enum ListIteratorState { PREVIOUS, NEXT, NEITHER }
+
+    /**
+     * List iterator class implementation, also used as the plain iterator
+     * The cursor is a chunk and an offset into it; an offset equal to the
+     * chunk's count means the cursor sits after that chunk's last element
+     */
+    private class IUUnrolledListIterator implements ListIterator<T> {
+
+        /**
+         * Chunk holding the cursor, and the chunk of the element last returned
+         * @var Chunk<T>
+         */
+        private Chunk<T> chunk, lastChunk;
+
+        /**
+         * Cursor offset within chunk, and offset of the element last returned
+         * @var int
+         */
+        private int offset, lastOffset;
+
+        /**
+         * Index of the next element and the list iterator modification counter
+         * @var int
+         */
+        private int nextIndex, listIterModCount;
+
+        /**
+         * Holds the current list iterator state we are in
+         * @var ListIteratorState
+         */
+        private ListIteratorState state;
+
+        /**
+         * Class constructor
+         * @param startingIndex index in which to start iteration on
+         */
+        public IUUnrolledListIterator(int startingIndex) {
+            if (startingIndex < 0 || startingIndex > count) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            moveTo(startingIndex);
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+        }
+
+        /**
+         * Returns whether there is another element after the cursor
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  boolean     true if a next element exists, false otherwise
+         */
+        @Override
+        public boolean hasNext() {
+            checkForComodification();
+
+            return nextIndex < count;
+        }
+
+        /**
+         * Returns whether there is another element before the cursor
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  boolean     true if a previous element exists, false otherwise
+         */
+        @Override
+        public boolean hasPrevious() {
+            checkForComodification();
+
+            return nextIndex > 0;
+        }
+
+        /**
+         * Returns the element after the cursor and moves the cursor past it
+         * @throws  NoSuchElementException  thrown if there is no next element
+         * @return  T   next element in the iteration
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            while (offset == chunk.count) {
+                chunk = chunk.next;
+                offset = 0;
+            }
+
+            lastChunk = chunk;
+            lastOffset = offset;
+            offset++;
+            nextIndex++;
+            state = ListIteratorState.NEXT;
+
+            return (T)lastChunk.elements[lastOffset];
+        }
+
+        /**
+         * Returns the element before the cursor and moves the cursor before it
+         * @throws  NoSuchElementException  thrown if there is no previous element
+         * @return  T   previous element in the iteration
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+
+            while (offset == 0) {
+                chunk = chunk.previous;
+                offset = chunk.count;
+            }
+
+            offset--;
+            lastChunk = chunk;
+            lastOffset = offset;
+            nextIndex--;
+            state = ListIteratorState.PREVIOUS;
+
+            return (T)lastChunk.elements[lastOffset];
+        }
+
+        /**
+         * Returns the index of the element next would return
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  int     next index in the iteration
+         */
+        @Override
+        public int nextIndex() {
+            checkForComodification();
+
+            return nextIndex;
+        }
+
+        /**
+         * Returns the index of the element previous would return
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @return  int     previous index in the iteration
+         */
+        @Override
+        public int previousIndex() {
+            checkForComodification();
+
+            return nextIndex - 1;
+        }
+
+        /**
+         * Removes the element last returned by next or previous
+         * The cursor moves to wherever the following element ended up after any merge
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @throws  IllegalStateException           thrown if next or previous has not been called since the last add or remove
+         */
+        @Override
+        public void remove() {
+            checkForComodification();
+
+            if (state == ListIteratorState.NEITHER) {
+                throw new IllegalStateException();
+            }
+
+            if (state == ListIteratorState.NEXT) {
+                nextIndex--;
+            }
+
+            removeAt(lastChunk, lastOffset);
+
+            if (followChunk == null) {
+                moveTo(count);
+            } else {
+                chunk = followChunk;
+                offset = followOffset;
+            }
+
+            lastChunk = null;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+        }
+
+        /**
+         * Replaces the element last returned by next or previous
+         * @param   T   element     element to put in its place
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         * @throws  IllegalStateException           thrown if next or previous has not been called since the last add or remove
+         */
+        @Override
+        public void set(T element) {
+            checkForComodification();
+
+            if (state == ListIteratorState.NEITHER) {
+                throw new IllegalStateException();
+            }
+
+            lastChunk.elements[lastOffset] = element;
+            modCount++;
+            listIterModCount = modCount;
+        }
+
+        /**
+         * Inserts an element just before the cursor
+         * A split can move the cursor's chunk, so the cursor is located again
+         * @param   T   element     element to add to the list
+         * @throws  ConcurrentModificationException thrown if the list was modified during iterator execution
+         */
+        @Override
+        public void add(T element) {
+            checkForComodification();
+
+            IUUnrolledList.this.add(nextIndex, element);
+            moveTo(nextIndex + 1);
+            lastChunk = null;
+            listIterModCount = modCount;
+            state = ListIteratorState.NEITHER;
+        }
+
+        /**
+         * Places the cursor just before the given index
+         * @param   int     index   index of the element next should return
+         */
+        private void moveTo(int index) {
+            nextIndex = index;
+
+            if (index == count) {
+                chunk = tail;
+                offset = tail == null ? 0 : tail.count;
+            } else {
+                chunk = locate(index);
+                offset = locatedOffset;
+            }
+        }
+
+        /**
+         * Makes sure the list has not been changed by anything but this iterator
+         * @throws  ConcurrentModificationException thrown if the list was modified elsewhere
+         */
+        private void checkForComodification() {
+            if (listIterModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    /**
+     * Finds the chunk holding the given index, walking from the nearer end
+     * The offset within that chunk is left in locatedOffset
+     * @param   int     index   index of the element (must be in range)
+     * @return  Chunk<T>    chunk holding the element
+     */
+    private Chunk<T> locate(int index) {
+        Chunk<T> chunk;
+
+        if (index < count / 2) {
+            chunk = head;
+
+            while (index >= chunk.count) {
+                index -= chunk.count;
+                chunk = chunk.next;
+            }
+        } else {
+            chunk = tail;
+            index = count - 1 - index;
+
+            while (index >= chunk.count) {
+                index -= chunk.count;
+                chunk = chunk.previous;
+            }
+
+            index = chunk.count - 1 - index;
+        }
+
+        locatedOffset = index;
+
+        return chunk;
+    }
+
+    /**
+     * Removes the element at an offset within a chunk, merging a sparse chunk
+     * with a neighbour, and records where the following element ended up
+     * @param   Chunk<T>    chunk   chunk holding the element
+     * @param   int         offset  offset of the element within the chunk
+     * @return  T   element removed from the list
+     */
+    @SuppressWarnings("unchecked")
+    private T removeAt(Chunk<T> chunk, int offset) {
+        T result = (T)chunk.elements[offset];
+
+        System.arraycopy(chunk.elements, offset + 1, chunk.elements, offset, chunk.count - offset - 1);
+        chunk.elements[--chunk.count] = null;
+        count--;
+        modCount++;
+
+        followChunk = chunk;
+        followOffset = offset;
+
+        if (chunk.count == 0) {
+            followChunk = chunk.next;
+            followOffset = 0;
+            unlink(chunk);
+        } else if (chunk.count < MIN_FILL) {
+            if (chunk.next != null && chunk.count + chunk.next.count <= CHUNK_CAPACITY) {
+                absorbNext(chunk);
+            } else if (chunk.previous != null && chunk.previous.count + chunk.count <= CHUNK_CAPACITY) {
+                followChunk = chunk.previous;
+                followOffset = chunk.previous.count + offset;
+                absorbNext(chunk.previous);
+            }
+        }
+
+        if (followChunk != null && followOffset == followChunk.count && followChunk.next != null) {
+            followChunk = followChunk.next;
+            followOffset = 0;
+        } else if (followChunk != null && followOffset == followChunk.count) {
+            followChunk = null;
+        }
+
+        return result;
+    }
+
+    /**
+     * Moves the upper half of a full chunk into a new chunk linked after it
+     * @param   Chunk<T>    chunk   full chunk to split
+     * @return  Chunk<T>    new chunk holding the upper half
+     */
+    private Chunk<T> split(Chunk<T> chunk) {
+        Chunk<T> upper = new Chunk<T>();
+        int keep = chunk.count / 2;
+
+        System.arraycopy(chunk.elements, keep, upper.elements, 0, chunk.count - keep);
+        Arrays.fill(chunk.elements, keep, chunk.count, null);
+        upper.count = chunk.count - keep;
+        chunk.count = keep;
+        linkAfter(chunk, upper);
+
+        return upper;
+    }
+
+    /**
+     * Appends the elements of the chunk after the given one and unlinks it
+     * @param   Chunk<T>    chunk   chunk to merge into
+     */
+    private void absorbNext(Chunk<T> chunk) {
+        Chunk<T> next = chunk.next;
+
+        System.arraycopy(next.elements, 0, chunk.elements, chunk.count, next.count);
+        chunk.count += next.count;
+        unlink(next);
+    }
+
+    /**
+     * Links a chunk in after the given one
+     * @param   Chunk<T>    previous    chunk to link after, or null to link at the front
+     * @param   Chunk<T>    chunk       chunk to link in
+     */
+    private void linkAfter(Chunk<T> previous, Chunk<T> chunk) {
+        Chunk<T> next = previous == null ? head : previous.next;
+
+        chunk.previous = previous;
+        chunk.next = next;
+
+        if (previous == null) {
+            head = chunk;
+        } else {
+            previous.next = chunk;
+        }
+
+        if (next == null) {
+            tail = chunk;
+        } else {
+            next.previous = chunk;
+        }
+    }
+
+    /**
+     * Unlinks a chunk from the list
+     * @param   Chunk<T>    chunk   chunk to unlink
+     */
+    private void unlink(Chunk<T> chunk) {
+        if (chunk.previous == null) {
+            head = chunk.next;
+        } else {
+            chunk.previous.next = chunk.next;
+        }
+
+        if (chunk.next == null) {
+            tail = chunk.previous;
+        } else {
+            chunk.next.previous = chunk.previous;
+        }
+
+        chunk.next = chunk.previous = null;
+    }
+
+    /**
+     * toString method
+     * Lists all current elements contained within the list
+     * @return  String  list of all current elements in the list
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+
+        for (Chunk<T> chunk = head; chunk != null; chunk = chunk.next) {
+            for (int offset = 0; offset < chunk.count; offset++) {
+                if (result.length() > 1) {
+                    result.append(", ");
+                }
+
+                result.append(chunk.elements[offset]);
+            }
+        }
+
+        return result.append("]").toString();
+    }
+
+    /**
+     * Link in the chunk chain, holding up to CHUNK_CAPACITY elements
+     */
+    private static class Chunk<T> {
+
+        /**
+         * Elements held by this chunk, packed at the start of the array
+         * @var Object array
+         */
+        private final Object[] elements;
+
+        /**
+         * Number of elements held by this chunk
+         * @var int
+         */
+        private int count;
+
+        /**
+         * Neighbouring chunks
+         * @var Chunk<T>
+         */
+        private Chunk<T> next, previous;
+
+        /**
+         * Class constructor for an empty chunk
+         */
+        public Chunk() {
+            elements = new Object[CHUNK_CAPACITY];
+            count = 0;
+            next = previous = null;
+        }
+    }
+}
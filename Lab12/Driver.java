@@ -1,23 +1,339 @@
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark harness for Sort
+ * Times every sort algorithm on every IndexedUnsortedList implementation and input
+ * distribution, printing one row per combination: nanoseconds, bytes allocated and
+ * comparisons, each per element. Each combination is run --rounds times on a freshly
+ * filled list and the fastest round is reported; every result is checked to be sorted.
+ *
+ * Compile from Lab12 with: javac -sourcepath .:.. *.java
+ * Run with: java -Xmx8g Driver [--sizes 1000,1000000] [--algorithms sort,radix]
+ *     [--lists IUArrayList,WrappedDLL] [--distributions random,zipf] [--rounds 3] [--csv results.csv]
+ * Sizes up to 10^8 work given enough heap, roughly 60 bytes per element for the linked lists.
+ * Times include the counting Comparator, which every comparison sort pays alike.
+ *
+ * @author The Boobies
+ */
 public class Driver {
-    
-    public static void main(String[] args) {
-        IndexedUnsortedList<Integer> list = new WrappedDLL<Integer>();
-
-        list.add(new Integer(1));
-        list.add(new Integer(8));
-        list.add(new Integer(3));
-        list.add(new Integer(2));
-        list.add(new Integer(19));
-        list.add(new Integer(4));
-        list.add(new Integer(11));
-        list.add(new Integer(10));
-        list.add(new Integer(9));
-
-        System.out.println(list);
-        System.out.println();
-
-        Sort.sort(list);
-
-        System.out.println(list);
+
+    /**
+     * Sort algorithms the harness knows, in report order
+     * @var String array
+     */
+    private static final String[] ALGORITHMS = { "sort", "stableSort", "parallelSort", "radix", "external" };
+
+    /**
+     * IndexedUnsortedList implementations the harness knows, in report order
+     * @var String array
+     */
+    private static final String[] LISTS = { "WrappedDLL", "GoodList", "IUArrayList", "IUSingleLinkedList",
+        "IUDoubleLinkedList", "IUTreeList", "IUUnrolledList", "IUIntArrayList" };
+
+    /**
+     * Input distributions the harness knows, in report order
+     * @var String array
+     */
+    private static final String[] DISTRIBUTIONS = { "random", "sorted", "reversed", "fewUnique", "zipf" };
+
+    /**
+     * Sizes run when none are given
+     * @var int array
+     */
+    private static final int[] DEFAULT_SIZES = { 1000, 100000, 1000000 };
+
+    /**
+     * Distinct values in the few-unique distribution
+     * @var int
+     */
+    private static final int FEW_UNIQUE_VALUES = 10;
+
+    /**
+     * Distinct ranks in the Zipf distribution; rank r is drawn with probability proportional to 1 / r
+     * @var int
+     */
+    private static final int ZIPF_RANKS = 10000;
+
+    /**
+     * Size of the untimed warmup sort run before each combination is measured
+     * @var int
+     */
+    private static final int WARMUP_SIZE = 10000;
+
+    /**
+     * Runs the requested benchmarks
+     * @param   String array    args    options, see the class comment
+     * @throws  IOException     if the external sort's temp directory or the CSV file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int[] sizes = DEFAULT_SIZES;
+        String[] algorithms = ALGORITHMS;
+        String[] lists = LISTS;
+        String[] distributions = DISTRIBUTIONS;
+        int rounds = 3;
+        String csv = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : "";
+
+            switch (args[i]) {
+                case "--sizes":
+                    sizes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "--algorithms":
+                    algorithms = checked(value.split(","), ALGORITHMS);
+                    break;
+                case "--lists":
+                    lists = checked(value.split(","), LISTS);
+                    break;
+                case "--distributions":
+                    distributions = checked(value.split(","), DISTRIBUTIONS);
+                    break;
+                case "--rounds":
+                    rounds = Integer.parseInt(value);
+                    break;
+                case "--csv":
+                    csv = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+
+            i++;
+        }
+
+        Path tempDir = Files.createTempDirectory("sort-driver");
+        List<String> rows = new ArrayList<String>();
+
+        System.out.printf("%-13s %-19s %-10s %10s %14s %14s %14s%n",
+            "algorithm", "list", "input", "size", "ns/elem", "bytes/elem", "compares/elem");
+
+        try {
+            for (String algorithm : algorithms) {
+                for (String list : lists) {
+                    for (String distribution : distributions) {
+                        measure(algorithm, list, distribution, WARMUP_SIZE, tempDir);
+
+                        for (int size : sizes) {
+                            double[] best = null;
+
+                            for (int round = 0; round < rounds; round++) {
+                                double[] result = measure(algorithm, list, distribution, size, tempDir);
+
+                                if (best == null || result[0] < best[0]) {
+                                    best = result;
+                                }
+                            }
+
+                            System.out.printf("%-13s %-19s %-10s %10d %14.2f %14.2f %14.2f%n",
+                                algorithm, list, distribution, size, best[0], best[1], best[2]);
+                            rows.add(String.format("%s,%s,%s,%d,%.3f,%.3f,%.3f",
+                                algorithm, list, distribution, size, best[0], best[1], best[2]));
+                        }
+                    }
+                }
+            }
+        } finally {
+            Files.deleteIfExists(tempDir);
+        }
+
+        if (csv != null) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Path.of(csv)))) {
+                out.println("algorithm,list,distribution,size,ns_per_element,bytes_per_element,comparisons_per_element");
+
+                for (String row : rows) {
+                    out.println(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills a list and times one sort of it
+     * @param   String  algorithm       sort algorithm to run
+     * @param   String  list            implementation to fill
+     * @param   String  distribution    input distribution
+     * @param   int     size            number of elements
+     * @param   Path    tempDir         directory for the external sort's runs
+     * @return  double array    nanoseconds, bytes allocated and comparisons, each per element
+     * @throws  IOException     if the external sort cannot write its runs
+     */
+    private static double[] measure(String algorithm, String list, String distribution, int size, Path tempDir) throws IOException {
+        IndexedUnsortedList<Integer> target = newList(list);
+        int[] values = generate(distribution, size);
+
+        for (int value : values) {
+            target.addToRear(value);
+        }
+
+        LongAdder comparisons = new LongAdder();
+        Comparator<Integer> counting = (a, b) -> {
+            comparisons.increment();
+            return a.compareTo(b);
+        };
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+
+        switch (algorithm) {
+            case "sort":
+                Sort.sort(target, counting);
+                break;
+            case "stableSort":
+                Sort.stableSort(target, counting);
+                break;
+            case "parallelSort":
+                Sort.parallelSort(target, counting);
+                break;
+            case "radix":
+                Sort.sortByIntKey(target, Integer::intValue);
+                break;
+            case "external":
+                // runs of an eighth of the input, so the merge always goes through the disk
+                ExternalSort.sort(target, counting, ExternalSort.INTEGER, Math.max(size / 8, 1), tempDir);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+
+        if (target.size() != size) {
+            throw new IllegalStateException(algorithm + " left " + list + " with " + target.size()
+                + " elements instead of " + size);
+        }
+
+        Arrays.sort(values);
+        int i = 0;
+
+        for (Integer element : target) {
+            if (element != values[i++]) {
+                throw new IllegalStateException(algorithm + " left " + list + " unsorted at index " + (i - 1));
+            }
+        }
+
+        return new double[] { (double)elapsed / size, (double)allocated / size, comparisons.doubleValue() / size };
+    }
+
+    /**
+     * Creates an empty list of the named implementation
+     * @param   String  name    simple class name of the implementation
+     * @return  IndexedUnsortedList<Integer>    new empty list
+     */
+    private static IndexedUnsortedList<Integer> newList(String name) {
+        switch (name) {
+            case "WrappedDLL":
+                return new WrappedDLL<Integer>();
+            case "GoodList":
+                return new GoodList<Integer>();
+            case "IUArrayList":
+                return new IUArrayList<Integer>();
+            case "IUSingleLinkedList":
+                return new IUSingleLinkedList<Integer>();
+            case "IUDoubleLinkedList":
+                return new IUDoubleLinkedList<Integer>();
+            case "IUTreeList":
+                return new IUTreeList<Integer>();
+            case "IUUnrolledList":
+                return new IUUnrolledList<Integer>();
+            case "IUIntArrayList":
+                return new IUIntArrayList().boxed();
+            default:
+                throw new IllegalArgumentException("Unknown list: " + name);
+        }
+    }
+
+    /**
+     * Generates input values, seeded by size so every algorithm and list sees the same input
+     * @param   String  distribution    random, sorted, reversed, fewUnique or zipf
+     * @param   int     size            number of values
+     * @return  int array   generated values
+     */
+    private static int[] generate(String distribution, int size) {
+        Random random = new Random(size);
+        int[] values = new int[size];
+
+        switch (distribution) {
+            case "random":
+                for (int i = 0; i < size; i++) {
+                    values[i] = random.nextInt();
+                }
+                break;
+            case "sorted":
+                for (int i = 0; i < size; i++) {
+                    values[i] = i;
+                }
+                break;
+            case "reversed":
+                for (int i = 0; i < size; i++) {
+                    values[i] = size - i;
+                }
+                break;
+            case "fewUnique":
+                for (int i = 0; i < size; i++) {
+                    values[i] = random.nextInt(FEW_UNIQUE_VALUES);
+                }
+                break;
+            case "zipf":
+                double[] cumulative = new double[ZIPF_RANKS];
+                double total = 0;
+
+                for (int rank = 1; rank <= ZIPF_RANKS; rank++) {
+                    total += 1.0 / rank;
+                    cumulative[rank - 1] = total;
+                }
+
+                for (int i = 0; i < size; i++) {
+                    int slot = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                    values[i] = (slot < 0 ? -slot - 1 : slot) + 1;
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown distribution: " + distribution);
+        }
+
+        return values;
+    }
+
+    /**
+     * Bytes allocated so far by every live thread, so pool workers are counted for parallelSort
+     * @return  long    allocated bytes
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(allocated, 0);
+        }
+
+        return total;
+    }
+
+    /**
+     * Checks requested names against the known ones
+     * @param   String array    requested   names given on the command line
+     * @param   String array    known       names the harness supports
+     * @return  String array    the requested names
+     */
+    private static String[] checked(String[] requested, String[] known) {
+        for (String name : requested) {
+            if (!Arrays.asList(known).contains(name)) {
+                throw new IllegalArgumentException("Unknown name: " + name + ", expected one of " + Arrays.toString(known));
+            }
+        }
+
+        return requested;
     }
 }
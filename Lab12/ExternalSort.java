@@ -0,0 +1,566 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * External merge sort for lists and iterators too large to sort in memory.
+ * The source is cut into runs of at most runSize elements, which is the
+ * caller's memory budget. Each run is sorted with Sort's introsort and
+ * spilled through a FileChannel to a temporary file in the caller's
+ * directory, encoded by a Codec. The runs are then merged k ways with a
+ * heap keyed on each run's next element, at most MAX_FAN_IN runs at a time,
+ * into a consumer or a list. A source that fits in one run never touches
+ * the disk, and every temporary file is deleted before the sort returns.
+ * The sort is not stable.
+ *
+ * @author The Boobies
+ */
+public class ExternalSort
+{
+	/**
+	 * Binary encoding of the elements written to run files
+	 *
+	 * @param <T> type of element encoded
+	 */
+	public interface Codec<T>
+	{
+		/**
+		 * Returns the number of bytes every element encodes to, or -1 if the width
+		 * varies; variable-width elements are written with an int length prefix.
+		 *
+		 * @return fixed encoded width, or -1
+		 */
+		default int fixedSize() {
+			return -1;
+		}
+
+		/**
+		 * Returns the number of bytes the given element encodes to.
+		 *
+		 * @param element element to measure
+		 * @return encoded width of the element
+		 */
+		int encodedSize(T element);
+
+		/**
+		 * Writes the element at the buffer's position, which has at least
+		 * encodedSize(element) bytes remaining.
+		 *
+		 * @param element element to write
+		 * @param buffer buffer to write to
+		 */
+		void encode(T element, ByteBuffer buffer);
+
+		/**
+		 * Reads an element of the given encoded width from the buffer's position.
+		 *
+		 * @param buffer buffer to read from
+		 * @param size encoded width of the element
+		 * @return decoded element
+		 */
+		T decode(ByteBuffer buffer, int size);
+	}
+
+	/**
+	 * Four-byte big-endian encoding of non-null Integers
+	 * @var Codec<Integer>
+	 */
+	public static final Codec<Integer> INTEGER = new Codec<Integer>() {
+		@Override
+		public int fixedSize() {
+			return Integer.BYTES;
+		}
+
+		@Override
+		public int encodedSize(Integer element) {
+			return Integer.BYTES;
+		}
+
+		@Override
+		public void encode(Integer element, ByteBuffer buffer) {
+			buffer.putInt(element);
+		}
+
+		@Override
+		public Integer decode(ByteBuffer buffer, int size) {
+			return buffer.getInt();
+		}
+	};
+
+	/**
+	 * UTF-8 encoding of non-null Strings
+	 * @var Codec<String>
+	 */
+	public static final Codec<String> STRING = new Codec<String>() {
+		@Override
+		public int encodedSize(String element) {
+			return element.getBytes(StandardCharsets.UTF_8).length;
+		}
+
+		@Override
+		public void encode(String element, ByteBuffer buffer) {
+			buffer.put(element.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public String decode(ByteBuffer buffer, int size) {
+			byte[] bytes = new byte[size];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+
+	/**
+	 * Most runs merged at once; more runs than this are merged in rounds
+	 * @var int
+	 */
+	static final int MAX_FAN_IN = 64;
+
+	/**
+	 * Size of the channel buffer kept by each run reader and writer
+	 * @var int
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private ExternalSort() {
+	}
+
+	/**
+	 * Sorts a list that implements the IndexedUnsortedList interface using given
+	 * Comparator, holding no more than runSize of its elements in a buffer at once.
+	 * The list is drained with its iterator as the runs are spilled, then refilled
+	 * at the rear from the merge. If an IOException is thrown the list may have
+	 * lost some or all of its elements.
+	 *
+	 * @param <T> the class of elements in the list
+	 * @param list the list to be sorted
+	 * @param c the Comparator used
+	 * @param codec encoding for the run files
+	 * @param runSize most elements sorted in memory at once, at least 1
+	 * @param tempDir directory the run files are created in
+	 * @throws IOException if a run file cannot be written or read
+	 */
+	public static <T> void sort(IndexedUnsortedList<T> list, Comparator<T> c, Codec<T> codec, int runSize, Path tempDir) throws IOException
+	{
+		sort(list.iterator(), true, Math.min(runSize, list.size()), c, codec, runSize, tempDir, list::addToRear);
+	}
+
+	/**
+	 * Sorts the elements of an iterator using given Comparator and appends them,
+	 * in order, to the rear of the target list.
+	 *
+	 * @param <T> the class of elements sorted
+	 * @param source elements to sort
+	 * @param c the Comparator used
+	 * @param codec encoding for the run files
+	 * @param runSize most elements sorted in memory at once, at least 1
+	 * @param tempDir directory the run files are created in
+	 * @param target list the sorted elements are added to
+	 * @throws IOException if a run file cannot be written or read
+	 */
+	public static <T> void sort(Iterator<? extends T> source, Comparator<T> c, Codec<T> codec, int runSize, Path tempDir, IndexedUnsortedList<T> target) throws IOException
+	{
+		sort(source, false, runSize, c, codec, runSize, tempDir, target::addToRear);
+	}
+
+	/**
+	 * Sorts the elements of an iterator using given Comparator and hands them,
+	 * in order, to the consumer.
+	 *
+	 * @param <T> the class of elements sorted
+	 * @param source elements to sort
+	 * @param c the Comparator used
+	 * @param codec encoding for the run files
+	 * @param runSize most elements sorted in memory at once, at least 1
+	 * @param tempDir directory the run files are created in
+	 * @param sink receives the sorted elements
+	 * @throws IOException if a run file cannot be written or read
+	 */
+	public static <T> void sort(Iterator<? extends T> source, Comparator<T> c, Codec<T> codec, int runSize, Path tempDir, Consumer<? super T> sink) throws IOException
+	{
+		sort(source, false, runSize, c, codec, runSize, tempDir, sink);
+	}
+
+	/**
+	 * Spills the source into sorted runs and merges them into the sink
+	 * @param   Iterator<T>     source      elements to sort
+	 * @param   boolean         drain       whether to remove each element from the source once buffered
+	 * @param   int             capacity    size of the run buffer, at most runSize
+	 * @param   Comparator<T>   c           ordering to sort by
+	 * @param   Codec<T>        codec       encoding for the run files
+	 * @param   int             runSize     most elements sorted in memory at once
+	 * @param   Path            tempDir     directory the run files are created in
+	 * @param   Consumer<T>     sink        receives the sorted elements
+	 * @throws  IOException     if a run file cannot be written or read
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> void sort(Iterator<? extends T> source, boolean drain, int capacity, Comparator<T> c, Codec<T> codec, int runSize, Path tempDir, Consumer<? super T> sink) throws IOException {
+		if (runSize < 1) {
+			throw new IllegalArgumentException("runSize must be at least 1");
+		}
+
+		Object[] buffer = new Object[Math.max(capacity, 1)];
+		List<Path> created = new ArrayList<Path>();
+		List<Path> runs = new ArrayList<Path>();
+
+		try {
+			int length = 0;
+
+			while (source.hasNext()) {
+				buffer[length++] = source.next();
+
+				if (drain) {
+					source.remove();
+				}
+
+				if (length == buffer.length && source.hasNext()) {
+					runs.add(spill(buffer, length, c, codec, tempDir, created));
+					length = 0;
+				}
+			}
+
+			if (runs.isEmpty()) {
+				Sort.sortArray(buffer, length, c);
+
+				for (int i = 0; i < length; i++) {
+					sink.accept((T) buffer[i]);
+				}
+
+				return;
+			}
+
+			if (length > 0) {
+				runs.add(spill(buffer, length, c, codec, tempDir, created));
+			}
+
+			buffer = null;
+
+			while (runs.size() > MAX_FAN_IN) {
+				runs = mergeRound(runs, c, codec, tempDir, created);
+			}
+
+			merge(runs, c, codec, sink);
+		} finally {
+			for (Path file : created) {
+				Files.deleteIfExists(file);
+			}
+		}
+	}
+
+	/**
+	 * Sorts the buffered elements and writes them to a new run file
+	 * The buffer is cleared afterwards so the spilled elements can be collected
+	 * @param   Object array    buffer      elements of the run
+	 * @param   int             length      number of buffered elements
+	 * @param   Comparator<T>   c           ordering to sort by
+	 * @param   Codec<T>        codec       encoding for the run file
+	 * @param   Path            tempDir     directory the run file is created in
+	 * @param   List<Path>      created     every temporary file created so far
+	 * @return  Path    the new run file
+	 * @throws  IOException     if the run file cannot be written
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Path spill(Object[] buffer, int length, Comparator<T> c, Codec<T> codec, Path tempDir, List<Path> created) throws IOException {
+		Sort.sortArray(buffer, length, c);
+		Path file = newRunFile(tempDir, created);
+
+		try (RunWriter<T> writer = new RunWriter<T>(file, codec)) {
+			for (int i = 0; i < length; i++) {
+				writer.write((T) buffer[i]);
+			}
+		}
+
+		Arrays.fill(buffer, 0, length, null);
+
+		return file;
+	}
+
+	/**
+	 * Merges the runs in groups of MAX_FAN_IN into longer runs, deleting the merged ones
+	 * @param   List<Path>      runs        runs to merge
+	 * @param   Comparator<T>   c           ordering to merge by
+	 * @param   Codec<T>        codec       encoding of the run files
+	 * @param   Path            tempDir     directory new run files are created in
+	 * @param   List<Path>      created     every temporary file created so far
+	 * @return  List<Path>  the merged runs
+	 * @throws  IOException     if a run file cannot be written or read
+	 */
+	private static <T> List<Path> mergeRound(List<Path> runs, Comparator<T> c, Codec<T> codec, Path tempDir, List<Path> created) throws IOException {
+		List<Path> merged = new ArrayList<Path>();
+
+		for (int from = 0; from < runs.size(); from += MAX_FAN_IN) {
+			List<Path> group = runs.subList(from, Math.min(from + MAX_FAN_IN, runs.size()));
+			Path file = newRunFile(tempDir, created);
+
+			try (RunWriter<T> writer = new RunWriter<T>(file, codec)) {
+				merge(group, c, codec, element -> {
+					try {
+						writer.write(element);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+
+			for (Path run : group) {
+				Files.delete(run);
+			}
+
+			merged.add(file);
+		}
+
+		return merged;
+	}
+
+	/**
+	 * K-way merge of sorted runs into the sink with a heap of run readers, O(n log k)
+	 * @param   List<Path>      runs    runs to merge
+	 * @param   Comparator<T>   c       ordering to merge by
+	 * @param   Codec<T>        codec   encoding of the run files
+	 * @param   Consumer<T>     sink    receives the merged elements
+	 * @throws  IOException     if a run file cannot be read
+	 */
+	private static <T> void merge(List<Path> runs, Comparator<T> c, Codec<T> codec, Consumer<? super T> sink) throws IOException {
+		List<RunReader<T>> readers = new ArrayList<RunReader<T>>();
+		PriorityQueue<RunReader<T>> heap = new PriorityQueue<RunReader<T>>(Math.max(runs.size(), 1),
+			(a, b) -> c.compare(a.head, b.head));
+
+		try {
+			for (Path run : runs) {
+				RunReader<T> reader = new RunReader<T>(run, codec);
+				readers.add(reader);
+
+				if (reader.advance()) {
+					heap.add(reader);
+				}
+			}
+
+			while (!heap.isEmpty()) {
+				RunReader<T> reader = heap.poll();
+				sink.accept(reader.head);
+
+				if (reader.advance()) {
+					heap.add(reader);
+				}
+			}
+		} finally {
+			for (RunReader<T> reader : readers) {
+				reader.close();
+			}
+		}
+	}
+
+	/**
+	 * Creates an empty temporary run file and records it for cleanup
+	 * @param   Path        tempDir     directory to create the file in
+	 * @param   List<Path>  created     every temporary file created so far
+	 * @return  Path    the new file
+	 * @throws  IOException     if the file cannot be created
+	 */
+	private static Path newRunFile(Path tempDir, List<Path> created) throws IOException {
+		Path file = Files.createTempFile(tempDir, "run", ".bin");
+		created.add(file);
+
+		return file;
+	}
+
+	/**
+	 * Buffered writer of encoded elements to a run file
+	 */
+	private static final class RunWriter<T> implements AutoCloseable {
+
+		/**
+		 * Channel to the run file
+		 * @var FileChannel
+		 */
+		private final FileChannel channel;
+
+		/**
+		 * Encoding of the elements
+		 * @var Codec<T>
+		 */
+		private final Codec<T> codec;
+
+		/**
+		 * Encoded elements not yet written, in write mode
+		 * @var ByteBuffer
+		 */
+		private ByteBuffer buffer;
+
+		RunWriter(Path file, Codec<T> codec) throws IOException {
+			this.channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			this.codec = codec;
+			this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		}
+
+		/**
+		 * Encodes an element into the buffer, flushing first if it does not fit
+		 * @param   T   element     element to write
+		 * @throws  IOException     if the channel cannot be written
+		 */
+		void write(T element) throws IOException {
+			int size = codec.encodedSize(element);
+			boolean prefixed = codec.fixedSize() < 0;
+			int needed = prefixed ? size + Integer.BYTES : size;
+
+			if (buffer.remaining() < needed) {
+				flush();
+
+				if (buffer.capacity() < needed) {
+					buffer = ByteBuffer.allocate(needed);
+				}
+			}
+
+			if (prefixed) {
+				buffer.putInt(size);
+			}
+
+			int start = buffer.position();
+			codec.encode(element, buffer);
+
+			if (buffer.position() - start != size) {
+				throw new IllegalStateException("Codec wrote " + (buffer.position() - start) + " bytes, expected " + size);
+			}
+		}
+
+		/**
+		 * Writes out everything buffered so far
+		 * @throws  IOException     if the channel cannot be written
+		 */
+		private void flush() throws IOException {
+			buffer.flip();
+
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+
+			buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				flush();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Buffered reader of a run file, holding the run's next element as its head
+	 */
+	private static final class RunReader<T> implements AutoCloseable {
+
+		/**
+		 * Channel to the run file
+		 * @var FileChannel
+		 */
+		private final FileChannel channel;
+
+		/**
+		 * Encoding of the elements
+		 * @var Codec<T>
+		 */
+		private final Codec<T> codec;
+
+		/**
+		 * Bytes read but not yet decoded, in read mode
+		 * @var ByteBuffer
+		 */
+		private ByteBuffer buffer;
+
+		/**
+		 * Next element of the run, valid after advance() returns true
+		 * @var T
+		 */
+		T head;
+
+		RunReader(Path file, Codec<T> codec) throws IOException {
+			this.channel = FileChannel.open(file, StandardOpenOption.READ);
+			this.codec = codec;
+			this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+			this.buffer.limit(0);
+		}
+
+		/**
+		 * Decodes the next element of the run into head
+		 * @return  boolean     false once the run is exhausted
+		 * @throws  IOException     if the file cannot be read or ends part way through an element
+		 */
+		boolean advance() throws IOException {
+			int size = codec.fixedSize();
+
+			if (!fill(size < 0 ? Integer.BYTES : size)) {
+				head = null;
+				return false;
+			}
+
+			if (size < 0) {
+				size = buffer.getInt();
+
+				if (!fill(size)) {
+					throw new IOException("Run file ends part way through an element");
+				}
+			}
+
+			int end = buffer.position() + size;
+			head = codec.decode(buffer, size);
+			buffer.position(end);
+
+			return true;
+		}
+
+		/**
+		 * Makes sure at least the given number of bytes are buffered
+		 * @param   int     needed  bytes the next read needs
+		 * @return  boolean     true if they are buffered, false if the run ended cleanly before any of them
+		 * @throws  IOException     if the file cannot be read or ends part way through them
+		 */
+		private boolean fill(int needed) throws IOException {
+			if (buffer.remaining() >= needed) {
+				return true;
+			}
+
+			if (buffer.capacity() < needed) {
+				buffer = ByteBuffer.allocate(needed).put(buffer);
+			} else {
+				buffer.compact();
+			}
+
+			while (buffer.position() < needed && channel.read(buffer) >= 0) {
+			}
+
+			buffer.flip();
+
+			if (buffer.remaining() == 0) {
+				return false;
+			}
+
+			if (buffer.remaining() < needed) {
+				throw new IOException("Run file ends part way through an element");
+			}
+
+			return true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
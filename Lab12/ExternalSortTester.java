@@ -0,0 +1,211 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Tests for ExternalSort, run against a fresh directory under the system temp dir.
+ * Each test sorts a source through the run files and checks the result against
+ * java.util sorting, and that no run files are left behind.
+ * Run with: java ExternalSortTester
+ *
+ * @author The Boobies
+ */
+public class ExternalSortTester {
+
+	//tracking number of tests and test results
+	private int passes = 0;
+	private int failures = 0;
+	private int totalRun = 0;
+
+	/**
+	 * Directory every test spills its runs to
+	 * @var Path
+	 */
+	private final Path tempDir;
+
+	public static void main(String[] args) throws IOException {
+		Path tempDir = Files.createTempDirectory("external-sort");
+
+		try {
+			new ExternalSortTester(tempDir).runTests();
+		} finally {
+			Files.deleteIfExists(tempDir);
+		}
+	}
+
+	public ExternalSortTester(Path tempDir) {
+		this.tempDir = tempDir;
+	}
+
+	private void runTests() {
+		Random random = new Random(221);
+
+		printTest("emptyList_singleRun", testIntegerList(new WrappedDLL<Integer>(), randomInts(random, 0), 10));
+		printTest("oneElement_singleRun", testIntegerList(new WrappedDLL<Integer>(), randomInts(random, 1), 10));
+		printTest("fitsInOneRun_noSpill", testIntegerList(new IUDoubleLinkedList<Integer>(), randomInts(random, 500), 500));
+		printTest("exactlyTwoRuns_WrappedDLL", testIntegerList(new WrappedDLL<Integer>(), randomInts(random, 200), 100));
+		printTest("manyRuns_IUArrayList", testIntegerList(new IUArrayList<Integer>(), randomInts(random, 5000), 100));
+		printTest("manyRuns_IUDoubleLinkedList", testIntegerList(new IUDoubleLinkedList<Integer>(), randomInts(random, 5000), 100));
+		printTest("manyRuns_IUSingleLinkedList", testIntegerList(new IUSingleLinkedList<Integer>(), randomInts(random, 5000), 100));
+		printTest("mergeRounds_runSizeOne", testIntegerList(new IUArrayList<Integer>(), randomInts(random, ExternalSort.MAX_FAN_IN * 3 + 7), 1));
+		printTest("mergeRounds_manyDuplicates", testIntegerList(new WrappedDLL<Integer>(), duplicateInts(random, 10000), 37));
+		printTest("iteratorToList_reversed", testIteratorToList(randomInts(random, 3000), 64));
+		printTest("strings_variableWidth", testStrings(random, 2000, 50, 128));
+		printTest("strings_largerThanBuffer", testStrings(random, 20, 200000, 3));
+		printTest("runSizeZero_IllegalArgument", testIllegalRunSize());
+
+		System.out.printf("\nTotal Tests Run: %d,  Passed: %d (%.1f%%),  Failed: %d\n",
+				totalRun, passes, passes*100.0/totalRun, failures);
+	}
+
+	/**
+	 * Prints a test name and its result, and keeps count
+	 * @param testDesc name of the test
+	 * @param result whether the test passed
+	 */
+	private void printTest(String testDesc, boolean result) {
+		totalRun++;
+		if (result) { passes++; }
+		else { failures++; }
+		System.out.printf("%-46s\t%s\n", testDesc, (result ? "   PASS" : "***FAIL***"));
+	}
+
+	/**
+	 * Sorts a list of Integers in place and compares it with Collections.sort
+	 * @param list empty list to fill and sort
+	 * @param values values to fill it with
+	 * @param runSize run size to sort with
+	 * @return true if the list came out sorted, with the same elements, and no runs were left behind
+	 */
+	private boolean testIntegerList(IndexedUnsortedList<Integer> list, List<Integer> values, int runSize) {
+		try {
+			for (Integer value : values) {
+				list.addToRear(value);
+			}
+
+			List<Integer> expected = new ArrayList<Integer>(values);
+			Collections.sort(expected);
+
+			ExternalSort.sort(list, Comparator.<Integer>naturalOrder(), ExternalSort.INTEGER, runSize, tempDir);
+
+			return matches(list.iterator(), expected) && tempDirIsEmpty();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Sorts an iterator of Integers into a new list in descending order
+	 * @param values values to sort
+	 * @param runSize run size to sort with
+	 * @return true if the target list came out sorted and no runs were left behind
+	 */
+	private boolean testIteratorToList(List<Integer> values, int runSize) {
+		try {
+			IndexedUnsortedList<Integer> target = new IUDoubleLinkedList<Integer>();
+			List<Integer> expected = new ArrayList<Integer>(values);
+			expected.sort(Comparator.reverseOrder());
+
+			ExternalSort.sort(values.iterator(), Comparator.<Integer>reverseOrder(), ExternalSort.INTEGER, runSize, tempDir, target);
+
+			return matches(target.iterator(), expected) && tempDirIsEmpty();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Sorts random Strings, including empty and non-ASCII ones, into a consumer
+	 * @param random source of the strings
+	 * @param count number of strings
+	 * @param maxLength longest string generated
+	 * @param runSize run size to sort with
+	 * @return true if the consumer received the strings in order and no runs were left behind
+	 */
+	private boolean testStrings(Random random, int count, int maxLength, int runSize) {
+		try {
+			List<String> values = new ArrayList<String>();
+
+			for (int i = 0; i < count; i++) {
+				StringBuilder value = new StringBuilder();
+				int length = random.nextInt(maxLength + 1);
+
+				for (int j = 0; j < length; j++) {
+					value.append(random.nextInt(10) == 0 ? '\u00e9' : (char)('a' + random.nextInt(26)));
+				}
+
+				values.add(value.toString());
+			}
+
+			List<String> expected = new ArrayList<String>(values);
+			Collections.sort(expected);
+			List<String> actual = new ArrayList<String>();
+
+			ExternalSort.sort(values.iterator(), Comparator.<String>naturalOrder(), ExternalSort.STRING, runSize, tempDir, actual::add);
+
+			return actual.equals(expected) && tempDirIsEmpty();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if a run size of zero is rejected
+	 */
+	private boolean testIllegalRunSize() {
+		try {
+			ExternalSort.sort(new WrappedDLL<Integer>(), Comparator.<Integer>naturalOrder(), ExternalSort.INTEGER, 0, tempDir);
+			return false;
+		} catch (IllegalArgumentException e) {
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	private static <T> boolean matches(Iterator<T> actual, List<T> expected) {
+		for (T element : expected) {
+			if (!actual.hasNext() || !actual.next().equals(element)) {
+				return false;
+			}
+		}
+
+		return !actual.hasNext();
+	}
+
+	private boolean tempDirIsEmpty() throws IOException {
+		try (Stream<Path> files = Files.list(tempDir)) {
+			return files.count() == 0;
+		}
+	}
+
+	private static List<Integer> randomInts(Random random, int count) {
+		List<Integer> values = new ArrayList<Integer>();
+
+		for (int i = 0; i < count; i++) {
+			values.add(random.nextInt());
+		}
+
+		return values;
+	}
+
+	private static List<Integer> duplicateInts(Random random, int count) {
+		List<Integer> values = new ArrayList<Integer>();
+
+		for (int i = 0; i < count; i++) {
+			values.add(random.nextInt(5) - 2);
+		}
+
+		return values;
+	}
+}
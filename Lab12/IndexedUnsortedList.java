@@ -1,4 +1,8 @@
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *  Interface for an Iterable, Indexed, Unsorted List ADT.
@@ -180,4 +184,168 @@ public interface IndexedUnsortedList<T> extends Iterable<T>
      * @throws UnsupportedOperationException if not implemented
      */
     public ListIterator<T> listIterator(int startingIndex);
+
+    /**  
+     * Returns a view of the elements from fromIndex, inclusive, to toIndex,
+     * exclusive. The view is backed by this list: reads and writes pass
+     * through to it, changes made through the view are changes to this list,
+     * and a view whose list is changed any other way fails fast. Creating a
+     * view copies nothing. The default forwards to this list by index and,
+     * with no modification counter to read, only notices changes to the
+     * size; implementations override it with cheaper, fully fail-fast views. 
+     *
+     * @param fromIndex index of the first element of the view
+     * @param toIndex   index just past the last element of the view
+     * @return a view of the given range of this list
+     * @throws IndexOutOfBoundsException if fromIndex < 0, toIndex > size or fromIndex > toIndex
+     */
+    public default IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new SubList.Forwarding<T>(this, fromIndex, toIndex);
+    }
+
+    /**  
+     * Adds every element of the given source to the rear of this list, in
+     * iteration order. Adding a list to itself doubles it. 
+     *
+     * @param elements the elements to be added to the rear of this list
+     * @return true if this list changed
+     */
+    public default boolean addAll(Iterable<? extends T> elements) {
+        return addAll(size(), elements);
+    }
+
+    /**  
+     * Inserts every element of the given source at the specified index, in
+     * iteration order, so the first of them ends up at that index. The
+     * default inserts them one at a time; implementations override it to
+     * make room for all of them at once. 
+     *
+     * @param index    the index at which to insert the first element
+     * @param elements the elements to be inserted
+     * @return true if this list changed
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size)
+     */
+    public default boolean addAll(int index, Iterable<? extends T> elements) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        List<T> added = new ArrayList<T>();
+
+        for (T element : elements) {
+            added.add(element);
+        }
+
+        for (T element : added) {
+            add(index++, element);
+        }
+
+        return !added.isEmpty();
+    }
+
+    /**  
+     * Removes every element of this list that is contained in the given collection. 
+     *
+     * @param elements the elements to be removed, matched with the collection's contains
+     * @return true if this list changed
+     */
+    public default boolean removeAll(Collection<?> elements) {
+        Objects.requireNonNull(elements);
+
+        return removeIf(elements::contains);
+    }
+
+    /**  
+     * Removes every element of this list that is not contained in the given collection. 
+     *
+     * @param elements the elements to be kept, matched with the collection's contains
+     * @return true if this list changed
+     */
+    public default boolean retainAll(Collection<?> elements) {
+        Objects.requireNonNull(elements);
+
+        return removeIf(element -> !elements.contains(element));
+    }
+
+    /**  
+     * Removes every element of this list that satisfies the given predicate.
+     * The default removes them through the iterator; implementations
+     * override it to remove them all in one pass. 
+     *
+     * @param filter the predicate that selects the elements to remove
+     * @return true if any element was removed
+     */
+    public default boolean removeIf(Predicate<? super T> filter) {
+        Objects.requireNonNull(filter);
+
+        boolean removed = false;
+        Iterator<T> it = iterator();
+
+        while (it.hasNext()) {
+            if (filter.test(it.next())) {
+                it.remove();
+                removed = true;
+            }
+        }
+
+        return removed;
+    }
+
+    /**  
+     * Replaces every element of this list with the result of applying the
+     * given operator to it. The default goes through get and set by index. 
+     *
+     * @param operator the operator to apply to each element
+     */
+    public default void replaceAll(UnaryOperator<T> operator) {
+        Objects.requireNonNull(operator);
+
+        for (int i = 0; i < size(); i++) {
+            set(i, operator.apply(get(i)));
+        }
+    }
+
+    /**  
+     * Removes every element from this list. 
+     */
+    public default void clear() {
+        while (!isEmpty()) {
+            removeLast();
+        }
+    }
+
+    /**  
+     * Returns a Spliterator over the elements in this list, in list order.
+     * The default reports the size of the list and splits by copying
+     * batches of elements out of an iterator; implementations that can
+     * split themselves cheaply override it.
+     *
+     * @return a Spliterator over the elements in this list
+     */
+    @Override
+    public default Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**  
+     * Returns a sequential Stream over the elements in this list. 
+     *
+     * @return a sequential Stream over the elements in this list
+     */
+    public default Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**  
+     * Returns a possibly parallel Stream over the elements in this list. 
+     *
+     * @return a parallel Stream over the elements in this list
+     */
+    public default Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -1,26 +1,28 @@
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToIntFunction;
 
 /**
  * Class for sorting lists that implement the IndexedUnsortedList interface,
  * using ordering defined by class of objects in list or a Comparator.
- * As written uses Quicksort algorithm.
+ * Elements are copied into an array in one pass, sorted there with an
+ * introspective quicksort, and written back to the list in one pass, so
+ * sorting is O(n log n) whatever the cost of get(i) on the list.
+ * IUArrayList is sorted directly in its backing array, and IUDoubleLinkedList
+ * and IUSingleLinkedList by a stable merge sort that relinks their nodes.
+ * Compile from Lab12 with javac -sourcepath .:.. *.java so the in-house
+ * lists in the parent directory are visible.
  *
  * @author CS221
  */
 public class Sort
 {	
-	/**
-	 * Returns a new list that implements the IndexedUnsortedList interface. 
-	 * As configured, uses WrappedDLL. Must be changed if using 
-	 * your own IUDoubleLinkedList class. 
-	 * 
-	 * @return a new list that implements the IndexedUnsortedList interface
-	 */
-	private static <T> IndexedUnsortedList<T> newList() 
-	{
-		return new WrappedDLL<T>();
-	}
-	
 	/**
 	 * Sorts a list that implements the IndexedUnsortedList interface 
 	 * using compareTo() method defined by class of objects in list.
@@ -68,7 +70,7 @@ public class Sort
 	 */
 	private static <T extends Comparable<T>> void quicksort(IndexedUnsortedList<T> list)
 	{
-		quicksort(list, 0, list.size()-1);
+		quicksort(list, Comparator.<T>naturalOrder());
 	}
 		
 	/**
@@ -86,50 +88,1110 @@ public class Sort
 	 */
 	private static <T> void quicksort(IndexedUnsortedList<T> list, Comparator<T> c)
 	{
-		// TODO: Implement recursive quicksort algorithm using Comparator
+		if (list instanceof IUArrayList) {
+			int size = list.size();
+			introsort(((IUArrayList<T>) list).linearize(), 0, size - 1, c, depthLimit(size));
+			return;
+		}
+
+		if (list instanceof IUDoubleLinkedList) {
+			((IUDoubleLinkedList<T>) list).sort(c);
+			return;
+		}
+
+		if (list instanceof IUSingleLinkedList) {
+			((IUSingleLinkedList<T>) list).sort(c);
+			return;
+		}
+
+		Object[] elements = toArray(list);
+
+		introsort(elements, 0, elements.length - 1, c, depthLimit(elements.length));
+		writeBack(list, elements);
+	}
+
+	/**
+	 * Sorts a list that implements the IndexedUnsortedList interface
+	 * using compareTo() method defined by class of objects in list,
+	 * spreading the work over the common ForkJoinPool.
+	 *
+	 * @param <T>
+	 *            The class of elements in the list, must extend Comparable
+	 * @param list
+	 *            The list to be sorted, implements IndexedUnsortedList interface
+	 * @see #parallelSort(IndexedUnsortedList, Comparator, ForkJoinPool)
+	 */
+	public static <T extends Comparable<T>> void parallelSort(IndexedUnsortedList<T> list)
+	{
+		parallelSort(list, Comparator.<T>naturalOrder(), ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Sorts a list that implements the IndexedUnsortedList interface
+	 * using given Comparator, spreading the work over the common ForkJoinPool.
+	 *
+	 * @param <T>
+	 *            The class of elements in the list
+	 * @param list
+	 *            The list to be sorted, implements IndexedUnsortedList interface
+	 * @param c
+	 *            The Comparator used
+	 * @see #parallelSort(IndexedUnsortedList, Comparator, ForkJoinPool)
+	 */
+	public static <T> void parallelSort(IndexedUnsortedList<T> list, Comparator<T> c)
+	{
+		parallelSort(list, c, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Sorts a list that implements the IndexedUnsortedList interface
+	 * using given Comparator, spreading the work over the given ForkJoinPool.
+	 * Lists below PARALLEL_THRESHOLD elements, or a pool of parallelism 1,
+	 * are sorted sequentially. Otherwise the elements are cut into one slice per
+	 * quarter-worker, each slice is introsorted, and the slices are merged back
+	 * together in parallel. IUArrayList is sorted in its backing array; other
+	 * lists go through the same one-pass copy and write back as sort().
+	 * The result is not guaranteed to be stable.
+	 *
+	 * @param <T>
+	 *            The class of elements in the list
+	 * @param list
+	 *            The list to be sorted, implements IndexedUnsortedList interface
+	 * @param c
+	 *            The Comparator used
+	 * @param pool
+	 *            The pool that runs the sort
+	 */
+	public static <T> void parallelSort(IndexedUnsortedList<T> list, Comparator<T> c, ForkJoinPool pool)
+	{
+		int size = list.size();
+
+		if (size < PARALLEL_THRESHOLD || pool.getParallelism() == 1) {
+			quicksort(list, c);
+			return;
+		}
+
+		Object[] elements = list instanceof IUArrayList ? ((IUArrayList<T>) list).linearize() : toArray(list);
+		int grain = Math.max(size / (pool.getParallelism() << 2), PARALLEL_THRESHOLD);
+
+		pool.invoke(new ParallelSorter<T>(elements, new Object[size], 0, size, false, grain, c));
 
+		if (!(list instanceof IUArrayList)) {
+			writeBack(list, elements);
+		}
 	}
 	
-	private static <T extends Comparable<T>> void quicksort(IndexedUnsortedList<T> list, int min, int max) {
-		if (min < max) {
-            int indexOfPartition = partition(list, min, max);
-            quicksort(list, min, indexOfPartition-1);
-            quicksort(list, indexOfPartition+1, max);
-        }
+	/**
+	 * Sorts a list that implements the IndexedUnsortedList interface
+	 * by an int key extracted from each element, with a stable LSD radix sort.
+	 * Each key is extracted once, and the list is sorted in at most four
+	 * counting passes of one byte each, so the sort is O(n) with no comparisons.
+	 * Negative keys sort before positive ones.
+	 *
+	 * @param <T>
+	 *            The class of elements in the list
+	 * @param list
+	 *            The list to be sorted, implements IndexedUnsortedList interface
+	 * @param key
+	 *            Extracts the int key to sort each element by
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> void sortByIntKey(IndexedUnsortedList<T> list, ToIntFunction<? super T> key)
+	{
+		int size = list.size();
+		Object[] elements = list instanceof IUArrayList ? ((IUArrayList<T>) list).linearize() : toArray(list);
+		int[] keys = new int[size];
+
+		for (int i = 0; i < size; i++) {
+			// flipping the sign bit makes signed order match unsigned byte order
+			keys[i] = key.applyAsInt((T) elements[i]) ^ Integer.MIN_VALUE;
+		}
+
+		radixSort(elements, keys, size);
+
+		if (!(list instanceof IUArrayList)) {
+			writeBack(list, elements);
+		}
 	}
 
-	private static <T extends Comparable<T>> int partition(IndexedUnsortedList<T> list, int min, int max) {
-		T pivot = list.first();
-        int left, right;
-        IndexedUnsortedList<T> lower = newList();
-        IndexedUnsortedList<T> upper = newList();
+	/**
+	 * Sorts a list that implements the IndexedUnsortedList interface
+	 * using compareTo() method defined by class of objects in list,
+	 * keeping equal elements in their original order.
+	 *
+	 * @param <T>
+	 *            The class of elements in the list, must extend Comparable
+	 * @param list
+	 *            The list to be sorted, implements IndexedUnsortedList interface
+	 * @see #stableSort(IndexedUnsortedList, Comparator)
+	 */
+	public static <T extends Comparable<T>> void stableSort(IndexedUnsortedList<T> list)
+	{
+		stableSort(list, Comparator.<T>naturalOrder());
+	}
 
-        left = min;
-        right = max;
+	/**
+	 * Sorts a list that implements the IndexedUnsortedList interface
+	 * using given Comparator, keeping equal elements in their original order.
+	 * The sort is adaptive: it merges the ascending and descending runs already
+	 * in the list (see TimSorter), so a nearly sorted list costs close to O(n)
+	 * comparisons, and any list at most O(n log n).
+	 * IUArrayList is sorted in its backing array; other lists go through the
+	 * same one-pass copy and write back as sort().
+	 *
+	 * @param <T>
+	 *            The class of elements in the list
+	 * @param list
+	 *            The list to be sorted, implements IndexedUnsortedList interface
+	 * @param c
+	 *            The Comparator used
+	 */
+	public static <T> void stableSort(IndexedUnsortedList<T> list, Comparator<T> c)
+	{
+		int size = list.size();
+
+		if (list instanceof IUArrayList) {
+			TimSorter.sort(((IUArrayList<T>) list).linearize(), 0, size, c);
+			return;
+		}
 
-		while (left < right) {
-			while (list.removeFirst().compareTo(pivot) <= 0) {
-                left++;
-            }
+		Object[] elements = toArray(list);
+
+		TimSorter.sort(elements, 0, size, c);
+		writeBack(list, elements);
+	}
+
+	/**
+	 * Merges lists that are each already sorted by compareTo() method defined
+	 * by class of objects in the lists into one sorted list.
+	 *
+	 * @param <T>
+	 *            The class of elements in the lists, must extend Comparable
+	 * @param lists
+	 *            The sorted lists to merge
+	 * @return the merged list
+	 * @see #merge(Iterable, Comparator)
+	 */
+	public static <T extends Comparable<T>> IndexedUnsortedList<T> merge(Iterable<? extends IndexedUnsortedList<T>> lists)
+	{
+		return merge(lists, Comparator.<T>naturalOrder());
+	}
 
-            while (list.removeLast().compareTo(pivot) > 0) {
-                right--;
-            }
+	/**
+	 * Merges lists that are each already sorted by given Comparator into one
+	 * sorted list, in O(n log k) for n elements over k lists, using a heap
+	 * holding the next element of every list. Equal elements come out in the
+	 * order of the lists they came from, so the merge is stable.
+	 * If every list is an IUDoubleLinkedList, their nodes are spliced into the
+	 * returned IUDoubleLinkedList without copying, which leaves the inputs empty;
+	 * a list given more than once is spliced in once. Otherwise the inputs are
+	 * left untouched and the result is a new IUArrayList.
+	 *
+	 * @param <T>
+	 *            The class of elements in the lists
+	 * @param lists
+	 *            The sorted lists to merge
+	 * @param c
+	 *            The Comparator the lists are sorted by
+	 * @return the merged list
+	 */
+	public static <T> IndexedUnsortedList<T> merge(Iterable<? extends IndexedUnsortedList<T>> lists, Comparator<T> c)
+	{
+		// read the lists once, so an Iterable that can only be walked once still works
+		List<IndexedUnsortedList<T>> inputs = new ArrayList<IndexedUnsortedList<T>>();
+		boolean splice = true;
+		int size = 0;
 
-            if (left < right) {
-                lower.add(list.removeFirst());
-                upper.add(list.removeLast());
-            }
+		for (IndexedUnsortedList<T> list : lists) {
+			inputs.add(list);
+			splice &= list instanceof IUDoubleLinkedList;
+			size += list.size();
 		}
 
-        for (T element : lower) {
-            list.add(element);
-        }
+		PriorityQueue<MergeCursor<T>> heap = new PriorityQueue<MergeCursor<T>>((a, b) -> {
+			int order = c.compare(a.head, b.head);
+			return order != 0 ? order : Integer.compare(a.order, b.order);
+		});
+		int order = 0;
+
+		for (IndexedUnsortedList<T> list : inputs) {
+			MergeCursor<T> cursor = splice
+				? new MergeCursor<T>(order++, ((IUDoubleLinkedList<T>) list).detachNodes())
+				: new MergeCursor<T>(order++, list.iterator());
+
+			if (cursor.advance()) {
+				heap.add(cursor);
+			}
+		}
 
-        for (T element : upper) {
-            list.add(element);
-        }
+		if (splice) {
+			Node<T> first = null;
+			Node<T> last = null;
+			// counted as they are linked: a list given twice is only detached once
+			int linked = 0;
 
-		return right;
+			while (!heap.isEmpty()) {
+				MergeCursor<T> cursor = heap.poll();
+				Node<T> node = cursor.node;
+
+				// step the cursor past the node before relinking it
+				if (cursor.advance()) {
+					heap.add(cursor);
+				}
+
+				if (last == null) {
+					first = node;
+				} else {
+					last.setNext(node);
+				}
+
+				node.setPrevious(last);
+				last = node;
+				linked++;
+			}
+
+			if (last != null) {
+				last.setNext(null);
+			}
+
+			IUDoubleLinkedList<T> merged = new IUDoubleLinkedList<T>();
+			merged.adoptNodes(first, last, linked);
+
+			return merged;
+		}
+
+		IndexedUnsortedList<T> merged = new IUArrayList<T>(Math.max(size, 1));
+
+		while (!heap.isEmpty()) {
+			MergeCursor<T> cursor = heap.poll();
+			merged.addToRear(cursor.head);
+
+			if (cursor.advance()) {
+				heap.add(cursor);
+			}
+		}
+
+		return merged;
+	}
+
+	/**
+	 * Returns the element that would be at index k if the list were sorted
+	 * using given Comparator, without modifying the list.
+	 * The elements are copied into an array and narrowed down with quickselect,
+	 * O(n) expected; a search that runs out of depth heapsorts what is left,
+	 * so the worst case is O(n log n).
+	 *
+	 * @param <T>
+	 *            The class of elements in the list
+	 * @param list
+	 *            The list to select from, implements IndexedUnsortedList interface
+	 * @param k
+	 *            Index in sorted order of the element wanted, 0 for the smallest
+	 * @param c
+	 *            The Comparator used
+	 * @return the k-th smallest element
+	 * @throws IndexOutOfBoundsException if k is not a valid index of the list
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T select(IndexedUnsortedList<T> list, int k, Comparator<T> c)
+	{
+		if (k < 0 || k >= list.size()) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		Object[] elements = toArray(list);
+		int min = 0;
+		int max = elements.length - 1;
+		int depth = depthLimit(elements.length);
+
+		while (max - min + 1 > INSERTION_SORT_THRESHOLD) {
+			if (depth == 0) {
+				heapsort(elements, min, max, c);
+				return (T) elements[k];
+			}
+
+			depth--;
+			int indexOfPartition = partition(elements, min, max, c);
+
+			if (k == indexOfPartition) {
+				return (T) elements[k];
+			} else if (k < indexOfPartition) {
+				max = indexOfPartition - 1;
+			} else {
+				min = indexOfPartition + 1;
+			}
+		}
+
+		insertionSort(elements, min, max, c);
+
+		return (T) elements[k];
+	}
+
+	/**
+	 * Returns the k smallest elements of the list using given Comparator,
+	 * in sorted order, without modifying the list. Pass a reversed Comparator
+	 * for the k largest.
+	 * One iterator pass feeds a max-heap that never holds more than k elements,
+	 * so this runs in O(n log k) time and O(k) extra space.
+	 *
+	 * @param <T>
+	 *            The class of elements in the list
+	 * @param list
+	 *            The list to select from, implements IndexedUnsortedList interface
+	 * @param k
+	 *            Number of elements wanted; the whole list is returned if it is smaller
+	 * @param c
+	 *            The Comparator used
+	 * @return a new IUArrayList holding the k smallest elements, smallest first
+	 * @throws IllegalArgumentException if k is negative
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> IndexedUnsortedList<T> topK(IndexedUnsortedList<T> list, int k, Comparator<T> c)
+	{
+		if (k < 0) {
+			throw new IllegalArgumentException("k must not be negative");
+		}
+
+		int capacity = Math.min(k, list.size());
+		Object[] heap = new Object[capacity];
+		int length = 0;
+
+		if (capacity > 0) {
+			for (T element : list) {
+				if (length < capacity) {
+					heap[length] = element;
+					siftUp(heap, length++, c);
+				} else if (compare(c, element, heap[0]) < 0) {
+					// smaller than the largest kept element, so it takes that element's place
+					heap[0] = element;
+					siftDown(heap, 0, 0, length, c);
+				}
+			}
+		}
+
+		heapsort(heap, 0, length - 1, c);
+		IndexedUnsortedList<T> result = new IUArrayList<T>(Math.max(length, 1));
+
+		for (int i = 0; i < length; i++) {
+			result.addToRear((T) heap[i]);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Partitions at or below this size are finished with insertion sort
+	 * @var int
+	 */
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	/**
+	 * Partitions larger than this take the ninther as their pivot rather than the median of three
+	 * @var int
+	 */
+	private static final int NINTHER_THRESHOLD = 128;
+
+	/**
+	 * Lists smaller than this are never split across threads, and no parallel task
+	 * sorts or merges fewer elements than this on its own
+	 * @var int
+	 */
+	static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	/**
+	 * Bits of the key consumed by each radix pass
+	 * @var int
+	 */
+	private static final int RADIX_BITS = 8;
+
+	/**
+	 * Number of buckets per radix pass
+	 * @var int
+	 */
+	private static final int RADIX = 1 << RADIX_BITS;
+
+	/**
+	 * Introsorts elements[0..length), for the other array-based sorts in this package
+	 * @param   Object array    elements    array to sort
+	 * @param   int             length      number of leading slots to sort
+	 * @param   Comparator<T>   c           ordering to sort by
+	 */
+	static <T> void sortArray(Object[] elements, int length, Comparator<T> c) {
+		introsort(elements, 0, length - 1, c, depthLimit(length));
+	}
+
+	/**
+	 * Copies the list into an array with a single iterator pass
+	 * @param   IndexedUnsortedList<T>  list    list to copy
+	 * @return  Object array    elements of the list in list order
+	 */
+	private static <T> Object[] toArray(IndexedUnsortedList<T> list) {
+		Object[] elements = new Object[list.size()];
+		int i = 0;
+
+		for (T element : list) {
+			elements[i++] = element;
+		}
+
+		return elements;
+	}
+
+	/**
+	 * Writes sorted elements back over the list in a single pass
+	 * Uses ListIterator.set where the list supports it; otherwise the list is
+	 * drained with its iterator and refilled at the rear, both O(1) per element
+	 * for every in-house implementation
+	 * @param   IndexedUnsortedList<T>  list        list to overwrite
+	 * @param   Object array            elements    sorted elements, one per list position
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> void writeBack(IndexedUnsortedList<T> list, Object[] elements) {
+		ListIterator<T> cursor;
+
+		try {
+			cursor = list.listIterator();
+		} catch (UnsupportedOperationException e) {
+			cursor = null;
+		}
+
+		if (cursor != null) {
+			for (Object element : elements) {
+				cursor.next();
+				cursor.set((T) element);
+			}
+
+			return;
+		}
+
+		Iterator<T> drain = list.iterator();
+
+		while (drain.hasNext()) {
+			drain.next();
+			drain.remove();
+		}
+
+		for (Object element : elements) {
+			list.addToRear((T) element);
+		}
+	}
+
+	/**
+	 * Recursion depth past which introsort gives up on quicksort, 2 * floor(log2(n))
+	 * @param   int     length  number of elements being sorted
+	 * @return  int     depth limit
+	 */
+	private static int depthLimit(int length) {
+		return 2 * (31 - Integer.numberOfLeadingZeros(Math.max(length, 1)));
+	}
+
+	/**
+	 * Introspective sort of elements[min..max]
+	 * Quicksort with a median-of-three or ninther pivot, recursing into the smaller side and
+	 * looping on the larger; small ranges are finished by insertion sort and a range
+	 * that exhausts its depth budget is heapsorted, so the worst case is O(n log n)
+	 * @param   Object array    elements    array being sorted
+	 * @param   int             min         first index of the range
+	 * @param   int             max         last index of the range
+	 * @param   Comparator<T>   c           ordering to sort by
+	 * @param   int             depth       remaining quicksort depth budget
+	 */
+	private static <T> void introsort(Object[] elements, int min, int max, Comparator<T> c, int depth) {
+		while (max - min + 1 > INSERTION_SORT_THRESHOLD) {
+			if (depth == 0) {
+				heapsort(elements, min, max, c);
+				return;
+			}
+
+			depth--;
+			int indexOfPartition = partition(elements, min, max, c);
+
+			if (indexOfPartition - min < max - indexOfPartition) {
+				introsort(elements, min, indexOfPartition - 1, c, depth);
+				min = indexOfPartition + 1;
+			} else {
+				introsort(elements, indexOfPartition + 1, max, c, depth);
+				max = indexOfPartition - 1;
+			}
+		}
+
+		insertionSort(elements, min, max, c);
+	}
+
+	/**
+	 * Hoare-style partition around the median of the first, middle and last elements
+	 * Past NINTHER_THRESHOLD elements each of those three is first replaced by the median
+	 * of its own neighbourhood, so the pivot is Tukey's ninther of nine spread-out samples
+	 * @param   Object array    elements    array being sorted
+	 * @param   int             min         first index of the range
+	 * @param   int             max         last index of the range
+	 * @param   Comparator<T>   c           ordering to sort by
+	 * @return  int     final index of the pivot; everything left of it is <= pivot, right of it >= pivot
+	 */
+	private static <T> int partition(Object[] elements, int min, int max, Comparator<T> c) {
+		int mid = (min + max) >>> 1;
+
+		if (max - min + 1 > NINTHER_THRESHOLD) {
+			int step = (max - min + 1) / 8;
+
+			swap(elements, min, median(elements, min, min + step, min + 2 * step, c));
+			swap(elements, mid, median(elements, mid - step, mid, mid + step, c));
+			swap(elements, max, median(elements, max - 2 * step, max - step, max, c));
+		}
+
+		if (compare(c, elements[mid], elements[min]) < 0) {
+			swap(elements, mid, min);
+		}
+
+		if (compare(c, elements[max], elements[min]) < 0) {
+			swap(elements, max, min);
+		}
+
+		if (compare(c, elements[max], elements[mid]) < 0) {
+			swap(elements, max, mid);
+		}
+
+		// min <= mid <= max now; park the pivot just inside the range, both ends act as sentinels
+		swap(elements, mid, max - 1);
+		Object pivot = elements[max - 1];
+		int left = min;
+		int right = max - 1;
+
+		while (true) {
+			while (compare(c, elements[++left], pivot) < 0) {
+			}
+
+			while (compare(c, pivot, elements[--right]) < 0) {
+			}
+
+			if (left >= right) {
+				break;
+			}
+
+			swap(elements, left, right);
+		}
+
+		swap(elements, left, max - 1);
+
+		return left;
+	}
+
+	/**
+	 * Index of the median of three elements, without moving any of them
+	 * @param   Object array    elements    array holding the elements
+	 * @param   int             a           index of the first element
+	 * @param   int             b           index of the second element
+	 * @param   int             d           index of the third element
+	 * @param   Comparator<T>   c           ordering to compare by
+	 * @return  int     whichever of a, b and d holds the median
+	 */
+	private static <T> int median(Object[] elements, int a, int b, int d, Comparator<T> c) {
+		if (compare(c, elements[a], elements[b]) < 0) {
+			if (compare(c, elements[b], elements[d]) < 0) {
+				return b;
+			}
+
+			return compare(c, elements[a], elements[d]) < 0 ? d : a;
+		}
+
+		if (compare(c, elements[a], elements[d]) < 0) {
+			return a;
+		}
+
+		return compare(c, elements[b], elements[d]) < 0 ? d : b;
+	}
+
+	/**
+	 * Insertion sort of elements[min..max]
+	 * @param   Object array    elements    array being sorted
+	 * @param   int             min         first index of the range
+	 * @param   int             max         last index of the range
+	 * @param   Comparator<T>   c           ordering to sort by
+	 */
+	private static <T> void insertionSort(Object[] elements, int min, int max, Comparator<T> c) {
+		for (int i = min + 1; i <= max; i++) {
+			Object current = elements[i];
+			int j = i - 1;
+
+			while (j >= min && compare(c, current, elements[j]) < 0) {
+				elements[j + 1] = elements[j];
+				j--;
+			}
+
+			elements[j + 1] = current;
+		}
+	}
+
+	/**
+	 * Heapsort of elements[min..max], the fallback once introsort runs out of depth
+	 * @param   Object array    elements    array being sorted
+	 * @param   int             min         first index of the range
+	 * @param   int             max         last index of the range
+	 * @param   Comparator<T>   c           ordering to sort by
+	 */
+	private static <T> void heapsort(Object[] elements, int min, int max, Comparator<T> c) {
+		int length = max - min + 1;
+
+		for (int i = length / 2 - 1; i >= 0; i--) {
+			siftDown(elements, min, i, length, c);
+		}
+
+		for (int end = length - 1; end > 0; end--) {
+			swap(elements, min, min + end);
+			siftDown(elements, min, 0, end, c);
+		}
+	}
+
+	/**
+	 * Restores the max-heap property below one node of a heap stored at elements[base..]
+	 * @param   Object array    elements    array holding the heap
+	 * @param   int             base        array index of the heap root
+	 * @param   int             node        heap index of the node to sift
+	 * @param   int             length      number of elements in the heap
+	 * @param   Comparator<T>   c           ordering to sort by
+	 */
+	private static <T> void siftDown(Object[] elements, int base, int node, int length, Comparator<T> c) {
+		Object value = elements[base + node];
+
+		while (2 * node + 1 < length) {
+			int child = 2 * node + 1;
+
+			if (child + 1 < length && compare(c, elements[base + child], elements[base + child + 1]) < 0) {
+				child++;
+			}
+
+			if (compare(c, value, elements[base + child]) >= 0) {
+				break;
+			}
+
+			elements[base + node] = elements[base + child];
+			node = child;
+		}
+
+		elements[base + node] = value;
+	}
+
+	/**
+	 * Moves the last element of a max-heap stored at elements[0..] up to its place
+	 * @param   Object array    elements    array holding the heap
+	 * @param   int             node        heap index of the element to sift
+	 * @param   Comparator<T>   c           ordering of the heap
+	 */
+	private static <T> void siftUp(Object[] elements, int node, Comparator<T> c) {
+		Object value = elements[node];
+
+		while (node > 0) {
+			int parent = (node - 1) / 2;
+
+			if (compare(c, elements[parent], value) >= 0) {
+				break;
+			}
+
+			elements[node] = elements[parent];
+			node = parent;
+		}
+
+		elements[node] = value;
+	}
+
+	/**
+	 * Compares two array slots with the list's Comparator
+	 * @param   Comparator<T>   c   ordering to sort by
+	 * @param   Object          a   first element
+	 * @param   Object          b   second element
+	 * @return  int     negative, zero or positive as a is less than, equal to or greater than b
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> int compare(Comparator<T> c, Object a, Object b) {
+		return c.compare((T) a, (T) b);
+	}
+
+	/**
+	 * Swaps two array slots
+	 * @param   Object array    elements    array holding the slots
+	 * @param   int             i           first index
+	 * @param   int             j           second index
+	 */
+	private static void swap(Object[] elements, int i, int j) {
+		Object temp = elements[i];
+		elements[i] = elements[j];
+		elements[j] = temp;
+	}
+
+	/**
+	 * Fork-join merge sort of elements[from..to) with a scratch array of the same length
+	 * Slices of up to grain elements are introsorted; larger ranges sort their halves
+	 * into the opposite array and merge them back, so the two arrays swap roles at
+	 * every level instead of copying the scratch array back each time
+	 */
+	@SuppressWarnings("serial")
+	private static final class ParallelSorter<T> extends RecursiveAction {
+
+		/**
+		 * Array being sorted, and the array the result must end up in unless intoScratch is set
+		 * @var Object array
+		 */
+		private final Object[] elements;
+
+		/**
+		 * Scratch array, the same length as elements
+		 * @var Object array
+		 */
+		private final Object[] scratch;
+
+		/**
+		 * Range to sort, from inclusive and to exclusive
+		 * @var int
+		 */
+		private final int from, to;
+
+		/**
+		 * Whether the sorted range should be left in scratch rather than elements
+		 * @var boolean
+		 */
+		private final boolean intoScratch;
+
+		/**
+		 * Largest range sorted without splitting
+		 * @var int
+		 */
+		private final int grain;
+
+		/**
+		 * Ordering to sort by
+		 * @var Comparator<T>
+		 */
+		private final Comparator<T> c;
+
+		ParallelSorter(Object[] elements, Object[] scratch, int from, int to, boolean intoScratch, int grain, Comparator<T> c) {
+			this.elements = elements;
+			this.scratch = scratch;
+			this.from = from;
+			this.to = to;
+			this.intoScratch = intoScratch;
+			this.grain = grain;
+			this.c = c;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= grain) {
+				introsort(elements, from, to - 1, c, depthLimit(to - from));
+
+				if (intoScratch) {
+					System.arraycopy(elements, from, scratch, from, to - from);
+				}
+
+				return;
+			}
+
+			int mid = (from + to) >>> 1;
+
+			// the halves land in whichever array this level is not merging into
+			invokeAll(new ParallelSorter<T>(elements, scratch, from, mid, !intoScratch, grain, c),
+				new ParallelSorter<T>(elements, scratch, mid, to, !intoScratch, grain, c));
+
+			Object[] source = intoScratch ? elements : scratch;
+			Object[] target = intoScratch ? scratch : elements;
+
+			new ParallelMerger<T>(source, target, from, mid, mid, to, from, grain, c).compute();
+		}
+	}
+
+	/**
+	 * Fork-join stable merge of two sorted runs of source into target
+	 * The longer run is cut at its midpoint and the other run at the matching binary
+	 * search position, giving two independent merges that run in parallel
+	 */
+	@SuppressWarnings("serial")
+	private static final class ParallelMerger<T> extends RecursiveAction {
+
+		/**
+		 * Arrays merged from and into
+		 * @var Object array
+		 */
+		private final Object[] source, target;
+
+		/**
+		 * Left run, leftFrom inclusive and leftTo exclusive
+		 * @var int
+		 */
+		private final int leftFrom, leftTo;
+
+		/**
+		 * Right run, rightFrom inclusive and rightTo exclusive
+		 * @var int
+		 */
+		private final int rightFrom, rightTo;
+
+		/**
+		 * Index in target the merged output starts at
+		 * @var int
+		 */
+		private final int out;
+
+		/**
+		 * Largest merge done without splitting
+		 * @var int
+		 */
+		private final int grain;
+
+		/**
+		 * Ordering to merge by
+		 * @var Comparator<T>
+		 */
+		private final Comparator<T> c;
+
+		ParallelMerger(Object[] source, Object[] target, int leftFrom, int leftTo, int rightFrom, int rightTo, int out, int grain, Comparator<T> c) {
+			this.source = source;
+			this.target = target;
+			this.leftFrom = leftFrom;
+			this.leftTo = leftTo;
+			this.rightFrom = rightFrom;
+			this.rightTo = rightTo;
+			this.out = out;
+			this.grain = grain;
+			this.c = c;
+		}
+
+		@Override
+		protected void compute() {
+			int leftLength = leftTo - leftFrom;
+			int rightLength = rightTo - rightFrom;
+
+			if (leftLength + rightLength <= grain) {
+				merge(source, target, leftFrom, leftTo, rightFrom, rightTo, out, c);
+				return;
+			}
+
+			int leftCut, rightCut;
+
+			// equal elements go left of the cut in the left run and right of it in the right run, keeping the merge stable
+			if (leftLength >= rightLength) {
+				leftCut = (leftFrom + leftTo) >>> 1;
+				rightCut = lowerBound(source, rightFrom, rightTo, source[leftCut], c);
+			} else {
+				rightCut = (rightFrom + rightTo) >>> 1;
+				leftCut = upperBound(source, leftFrom, leftTo, source[rightCut], c);
+			}
+
+			int split = out + (leftCut - leftFrom) + (rightCut - rightFrom);
+
+			invokeAll(new ParallelMerger<T>(source, target, leftFrom, leftCut, rightFrom, rightCut, out, grain, c),
+				new ParallelMerger<T>(source, target, leftCut, leftTo, rightCut, rightTo, split, grain, c));
+		}
+	}
+
+	/**
+	 * Sequential stable merge of two sorted runs of source into target
+	 * @param   Object array    source      array holding both runs
+	 * @param   Object array    target      array receiving the merged output
+	 * @param   int             leftFrom    first index of the left run
+	 * @param   int             leftTo      index just past the left run
+	 * @param   int             rightFrom   first index of the right run
+	 * @param   int             rightTo     index just past the right run
+	 * @param   int             out         index in target the output starts at
+	 * @param   Comparator<T>   c           ordering to merge by
+	 */
+	private static <T> void merge(Object[] source, Object[] target, int leftFrom, int leftTo, int rightFrom, int rightTo, int out, Comparator<T> c) {
+		while (leftFrom < leftTo && rightFrom < rightTo) {
+			if (compare(c, source[rightFrom], source[leftFrom]) < 0) {
+				target[out++] = source[rightFrom++];
+			} else {
+				target[out++] = source[leftFrom++];
+			}
+		}
+
+		System.arraycopy(source, leftFrom, target, out, leftTo - leftFrom);
+		System.arraycopy(source, rightFrom, target, out + leftTo - leftFrom, rightTo - rightFrom);
+	}
+
+	/**
+	 * First index in elements[from..to) whose element is not less than key
+	 * @param   Object array    elements    sorted array to search
+	 * @param   int             from        first index of the range
+	 * @param   int             to          index just past the range
+	 * @param   Object          key         element to search for
+	 * @param   Comparator<T>   c           ordering the range is sorted by
+	 * @return  int     insertion point before any elements equal to key
+	 */
+	private static <T> int lowerBound(Object[] elements, int from, int to, Object key, Comparator<T> c) {
+		while (from < to) {
+			int mid = (from + to) >>> 1;
+
+			if (compare(c, elements[mid], key) < 0) {
+				from = mid + 1;
+			} else {
+				to = mid;
+			}
+		}
+
+		return from;
+	}
+
+	/**
+	 * First index in elements[from..to) whose element is greater than key
+	 * @param   Object array    elements    sorted array to search
+	 * @param   int             from        first index of the range
+	 * @param   int             to          index just past the range
+	 * @param   Object          key         element to search for
+	 * @param   Comparator<T>   c           ordering the range is sorted by
+	 * @return  int     insertion point after any elements equal to key
+	 */
+	private static <T> int upperBound(Object[] elements, int from, int to, Object key, Comparator<T> c) {
+		while (from < to) {
+			int mid = (from + to) >>> 1;
+
+			if (compare(c, key, elements[mid]) < 0) {
+				to = mid;
+			} else {
+				from = mid + 1;
+			}
+		}
+
+		return from;
+	}
+
+	/**
+	 * Stable LSD radix sort of elements[0..size) by their unsigned keys
+	 * The histograms for every pass are counted up front in one scan; a pass whose
+	 * byte is the same for every key is skipped. Each remaining pass scatters from
+	 * one pair of arrays into the other, so one extra pair of buffers is allocated
+	 * per call and reused by every pass.
+	 * @param   Object array    elements    elements to sort, in step with keys
+	 * @param   int array       keys        unsigned sort key of each element
+	 * @param   int             size        number of elements to sort
+	 */
+	private static void radixSort(Object[] elements, int[] keys, int size) {
+		int passes = Integer.SIZE / RADIX_BITS;
+		int[][] counts = new int[passes][RADIX];
+
+		for (int i = 0; i < size; i++) {
+			int k = keys[i];
+
+			for (int pass = 0; pass < passes; pass++) {
+				counts[pass][(k >>> (pass * RADIX_BITS)) & (RADIX - 1)]++;
+			}
+		}
+
+		Object[] sourceElements = elements;
+		int[] sourceKeys = keys;
+		Object[] targetElements = null;
+		int[] targetKeys = null;
+
+		for (int pass = 0; pass < passes; pass++) {
+			int[] count = counts[pass];
+			int shift = pass * RADIX_BITS;
+
+			if (size == 0 || count[(sourceKeys[0] >>> shift) & (RADIX - 1)] == size) {
+				continue;
+			}
+
+			if (targetElements == null) {
+				targetElements = new Object[size];
+				targetKeys = new int[size];
+			}
+
+			// turn the counts into each bucket's starting offset
+			for (int bucket = 0, offset = 0; bucket < RADIX; bucket++) {
+				int bucketSize = count[bucket];
+				count[bucket] = offset;
+				offset += bucketSize;
+			}
+
+			for (int i = 0; i < size; i++) {
+				int k = sourceKeys[i];
+				int position = count[(k >>> shift) & (RADIX - 1)]++;
+				targetElements[position] = sourceElements[i];
+				targetKeys[position] = k;
+			}
+
+			Object[] swapElements = sourceElements;
+			sourceElements = targetElements;
+			targetElements = swapElements;
+			int[] swapKeys = sourceKeys;
+			sourceKeys = targetKeys;
+			targetKeys = swapKeys;
+		}
+
+		if (sourceElements != elements) {
+			System.arraycopy(sourceElements, 0, elements, 0, size);
+		}
+	}
+
+	/**
+	 * Position in one input of a k-way merge, reading either through an iterator
+	 * or, when splicing, directly along a detached chain of nodes
+	 */
+	private static final class MergeCursor<T> {
+
+		/**
+		 * Position of the input among all inputs, which breaks ties between equal heads
+		 * @var int
+		 */
+		final int order;
+
+		/**
+		 * Iterator over the input, or null when walking nodes
+		 * @var Iterator<T>
+		 */
+		private final Iterator<T> iterator;
+
+		/**
+		 * Node holding head when walking nodes; before the first advance, the first node of the chain
+		 * @var Node<T>
+		 */
+		Node<T> node;
+
+		/**
+		 * Whether advance has not been called yet
+		 * @var boolean
+		 */
+		private boolean unstarted;
+
+		/**
+		 * Next element of the input, valid after advance returns true
+		 * @var T
+		 */
+		T head;
+
+		MergeCursor(int order, Iterator<T> iterator) {
+			this.order = order;
+			this.iterator = iterator;
+		}
+
+		MergeCursor(int order, Node<T> first) {
+			this.order = order;
+			this.iterator = null;
+			this.node = first;
+			this.unstarted = true;
+		}
+
+		/**
+		 * Moves to the next element of the input
+		 * @return  boolean     false once the input is exhausted
+		 */
+		boolean advance() {
+			if (iterator != null) {
+				if (!iterator.hasNext()) {
+					return false;
+				}
+
+				head = iterator.next();
+				return true;
+			}
+
+			if (unstarted) {
+				unstarted = false;
+			} else {
+				node = node.getNext();
+			}
+
+			if (node == null) {
+				return false;
+			}
+
+			head = node.getElement();
+			return true;
+		}
 	}
 }
@@ -0,0 +1,689 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tests for the Sort operations other than sort().
+ * Each test fills a list, runs the operation and checks the result against
+ * java.util sorting of the same values.
+ * Run with: java SortTester
+ *
+ * @author The Boobies
+ */
+public class SortTester {
+
+	//tracking number of tests and test results
+	private int passes = 0;
+	private int failures = 0;
+	private int totalRun = 0;
+
+	/**
+	 * Pool the parallel sorts run in, with more workers than the sandbox may have cores
+	 * @var ForkJoinPool
+	 */
+	private final ForkJoinPool pool;
+
+	public static void main(String[] args) {
+		ForkJoinPool pool = new ForkJoinPool(4);
+
+		try {
+			new SortTester(pool).runTests();
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	public SortTester(ForkJoinPool pool) {
+		this.pool = pool;
+	}
+
+	private void runTests() {
+		Random random = new Random(712);
+		int large = Sort.PARALLEL_THRESHOLD * 8 + 3;
+
+		printTest("parallelSort_emptyList", testParallelSort(new IUArrayList<Integer>(), randomInts(random, 0), Comparator.<Integer>naturalOrder()));
+		printTest("parallelSort_belowThreshold_sequential", testParallelSort(new IUArrayList<Integer>(), randomInts(random, Sort.PARALLEL_THRESHOLD - 1), Comparator.<Integer>naturalOrder()));
+		printTest("parallelSort_aboveThreshold_IUArrayList", testParallelSort(new IUArrayList<Integer>(), randomInts(random, large), Comparator.<Integer>naturalOrder()));
+		printTest("parallelSort_aboveThreshold_IUDoubleLinkedList", testParallelSort(new IUDoubleLinkedList<Integer>(), randomInts(random, large), Comparator.<Integer>naturalOrder()));
+		printTest("parallelSort_aboveThreshold_IUSingleLinkedList", testParallelSort(new IUSingleLinkedList<Integer>(), randomInts(random, large), Comparator.<Integer>naturalOrder()));
+		printTest("parallelSort_aboveThreshold_WrappedDLL", testParallelSort(new WrappedDLL<Integer>(), randomInts(random, large), Comparator.<Integer>naturalOrder()));
+		printTest("parallelSort_aboveThreshold_duplicates", testParallelSort(new IUArrayList<Integer>(), duplicateInts(random, large), Comparator.<Integer>naturalOrder()));
+		printTest("parallelSort_aboveThreshold_reversed", testParallelSort(new IUArrayList<Integer>(), randomInts(random, large), Comparator.<Integer>reverseOrder()));
+		printTest("parallelSort_aboveThreshold_alreadySorted", testParallelSort(new IUArrayList<Integer>(), sortedInts(large), Comparator.<Integer>naturalOrder()));
+		printTest("parallelSort_aboveThreshold_wrappedRing", testParallelSortWrapped(randomInts(random, large)));
+		printTest("parallelSort_commonPool", testParallelSortCommonPool(randomInts(random, large)));
+
+		printTest("sortByIntKey_emptyList", testSortByIntKey(new IUArrayList<Keyed>(), keyed(randomInts(random, 0))));
+		printTest("sortByIntKey_negativeKeys_IUArrayList", testSortByIntKey(new IUArrayList<Keyed>(), keyed(randomInts(random, 5000))));
+		printTest("sortByIntKey_negativeKeys_IUDoubleLinkedList", testSortByIntKey(new IUDoubleLinkedList<Keyed>(), keyed(randomInts(random, 5000))));
+		printTest("sortByIntKey_negativeKeys_IUSingleLinkedList", testSortByIntKey(new IUSingleLinkedList<Keyed>(), keyed(randomInts(random, 5000))));
+		printTest("sortByIntKey_smallNegativeKeys_stable", testSortByIntKey(new IUArrayList<Keyed>(), keyed(duplicateInts(random, 5000))));
+		printTest("sortByIntKey_extremeKeys", testSortByIntKey(new WrappedDLL<Keyed>(), keyed(extremeInts(random, 2000))));
+
+		List<Integer> selectValues = randomInts(random, 3000);
+		printTest("select_kZero_smallest", testSelect(new IUArrayList<Integer>(), selectValues, 0));
+		printTest("select_kOne", testSelect(new IUDoubleLinkedList<Integer>(), selectValues, 1));
+		printTest("select_kLast_largest", testSelect(new IUSingleLinkedList<Integer>(), selectValues, selectValues.size() - 1));
+		printTest("select_everyK_duplicates", testSelectEveryK(new WrappedDLL<Integer>(), duplicateInts(random, 200)));
+		printTest("select_oneElement", testSelect(new IUArrayList<Integer>(), randomInts(random, 1), 0));
+		printTest("select_kEqualsSize_IndexOutOfBounds", testSelectOutOfRange(selectValues, selectValues.size()));
+		printTest("select_kNegative_IndexOutOfBounds", testSelectOutOfRange(selectValues, -1));
+		printTest("select_emptyList_IndexOutOfBounds", testSelectOutOfRange(randomInts(random, 0), 0));
+		printTest("topK_kZero_empty", testTopK(new IUArrayList<Integer>(), selectValues, 0, Comparator.<Integer>naturalOrder()));
+		printTest("topK_kOne_smallest", testTopK(new IUDoubleLinkedList<Integer>(), selectValues, 1, Comparator.<Integer>naturalOrder()));
+		printTest("topK_kHundred_largest", testTopK(new IUSingleLinkedList<Integer>(), selectValues, 100, Comparator.<Integer>reverseOrder()));
+		printTest("topK_kEqualsSize_wholeList", testTopK(new IUArrayList<Integer>(), selectValues, selectValues.size(), Comparator.<Integer>naturalOrder()));
+		printTest("topK_kAboveSize_wholeList", testTopK(new WrappedDLL<Integer>(), selectValues, selectValues.size() + 5, Comparator.<Integer>naturalOrder()));
+		printTest("topK_duplicates", testTopK(new IUArrayList<Integer>(), duplicateInts(random, 3000), 1000, Comparator.<Integer>naturalOrder()));
+		printTest("topK_kNegative_IllegalArgument", testTopKNegative(selectValues));
+
+		printTest("stableSort_shortRange_insertionOnly", testStableSort(new IUArrayList<Keyed>(), keyed(duplicateInts(random, 20))));
+		printTest("stableSort_ascendingRuns_IUArrayList", testStableSort(new IUArrayList<Keyed>(), keyed(runs(random, 40, 300, true, false))));
+		printTest("stableSort_ascendingRuns_IUDoubleLinkedList", testStableSort(new IUDoubleLinkedList<Keyed>(), keyed(runs(random, 40, 300, true, false))));
+		printTest("stableSort_descendingRuns_IUArrayList", testStableSort(new IUArrayList<Keyed>(), keyed(runs(random, 40, 300, false, false))));
+		printTest("stableSort_descendingRuns_WrappedDLL", testStableSort(new WrappedDLL<Keyed>(), keyed(runs(random, 40, 300, false, false))));
+		printTest("stableSort_alternatingRuns", testStableSort(new IUArrayList<Keyed>(), keyed(runs(random, 60, 200, true, true))));
+		printTest("stableSort_shortRuns_minRunPadding", testStableSort(new IUSingleLinkedList<Keyed>(), keyed(runs(random, 500, 6, true, true))));
+		printTest("stableSort_gallopingRuns_IUArrayList", testStableSort(new IUArrayList<Keyed>(), keyed(gallopingRuns(2000))));
+		printTest("stableSort_gallopingRuns_IUDoubleLinkedList", testStableSort(new IUDoubleLinkedList<Keyed>(), keyed(gallopingRuns(2000))));
+		printTest("stableSort_fewDistinctKeys_random", testStableSort(new IUArrayList<Keyed>(), keyed(duplicateInts(random, 20000))));
+		printTest("stableSort_allEqual", testStableSort(new IUDoubleLinkedList<Keyed>(), keyed(constantInts(5000))));
+
+		printTest("merge_mixedTypes_inputsUntouched", testMerge(random, false, new int[] { 300, 0, 1, 500, 77 }));
+		printTest("merge_allIUDoubleLinkedList_inputsEmptied", testMerge(random, true, new int[] { 300, 0, 1, 500, 77 }));
+		printTest("merge_allIUDoubleLinkedList_oneList", testMerge(random, true, new int[] { 1000 }));
+		printTest("merge_allIUDoubleLinkedList_allEmpty", testMerge(random, true, new int[] { 0, 0 }));
+		printTest("merge_noLists_empty", testMerge(random, false, new int[0]));
+		printTest("merge_splicedResult_usable", testMergedListUsable(random));
+		printTest("merge_sameListTwice_splicedOnce", testMergeSameListTwice());
+		printTest("merge_oneShotIterable", testMergeOneShot(random));
+
+		System.out.printf("\nTotal Tests Run: %d,  Passed: %d (%.1f%%),  Failed: %d\n",
+				totalRun, passes, passes*100.0/totalRun, failures);
+	}
+
+	/**
+	 * Prints a test name and its result, and keeps count
+	 * @param testDesc name of the test
+	 * @param result whether the test passed
+	 */
+	private void printTest(String testDesc, boolean result) {
+		totalRun++;
+		if (result) { passes++; }
+		else { failures++; }
+		System.out.printf("%-46s\t%s\n", testDesc, (result ? "   PASS" : "***FAIL***"));
+	}
+
+	/**
+	 * Sorts a list in the tester's pool and compares it with List.sort
+	 * @param list empty list to fill and sort
+	 * @param values values to fill it with
+	 * @param c ordering to sort by
+	 * @return true if the list came out sorted, with the same elements
+	 */
+	private boolean testParallelSort(IndexedUnsortedList<Integer> list, List<Integer> values, Comparator<Integer> c) {
+		try {
+			fill(list, values);
+			List<Integer> expected = new ArrayList<Integer>(values);
+			expected.sort(c);
+
+			Sort.parallelSort(list, c, pool);
+
+			return matches(list.iterator(), expected);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Sorts an IUArrayList whose elements wrap around the end of its ring
+	 * @param values values to sort
+	 * @return true if the list came out sorted, with the same elements
+	 */
+	private boolean testParallelSortWrapped(List<Integer> values) {
+		try {
+			IndexedUnsortedList<Integer> list = new IUArrayList<Integer>(values.size());
+
+			for (int i = values.size() - 1; i >= 0; i--) {
+				list.addToFront(values.get(i));
+			}
+
+			List<Integer> expected = new ArrayList<Integer>(values);
+			Collections.sort(expected);
+
+			Sort.parallelSort(list, Comparator.<Integer>naturalOrder(), pool);
+
+			return matches(list.iterator(), expected);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Sorts through the overload that uses the common pool
+	 * @param values values to sort
+	 * @return true if the list came out sorted, with the same elements
+	 */
+	private boolean testParallelSortCommonPool(List<Integer> values) {
+		try {
+			IndexedUnsortedList<Integer> list = new IUDoubleLinkedList<Integer>();
+			fill(list, values);
+			List<Integer> expected = new ArrayList<Integer>(values);
+			Collections.sort(expected);
+
+			Sort.parallelSort(list);
+
+			return matches(list.iterator(), expected);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Sorts records by their int key and compares them with a stable List.sort
+	 * @param list empty list to fill and sort
+	 * @param values records to fill it with
+	 * @return true if the records came out in key order, ties in their original order
+	 */
+	private boolean testSortByIntKey(IndexedUnsortedList<Keyed> list, List<Keyed> values) {
+		try {
+			fill(list, values);
+			List<Keyed> expected = new ArrayList<Keyed>(values);
+			expected.sort(Keyed.BY_KEY);
+
+			Sort.sortByIntKey(list, record -> record.key);
+
+			return matches(list.iterator(), expected);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Stable sorts records by key and compares them record for record with List.sort,
+	 * which is stable
+	 * @param list empty list to fill and sort
+	 * @param values records to fill it with
+	 * @return true if the records came out in key order, ties in their original order
+	 */
+	private boolean testStableSort(IndexedUnsortedList<Keyed> list, List<Keyed> values) {
+		try {
+			fill(list, values);
+			List<Keyed> expected = new ArrayList<Keyed>(values);
+			expected.sort(Keyed.BY_KEY);
+
+			Sort.stableSort(list, Keyed.BY_KEY);
+
+			return matches(list.iterator(), expected);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Selects the k-th smallest value and checks the list was left alone
+	 * @param list empty list to fill
+	 * @param values values to fill it with
+	 * @param k index in sorted order to select
+	 * @return true if the selected value matches the sorted copy and the list is unchanged
+	 */
+	private boolean testSelect(IndexedUnsortedList<Integer> list, List<Integer> values, int k) {
+		try {
+			fill(list, values);
+			List<Integer> expected = new ArrayList<Integer>(values);
+			Collections.sort(expected);
+
+			Integer selected = Sort.select(list, k, Comparator.<Integer>naturalOrder());
+
+			return selected.equals(expected.get(k)) && matches(list.iterator(), values);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Selects every k in turn from the same list
+	 * @param list empty list to fill
+	 * @param values values to fill it with
+	 * @return true if every selection matches the sorted copy
+	 */
+	private boolean testSelectEveryK(IndexedUnsortedList<Integer> list, List<Integer> values) {
+		try {
+			fill(list, values);
+			List<Integer> expected = new ArrayList<Integer>(values);
+			Collections.sort(expected);
+
+			for (int k = 0; k < values.size(); k++) {
+				if (!Sort.select(list, k, Comparator.<Integer>naturalOrder()).equals(expected.get(k))) {
+					return false;
+				}
+			}
+
+			return matches(list.iterator(), values);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @param values values to fill the list with
+	 * @param k index outside the list
+	 * @return true if select rejects k with IndexOutOfBoundsException
+	 */
+	private boolean testSelectOutOfRange(List<Integer> values, int k) {
+		try {
+			IndexedUnsortedList<Integer> list = new IUArrayList<Integer>();
+			fill(list, values);
+			Sort.select(list, k, Comparator.<Integer>naturalOrder());
+			return false;
+		} catch (IndexOutOfBoundsException e) {
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Takes the k smallest values by the given ordering and checks the list was left alone
+	 * @param list empty list to fill
+	 * @param values values to fill it with
+	 * @param k number of values wanted
+	 * @param c ordering to rank by
+	 * @return true if the result is the first k of the sorted copy, in order, and the list is unchanged
+	 */
+	private boolean testTopK(IndexedUnsortedList<Integer> list, List<Integer> values, int k, Comparator<Integer> c) {
+		try {
+			fill(list, values);
+			List<Integer> expected = new ArrayList<Integer>(values);
+			expected.sort(c);
+			expected = expected.subList(0, Math.min(k, expected.size()));
+
+			IndexedUnsortedList<Integer> top = Sort.topK(list, k, c);
+
+			return matches(top.iterator(), expected) && matches(list.iterator(), values);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @param values values to fill the list with
+	 * @return true if topK rejects a negative k with IllegalArgumentException
+	 */
+	private boolean testTopKNegative(List<Integer> values) {
+		try {
+			IndexedUnsortedList<Integer> list = new IUArrayList<Integer>();
+			fill(list, values);
+			Sort.topK(list, -1, Comparator.<Integer>naturalOrder());
+			return false;
+		} catch (IllegalArgumentException e) {
+			return true;
+		} catch (Exception e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Merges sorted lists of records with duplicate keys spread across the lists
+	 * Mixed inputs cycle through IUArrayList, IUSingleLinkedList, WrappedDLL and
+	 * IUDoubleLinkedList; otherwise every input is an IUDoubleLinkedList and gets spliced
+	 * @param random source of the keys
+	 * @param allDoubleLinked whether every input is an IUDoubleLinkedList
+	 * @param sizes size of each input list
+	 * @return true if the records come out in key order, ties in input order, and the inputs
+	 *         are emptied when spliced or left untouched otherwise
+	 */
+	private boolean testMerge(Random random, boolean allDoubleLinked, int[] sizes) {
+		try {
+			List<IndexedUnsortedList<Keyed>> lists = new ArrayList<IndexedUnsortedList<Keyed>>();
+			List<List<Keyed>> contents = new ArrayList<List<Keyed>>();
+			List<Keyed> expected = new ArrayList<Keyed>();
+			int position = 0;
+
+			for (int i = 0; i < sizes.length; i++) {
+				List<Keyed> values = new ArrayList<Keyed>();
+
+				for (int j = 0; j < sizes[i]; j++) {
+					values.add(new Keyed(random.nextInt(50) - 25, position++));
+				}
+
+				values.sort(Keyed.BY_KEY);
+				IndexedUnsortedList<Keyed> list = allDoubleLinked ? new IUDoubleLinkedList<Keyed>() : newMixedList(i);
+				fill(list, values);
+				lists.add(list);
+				contents.add(values);
+				expected.addAll(values);
+			}
+
+			expected.sort(Keyed.BY_KEY);
+
+			IndexedUnsortedList<Keyed> merged = Sort.merge(lists, Keyed.BY_KEY);
+
+			if (merged.size() != expected.size() || !matches(merged.iterator(), expected)) {
+				return false;
+			}
+
+			for (int i = 0; i < lists.size(); i++) {
+				if (allDoubleLinked ? !lists.get(i).isEmpty() || lists.get(i).iterator().hasNext()
+						: !matches(lists.get(i).iterator(), contents.get(i))) {
+					return false;
+				}
+			}
+
+			return !allDoubleLinked || sizes.length == 0 || merged instanceof IUDoubleLinkedList;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Checks that a spliced merge result and its emptied inputs behave as ordinary lists
+	 * @param random source of the values
+	 * @return true if both can be walked backward, added to and removed from
+	 */
+	private boolean testMergedListUsable(Random random) {
+		try {
+			List<IndexedUnsortedList<Integer>> lists = new ArrayList<IndexedUnsortedList<Integer>>();
+			List<Integer> expected = new ArrayList<Integer>();
+
+			for (int i = 0; i < 3; i++) {
+				List<Integer> values = randomInts(random, 100);
+				Collections.sort(values);
+				IndexedUnsortedList<Integer> list = new IUDoubleLinkedList<Integer>();
+				fill(list, values);
+				lists.add(list);
+				expected.addAll(values);
+			}
+
+			Collections.sort(expected);
+			IndexedUnsortedList<Integer> merged = Sort.merge(lists);
+
+			ListIterator<Integer> it = merged.listIterator(merged.size());
+
+			for (int i = expected.size() - 1; i >= 0; i--) {
+				if (!it.hasPrevious() || !it.previous().equals(expected.get(i))) {
+					return false;
+				}
+			}
+
+			if (it.hasPrevious()) {
+				return false;
+			}
+
+			merged.addToFront(Integer.MIN_VALUE);
+			merged.addToRear(Integer.MAX_VALUE);
+			merged.remove(expected.size() / 2);
+			lists.get(0).addToRear(1);
+
+			return merged.size() == expected.size() + 1 && merged.first() == Integer.MIN_VALUE
+				&& merged.last() == Integer.MAX_VALUE && lists.get(0).size() == 1 && lists.get(0).first() == 1;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Merges one IUDoubleLinkedList given twice
+	 * @return true if its nodes are spliced in once and the size matches the contents
+	 */
+	private boolean testMergeSameListTwice() {
+		try {
+			IndexedUnsortedList<Integer> list = new IUDoubleLinkedList<Integer>();
+			fill(list, Arrays.asList(1, 3));
+
+			IndexedUnsortedList<Integer> merged = Sort.merge(Arrays.asList(list, list));
+			int walked = 0;
+
+			for (Iterator<Integer> it = merged.iterator(); it.hasNext(); it.next()) {
+				walked++;
+			}
+
+			return merged.size() == 2 && walked == 2 && merged.first() == 1 && merged.last() == 3 && list.isEmpty();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Merges lists handed over by an Iterable that can only be walked once
+	 * @param random source of the values
+	 * @return true if every list is merged, spliced or copied
+	 */
+	private boolean testMergeOneShot(Random random) {
+		try {
+			for (boolean allDoubleLinked : new boolean[] { true, false }) {
+				List<IndexedUnsortedList<Integer>> lists = new ArrayList<IndexedUnsortedList<Integer>>();
+				List<Integer> expected = new ArrayList<Integer>();
+
+				for (int i = 0; i < 4; i++) {
+					List<Integer> values = randomInts(random, 50);
+					Collections.sort(values);
+					IndexedUnsortedList<Integer> list = allDoubleLinked ? new IUDoubleLinkedList<Integer>() : newMixedList(i);
+					fill(list, values);
+					lists.add(list);
+					expected.addAll(values);
+				}
+
+				Collections.sort(expected);
+				Iterator<IndexedUnsortedList<Integer>> once = lists.iterator();
+				IndexedUnsortedList<Integer> merged = Sort.merge(() -> once);
+
+				if (merged.size() != expected.size() || !matches(merged.iterator(), expected)) {
+					return false;
+				}
+			}
+
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @param i position of the input list
+	 * @return an empty list of one of four implementations, chosen by position
+	 */
+	private static <T> IndexedUnsortedList<T> newMixedList(int i) {
+		switch (i % 4) {
+		case 0:
+			return new IUArrayList<T>();
+		case 1:
+			return new IUSingleLinkedList<T>();
+		case 2:
+			return new WrappedDLL<T>();
+		default:
+			return new IUDoubleLinkedList<T>();
+		}
+	}
+
+	private static <T> void fill(IndexedUnsortedList<T> list, List<T> values) {
+		for (T value : values) {
+			list.addToRear(value);
+		}
+	}
+
+	private static <T> boolean matches(Iterator<T> actual, List<T> expected) {
+		for (T element : expected) {
+			if (!actual.hasNext() || !actual.next().equals(element)) {
+				return false;
+			}
+		}
+
+		return !actual.hasNext();
+	}
+
+	private static List<Integer> randomInts(Random random, int count) {
+		List<Integer> values = new ArrayList<Integer>();
+
+		for (int i = 0; i < count; i++) {
+			values.add(random.nextInt());
+		}
+
+		return values;
+	}
+
+	private static List<Integer> duplicateInts(Random random, int count) {
+		List<Integer> values = new ArrayList<Integer>();
+
+		for (int i = 0; i < count; i++) {
+			values.add(random.nextInt(5) - 2);
+		}
+
+		return values;
+	}
+
+	/**
+	 * Values that hit the ends of the int range and the sign boundary
+	 * @param random source of the choices
+	 * @param count number of values
+	 * @return values chosen from MIN_VALUE, MAX_VALUE, -1, 0, 1 and random ints
+	 */
+	private static List<Integer> extremeInts(Random random, int count) {
+		int[] choices = { Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MAX_VALUE, -1, 0, 1, -256, 255 };
+		List<Integer> values = new ArrayList<Integer>();
+
+		for (int i = 0; i < count; i++) {
+			values.add(random.nextBoolean() ? choices[random.nextInt(choices.length)] : random.nextInt());
+		}
+
+		return values;
+	}
+
+	/**
+	 * Keys laid out as runs that each repeat keys from a small range, so equal keys
+	 * occur inside runs and across them
+	 * @param random source of the keys
+	 * @param count number of runs
+	 * @param length length of each run
+	 * @param ascending whether the first run ascends
+	 * @param alternate whether the runs alternate between ascending and descending
+	 * @return the keys, run after run
+	 */
+	private static List<Integer> runs(Random random, int count, int length, boolean ascending, boolean alternate) {
+		List<Integer> values = new ArrayList<Integer>();
+
+		for (int i = 0; i < count; i++) {
+			List<Integer> run = new ArrayList<Integer>();
+
+			for (int j = 0; j < length; j++) {
+				run.add(random.nextInt(length / 4 + 2));
+			}
+
+			Collections.sort(run);
+
+			if (!ascending) {
+				// not strictly descending: ties inside a descending run must not be reversed
+				Collections.reverse(run);
+			}
+
+			values.addAll(run);
+
+			if (alternate) {
+				ascending = !ascending;
+			}
+		}
+
+		return values;
+	}
+
+	/**
+	 * Keys laid out as two long ascending runs where one run's keys all fall inside a
+	 * narrow stretch of the other's and both repeat each key, so the merge gallops over
+	 * long blocks and has to take ties from the left run first
+	 * @param length length of each run
+	 * @return the keys of both runs
+	 */
+	private static List<Integer> gallopingRuns(int length) {
+		List<Integer> values = new ArrayList<Integer>();
+
+		for (int i = 0; i < length; i++) {
+			values.add(i / 4);
+		}
+
+		for (int i = 0; i < length; i++) {
+			values.add(length / 8 + i / 64);
+		}
+
+		return values;
+	}
+
+	/**
+	 * @param count number of keys
+	 * @return count copies of the same key
+	 */
+	private static List<Integer> constantInts(int count) {
+		return new ArrayList<Integer>(Collections.nCopies(count, 7));
+	}
+
+	/**
+	 * Wraps each value in a record that remembers its position
+	 * @param keys keys of the records, in order
+	 * @return records numbered from 0 in the same order
+	 */
+	private static List<Keyed> keyed(List<Integer> keys) {
+		List<Keyed> values = new ArrayList<Keyed>();
+
+		for (int i = 0; i < keys.size(); i++) {
+			values.add(new Keyed(keys.get(i), i));
+		}
+
+		return values;
+	}
+
+	private static List<Integer> sortedInts(int count) {
+		List<Integer> values = new ArrayList<Integer>();
+
+		for (int i = 0; i < count; i++) {
+			values.add(i);
+		}
+
+		return values;
+	}
+
+	/**
+	 * Record sorted by key whose position in the input is kept, so a test can tell
+	 * whether records with equal keys kept their order; equal only to itself
+	 */
+	private static final class Keyed {
+
+		/**
+		 * Orders records by key alone
+		 * @var Comparator<Keyed>
+		 */
+		static final Comparator<Keyed> BY_KEY = (a, b) -> Integer.compare(a.key, b.key);
+
+		/**
+		 * Key to sort by, and position in the input
+		 * @var int
+		 */
+		final int key, position;
+
+		Keyed(int key, int position) {
+			this.key = key;
+			this.position = position;
+		}
+
+		@Override
+		public String toString() {
+			return key + "#" + position;
+		}
+	}
+}
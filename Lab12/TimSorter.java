@@ -0,0 +1,664 @@
+import java.util.Comparator;
+
+/**
+ * Stable, adaptive merge sort over an array range, in the style of TimSort.
+ * The range is scanned for natural runs; strictly descending runs are reversed
+ * in place, and runs shorter than minRun are extended with binary insertion sort.
+ * Runs are pushed on a stack whose lengths are kept roughly Fibonacci by merging,
+ * and each merge gallops (exponential then binary search) once one side keeps
+ * winning, so already-ordered input costs close to O(n) and the worst case is
+ * O(n log n). Equal elements keep their original order.
+ *
+ * @author The Boobies
+ *
+ * @param <T> type of element being sorted
+ */
+final class TimSorter<T> {
+
+	/**
+	 * Ranges shorter than this are binary insertion sorted, and no run is shorter than minRun
+	 * @var int
+	 */
+	private static final int MIN_MERGE = 32;
+
+	/**
+	 * Consecutive wins by one side of a merge before it switches to galloping
+	 * @var int
+	 */
+	private static final int MIN_GALLOP = 7;
+
+	/**
+	 * Largest run stack needed; the stack invariants keep run lengths growing at least
+	 * as fast as the Fibonacci numbers, so 49 runs cover any int-sized range
+	 * @var int
+	 */
+	private static final int MAX_RUNS = 49;
+
+	/**
+	 * Array being sorted
+	 * @var Object array
+	 */
+	private final Object[] elements;
+
+	/**
+	 * Ordering to sort by
+	 * @var Comparator<T>
+	 */
+	private final Comparator<T> c;
+
+	/**
+	 * Current gallop threshold; lowered while galloping pays off and raised when it does not
+	 * @var int
+	 */
+	private int minGallop = MIN_GALLOP;
+
+	/**
+	 * Scratch space for the shorter run of a merge, grown on demand up to half the range
+	 * @var Object array
+	 */
+	private Object[] scratch;
+
+	/**
+	 * Largest scratch array any merge can need
+	 * @var int
+	 */
+	private final int maxScratch;
+
+	/**
+	 * Start and length of each pending run, bottom of the stack first
+	 * @var int array
+	 */
+	private final int[] runBase, runLength;
+
+	/**
+	 * Number of pending runs
+	 * @var int
+	 */
+	private int stackSize;
+
+	private TimSorter(Object[] elements, Comparator<T> c, int length) {
+		this.elements = elements;
+		this.c = c;
+		this.maxScratch = length >>> 1;
+		this.scratch = new Object[Math.min(256, maxScratch)];
+		this.runBase = new int[MAX_RUNS];
+		this.runLength = new int[MAX_RUNS];
+		this.stackSize = 0;
+	}
+
+	/**
+	 * Sorts elements[from..to) stably
+	 * @param   Object array    elements    array to sort
+	 * @param   int             from        first index of the range
+	 * @param   int             to          index just past the range
+	 * @param   Comparator<T>   c           ordering to sort by
+	 */
+	static <T> void sort(Object[] elements, int from, int to, Comparator<T> c) {
+		int remaining = to - from;
+
+		if (remaining < 2) {
+			return;
+		}
+
+		if (remaining < MIN_MERGE) {
+			int run = countRunAndMakeAscending(elements, from, to, c);
+			binaryInsertionSort(elements, from, to, from + run, c);
+			return;
+		}
+
+		TimSorter<T> sorter = new TimSorter<T>(elements, c, remaining);
+		int minRun = minRunLength(remaining);
+
+		do {
+			int run = countRunAndMakeAscending(elements, from, to, c);
+
+			if (run < minRun) {
+				int forced = Math.min(remaining, minRun);
+				binaryInsertionSort(elements, from, from + forced, from + run, c);
+				run = forced;
+			}
+
+			sorter.pushRun(from, run);
+			sorter.mergeCollapse();
+
+			from += run;
+			remaining -= run;
+		} while (remaining != 0);
+
+		sorter.mergeForceCollapse();
+	}
+
+	/**
+	 * Length of the natural run starting at from, reversing it first if it is strictly descending
+	 * Only strictly descending runs are reversed, so equal elements never change order
+	 * @param   Object array    elements    array being sorted
+	 * @param   int             from        start of the run
+	 * @param   int             to          end of the range
+	 * @param   Comparator<T>   c           ordering to sort by
+	 * @return  int     length of the run, now ascending
+	 */
+	private static <T> int countRunAndMakeAscending(Object[] elements, int from, int to, Comparator<T> c) {
+		int end = from + 1;
+
+		if (end == to) {
+			return 1;
+		}
+
+		if (compare(c, elements[end++], elements[from]) < 0) {
+			while (end < to && compare(c, elements[end], elements[end - 1]) < 0) {
+				end++;
+			}
+
+			reverse(elements, from, end);
+		} else {
+			while (end < to && compare(c, elements[end], elements[end - 1]) >= 0) {
+				end++;
+			}
+		}
+
+		return end - from;
+	}
+
+	/**
+	 * Insertion sort of elements[from..to) where elements[from..sorted) is already sorted
+	 * Each insertion point is found by binary search, after any equal elements
+	 * @param   Object array    elements    array being sorted
+	 * @param   int             from        first index of the range
+	 * @param   int             to          index just past the range
+	 * @param   int             sorted      index just past the sorted prefix
+	 * @param   Comparator<T>   c           ordering to sort by
+	 */
+	private static <T> void binaryInsertionSort(Object[] elements, int from, int to, int sorted, Comparator<T> c) {
+		for (; sorted < to; sorted++) {
+			Object pivot = elements[sorted];
+			int left = from;
+			int right = sorted;
+
+			while (left < right) {
+				int mid = (left + right) >>> 1;
+
+				if (compare(c, pivot, elements[mid]) < 0) {
+					right = mid;
+				} else {
+					left = mid + 1;
+				}
+			}
+
+			System.arraycopy(elements, left, elements, left + 1, sorted - left);
+			elements[left] = pivot;
+		}
+	}
+
+	/**
+	 * Shortest run worth merging for a range of the given length, between MIN_MERGE / 2 and MIN_MERGE
+	 * Chosen so the length divided by it is a power of two or just under one, which keeps the merges balanced
+	 * @param   int     length  length of the range
+	 * @return  int     minimum run length
+	 */
+	private static int minRunLength(int length) {
+		int carry = 0;
+
+		while (length >= MIN_MERGE) {
+			carry |= length & 1;
+			length >>= 1;
+		}
+
+		return length + carry;
+	}
+
+	/**
+	 * Pushes a run onto the pending run stack
+	 * @param   int     base    start of the run
+	 * @param   int     length  length of the run
+	 */
+	private void pushRun(int base, int length) {
+		runBase[stackSize] = base;
+		runLength[stackSize] = length;
+		stackSize++;
+	}
+
+	/**
+	 * Merges pending runs until the top of the stack satisfies
+	 * runLength[i - 2] > runLength[i - 1] + runLength[i] and runLength[i - 1] > runLength[i],
+	 * checking one level deeper as well so the invariant holds for the whole stack
+	 */
+	private void mergeCollapse() {
+		while (stackSize > 1) {
+			int n = stackSize - 2;
+
+			if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+					|| n > 1 && runLength[n - 2] <= runLength[n - 1] + runLength[n]) {
+				if (runLength[n - 1] < runLength[n + 1]) {
+					n--;
+				}
+			} else if (runLength[n] > runLength[n + 1]) {
+				break;
+			}
+
+			mergeAt(n);
+		}
+	}
+
+	/**
+	 * Merges every pending run, once the whole range has been scanned
+	 */
+	private void mergeForceCollapse() {
+		while (stackSize > 1) {
+			int n = stackSize - 2;
+
+			if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+				n--;
+			}
+
+			mergeAt(n);
+		}
+	}
+
+	/**
+	 * Merges the runs at stack positions i and i + 1
+	 * Elements of the first run that are already no greater than the second run's first
+	 * element, and elements of the second run no smaller than the first run's last element,
+	 * are left where they are; only what remains is merged
+	 * @param   int     i   stack position of the first run, either the second or third from the top
+	 */
+	private void mergeAt(int i) {
+		int base1 = runBase[i];
+		int length1 = runLength[i];
+		int base2 = runBase[i + 1];
+		int length2 = runLength[i + 1];
+
+		runLength[i] = length1 + length2;
+
+		if (i == stackSize - 3) {
+			runBase[i + 1] = runBase[i + 2];
+			runLength[i + 1] = runLength[i + 2];
+		}
+
+		stackSize--;
+
+		int skipped = gallopRight(elements[base2], elements, base1, length1, 0);
+		base1 += skipped;
+		length1 -= skipped;
+
+		if (length1 == 0) {
+			return;
+		}
+
+		length2 = gallopLeft(elements[base1 + length1 - 1], elements, base2, length2, length2 - 1);
+
+		if (length2 == 0) {
+			return;
+		}
+
+		if (length1 <= length2) {
+			mergeLow(base1, length1, base2, length2);
+		} else {
+			mergeHigh(base1, length1, base2, length2);
+		}
+	}
+
+	/**
+	 * Merges two adjacent runs front to back, copying the shorter first run to scratch
+	 * @param   int     base1       start of the first run
+	 * @param   int     length1     length of the first run
+	 * @param   int     base2       start of the second run, base1 + length1
+	 * @param   int     length2     length of the second run
+	 */
+	private void mergeLow(int base1, int length1, int base2, int length2) {
+		Object[] low = ensureScratch(length1);
+		System.arraycopy(elements, base1, low, 0, length1);
+
+		int cursor1 = 0;
+		int cursor2 = base2;
+		int end2 = base2 + length2;
+		int dest = base1;
+		int gallop = minGallop;
+
+		outer:
+		while (cursor1 < length1 && cursor2 < end2) {
+			int count1 = 0;
+			int count2 = 0;
+
+			// one element at a time until one run wins gallop times in a row
+			while (cursor1 < length1 && cursor2 < end2) {
+				if (compare(c, elements[cursor2], low[cursor1]) < 0) {
+					elements[dest++] = elements[cursor2++];
+					count2++;
+					count1 = 0;
+
+					if (count2 >= gallop) {
+						break;
+					}
+				} else {
+					elements[dest++] = low[cursor1++];
+					count1++;
+					count2 = 0;
+
+					if (count1 >= gallop) {
+						break;
+					}
+				}
+			}
+
+			if (cursor1 == length1 || cursor2 == end2) {
+				break;
+			}
+
+			// gallop: copy whole blocks while the blocks stay long
+			do {
+				count1 = gallopRight(elements[cursor2], low, cursor1, length1 - cursor1, 0);
+
+				if (count1 != 0) {
+					System.arraycopy(low, cursor1, elements, dest, count1);
+					dest += count1;
+					cursor1 += count1;
+
+					if (cursor1 == length1) {
+						break outer;
+					}
+				}
+
+				elements[dest++] = elements[cursor2++];
+
+				if (cursor2 == end2) {
+					break outer;
+				}
+
+				count2 = gallopLeft(low[cursor1], elements, cursor2, end2 - cursor2, 0);
+
+				if (count2 != 0) {
+					System.arraycopy(elements, cursor2, elements, dest, count2);
+					dest += count2;
+					cursor2 += count2;
+
+					if (cursor2 == end2) {
+						break outer;
+					}
+				}
+
+				elements[dest++] = low[cursor1++];
+
+				if (cursor1 == length1) {
+					break outer;
+				}
+
+				gallop--;
+			} while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+			// galloping stopped paying off; make it harder to re-enter
+			gallop = Math.max(gallop, 0) + 2;
+		}
+
+		minGallop = Math.max(gallop, 1);
+
+		// whatever is left of the second run is already in place
+		System.arraycopy(low, cursor1, elements, dest, length1 - cursor1);
+	}
+
+	/**
+	 * Merges two adjacent runs back to front, copying the shorter second run to scratch
+	 * @param   int     base1       start of the first run
+	 * @param   int     length1     length of the first run
+	 * @param   int     base2       start of the second run, base1 + length1
+	 * @param   int     length2     length of the second run
+	 */
+	private void mergeHigh(int base1, int length1, int base2, int length2) {
+		Object[] high = ensureScratch(length2);
+		System.arraycopy(elements, base2, high, 0, length2);
+
+		int cursor1 = base1 + length1 - 1;
+		int cursor2 = length2 - 1;
+		int dest = base2 + length2 - 1;
+		int gallop = minGallop;
+
+		outer:
+		while (cursor1 >= base1 && cursor2 >= 0) {
+			int count1 = 0;
+			int count2 = 0;
+
+			// one element at a time until one run wins gallop times in a row
+			while (cursor1 >= base1 && cursor2 >= 0) {
+				if (compare(c, high[cursor2], elements[cursor1]) < 0) {
+					elements[dest--] = elements[cursor1--];
+					count1++;
+					count2 = 0;
+
+					if (count1 >= gallop) {
+						break;
+					}
+				} else {
+					elements[dest--] = high[cursor2--];
+					count2++;
+					count1 = 0;
+
+					if (count2 >= gallop) {
+						break;
+					}
+				}
+			}
+
+			if (cursor1 < base1 || cursor2 < 0) {
+				break;
+			}
+
+			// gallop: copy whole blocks while the blocks stay long
+			do {
+				int remaining1 = cursor1 - base1 + 1;
+				count1 = remaining1 - gallopRight(high[cursor2], elements, base1, remaining1, remaining1 - 1);
+
+				if (count1 != 0) {
+					dest -= count1;
+					cursor1 -= count1;
+					System.arraycopy(elements, cursor1 + 1, elements, dest + 1, count1);
+
+					if (cursor1 < base1) {
+						break outer;
+					}
+				}
+
+				elements[dest--] = high[cursor2--];
+
+				if (cursor2 < 0) {
+					break outer;
+				}
+
+				count2 = cursor2 + 1 - gallopLeft(elements[cursor1], high, 0, cursor2 + 1, cursor2);
+
+				if (count2 != 0) {
+					dest -= count2;
+					cursor2 -= count2;
+					System.arraycopy(high, cursor2 + 1, elements, dest + 1, count2);
+
+					if (cursor2 < 0) {
+						break outer;
+					}
+				}
+
+				elements[dest--] = elements[cursor1--];
+
+				if (cursor1 < base1) {
+					break outer;
+				}
+
+				gallop--;
+			} while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+			// galloping stopped paying off; make it harder to re-enter
+			gallop = Math.max(gallop, 0) + 2;
+		}
+
+		minGallop = Math.max(gallop, 1);
+
+		// whatever is left of the first run is already in place
+		System.arraycopy(high, 0, elements, dest - cursor2, cursor2 + 1);
+	}
+
+	/**
+	 * Position in the sorted range array[base..base + length) to insert key before any equal elements,
+	 * searched by galloping out from base + hint and then binary searching the last gap
+	 * @param   Object          key     element to place
+	 * @param   Object array    array   array holding the range
+	 * @param   int             base    start of the range
+	 * @param   int             length  length of the range, at least 1
+	 * @param   int             hint    offset to start galloping from, in [0, length)
+	 * @return  int     number of elements in the range that are less than key
+	 */
+	private int gallopLeft(Object key, Object[] array, int base, int length, int hint) {
+		int lastOffset = 0;
+		int offset = 1;
+
+		if (compare(c, key, array[base + hint]) > 0) {
+			// gallop right until array[base + hint + lastOffset] < key <= array[base + hint + offset]
+			int maxOffset = length - hint;
+
+			while (offset < maxOffset && compare(c, key, array[base + hint + offset]) > 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+
+				if (offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+
+			offset = Math.min(offset, maxOffset);
+			lastOffset += hint;
+			offset += hint;
+		} else {
+			// gallop left until array[base + hint - offset] < key <= array[base + hint - lastOffset]
+			int maxOffset = hint + 1;
+
+			while (offset < maxOffset && compare(c, key, array[base + hint - offset]) <= 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+
+				if (offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+
+			offset = Math.min(offset, maxOffset);
+			int previous = lastOffset;
+			lastOffset = hint - offset;
+			offset = hint - previous;
+		}
+
+		// array[base + lastOffset] < key <= array[base + offset]; binary search what is between
+		lastOffset++;
+
+		while (lastOffset < offset) {
+			int mid = lastOffset + ((offset - lastOffset) >>> 1);
+
+			if (compare(c, key, array[base + mid]) > 0) {
+				lastOffset = mid + 1;
+			} else {
+				offset = mid;
+			}
+		}
+
+		return offset;
+	}
+
+	/**
+	 * Position in the sorted range array[base..base + length) to insert key after any equal elements,
+	 * searched by galloping out from base + hint and then binary searching the last gap
+	 * @param   Object          key     element to place
+	 * @param   Object array    array   array holding the range
+	 * @param   int             base    start of the range
+	 * @param   int             length  length of the range, at least 1
+	 * @param   int             hint    offset to start galloping from, in [0, length)
+	 * @return  int     number of elements in the range that are less than or equal to key
+	 */
+	private int gallopRight(Object key, Object[] array, int base, int length, int hint) {
+		int lastOffset = 0;
+		int offset = 1;
+
+		if (compare(c, key, array[base + hint]) < 0) {
+			// gallop left until array[base + hint - offset] <= key < array[base + hint - lastOffset]
+			int maxOffset = hint + 1;
+
+			while (offset < maxOffset && compare(c, key, array[base + hint - offset]) < 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+
+				if (offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+
+			offset = Math.min(offset, maxOffset);
+			int previous = lastOffset;
+			lastOffset = hint - offset;
+			offset = hint - previous;
+		} else {
+			// gallop right until array[base + hint + lastOffset] <= key < array[base + hint + offset]
+			int maxOffset = length - hint;
+
+			while (offset < maxOffset && compare(c, key, array[base + hint + offset]) >= 0) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+
+				if (offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+
+			offset = Math.min(offset, maxOffset);
+			lastOffset += hint;
+			offset += hint;
+		}
+
+		// array[base + lastOffset] <= key < array[base + offset]; binary search what is between
+		lastOffset++;
+
+		while (lastOffset < offset) {
+			int mid = lastOffset + ((offset - lastOffset) >>> 1);
+
+			if (compare(c, key, array[base + mid]) < 0) {
+				offset = mid;
+			} else {
+				lastOffset = mid + 1;
+			}
+		}
+
+		return offset;
+	}
+
+	/**
+	 * Scratch array holding at least the given number of slots
+	 * @param   int     needed  slots the next merge needs
+	 * @return  Object array    scratch array
+	 */
+	private Object[] ensureScratch(int needed) {
+		if (scratch.length < needed) {
+			scratch = new Object[Math.max(needed, Math.min(scratch.length * 2, maxScratch))];
+		}
+
+		return scratch;
+	}
+
+	/**
+	 * Reverses elements[from..to)
+	 * @param   Object array    elements    array holding the range
+	 * @param   int             from        first index of the range
+	 * @param   int             to          index just past the range
+	 */
+	private static void reverse(Object[] elements, int from, int to) {
+		for (to--; from < to; from++, to--) {
+			Object temp = elements[from];
+			elements[from] = elements[to];
+			elements[to] = temp;
+		}
+	}
+
+	/**
+	 * Compares two array slots with the Comparator
+	 * @param   Comparator<T>   c   ordering to sort by
+	 * @param   Object          a   first element
+	 * @param   Object          b   second element
+	 * @return  int     negative, zero or positive as a is less than, equal to or greater than b
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> int compare(Comparator<T> c, Object a, Object b) {
+		return c.compare((T) a, (T) b);
+	}
+}
@@ -0,0 +1,869 @@
+import java.util.Iterator;
+import java.util.Random;
+
+/**
+ * Simple timing harness for IndexedUnsortedList implementations
+ * Run with: java ListBenchmark [scenario]
+ * Results are printed one row per list size, in nanoseconds per operation
+ *
+ * @author The Boobies
+ */
+public class ListBenchmark {
+
+    /**
+     * List sizes every scenario is run at
+     * @var int array
+     */
+    private static final int[] SIZES = { 10000, 100000, 1000000, 10000000 };
+
+    /**
+     * List sizes for the append scaling scenario
+     * @var int array
+     */
+    private static final int[] APPEND_SIZES = { 1000, 10000, 100000, 1000000, 10000000 };
+
+    /**
+     * List sizes for scenarios where some implementations are quadratic
+     * @var int array
+     */
+    private static final int[] MIXED_SIZES = { 1000, 10000, 100000 };
+
+    /**
+     * List sizes for the element index scenario
+     * @var int array
+     */
+    private static final int[] INDEX_SIZES = { 10000, 100000, 1000000 };
+
+    /**
+     * Number of lookups timed per list in the element index scenario
+     * @var int
+     */
+    private static final int LOOKUPS = 1000;
+
+    /**
+     * Elements per page, and pages read per list, in the subList scenario
+     * @var int
+     */
+    private static final int PAGE = 100, PAGES = 1000;
+
+    /**
+     * Operations timed per size for the shifting baseline, which is linear per operation
+     * @var int
+     */
+    private static final int SHIFTING_OPS = 1000;
+
+    /**
+     * Number of untimed passes run first so the JIT has compiled the hot paths
+     * @var int
+     */
+    private static final int WARMUP_ROUNDS = 3;
+
+    /**
+     * Running total of removed elements so the JIT cannot discard the timed work
+     * @var long
+     */
+    private static long sink;
+
+    /**
+     * Runs the requested scenario, or every scenario if none was given
+     * @param args  optional scenario name
+     */
+    public static void main(String[] args) {
+        String scenario = args.length > 0 ? args[0] : "all";
+
+        if (scenario.equals("all") || scenario.equals("front")) {
+            frontOperations();
+        }
+
+        if (scenario.equals("all") || scenario.equals("append")) {
+            appendScaling();
+        }
+
+        if (scenario.equals("all") || scenario.equals("traverse")) {
+            traversal();
+        }
+
+        if (scenario.equals("all") || scenario.equals("scan")) {
+            indexedScan();
+        }
+
+        if (scenario.equals("all") || scenario.equals("positional")) {
+            positionalMix();
+        }
+
+        if (scenario.equals("all") || scenario.equals("unrolled")) {
+            unrolledFootprint();
+        }
+
+        if (scenario.equals("all") || scenario.equals("index")) {
+            elementIndex();
+        }
+
+        if (scenario.equals("all") || scenario.equals("bulk")) {
+            bulkOperations();
+        }
+
+        if (scenario.equals("all") || scenario.equals("sublist")) {
+            subListPaging();
+        }
+
+        if (scenario.equals("all") || scenario.equals("persistent")) {
+            persistentSnapshots();
+        }
+
+        System.out.println("checksum " + sink);
+    }
+
+    /**
+     * Front-operation throughput for IUArrayList against the shifting array it replaced
+     * Each operation is an addToFront followed by a removeFirst on a list
+     * already holding n elements, then a queue-style addToRear/removeFirst pass.
+     * The shifting array moves every element on each front operation, so it is
+     * only timed for SHIFTING_OPS operations per size
+     */
+    private static void frontOperations() {
+        System.out.println("IUArrayList front operations, ring buffer against shifting array");
+        System.out.printf("%12s %18s %18s %18s %18s%n", "size", "ring front ns/op", "ring queue ns/op",
+            "shift front ns/op", "shift queue ns/op");
+
+        for (int size : SIZES) {
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                timeFrontOperations(Math.min(size, 100000));
+                timeShiftingOperations(Math.min(size, 100000), 100);
+            }
+
+            long[] ring = timeFrontOperations(size);
+            int operations = Math.min(size, SHIFTING_OPS);
+            long[] shifting = timeShiftingOperations(size, operations);
+
+            System.out.printf("%12d %18.2f %18.2f %18.2f %18.2f%n", size, (double)ring[0] / size, (double)ring[1] / size,
+                (double)shifting[0] / operations, (double)shifting[1] / operations);
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Times the front and queue workloads at a given size
+     * @param   int     size    number of elements held by the list
+     * @return  long array      total nanoseconds for the front and queue workloads
+     */
+    private static long[] timeFrontOperations(int size) {
+        IndexedUnsortedList<Integer> list = new IUArrayList<Integer>();
+        Integer element = Integer.valueOf(1);
+
+        for (int i = 0; i < size; i++) {
+            list.addToRear(element);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < size; i++) {
+            list.addToFront(element);
+            sink += list.removeFirst();
+        }
+
+        long front = System.nanoTime() - start;
+        start = System.nanoTime();
+
+        for (int i = 0; i < size; i++) {
+            list.addToRear(element);
+            sink += list.removeFirst();
+        }
+
+        long queue = System.nanoTime() - start;
+
+        return new long[] { front, queue };
+    }
+
+    /**
+     * Times the front and queue workloads on the shifting array at a given size
+     * @param   int     size        number of elements held by the array
+     * @param   int     operations  number of operations to time in each workload
+     * @return  long array      total nanoseconds for the front and queue workloads
+     */
+    private static long[] timeShiftingOperations(int size, int operations) {
+        ShiftingArray<Integer> list = new ShiftingArray<Integer>(size + 1);
+        Integer element = Integer.valueOf(1);
+
+        for (int i = 0; i < size; i++) {
+            list.addToRear(element);
+        }
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < operations; i++) {
+            list.addToFront(element);
+            sink += list.removeFirst();
+        }
+
+        long front = System.nanoTime() - start;
+        start = System.nanoTime();
+
+        for (int i = 0; i < operations; i++) {
+            list.addToRear(element);
+            sink += list.removeFirst();
+        }
+
+        long queue = System.nanoTime() - start;
+
+        return new long[] { front, queue };
+    }
+
+    /**
+     * Baseline for the front scenario: the front operations of IUArrayList before it became
+     * a ring buffer, which kept the first element in slot 0 and shifted the rest one at a time
+     */
+    private static final class ShiftingArray<T> {
+
+        /**
+         * Elements, first element in slot 0
+         * @var Object array
+         */
+        private final Object[] list;
+
+        /**
+         * Number of elements
+         * @var int
+         */
+        private int rear;
+
+        /**
+         * Class constructor
+         * @param capacity  number of slots; the baseline never grows
+         */
+        private ShiftingArray(int capacity) {
+            list = new Object[capacity];
+        }
+
+        /**
+         * Shifts every element up one slot and stores the element in slot 0
+         * @param   T   element     element to add
+         */
+        private void addToFront(T element) {
+            for (int shift = rear - 1; shift >= 0; shift--) {
+                list[shift + 1] = list[shift];
+            }
+
+            list[0] = element;
+            rear++;
+        }
+
+        /**
+         * Stores the element after the last one
+         * @param   T   element     element to add
+         */
+        private void addToRear(T element) {
+            list[rear++] = element;
+        }
+
+        /**
+         * Removes slot 0 and shifts every other element down one slot
+         * @return  T   element removed
+         */
+        @SuppressWarnings("unchecked")
+        private T removeFirst() {
+            T result = (T)list[0];
+
+            for (int shift = 0; shift < rear - 1; shift++) {
+                list[shift] = list[shift + 1];
+            }
+
+            list[--rear] = null;
+
+            return result;
+        }
+    }
+
+    /**
+     * Append scaling for IUDoubleLinkedList
+     * Builds a list of n elements with addToRear, then drains it with
+     * last/removeLast; both should stay flat per operation as n grows
+     */
+    private static void appendScaling() {
+        System.out.println("IUDoubleLinkedList tail operations");
+        System.out.printf("%12s %18s %18s%n", "size", "append ns/op", "removeLast ns/op");
+
+        for (int size : APPEND_SIZES) {
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                timeTailOperations(Math.min(size, 100000));
+            }
+
+            long[] result = timeTailOperations(size);
+
+            System.out.printf("%12d %18.2f %18.2f%n", size, (double)result[0] / size, (double)result[1] / size);
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Times appending and then removing n elements at the tail
+     * @param   int     size    number of elements to append
+     * @return  long array      total nanoseconds for the append and removal passes
+     */
+    private static long[] timeTailOperations(int size) {
+        IndexedUnsortedList<Integer> list = new IUDoubleLinkedList<Integer>();
+        Integer element = Integer.valueOf(1);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < size; i++) {
+            list.addToRear(element);
+        }
+
+        long append = System.nanoTime() - start;
+        start = System.nanoTime();
+
+        for (int i = 0; i < size; i++) {
+            sink += list.last();
+            list.removeLast();
+        }
+
+        long remove = System.nanoTime() - start;
+
+        return new long[] { append, remove };
+    }
+
+    /**
+     * Iterator traversal cost for the linked lists
+     * A full for-each pass should cost the same per element at every size
+     */
+    private static void traversal() {
+        System.out.println("Linked list for-each traversal");
+        System.out.printf("%12s %18s %18s%n", "size", "single ns/elem", "double ns/elem");
+
+        for (int size : SIZES) {
+            IndexedUnsortedList<Integer> single = new IUSingleLinkedList<Integer>();
+            IndexedUnsortedList<Integer> dbl = new IUDoubleLinkedList<Integer>();
+
+            for (int i = 0; i < size; i++) {
+                single.add(i);
+                dbl.add(i);
+            }
+
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                timeTraversal(single);
+                timeTraversal(dbl);
+            }
+
+            System.out.printf("%12d %18.2f %18.2f%n", size, (double)timeTraversal(single) / size, (double)timeTraversal(dbl) / size);
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Times one for-each pass over a list
+     * @param   IndexedUnsortedList<Integer>    list    list to walk
+     * @return  long    nanoseconds taken
+     */
+    private static long timeTraversal(IndexedUnsortedList<Integer> list) {
+        long start = System.nanoTime();
+
+        for (Integer element : list) {
+            sink += element;
+        }
+
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Index-based scan over IUDoubleLinkedList
+     * A get(i) loop, forwards and then backwards, should cost the same per element at every size
+     */
+    private static void indexedScan() {
+        System.out.println("IUDoubleLinkedList get(i) scan");
+        System.out.printf("%12s %18s %18s%n", "size", "forward ns/elem", "backward ns/elem");
+
+        for (int size : SIZES) {
+            IndexedUnsortedList<Integer> list = new IUDoubleLinkedList<Integer>();
+
+            for (int i = 0; i < size; i++) {
+                list.add(i);
+            }
+
+            long start = System.nanoTime();
+
+            for (int i = 0; i < size; i++) {
+                sink += list.get(i);
+            }
+
+            long forward = System.nanoTime() - start;
+            start = System.nanoTime();
+
+            for (int i = size - 1; i >= 0; i--) {
+                sink += list.get(i);
+            }
+
+            long backward = System.nanoTime() - start;
+
+            System.out.printf("%12d %18.2f %18.2f%n", size, (double)forward / size, (double)backward / size);
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Random positional inserts followed by random reads, per implementation
+     * Compares IUTreeList against IUArrayList and IUDoubleLinkedList
+     */
+    private static void positionalMix() {
+        System.out.println("Random add(i, x) then get(i)");
+        System.out.printf("%12s %18s %18s %18s%n", "size", "array ns/op", "double ns/op", "tree ns/op");
+
+        for (int size : MIXED_SIZES) {
+            double array = timePositionalMix(new IUArrayList<Integer>(), size);
+            double dbl = timePositionalMix(new IUDoubleLinkedList<Integer>(), size);
+            double tree = timePositionalMix(new IUTreeList<Integer>(), size);
+
+            System.out.printf("%12d %18.2f %18.2f %18.2f%n", size, array, dbl, tree);
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Times n random inserts and n random reads on a list
+     * @param   IndexedUnsortedList<Integer>    list    empty list to fill
+     * @param   int                             size    number of inserts and reads
+     * @return  double  average nanoseconds per operation
+     */
+    private static double timePositionalMix(IndexedUnsortedList<Integer> list, int size) {
+        Random random = new Random(size);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < size; i++) {
+            list.add(random.nextInt(i + 1), i);
+        }
+
+        for (int i = 0; i < size; i++) {
+            sink += list.get(random.nextInt(size));
+        }
+
+        return (double)(System.nanoTime() - start) / (2 * size);
+    }
+
+    /**
+     * Memory footprint and iteration throughput of IUUnrolledList against IUDoubleLinkedList
+     * Every slot holds the same Integer, so the footprint counts only the list structure
+     */
+    private static void unrolledFootprint() {
+        System.out.println("IUDoubleLinkedList vs IUUnrolledList");
+        System.out.printf("%12s %18s %18s %18s %18s%n", "size", "double B/elem", "unrolled B/elem", "double ns/elem", "unrolled ns/elem");
+
+        for (int size : new int[] { 100000, 1000000, 10000000 }) {
+            long[] dbl = measureStructure(new IUDoubleLinkedList<Integer>(), size);
+            long[] unrolled = measureStructure(new IUUnrolledList<Integer>(), size);
+
+            System.out.printf("%12d %18.2f %18.2f %18.2f %18.2f%n", size,
+                (double)dbl[0] / size, (double)unrolled[0] / size, (double)dbl[1] / size, (double)unrolled[1] / size);
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Fills a list and measures the heap it retains and one timed for-each pass
+     * @param   IndexedUnsortedList<Integer>    list    empty list to fill
+     * @param   int                             size    number of elements to add
+     * @return  long array      retained bytes and traversal nanoseconds
+     */
+    private static long[] measureStructure(IndexedUnsortedList<Integer> list, int size) {
+        Integer element = Integer.valueOf(1);
+        long before = usedMemory();
+
+        for (int i = 0; i < size; i++) {
+            list.add(element);
+        }
+
+        long bytes = usedMemory() - before;
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            timeTraversal(list);
+        }
+
+        return new long[] { bytes, timeTraversal(list) };
+    }
+
+    /**
+     * Memory overhead and lookup speed of the element index on IUArrayList and IUDoubleLinkedList
+     * Every element is distinct; each lookup is a contains on a random element followed by
+     * removing it and adding it back after another random element
+     */
+    private static void elementIndex() {
+        System.out.println("Element index off vs on");
+        System.out.printf("%-20s %12s %18s %18s %18s %18s%n", "list", "size", "off B/elem", "on B/elem", "off ns/lookup", "on ns/lookup");
+
+        for (int size : INDEX_SIZES) {
+            Integer[] elements = new Integer[size];
+
+            for (int i = 0; i < size; i++) {
+                elements[i] = Integer.valueOf(i);
+            }
+
+            for (String name : new String[] { "IUArrayList", "IUDoubleLinkedList" }) {
+                long[] off = measureIndex(name, elements, false);
+                long[] on = measureIndex(name, elements, true);
+
+                System.out.printf("%-20s %12d %18.2f %18.2f %18.2f %18.2f%n", name, size,
+                    (double)off[0] / size, (double)on[0] / size, (double)off[1] / LOOKUPS, (double)on[1] / LOOKUPS);
+            }
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Fills a list with the given elements and measures the heap it retains and a round of lookups
+     * @param   String          name        IUArrayList or IUDoubleLinkedList
+     * @param   Integer array   elements    distinct elements to fill the list with
+     * @param   boolean         indexed     whether to turn the element index on
+     * @return  long array      retained bytes and lookup nanoseconds
+     */
+    private static long[] measureIndex(String name, Integer[] elements, boolean indexed) {
+        Random random = new Random(elements.length);
+        IndexedUnsortedList<Integer> list;
+
+        if (name.equals("IUArrayList")) {
+            IUArrayList<Integer> array = new IUArrayList<Integer>();
+            array.setElementIndexEnabled(indexed);
+            list = array;
+        } else {
+            IUDoubleLinkedList<Integer> dbl = new IUDoubleLinkedList<Integer>();
+            dbl.setElementIndexEnabled(indexed);
+            list = dbl;
+        }
+
+        for (Integer element : elements) {
+            list.add(element);
+        }
+
+        // the index is built by the first lookup, so count it in the footprint but not the timing
+        sink += list.indexOf(elements[0]);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            Integer element = elements[random.nextInt(elements.length)];
+
+            if (list.contains(element)) {
+                list.remove(element);
+                list.addAfter(element, elements[random.nextInt(elements.length)]);
+            }
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        // measured as the heap freed by dropping the list, which is steadier than the heap it took to build
+        long bytes = usedMemory();
+        sink += list.size();
+        list = null;
+        bytes -= usedMemory();
+
+        return new long[] { bytes, elapsed };
+    }
+
+    /**
+     * removeIf against removal through the iterator, and addAll against a loop of add(i, x)
+     * Every other element is removed, and a block the size of the list is inserted in the middle;
+     * the one-at-a-time loops are quadratic on IUArrayList (shifting) and IUSingleLinkedList
+     * (walking to the index), so they are only run up to 100000 there
+     */
+    private static void bulkOperations() {
+        System.out.println("Bulk operations, ns per element");
+        System.out.printf("%-20s %12s %18s %18s %18s %18s%n", "list", "size", "removeIf", "iterator remove", "addAll(i)", "add(i) loop");
+
+        for (int size : INDEX_SIZES) {
+            for (String name : new String[] { "IUArrayList", "IUSingleLinkedList", "IUDoubleLinkedList" }) {
+                boolean oneAtATime = size <= 100000 || name.equals("IUDoubleLinkedList");
+
+                for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                    timeBulk(name, 10000, true);
+                }
+
+                long[] result = timeBulk(name, size, oneAtATime);
+
+                System.out.printf("%-20s %12d %18.2f %18s %18.2f %18s%n", name, size, (double)result[0] / size,
+                    oneAtATime ? String.format("%.2f", (double)result[1] / size) : "-", (double)result[2] / size,
+                    oneAtATime ? String.format("%.2f", (double)result[3] / size) : "-");
+            }
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Times the bulk operations and their one-at-a-time equivalents on fresh lists
+     * Collects before each timed section, so filling the lists does not leave a collection inside one
+     * @param   String      name        IUArrayList, IUSingleLinkedList or IUDoubleLinkedList
+     * @param   int         size        number of elements in the list
+     * @param   boolean     oneAtATime  whether to time the one-at-a-time loops too
+     * @return  long array  nanoseconds for removeIf, iterator removal, addAll and the add loop
+     */
+    private static long[] timeBulk(String name, int size, boolean oneAtATime) {
+        long[] result = new long[4];
+        IndexedUnsortedList<Integer> list = filledList(name, size);
+        System.gc();
+        long start = System.nanoTime();
+
+        list.removeIf(element -> (element & 1) == 0);
+        result[0] = System.nanoTime() - start;
+        sink += list.size();
+
+        if (oneAtATime) {
+            list = filledList(name, size);
+            System.gc();
+            start = System.nanoTime();
+
+            for (Iterator<Integer> it = list.iterator(); it.hasNext(); ) {
+                if ((it.next() & 1) == 0) {
+                    it.remove();
+                }
+            }
+
+            result[1] = System.nanoTime() - start;
+            sink += list.size();
+        }
+
+        IndexedUnsortedList<Integer> block = filledList(name, size);
+        list = filledList(name, size);
+        System.gc();
+        start = System.nanoTime();
+
+        list.addAll(size / 2, block);
+        result[2] = System.nanoTime() - start;
+        sink += list.size();
+
+        if (oneAtATime) {
+            list = filledList(name, size);
+            System.gc();
+            start = System.nanoTime();
+
+            int index = size / 2;
+
+            for (Integer element : block) {
+                list.add(index++, element);
+            }
+
+            result[3] = System.nanoTime() - start;
+            sink += list.size();
+        }
+
+        return result;
+    }
+
+    /**
+     * Paging through a list with subList views against copying each page out with get
+     * Pages start at random offsets; each is summed through the view's iterator, or copied
+     * into a new list element by element and summed from there. Creating a view is
+     * constant time, so only the copy depends on how cheaply the list reaches the offset
+     */
+    private static void subListPaging() {
+        System.out.println("SubList paging, ns per page of " + PAGE);
+        System.out.printf("%-20s %12s %14s %14s %14s%n", "list", "size", "create view", "page view", "page copy");
+
+        for (int size : INDEX_SIZES) {
+            for (String name : new String[] { "IUArrayList", "IUDoubleLinkedList" }) {
+                IndexedUnsortedList<Integer> list = filledList(name, size);
+
+                long[] result = { Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE };
+
+                // a page is short, so take the best of many rounds rather than one after a warmup
+                for (int round = 0; round < 10 * WARMUP_ROUNDS; round++) {
+                    long[] times = timePaging(list, size, new Random(round));
+
+                    for (int k = 0; k < result.length; k++) {
+                        result[k] = Math.min(result[k], times[k]);
+                    }
+                }
+
+                System.out.printf("%-20s %12d %14.1f %14.1f %14.1f%n", name, size, (double)result[0] / PAGES,
+                    (double)result[1] / PAGES, (double)result[2] / PAGES);
+            }
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Times creating views, reading pages through views, and copying pages out
+     * @param   IndexedUnsortedList<Integer>    list    list to page through
+     * @param   int                             size    number of elements in the list
+     * @param   Random                          random  chooses the page offsets
+     * @return  long array  nanoseconds for view creation, paging through views and paging through copies
+     */
+    private static long[] timePaging(IndexedUnsortedList<Integer> list, int size, Random random) {
+        long[] result = new long[3];
+        int[] offsets = new int[PAGES];
+
+        for (int i = 0; i < PAGES; i++) {
+            offsets[i] = random.nextInt(size - PAGE + 1);
+        }
+
+        IndexedUnsortedList<?>[] views = new IndexedUnsortedList<?>[PAGES];
+        long start = System.nanoTime();
+
+        for (int i = 0; i < PAGES; i++) {
+            views[i] = list.subList(offsets[i], offsets[i] + PAGE);
+        }
+
+        result[0] = System.nanoTime() - start;
+        sink += views.length;
+        start = System.nanoTime();
+
+        for (int offset : offsets) {
+            for (Integer element : list.subList(offset, offset + PAGE)) {
+                sink += element;
+            }
+        }
+
+        result[1] = System.nanoTime() - start;
+        start = System.nanoTime();
+
+        for (int offset : offsets) {
+            IndexedUnsortedList<Integer> page = new IUArrayList<Integer>();
+
+            for (int i = offset; i < offset + PAGE; i++) {
+                page.addToRear(list.get(i));
+            }
+
+            for (Integer element : page) {
+                sink += element;
+            }
+        }
+
+        result[2] = System.nanoTime() - start;
+
+        return result;
+    }
+
+    /**
+     * Snapshots through PersistentVector against copying an IUArrayList per snapshot
+     * Copying costs O(n) time and memory per snapshot; freezing costs that once, after
+     * which every withSet or withAppended is a new snapshot sharing all but one path.
+     * Bytes per version is the heap held by LOOKUPS successive withSet versions, each kept alive
+     */
+    private static void persistentSnapshots() {
+        System.out.println("Persistent snapshots");
+        System.out.printf("%-12s %14s %14s %12s %12s %12s %14s %14s%n", "size", "copy us", "freeze us", "get ns",
+            "withSet ns", "append ns", "bytes/version", "bytes/copy");
+
+        for (int size : INDEX_SIZES) {
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                timeSnapshots(10000, new Random(round));
+            }
+
+            long[] result = timeSnapshots(size, new Random(42));
+
+            System.out.printf("%-12d %14.1f %14.1f %12.1f %12.1f %12.1f %14d %14d%n", size, result[0] / 1000.0,
+                result[1] / 1000.0, (double)result[2] / LOOKUPS, (double)result[3] / LOOKUPS,
+                (double)result[4] / LOOKUPS, result[5] / LOOKUPS, result[6]);
+        }
+
+        System.out.println();
+    }
+
+    /**
+     * Times copying and freezing a list, then reading and updating the frozen vector
+     * @param   int     size    number of elements in the list
+     * @param   Random  random  chooses the indexes
+     * @return  long array  nanoseconds for the copy, the freeze, LOOKUPS gets, withSets and withAppendeds,
+     *                      then bytes held by LOOKUPS withSet versions and by one copy
+     */
+    private static long[] timeSnapshots(int size, Random random) {
+        long[] result = new long[7];
+        IndexedUnsortedList<Integer> list = filledList("IUArrayList", size);
+        int[] indexes = new int[LOOKUPS];
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            indexes[i] = random.nextInt(size);
+        }
+
+        long start = System.nanoTime();
+
+        IUArrayList<Integer> copy = new IUArrayList<Integer>(size);
+        copy.addAll(list);
+        result[0] = System.nanoTime() - start;
+        sink += copy.size();
+
+        // measured as the heap freed when the copy is dropped, so garbage left by filling the list does not count
+        long held = usedMemory();
+        copy = null;
+        result[6] = held - usedMemory();
+
+        start = System.nanoTime();
+
+        PersistentVector<Integer> vector = PersistentVector.copyOf(list);
+        result[1] = System.nanoTime() - start;
+        start = System.nanoTime();
+
+        for (int index : indexes) {
+            sink += vector.get(index);
+        }
+
+        result[2] = System.nanoTime() - start;
+
+        PersistentVector<?>[] versions = new PersistentVector<?>[LOOKUPS];
+        PersistentVector<Integer> version = vector;
+        start = System.nanoTime();
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            version = version.withSet(indexes[i], i);
+            versions[i] = version;
+        }
+
+        result[3] = System.nanoTime() - start;
+        sink += versions[LOOKUPS - 1].size();
+        held = usedMemory();
+        versions = null;
+        version = vector;
+        result[5] = held - usedMemory();
+        start = System.nanoTime();
+
+        for (int i = 0; i < LOOKUPS; i++) {
+            version = version.withAppended(i);
+        }
+
+        result[4] = System.nanoTime() - start;
+        sink += version.size();
+
+        return result;
+    }
+
+    /**
+     * Creates a list of the named implementation holding 0 through size - 1 in order
+     * @param   String  name    IUArrayList, IUSingleLinkedList or IUDoubleLinkedList
+     * @param   int     size    number of elements to add
+     * @return  IndexedUnsortedList<Integer>    filled list
+     */
+    private static IndexedUnsortedList<Integer> filledList(String name, int size) {
+        IndexedUnsortedList<Integer> list;
+
+        if (name.equals("IUArrayList")) {
+            list = new IUArrayList<Integer>();
+        } else if (name.equals("IUSingleLinkedList")) {
+            list = new IUSingleLinkedList<Integer>();
+        } else {
+            list = new IUDoubleLinkedList<Integer>();
+        }
+
+        for (int i = 0; i < size; i++) {
+            list.addToRear(i);
+        }
+
+        return list;
+    }
+
+    /**
+     * Heap currently in use, after asking for a collection
+     * @return  long    bytes in use
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
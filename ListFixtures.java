@@ -0,0 +1,324 @@
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.function.Supplier;
+
+/**
+ * Fixtures shared by the testers that run every IndexedUnsortedList implementation
+ * through the same scenarios: a factory by name, a filled list with its model, and
+ * a comparison of a list against its java.util.List model.
+ *
+ * @author The Boobies
+ */
+final class ListFixtures {
+
+	/**
+	 * Names of every list newList can create, in the order the testers run them
+	 * @var String array
+	 */
+	static final String[] NAMES = { "IUArrayList", "IUArrayList_indexed", "IUSingleLinkedList", "IUDoubleLinkedList",
+			"IUDoubleLinkedList_indexed", "IUIntArrayList", "IULongArrayList", "IUTreeList", "IUUnrolledList", "GoodList" };
+
+	private ListFixtures() {
+	}
+
+	/**
+	 * @param name name of the list to create, one of NAMES
+	 * @throws IllegalArgumentException thrown if no list goes by that name
+	 * @return a new empty list
+	 */
+	static IndexedUnsortedList<Integer> newList(String name) {
+		switch (name) {
+		case "IUArrayList":
+			return new IUArrayList<Integer>();
+		case "IUArrayList_indexed": {
+			IUArrayList<Integer> list = new IUArrayList<Integer>();
+			list.setElementIndexEnabled(true);
+			return list;
+		}
+		case "IUSingleLinkedList":
+			return new IUSingleLinkedList<Integer>();
+		case "IUDoubleLinkedList":
+			return new IUDoubleLinkedList<Integer>();
+		case "IUDoubleLinkedList_indexed": {
+			IUDoubleLinkedList<Integer> list = new IUDoubleLinkedList<Integer>();
+			list.setElementIndexEnabled(true);
+			return list;
+		}
+		case "IUIntArrayList":
+			return new IUIntArrayList().boxed();
+		case "IULongArrayList":
+			return narrowed(new IULongArrayList().boxed());
+		case "IUTreeList":
+			return new IUTreeList<Integer>();
+		case "IUUnrolledList":
+			return new IUUnrolledList<Integer>();
+		case "GoodList":
+			return new GoodList<Integer>();
+		default:
+			throw new IllegalArgumentException("no list named " + name);
+		}
+	}
+
+	/**
+	 * @return a list holding 0 to size - 1, and the same in the model
+	 */
+	static IndexedUnsortedList<Integer> filled(Supplier<IndexedUnsortedList<Integer>> factory, List<Integer> model, int size) {
+		IndexedUnsortedList<Integer> list = factory.get();
+
+		for (int i = 0; i < size; i++) {
+			list.addToRear(i);
+			model.add(i);
+		}
+
+		return list;
+	}
+
+	/**
+	 * @return true if the list holds the same elements as the model, by size, get, the ends and iteration
+	 */
+	static boolean matches(IndexedUnsortedList<Integer> list, List<Integer> model) {
+		if (list.size() != model.size() || list.isEmpty() != model.isEmpty()) {
+			return false;
+		}
+
+		Iterator<Integer> it = list.iterator();
+
+		for (int i = 0; i < model.size(); i++) {
+			if (!it.hasNext() || !it.next().equals(model.get(i)) || !list.get(i).equals(model.get(i))) {
+				return false;
+			}
+		}
+
+		if (it.hasNext()) {
+			return false;
+		}
+
+		return model.isEmpty() || (list.first().equals(model.get(0)) && list.last().equals(model.get(model.size() - 1)));
+	}
+
+	/**
+	 * Presents a list of Long values as a list of Integer values, so IULongArrayList runs
+	 * the same Integer scenarios as every other list. Each call, iterator and view passes
+	 * straight through, so exceptions and fail-fast behavior are the wrapped list's own
+	 * @param list list of Long values to present
+	 * @return a view of the list holding Integer values
+	 */
+	static IndexedUnsortedList<Integer> narrowed(IndexedUnsortedList<Long> list) {
+		return new NarrowedList(list);
+	}
+
+	/**
+	 * @return the value as a Long, keeping null so the wrapped list sees it
+	 */
+	private static Long widen(Integer value) {
+		return value == null ? null : Long.valueOf(value);
+	}
+
+	/**
+	 * @return the value as an Integer, keeping null
+	 */
+	private static Integer narrow(Long value) {
+		return value == null ? null : Math.toIntExact(value);
+	}
+
+	/**
+	 * Integer view over a list of Long values, see narrowed
+	 */
+	private static class NarrowedList implements IndexedUnsortedList<Integer> {
+
+		/**
+		 * List of Long values every call goes to
+		 * @var IndexedUnsortedList<Long>
+		 */
+		private final IndexedUnsortedList<Long> list;
+
+		NarrowedList(IndexedUnsortedList<Long> list) {
+			this.list = list;
+		}
+
+		@Override
+		public void addToFront(Integer element) {
+			list.addToFront(widen(element));
+		}
+
+		@Override
+		public void addToRear(Integer element) {
+			list.addToRear(widen(element));
+		}
+
+		@Override
+		public void add(Integer element) {
+			list.add(widen(element));
+		}
+
+		@Override
+		public void addAfter(Integer element, Integer target) {
+			list.addAfter(widen(element), widen(target));
+		}
+
+		@Override
+		public void add(int index, Integer element) {
+			list.add(index, widen(element));
+		}
+
+		@Override
+		public Integer removeFirst() {
+			return narrow(list.removeFirst());
+		}
+
+		@Override
+		public Integer removeLast() {
+			return narrow(list.removeLast());
+		}
+
+		@Override
+		public Integer remove(Integer element) {
+			return narrow(list.remove(widen(element)));
+		}
+
+		@Override
+		public Integer remove(int index) {
+			return narrow(list.remove(index));
+		}
+
+		@Override
+		public void set(int index, Integer element) {
+			list.set(index, widen(element));
+		}
+
+		@Override
+		public Integer get(int index) {
+			return narrow(list.get(index));
+		}
+
+		@Override
+		public int indexOf(Integer element) {
+			return list.indexOf(widen(element));
+		}
+
+		@Override
+		public Integer first() {
+			return narrow(list.first());
+		}
+
+		@Override
+		public Integer last() {
+			return narrow(list.last());
+		}
+
+		@Override
+		public boolean contains(Integer target) {
+			return list.contains(widen(target));
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return list.isEmpty();
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public Iterator<Integer> iterator() {
+			return narrowing(list.iterator());
+		}
+
+		@Override
+		public ListIterator<Integer> listIterator() {
+			return narrowing(list.listIterator());
+		}
+
+		@Override
+		public ListIterator<Integer> listIterator(int startingIndex) {
+			return narrowing(list.listIterator(startingIndex));
+		}
+
+		@Override
+		public IndexedUnsortedList<Integer> subList(int fromIndex, int toIndex) {
+			return new NarrowedList(list.subList(fromIndex, toIndex));
+		}
+
+		@Override
+		public String toString() {
+			return list.toString();
+		}
+
+		/**
+		 * @return an Integer iterator over the given Long iterator
+		 */
+		private static Iterator<Integer> narrowing(Iterator<Long> it) {
+			return new Iterator<Integer>() {
+				@Override
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				@Override
+				public Integer next() {
+					return narrow(it.next());
+				}
+
+				@Override
+				public void remove() {
+					it.remove();
+				}
+			};
+		}
+
+		/**
+		 * @return an Integer list iterator over the given Long list iterator
+		 */
+		private static ListIterator<Integer> narrowing(ListIterator<Long> it) {
+			return new ListIterator<Integer>() {
+				@Override
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				@Override
+				public Integer next() {
+					return narrow(it.next());
+				}
+
+				@Override
+				public boolean hasPrevious() {
+					return it.hasPrevious();
+				}
+
+				@Override
+				public Integer previous() {
+					return narrow(it.previous());
+				}
+
+				@Override
+				public int nextIndex() {
+					return it.nextIndex();
+				}
+
+				@Override
+				public int previousIndex() {
+					return it.previousIndex();
+				}
+
+				@Override
+				public void remove() {
+					it.remove();
+				}
+
+				@Override
+				public void set(Integer element) {
+					it.set(widen(element));
+				}
+
+				@Override
+				public void add(Integer element) {
+					it.add(widen(element));
+				}
+			};
+		}
+	}
+}
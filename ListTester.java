@@ -16,7 +16,8 @@ import java.util.NoSuchElementException;
 public class ListTester {
 	//possible lists that could be tested
 	private static enum ListToUse {
-		goodList, badList, arrayList, singleLinkedList, doubleLinkedList
+		goodList, badList, arrayList, singleLinkedList, doubleLinkedList, intArrayList, longArrayList, treeList, unrolledList,
+		indexedArrayList, indexedDoubleLinkedList
 	};
 	// TODO: THIS IS WHERE YOU CHOOSE WHICH LIST TO TEST
 	private final static ListToUse LIST_TO_USE = ListToUse.doubleLinkedList;
@@ -82,7 +83,14 @@ public class ListTester {
 				printSectionSummaries = false;
 		}
 		switch (LIST_TO_USE) {
+		case arrayList:
 		case doubleLinkedList:
+		case intArrayList:
+		case longArrayList:
+		case treeList:
+		case unrolledList:
+		case indexedArrayList:
+		case indexedDoubleLinkedList:
 			SUPPORTS_LIST_ITERATOR = true;
 			break;
 		default:
@@ -275,6 +283,28 @@ public class ListTester {
 		case doubleLinkedList:
 			listToUse = new IUDoubleLinkedList<Integer>();
 			break;
+		case intArrayList:
+			listToUse = new IUIntArrayList().boxed();
+			break;
+		case longArrayList:
+			listToUse = ListFixtures.narrowed(new IULongArrayList().boxed());
+			break;
+		case treeList:
+			listToUse = new IUTreeList<Integer>();
+			break;
+		case unrolledList:
+			listToUse = new IUUnrolledList<Integer>();
+			break;
+		case indexedArrayList:
+			IUArrayList<Integer> indexedArray = new IUArrayList<Integer>();
+			indexedArray.setElementIndexEnabled(true);
+			listToUse = indexedArray;
+			break;
+		case indexedDoubleLinkedList:
+			IUDoubleLinkedList<Integer> indexedLinked = new IUDoubleLinkedList<Integer>();
+			indexedLinked.setElementIndexEnabled(true);
+			listToUse = indexedLinked;
+			break;
 		default:
 			listToUse = null;
 		}
@@ -1324,8 +1354,8 @@ public class ListTester {
 			printTest(scenarioName + "_iterNext_testIterHasNext", testIterHasNext(iterAfterNext(scenario.build(), 1), Result.True));
 			printTest(scenarioName + "_iterNext_testIterNext", testIterNext(iterAfterNext(scenario.build(), 1), contents[1], Result.MatchingValue));
 			printTest(scenarioName + "_iterNext_testIterRemove", testIterRemove(iterAfterNext(scenario.build(), 1), Result.NoException));
-			printTest(scenarioName + "_iterNextRemove_testIterHasNext", testIterHasNext(iterAfterRemove(iterAfterNext(scenario.build(), 1)), Result.False));
-			printTest(scenarioName + "_iterNextRemove_testIterNext", testIterNext(iterAfterRemove(iterAfterNext(scenario.build(), 1)), null, Result.NoSuchElement));
+			printTest(scenarioName + "_iterNextRemove_testIterHasNext", testIterHasNext(iterAfterRemove(iterAfterNext(scenario.build(), 1)), Result.True));
+			printTest(scenarioName + "_iterNextRemove_testIterNext", testIterNext(iterAfterRemove(iterAfterNext(scenario.build(), 1)), contents[1], Result.MatchingValue));
 			printTest(scenarioName + "_iterNextRemove_testIterRemove", testIterRemove(iterAfterRemove(iterAfterNext(scenario.build(), 1)), Result.IllegalState));
 			printTest(scenarioName + "_iterNextx2_testIterHasNext", testIterHasNext(iterAfterNext(scenario.build(), 2), Result.False));
 			printTest(scenarioName + "_iterNextx2_testIterNext", testIterNext(iterAfterNext(scenario.build(), 2), null, Result.NoSuchElement));
@@ -1488,13 +1518,13 @@ public class ListTester {
 			printTest(scenarioName + "_iterNext_testIterNext", testIterNext(iterAfterNext(scenario.build(), 1), contents[1], Result.MatchingValue));
 			printTest(scenarioName + "_iterNext_testIterRemove", testIterRemove(iterAfterNext(scenario.build(), 1), Result.NoException));
 			printTest(scenarioName + "_iterNextRemove_testIterHasNext", testIterHasNext(iterAfterRemove(iterAfterNext(scenario.build(), 1)), Result.True));
-			printTest(scenarioName + "_iterNextRemove_testIterNext", testIterNext(iterAfterRemove(iterAfterNext(scenario.build(), 1)), contents[2], Result.MatchingValue));
+			printTest(scenarioName + "_iterNextRemove_testIterNext", testIterNext(iterAfterRemove(iterAfterNext(scenario.build(), 1)), contents[1], Result.MatchingValue));
 			printTest(scenarioName + "_iterNextRemove_testIterRemove", testIterRemove(iterAfterRemove(iterAfterNext(scenario.build(), 1)), Result.IllegalState));
 			printTest(scenarioName + "_iterNextx2_testIterHasNext", testIterHasNext(iterAfterNext(scenario.build(), 2), Result.True));
 			printTest(scenarioName + "_iterNextx2_testIterNext", testIterNext(iterAfterNext(scenario.build(), 2), contents[2], Result.MatchingValue));
 			printTest(scenarioName + "_iterNextx2_testIterRemove", testIterRemove(iterAfterNext(scenario.build(), 2), Result.NoException));
-			printTest(scenarioName + "_iterNextRemovex2_testIterHasNext", testIterHasNext(iterAfterRemove(iterAfterNext(scenario.build(), 2)), Result.False));
-			printTest(scenarioName + "_iterNextRemovex2_testIterNext", testIterNext(iterAfterRemove(iterAfterNext(scenario.build(), 2)), null, Result.NoSuchElement));
+			printTest(scenarioName + "_iterNextRemovex2_testIterHasNext", testIterHasNext(iterAfterRemove(iterAfterNext(scenario.build(), 2)), Result.True));
+			printTest(scenarioName + "_iterNextRemovex2_testIterNext", testIterNext(iterAfterRemove(iterAfterNext(scenario.build(), 2)), contents[2], Result.MatchingValue));
 			printTest(scenarioName + "_iterNextRemovex2_testIterRemove", testIterRemove(iterAfterRemove(iterAfterNext(scenario.build(), 2)), Result.IllegalState));
 			printTest(scenarioName + "_iterNextx3_testIterHasNext", testIterHasNext(iterAfterNext(scenario.build(), 3), Result.False));
 			printTest(scenarioName + "_iterNextx3_testIterNext", testIterNext(iterAfterNext(scenario.build(), 3), null, Result.NoSuchElement));
@@ -0,0 +1,93 @@
+import java.util.Comparator;
+
+/**
+ * Stable bottom-up merge sort over a chain of Nodes
+ * Only the next links are rewritten and no nodes are allocated; the caller
+ * repairs its tail (and previous links, for a doubly linked list) afterwards
+ *
+ * @author The Boobies
+ */
+final class NodeMergeSort {
+
+    private NodeMergeSort() {
+    }
+
+    /**
+     * Sorts a null-terminated chain by relinking its nodes
+     * Runs of width 1, 2, 4, ... are merged pairwise, so the sort is O(n log n)
+     * with O(1) extra space; on ties the node from the earlier run goes first
+     * @param   Node<T>         head    first node of the chain
+     * @param   int             count   number of nodes in the chain
+     * @param   Comparator<T>   c       ordering to sort by
+     * @return  Node<T>     first node of the sorted chain
+     */
+    static <T> Node<T> sort(Node<T> head, int count, Comparator<? super T> c) {
+        for (int width = 1; width < count; width *= 2) {
+            Node<T> remaining = head;
+            Node<T> last = null;
+            head = null;
+
+            while (remaining != null) {
+                Node<T> left = remaining;
+                Node<T> right = cut(left, width);
+                remaining = cut(right, width);
+
+                while (left != null && right != null) {
+                    Node<T> next;
+
+                    if (c.compare(right.getElement(), left.getElement()) < 0) {
+                        next = right;
+                        right = right.getNext();
+                    } else {
+                        next = left;
+                        left = left.getNext();
+                    }
+
+                    if (last == null) {
+                        head = next;
+                    } else {
+                        last.setNext(next);
+                    }
+
+                    last = next;
+                }
+
+                Node<T> rest = left != null ? left : right;
+
+                if (last == null) {
+                    head = rest;
+                } else {
+                    last.setNext(rest);
+                }
+
+                while (rest != null) {
+                    last = rest;
+                    rest = rest.getNext();
+                }
+            }
+        }
+
+        return head;
+    }
+
+    /**
+     * Detaches the chain after its first length nodes
+     * @param   Node<T>     start   first node of the chain, may be null
+     * @param   int         length  number of nodes to keep attached to start
+     * @return  Node<T>     first node after the cut, or null if the chain was no longer than length
+     */
+    private static <T> Node<T> cut(Node<T> start, int length) {
+        for (int i = 1; start != null && i < length; i++) {
+            start = start.getNext();
+        }
+
+        if (start == null) {
+            return null;
+        }
+
+        Node<T> rest = start.getNext();
+        start.setNext(null);
+
+        return rest;
+    }
+}
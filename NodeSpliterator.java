@@ -0,0 +1,298 @@
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Spliterator over a chain of Nodes, for the linked lists
+ * The first split walks the chain once and records a checkpoint node every stride
+ * nodes; every split after that hands off the checkpoint nearest the middle of the
+ * remaining range, so splitting costs constant time and never walks the chain again.
+ * The checkpoints are handed back to the list, and later spliterators reuse them for as
+ * long as the list is not modified, so repeated parallel streams skip the walk entirely.
+ * Binds to the chain when created and fails fast if the list is modified structurally
+ *
+ * @author The Boobies
+ */
+final class NodeSpliterator<T> implements Spliterator<T> {
+
+    /**
+     * Most checkpoints recorded by the first split
+     * Enough for the fork/join framework to balance many times more leaves than cores
+     * @var int
+     */
+    private static final int CHECKPOINTS = 1024;
+
+    /**
+     * Checkpoints recorded over a whole list, and the modification counter they are valid for
+     * Immutable, so a list can share one between threads streaming it at the same time
+     */
+    static final class Checkpoints<T> {
+
+        /**
+         * nodes[k] is the node at index k * stride
+         * @var Node<T> array
+         */
+        private final Node<T>[] nodes;
+
+        /**
+         * Distance between checkpoints
+         * @var int
+         */
+        private final int stride;
+
+        /**
+         * Modification counter of the list when the checkpoints were recorded
+         * @var int
+         */
+        private final int modCount;
+
+        /**
+         * Class constructor
+         * @param nodes     checkpoint nodes
+         * @param stride    distance between checkpoints
+         * @param modCount  modification counter they are valid for
+         */
+        private Checkpoints(Node<T>[] nodes, int stride, int modCount) {
+            this.nodes = nodes;
+            this.stride = stride;
+            this.modCount = modCount;
+        }
+    }
+
+    /**
+     * Reads the owning list's modification counter
+     * @var IntSupplier
+     */
+    private final IntSupplier modCount;
+
+    /**
+     * Modification counter the list should still have
+     * @var int
+     */
+    private final int expectedModCount;
+
+    /**
+     * Checkpoints the list recorded earlier, possibly out of date, or null
+     * @var Checkpoints<T>
+     */
+    private final Checkpoints<T> recorded;
+
+    /**
+     * Hands newly recorded checkpoints back to the list
+     * @var Consumer<Checkpoints<T>>
+     */
+    private final Consumer<Checkpoints<T>> record;
+
+    /**
+     * Node holding the next element
+     * @var Node<T>
+     */
+    private Node<T> current;
+
+    /**
+     * Position of the next element, and position just past the last element covered
+     * @var int
+     */
+    private int index, fence;
+
+    /**
+     * Checkpoint nodes shared by every spliterator split from the same one, or null before the first split
+     * checkpoints[k] is the node at position checkpointBase + k * stride
+     * @var Node<T> array
+     */
+    private Node<T>[] checkpoints;
+
+    /**
+     * Position of the first checkpoint and the distance between checkpoints
+     * @var int
+     */
+    private int checkpointBase, stride;
+
+    /**
+     * Class constructor
+     * @param first     first node of the list
+     * @param size      number of nodes in the list
+     * @param modCount  reads the owning list's modification counter
+     * @param recorded  checkpoints the list recorded earlier, or null
+     * @param record    hands newly recorded checkpoints back to the list
+     */
+    NodeSpliterator(Node<T> first, int size, IntSupplier modCount, Checkpoints<T> recorded, Consumer<Checkpoints<T>> record) {
+        this.modCount = modCount;
+        this.expectedModCount = modCount.getAsInt();
+        this.recorded = recorded;
+        this.record = record;
+        this.current = first;
+        this.index = 0;
+        this.fence = size;
+    }
+
+    /**
+     * Class constructor for the prefix split off another spliterator, sharing its checkpoints
+     * @param parent    spliterator being split
+     * @param fence     position just past the last element of the prefix
+     */
+    private NodeSpliterator(NodeSpliterator<T> parent, int fence) {
+        this.modCount = parent.modCount;
+        this.expectedModCount = parent.expectedModCount;
+        this.recorded = null;
+        this.record = null;
+        this.current = parent.current;
+        this.index = parent.index;
+        this.fence = fence;
+        this.checkpoints = parent.checkpoints;
+        this.checkpointBase = parent.checkpointBase;
+        this.stride = parent.stride;
+    }
+
+    /**
+     * Hands the elements before the checkpoint nearest the middle to a new spliterator
+     * @return  Spliterator<T>  spliterator over the prefix, or null if no checkpoint lies inside the range
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (fence - index < 2) {
+            return null;
+        }
+
+        if (checkpoints == null) {
+            recordCheckpoints();
+        }
+
+        int k = (((index + fence) >>> 1) - checkpointBase) / stride;
+
+        if (checkpointBase + k * stride <= index) {
+            k++;
+        }
+
+        int split = checkpointBase + k * stride;
+
+        if (k >= checkpoints.length || split >= fence) {
+            return null;
+        }
+
+        NodeSpliterator<T> prefix = new NodeSpliterator<T>(this, split);
+
+        current = checkpoints[k];
+        index = split;
+
+        return prefix;
+    }
+
+    /**
+     * Reuses the list's checkpoints if it has not been modified since they were recorded,
+     * otherwise walks the remaining chain once, recording every stride-th node
+     * Only a spliterator made by the list gets here, since a split hands down its checkpoints
+     */
+    private void recordCheckpoints() {
+        if (recorded != null && recorded.modCount == expectedModCount) {
+            checkpoints = recorded.nodes;
+            stride = recorded.stride;
+            checkpointBase = 0;
+            return;
+        }
+
+        int remaining = fence - index;
+
+        stride = Math.max(1, (remaining + CHECKPOINTS - 1) / CHECKPOINTS);
+        checkpointBase = index;
+        checkpoints = newNodeArray((remaining + stride - 1) / stride);
+
+        Node<T> node = current;
+
+        for (int i = 0; i < remaining; i++) {
+            if (i % stride == 0) {
+                checkpoints[i / stride] = node;
+            }
+
+            node = node.getNext();
+        }
+
+        // only a grid starting at the head is worth keeping for the next spliterator
+        if (index == 0) {
+            record.accept(new Checkpoints<T>(checkpoints, stride, expectedModCount));
+        }
+    }
+
+    /**
+     * Creates an array for checkpoint nodes, which Java cannot do generically
+     * @param   int     length  number of checkpoints
+     * @return  Node<T> array   empty array of the given length
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Node<T>[] newNodeArray(int length) {
+        return (Node<T>[]) new Node[length];
+    }
+
+    /**
+     * Passes the next element to the action
+     * @param   Consumer<T>     action  action to perform
+     * @throws  ConcurrentModificationException thrown if the list was modified structurally
+     * @return  boolean     true if there was an element
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+
+        if (index >= fence) {
+            return false;
+        }
+
+        T element = current.getElement();
+
+        current = current.getNext();
+        index++;
+        action.accept(element);
+
+        if (modCount.getAsInt() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        return true;
+    }
+
+    /**
+     * Passes every remaining element to the action, checking for modification once at the end
+     * @param   Consumer<T>     action  action to perform
+     * @throws  ConcurrentModificationException thrown if the list was modified structurally
+     */
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+
+        Node<T> node = current;
+
+        for (int i = index; i < fence; i++) {
+            action.accept(node.getElement());
+            node = node.getNext();
+        }
+
+        current = node;
+        index = fence;
+
+        if (modCount.getAsInt() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Returns the exact number of elements left
+     * @return  long    remaining elements
+     */
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    /**
+     * @return  int     ORDERED, SIZED and SUBSIZED
+     */
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+    }
+}
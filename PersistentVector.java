@@ -0,0 +1,1138 @@
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Persistent (immutable) vector implementation of IndexedUnsortedList interface
+ * The elements live in the leaves of a 32-way trie, except for the last 1 to 32, which
+ * are kept in a separate tail array. withSet copies only the path from the root to one
+ * leaf and withAppended usually copies only the tail, so every version shares almost all
+ * of its structure with the one it was made from: get and withSet cost O(log32 n) and
+ * withAppended amortized O(1). A vector never changes once built, so it can be handed to
+ * any number of reader threads without copying or locking.
+ * The mutators of IndexedUnsortedList throw UnsupportedOperationException; a Builder
+ * fills a trie in place for fast bulk construction and freezes it into a vector
+ *
+ * @param <T> - type of elements held in this collection
+ * @author The Boobies
+ */
+public final class PersistentVector<T> implements IndexedUnsortedList<T> {
+
+    /**
+     * Index bits consumed per trie level, children per node, and mask for one level's index
+     * @var int
+     */
+    private static final int BITS = 5, WIDTH = 1 << BITS, MASK = WIDTH - 1;
+
+    /**
+     * Tail of the empty vector
+     * @var Object array
+     */
+    private static final Object[] EMPTY_TAIL = new Object[0];
+
+    /**
+     * Root of every vector that holds no more than its tail
+     * @var Branch
+     */
+    private static final Branch EMPTY_ROOT = new Branch(null, new Object[WIDTH]);
+
+    /**
+     * The empty vector
+     * @var PersistentVector<?>
+     */
+    private static final PersistentVector<?> EMPTY = new PersistentVector<Object>(0, BITS, EMPTY_ROOT, EMPTY_TAIL);
+
+    /**
+     * Trie node: children for an inner node, elements for a leaf
+     * A node belongs to the Builder whose token it carries, which may change it in place;
+     * every other node is shared and copied before it is changed
+     */
+    private static final class Branch {
+
+        /**
+         * Token of the Builder that created the node, or null
+         * @var Object
+         */
+        private final Object edit;
+
+        /**
+         * Child nodes or elements
+         * @var Object array
+         */
+        private final Object[] array;
+
+        /**
+         * Class constructor
+         * @param edit  token of the owning Builder, or null
+         * @param array child nodes or elements
+         */
+        private Branch(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Number of elements in the vector
+     * @var int
+     */
+    private final int count;
+
+    /**
+     * Index bits below the root level; a leaf sits at shift 0
+     * @var int
+     */
+    private final int shift;
+
+    /**
+     * Root of the trie, holding every element before the tail
+     * @var Branch
+     */
+    private final Branch root;
+
+    /**
+     * Last 1 to 32 elements, or none for the empty vector
+     * @var Object array
+     */
+    private final Object[] tail;
+
+    /**
+     * Class constructor for the empty vector
+     */
+    public PersistentVector() {
+        this(0, BITS, EMPTY_ROOT, EMPTY_TAIL);
+    }
+
+    /**
+     * Class constructor taking the parts of a vector
+     * @param count number of elements
+     * @param shift index bits below the root level
+     * @param root  root of the trie
+     * @param tail  elements after the trie
+     */
+    private PersistentVector(int count, int shift, Branch root, Object[] tail) {
+        this.count = count;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty vector
+     * @return  PersistentVector<T>     vector holding no elements
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>)EMPTY;
+    }
+
+    /**
+     * Freezes the elements of any list or collection into a vector, in O(n)
+     * A vector is returned as is, since it cannot change
+     * @param   Iterable<T>     elements    elements to copy, in order
+     * @return  PersistentVector<T>     vector holding the elements
+     */
+    public static <T> PersistentVector<T> copyOf(Iterable<? extends T> elements) {
+        if (elements instanceof PersistentVector) {
+            // safe to view as a vector of the supertype, since it can never be written to
+            @SuppressWarnings("unchecked")
+            PersistentVector<T> vector = (PersistentVector<T>)elements;
+
+            return vector;
+        }
+
+        Builder<T> builder = builder();
+
+        for (T element : elements) {
+            builder.add(element);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns a builder starting out empty
+     * @return  Builder<T>  new builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<T>(0, BITS, EMPTY_ROOT, EMPTY_TAIL);
+    }
+
+    /**
+     * Returns a builder starting out with the elements of this vector
+     * The builder copies the nodes it changes, so this vector is not affected
+     * @return  Builder<T>  new builder
+     */
+    public Builder<T> toBuilder() {
+        return new Builder<T>(count, shift, root, tail);
+    }
+
+    /**
+     * Index of the first element held in the tail
+     * @param   int     count   number of elements
+     * @return  int     index of the first tail element
+     */
+    private static int tailOffset(int count) {
+        return count < WIDTH ? 0 : ((count - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Returns the node itself if the builder owns it, otherwise a copy the builder owns
+     * With a null token the node is always copied, which is how the vector updates its paths
+     * @param   Object  edit    token of the builder, or null
+     * @param   Branch  node    node about to be changed
+     * @return  Branch  node that may be changed
+     */
+    private static Branch editable(Object edit, Branch node) {
+        if (edit != null && node.edit == edit) {
+            return node;
+        }
+
+        return new Branch(edit, node.array.clone());
+    }
+
+    /**
+     * Builds the chain of single-child nodes leading down to a new leaf
+     * @param   Object  edit    token of the builder, or null
+     * @param   int     level   shift of the top of the chain
+     * @param   Branch  leaf    leaf at the bottom of the chain
+     * @return  Branch  top of the chain
+     */
+    private static Branch newPath(Object edit, int level, Branch leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+
+        Branch result = new Branch(edit, new Object[WIDTH]);
+        result.array[0] = newPath(edit, level - BITS, leaf);
+
+        return result;
+    }
+
+    /**
+     * Hangs a full tail off the trie as its new last leaf
+     * @param   Object  edit    token of the builder, or null
+     * @param   int     level   shift of the node
+     * @param   Branch  parent  node the leaf goes under
+     * @param   Branch  leaf    full tail, as a leaf
+     * @param   int     count   number of elements, counting the full tail
+     * @return  Branch  updated node
+     */
+    private static Branch pushTail(Object edit, int level, Branch parent, Branch leaf, int count) {
+        Branch result = editable(edit, parent);
+        int sub = ((count - 1) >>> level) & MASK;
+
+        if (level == BITS) {
+            result.array[sub] = leaf;
+        } else {
+            Branch child = (Branch)parent.array[sub];
+            result.array[sub] = child != null ? pushTail(edit, level - BITS, child, leaf, count) : newPath(edit, level - BITS, leaf);
+        }
+
+        return result;
+    }
+
+    /**
+     * Replaces the element at a trie index, copying the path to it unless the builder owns it
+     * @param   Object  edit    token of the builder, or null
+     * @param   int     level   shift of the node
+     * @param   Branch  node    node on the path
+     * @param   int     index   index of the element
+     * @param   Object  element replacement element
+     * @return  Branch  updated node
+     */
+    private static Branch assoc(Object edit, int level, Branch node, int index, Object element) {
+        Branch result = editable(edit, node);
+
+        if (level == 0) {
+            result.array[index & MASK] = element;
+        } else {
+            int sub = (index >>> level) & MASK;
+            result.array[sub] = assoc(edit, level - BITS, (Branch)node.array[sub], index, element);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the leaf or tail array holding an index
+     * Package-private so the tests can check which leaves two versions share
+     * @param   int     index   index of an element (must be in range)
+     * @return  Object array    array holding the element at index & MASK
+     */
+    Object[] leafFor(int index) {
+        if (index >= tailOffset(count)) {
+            return tail;
+        }
+
+        Branch node = root;
+
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Branch)node.array[(index >>> level) & MASK];
+        }
+
+        return node.array;
+    }
+
+    /**
+     * Returns a vector with the element at the given index replaced, sharing every other leaf with this one
+     * @param   int     index   index of the element to replace
+     * @param   T       element replacement element
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  PersistentVector<T>     updated vector
+     */
+    public PersistentVector<T> withSet(int index, T element) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        if (index >= tailOffset(count)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+
+            return new PersistentVector<T>(count, shift, root, newTail);
+        }
+
+        return new PersistentVector<T>(count, shift, assoc(null, shift, root, index, element), tail);
+    }
+
+    /**
+     * Returns a vector with the element added to the rear, sharing the whole trie with this one
+     * Once every 32 appends the full tail moves into the trie, copying one path
+     * @param   T   element element to append
+     * @return  PersistentVector<T>     updated vector
+     */
+    public PersistentVector<T> withAppended(T element) {
+        if (count - tailOffset(count) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+
+            return new PersistentVector<T>(count + 1, shift, root, newTail);
+        }
+
+        Branch leaf = new Branch(null, tail);
+        Branch newRoot;
+        int newShift = shift;
+
+        // the trie is full at this height, so it grows a level
+        if ((count >>> BITS) > (1 << shift)) {
+            newRoot = new Branch(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, leaf);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, shift, root, leaf, count);
+        }
+
+        return new PersistentVector<T>(count + 1, newShift, newRoot, new Object[] { element });
+    }
+
+    /**
+     * Returns a vector without the last element
+     * @throws  NoSuchElementException  thrown if the vector is empty
+     * @return  PersistentVector<T>     updated vector
+     */
+    public PersistentVector<T> withoutLast() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+
+        if (count == 1) {
+            return empty();
+        }
+
+        if (count - tailOffset(count) > 1) {
+            return new PersistentVector<T>(count - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+
+        // the tail empties, so the last leaf of the trie becomes the tail
+        Object[] newTail = leafFor(count - 2);
+        Branch newRoot = popTail(shift, root);
+        int newShift = shift;
+
+        if (newRoot == null) {
+            newRoot = EMPTY_ROOT;
+        }
+
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Branch)newRoot.array[0];
+            newShift -= BITS;
+        }
+
+        return new PersistentVector<T>(count - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Removes the last leaf of the trie below a node
+     * @param   int     level   shift of the node
+     * @param   Branch  node    node on the path to the last leaf
+     * @return  Branch  updated node, or null if it is left empty
+     */
+    private Branch popTail(int level, Branch node) {
+        int sub = ((count - 2) >>> level) & MASK;
+
+        if (level > BITS) {
+            Branch child = popTail(level - BITS, (Branch)node.array[sub]);
+
+            if (child == null && sub == 0) {
+                return null;
+            }
+
+            Branch result = editable(null, node);
+            result.array[sub] = child;
+
+            return result;
+        }
+
+        if (sub == 0) {
+            return null;
+        }
+
+        Branch result = editable(null, node);
+        result.array[sub] = null;
+
+        return result;
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   T   element element to add
+     * @throws  UnsupportedOperationException   always
+     */
+    @Override
+    public void addToFront(T element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable; use withAppended
+     * @param   T   element element to add
+     * @throws  UnsupportedOperationException   always
+     */
+    @Override
+    public void addToRear(T element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable; use withAppended
+     * @param   T   element element to add
+     * @throws  UnsupportedOperationException   always
+     */
+    @Override
+    public void add(T element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   T   element element to add
+     * @param   T   target  element to add after
+     * @throws  UnsupportedOperationException   always
+     */
+    @Override
+    public void addAfter(T element, T target) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   int     index   index to add at
+     * @param   T       element element to add
+     * @throws  UnsupportedOperationException   always
+     */
+    @Override
+    public void add(int index, T element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @throws  UnsupportedOperationException   always
+     * @return  T   never returns
+     */
+    @Override
+    public T removeFirst() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable; use withoutLast
+     * @throws  UnsupportedOperationException   always
+     * @return  T   never returns
+     */
+    @Override
+    public T removeLast() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   T   element element to remove
+     * @throws  UnsupportedOperationException   always
+     * @return  T   never returns
+     */
+    @Override
+    public T remove(T element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   int     index   index of the element to remove
+     * @throws  UnsupportedOperationException   always
+     * @return  T   never returns
+     */
+    @Override
+    public T remove(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable; use withSet
+     * @param   int     index   index of the element to replace
+     * @param   T       element replacement element
+     * @throws  UnsupportedOperationException   always
+     */
+    @Override
+    public void set(int index, T element) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable; use a Builder
+     * @param   Iterable<T>     elements    elements to add
+     * @throws  UnsupportedOperationException   always
+     * @return  boolean     never returns
+     */
+    @Override
+    public boolean addAll(Iterable<? extends T> elements) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   int             index       index to insert at
+     * @param   Iterable<T>     elements    elements to insert
+     * @throws  UnsupportedOperationException   always
+     * @return  boolean     never returns
+     */
+    @Override
+    public boolean addAll(int index, Iterable<? extends T> elements) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   Collection<?>   elements    elements to remove
+     * @throws  UnsupportedOperationException   always
+     * @return  boolean     never returns
+     */
+    @Override
+    public boolean removeAll(Collection<?> elements) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   Collection<?>   elements    elements to keep
+     * @throws  UnsupportedOperationException   always
+     * @return  boolean     never returns
+     */
+    @Override
+    public boolean retainAll(Collection<?> elements) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   Predicate<T>    filter  elements to remove
+     * @throws  UnsupportedOperationException   always
+     * @return  boolean     never returns
+     */
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable
+     * @param   UnaryOperator<T>    operator    replacement for each element
+     * @throws  UnsupportedOperationException   always
+     */
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Not supported, the vector is immutable; use empty
+     * @throws  UnsupportedOperationException   always
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the element at the given index
+     * @param   int     index   index of the element
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  T   element at the index
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return (T)leafFor(index)[index & MASK];
+    }
+
+    /**
+     * Returns the index of the first element equal to the given one, or -1
+     * Scans a leaf at a time
+     * @param   T   element     element to look for
+     * @return  int     index of the element, or -1 if the vector does not contain it
+     */
+    @Override
+    public int indexOf(T element) {
+        for (int base = 0; base < count; base += WIDTH) {
+            Object[] leaf = leafFor(base);
+            int length = Math.min(WIDTH, count - base);
+
+            for (int i = 0; i < length; i++) {
+                if (Objects.equals(leaf[i], element)) {
+                    return base + i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the first element
+     * @throws  NoSuchElementException  thrown if the vector is empty
+     * @return  T   first element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T first() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return (T)leafFor(0)[0];
+    }
+
+    /**
+     * Returns the last element
+     * @throws  NoSuchElementException  thrown if the vector is empty
+     * @return  T   last element
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T last() {
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return (T)tail[tail.length - 1];
+    }
+
+    /**
+     * Checks whether the vector holds an element
+     * @param   T   target  element to look for
+     * @return  boolean     true if the vector contains the element
+     */
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) >= 0;
+    }
+
+    /**
+     * @return  boolean     true if the vector has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * @return  int     number of elements in the vector
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Lists the elements of the vector
+     * @return  String  elements of the vector, in order
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+
+        for (T element : this) {
+            result.append(result.length() == 1 ? "" : ", ").append(element);
+        }
+
+        return result.append("]").toString();
+    }
+
+    /**
+     * @return  Iterator<T>     iterator over the vector
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new VectorIterator(0);
+    }
+
+    /**
+     * @return  ListIterator<T>     read-only list iterator starting at the front
+     */
+    @Override
+    public ListIterator<T> listIterator() {
+        return new VectorIterator(0);
+    }
+
+    /**
+     * @param   int     startingIndex   index of the element the first call to next returns
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  ListIterator<T>     read-only list iterator starting at the index
+     */
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        if (startingIndex < 0 || startingIndex > count) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new VectorIterator(startingIndex);
+    }
+
+    /**
+     * Spliterator over the vector that splits on leaf boundaries
+     * @return  Spliterator<T>  ORDERED, SIZED, SUBSIZED and IMMUTABLE spliterator
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new VectorSpliterator(0, count);
+    }
+
+    /**
+     * Read-only list iterator over the vector
+     * Keeps the leaf it is in, so it only walks the trie once every 32 elements
+     */
+    private class VectorIterator implements ListIterator<T> {
+
+        /**
+         * Index of the element next would return, and index of the first element of the current leaf
+         * @var int
+         */
+        private int nextIndex, leafBase;
+
+        /**
+         * Leaf holding the last element returned, or null
+         * @var Object array
+         */
+        private Object[] leaf;
+
+        /**
+         * Class constructor
+         * @param startingIndex index of the element the first call to next returns
+         */
+        public VectorIterator(int startingIndex) {
+            nextIndex = startingIndex;
+        }
+
+        /**
+         * Gets an element, moving to the leaf holding it if need be
+         * @param   int     index   index of the element (must be in range)
+         * @return  T   element at the index
+         */
+        @SuppressWarnings("unchecked")
+        private T at(int index) {
+            if (leaf == null || (index & ~MASK) != leafBase) {
+                leaf = leafFor(index);
+                leafBase = index & ~MASK;
+            }
+
+            return (T)leaf[index & MASK];
+        }
+
+        /**
+         * @return  boolean     true if there is a next element
+         */
+        @Override
+        public boolean hasNext() {
+            return nextIndex < count;
+        }
+
+        /**
+         * @return  boolean     true if there is a previous element
+         */
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        /**
+         * @throws  NoSuchElementException  thrown if there is no next element
+         * @return  T   next element
+         */
+        @Override
+        public T next() {
+            if (nextIndex >= count) {
+                throw new NoSuchElementException();
+            }
+
+            return at(nextIndex++);
+        }
+
+        /**
+         * @throws  NoSuchElementException  thrown if there is no previous element
+         * @return  T   previous element
+         */
+        @Override
+        public T previous() {
+            if (nextIndex <= 0) {
+                throw new NoSuchElementException();
+            }
+
+            return at(--nextIndex);
+        }
+
+        /**
+         * @return  int     index of the element next would return
+         */
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        /**
+         * @return  int     index of the element previous would return
+         */
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        /**
+         * Not supported, the vector is immutable
+         * @throws  UnsupportedOperationException   always
+         */
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not supported, the vector is immutable
+         * @param   T   element replacement element
+         * @throws  UnsupportedOperationException   always
+         */
+        @Override
+        public void set(T element) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Not supported, the vector is immutable
+         * @param   T   element element to insert
+         * @throws  UnsupportedOperationException   always
+         */
+        @Override
+        public void add(T element) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Spliterator over a range of the vector
+     * Splits at the leaf boundary nearest the middle and hands out whole leaves in
+     * forEachRemaining; the vector cannot change, so there is nothing to check
+     */
+    private class VectorSpliterator implements Spliterator<T> {
+
+        /**
+         * Index of the next element, and index just past the last element covered
+         * @var int
+         */
+        private int index, fence;
+
+        /**
+         * Class constructor
+         * @param index index of the first element covered
+         * @param fence index just past the last element covered
+         */
+        public VectorSpliterator(int index, int fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /**
+         * Hands the elements before the leaf boundary nearest the middle to a new spliterator
+         * @return  Spliterator<T>  spliterator over the prefix, or null if the range is within one leaf
+         */
+        @Override
+        public Spliterator<T> trySplit() {
+            int split = ((index + fence) >>> 1) & ~MASK;
+
+            if (split <= index) {
+                return null;
+            }
+
+            VectorSpliterator prefix = new VectorSpliterator(index, split);
+            index = split;
+
+            return prefix;
+        }
+
+        /**
+         * Passes the next element to the action
+         * @param   Consumer<T>     action  action to perform
+         * @return  boolean     true if there was an element
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+
+            if (index >= fence) {
+                return false;
+            }
+
+            @SuppressWarnings("unchecked")
+            T element = (T)leafFor(index)[index & MASK];
+
+            action.accept(element);
+            index++;
+
+            return true;
+        }
+
+        /**
+         * Passes every remaining element to the action, a leaf at a time
+         * @param   Consumer<T>     action  action to perform
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            if (action == null) {
+                throw new NullPointerException();
+            }
+
+            while (index < fence) {
+                Object[] leaf = leafFor(index);
+                int base = index & ~MASK;
+                int end = Math.min(WIDTH, fence - base);
+
+                for (int i = index - base; i < end; i++) {
+                    @SuppressWarnings("unchecked")
+                    T element = (T)leaf[i];
+
+                    action.accept(element);
+                }
+
+                index = base + end;
+            }
+        }
+
+        /**
+         * Returns the exact number of elements left
+         * @return  long    remaining elements
+         */
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        /**
+         * @return  int     ORDERED, SIZED, SUBSIZED and IMMUTABLE
+         */
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+    }
+
+    /**
+     * Transient vector for fast bulk construction
+     * Fills the trie in place, copying only nodes it shares with a vector, until build
+     * freezes the contents into a vector; the builder cannot be used after that.
+     * Not safe for use by several threads at once
+     */
+    public static final class Builder<T> {
+
+        /**
+         * Token marking the nodes this builder may change in place, or null once built
+         * @var Object
+         */
+        private Object edit;
+
+        /**
+         * Number of elements, and index bits below the root level
+         * @var int
+         */
+        private int count, shift;
+
+        /**
+         * Root of the trie
+         * @var Branch
+         */
+        private Branch root;
+
+        /**
+         * Elements after the trie, in an array always 32 long
+         * @var Object array
+         */
+        private Object[] tail;
+
+        /**
+         * Class constructor taking the parts of the vector to start from
+         * @param count number of elements
+         * @param shift index bits below the root level
+         * @param root  root of the trie, copied before it is changed
+         * @param tail  elements after the trie, copied
+         */
+        private Builder(int count, int shift, Branch root, Object[] tail) {
+            this.edit = new Object();
+            this.count = count;
+            this.shift = shift;
+            this.root = new Branch(edit, root.array.clone());
+            this.tail = Arrays.copyOf(tail, WIDTH);
+        }
+
+        /**
+         * Throws if the builder was already built
+         * @throws  IllegalStateException   thrown if build was called
+         */
+        private void ensureEditable() {
+            if (edit == null) {
+                throw new IllegalStateException();
+            }
+        }
+
+        /**
+         * Adds an element to the rear
+         * @param   T   element element to add
+         * @throws  IllegalStateException   thrown if build was called
+         * @return  Builder<T>  this builder
+         */
+        public Builder<T> add(T element) {
+            ensureEditable();
+
+            if (count - tailOffset(count) < WIDTH) {
+                tail[count & MASK] = element;
+                count++;
+
+                return this;
+            }
+
+            // the builder owns its tail, so the full array becomes a leaf without copying
+            Branch leaf = new Branch(edit, tail);
+
+            if ((count >>> BITS) > (1 << shift)) {
+                Branch newRoot = new Branch(edit, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(edit, shift, leaf);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(edit, shift, root, leaf, count);
+            }
+
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            count++;
+
+            return this;
+        }
+
+        /**
+         * Replaces the element at the given index
+         * @param   int     index   index of the element to replace
+         * @param   T       element replacement element
+         * @throws  IllegalStateException       thrown if build was called
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         * @return  Builder<T>  this builder
+         */
+        public Builder<T> set(int index, T element) {
+            ensureEditable();
+
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            if (index >= tailOffset(count)) {
+                tail[index & MASK] = element;
+            } else {
+                root = assoc(edit, shift, root, index, element);
+            }
+
+            return this;
+        }
+
+        /**
+         * Gets the element at the given index
+         * @param   int     index   index of the element
+         * @throws  IllegalStateException       thrown if build was called
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         * @return  T   element at the index
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            ensureEditable();
+
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException();
+            }
+
+            if (index >= tailOffset(count)) {
+                return (T)tail[index & MASK];
+            }
+
+            Branch node = root;
+
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Branch)node.array[(index >>> level) & MASK];
+            }
+
+            return (T)node.array[index & MASK];
+        }
+
+        /**
+         * @return  int     number of elements added so far
+         */
+        public int size() {
+            return count;
+        }
+
+        /**
+         * Freezes the contents into a vector; the builder cannot be used afterwards
+         * @throws  IllegalStateException   thrown if build was already called
+         * @return  PersistentVector<T>     vector holding the elements
+         */
+        public PersistentVector<T> build() {
+            ensureEditable();
+            edit = null;
+
+            if (count == 0) {
+                return empty();
+            }
+
+            return new PersistentVector<T>(count, shift, root, Arrays.copyOf(tail, count - tailOffset(count)));
+        }
+    }
+}
@@ -0,0 +1,615 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for PersistentVector: reads and iterators at every size where the trie changes
+ * shape, old versions staying as they were, structural sharing between versions, the
+ * Builder, copyOf, and the mutators of IndexedUnsortedList being unsupported.
+ * Every vector is checked against a java.util.ArrayList holding the same elements.
+ * Run with: java PersistentVectorTester
+ *
+ * @author The Boobies
+ */
+public class PersistentVectorTester {
+
+	//tracking number of tests and test results
+	private int passes = 0;
+	private int failures = 0;
+	private int totalRun = 0;
+
+	/**
+	 * Sizes around every change of shape: the tail filling (32), the first leaf moving into
+	 * the trie (33), the root filling (1024 + 32) and a new root level (32768 + 33)
+	 * @var int array
+	 */
+	private static final int[] BOUNDARIES = { 0, 1, 2, 3, 31, 32, 33, 64, 65, 1024, 1055, 1056, 1057,
+			32768 + 31, 32768 + 32, 32768 + 33 };
+
+	public static void main(String[] args) {
+		new PersistentVectorTester().runTests();
+	}
+
+	private void runTests() {
+		for (int size : BOUNDARIES) {
+			printTest("copyOf_reads_size" + size, testReads(size));
+		}
+
+		printTest("empty_firstLastGet_throw", testEmpty());
+		printTest("withAppended_acrossBoundaries", testAppendAcrossBoundaries());
+		printTest("withoutLast_acrossBoundaries", testRemoveLastAcrossBoundaries());
+		printTest("withSet_atEveryLevel", testSetAtEveryLevel());
+		printTest("oldVersions_unchanged", testOldVersionsUnchanged(new Random(25)));
+		printTest("withSet_sharesOtherLeaves", testSetSharesLeaves());
+		printTest("withAppended_sharesTrie", testAppendSharesTrie());
+		printTest("withoutLast_sharesTrie", testRemoveLastSharesTrie());
+		printTest("builder_build_endsEditing", testBuildEndsEditing());
+		printTest("builder_getSetAdd", testBuilderReadsAndWrites());
+		printTest("toBuilder_leavesSourceUntouched", testToBuilderLeavesSource());
+		printTest("toBuilder_ofSharedVersions", testToBuilderOfSharedVersions());
+		printTest("copyOf_IUArrayList", testCopyOf(new IUArrayList<Integer>()));
+		printTest("copyOf_IUSingleLinkedList", testCopyOf(new IUSingleLinkedList<Integer>()));
+		printTest("copyOf_IUDoubleLinkedList", testCopyOf(new IUDoubleLinkedList<Integer>()));
+		printTest("copyOf_IUTreeList", testCopyOf(new IUTreeList<Integer>()));
+		printTest("copyOf_javaList_andIterable", testCopyOfJavaTypes());
+		printTest("copyOf_vector_returnsSame", testCopyOfVector());
+		printTest("mutators_UOE", testMutatorsUnsupported());
+		printTest("iterators_pastEnds_throw", testIteratorBounds());
+
+		System.out.printf("\nTotal Tests Run: %d,  Passed: %d (%.1f%%),  Failed: %d\n",
+				totalRun, passes, passes*100.0/totalRun, failures);
+	}
+
+	/**
+	 * Prints a test name and its result, and keeps count
+	 * @param testDesc name of the test
+	 * @param result whether the test passed
+	 */
+	private void printTest(String testDesc, boolean result) {
+		totalRun++;
+		if (result) { passes++; }
+		else { failures++; }
+		System.out.printf("%-46s\t%s\n", testDesc, (result ? "   PASS" : "***FAIL***"));
+	}
+
+	/**
+	 * @return a list holding 0 to size - 1
+	 */
+	private static List<Integer> range(int size) {
+		List<Integer> model = new ArrayList<Integer>(size);
+
+		for (int i = 0; i < size; i++) {
+			model.add(i);
+		}
+
+		return model;
+	}
+
+	/**
+	 * @return true if every read of a vector copied from 0 to size - 1 matches the model
+	 */
+	private boolean testReads(int size) {
+		try {
+			List<Integer> model = range(size);
+			PersistentVector<Integer> vector = PersistentVector.copyOf(model);
+
+			if (!matches(vector, model)) {
+				return false;
+			}
+
+			if (size > 0 && (vector.indexOf(size - 1) != size - 1 || !vector.contains(0) || vector.contains(size))) {
+				return false;
+			}
+
+			return vector.indexOf(-1) == -1 && vector.toString().equals(model.toString());
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if the empty vector is empty and reading it throws
+	 */
+	private boolean testEmpty() {
+		PersistentVector<Integer> vector = PersistentVector.empty();
+
+		if (!vector.isEmpty() || vector.size() != 0 || vector.iterator().hasNext()
+				|| !new PersistentVector<Integer>().isEmpty()) {
+			return false;
+		}
+
+		List<Runnable> reads = Arrays.asList(() -> vector.first(), () -> vector.last(), () -> vector.get(0),
+				() -> vector.withoutLast(), () -> vector.withSet(0, 1));
+
+		for (Runnable read : reads) {
+			try {
+				read.run();
+				return false;
+			} catch (NoSuchElementException | IndexOutOfBoundsException | IllegalStateException e) {
+				// expected
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Appends one element at a time, checking the whole vector at every boundary size
+	 * @return true if every boundary size reads correctly
+	 */
+	private boolean testAppendAcrossBoundaries() {
+		try {
+			PersistentVector<Integer> vector = PersistentVector.empty();
+			List<Integer> model = new ArrayList<Integer>();
+			int last = BOUNDARIES[BOUNDARIES.length - 1];
+
+			for (int i = 0; i <= last; i++) {
+				if (Arrays.binarySearch(BOUNDARIES, i) >= 0 && !matches(vector, model)) {
+					return false;
+				}
+
+				vector = vector.withAppended(i);
+				model.add(i);
+			}
+
+			return matches(vector, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Removes the last element one at a time from the largest boundary size down to empty
+	 * @return true if every boundary size reads correctly on the way down
+	 */
+	private boolean testRemoveLastAcrossBoundaries() {
+		try {
+			List<Integer> model = range(BOUNDARIES[BOUNDARIES.length - 1]);
+			PersistentVector<Integer> vector = PersistentVector.copyOf(model);
+
+			while (!model.isEmpty()) {
+				vector = vector.withoutLast();
+				model.remove(model.size() - 1);
+
+				if (Arrays.binarySearch(BOUNDARIES, model.size()) >= 0 && !matches(vector, model)) {
+					return false;
+				}
+			}
+
+			// a vector emptied this way must grow again like a new one
+			for (int i = 0; i < 40; i++) {
+				vector = vector.withAppended(i);
+				model.add(i);
+			}
+
+			return matches(vector, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Replaces elements in the tail, in the first leaf and deep in a three-level trie
+	 * @return true if each replacement lands in the right place and no other element changes
+	 */
+	private boolean testSetAtEveryLevel() {
+		try {
+			List<Integer> model = range(32768 + 100);
+			PersistentVector<Integer> vector = PersistentVector.copyOf(model);
+
+			for (int index : new int[] { 0, 31, 32, 1023, 1024, 32767, 32768, model.size() - 1 }) {
+				vector = vector.withSet(index, -index - 1);
+				model.set(index, -index - 1);
+			}
+
+			return matches(vector, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Makes a long random history of versions and rereads a sample of them at the end
+	 * @return true if every kept version still holds what it held when it was made
+	 */
+	private boolean testOldVersionsUnchanged(Random random) {
+		try {
+			List<PersistentVector<Integer>> versions = new ArrayList<PersistentVector<Integer>>();
+			List<List<Integer>> models = new ArrayList<List<Integer>>();
+			PersistentVector<Integer> vector = PersistentVector.empty();
+			List<Integer> model = new ArrayList<Integer>();
+
+			for (int step = 0; step < 5000; step++) {
+				int choice = random.nextInt(10);
+
+				model = new ArrayList<Integer>(model);
+
+				if (choice < 6 || model.isEmpty()) {
+					int element = random.nextInt();
+					vector = vector.withAppended(element);
+					model.add(element);
+				} else if (choice < 8) {
+					int index = random.nextInt(model.size());
+					int element = random.nextInt();
+					vector = vector.withSet(index, element);
+					model.set(index, element);
+				} else {
+					vector = vector.withoutLast();
+					model.remove(model.size() - 1);
+				}
+
+				if (step % 97 == 0) {
+					versions.add(vector);
+					models.add(model);
+				}
+			}
+
+			for (int i = 0; i < versions.size(); i++) {
+				if (!matches(versions.get(i), models.get(i))) {
+					return false;
+				}
+			}
+
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if withSet copies only the leaf it changes, and shares the rest and the tail
+	 */
+	private boolean testSetSharesLeaves() {
+		try {
+			PersistentVector<Integer> vector = PersistentVector.copyOf(range(2000));
+			PersistentVector<Integer> changed = vector.withSet(1000, -1);
+
+			return changed.leafFor(1000) != vector.leafFor(1000)
+				&& changed.leafFor(0) == vector.leafFor(0)
+				&& changed.leafFor(991) == vector.leafFor(991)
+				&& changed.leafFor(1024) == vector.leafFor(1024)
+				&& changed.leafFor(1999) == vector.leafFor(1999)
+				&& vector.get(1000) == 1000 && changed.get(1000) == -1;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if withAppended shares every leaf with the vector it was made from,
+	 *         whether the tail had room or moved into the trie
+	 */
+	private boolean testAppendSharesTrie() {
+		try {
+			PersistentVector<Integer> roomy = PersistentVector.copyOf(range(1000));
+			PersistentVector<Integer> full = PersistentVector.copyOf(range(1024));
+			PersistentVector<Integer> roomyNext = roomy.withAppended(1000);
+			PersistentVector<Integer> fullNext = full.withAppended(1024);
+
+			return roomyNext.leafFor(0) == roomy.leafFor(0) && roomyNext.leafFor(991) == roomy.leafFor(991)
+				&& roomyNext.leafFor(999) != roomy.leafFor(999)
+				&& fullNext.leafFor(0) == full.leafFor(0) && fullNext.leafFor(992) == full.leafFor(992)
+				&& fullNext.leafFor(1023) == full.leafFor(1023)
+				&& roomy.size() == 1000 && full.size() == 1024;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if withoutLast shares every leaf it keeps, including one that becomes the tail
+	 */
+	private boolean testRemoveLastSharesTrie() {
+		try {
+			PersistentVector<Integer> vector = PersistentVector.copyOf(range(1025));
+			PersistentVector<Integer> shorter = vector.withoutLast();
+
+			return shorter.leafFor(0) == vector.leafFor(0) && shorter.leafFor(1023) == vector.leafFor(1023)
+				&& shorter.size() == 1024 && vector.size() == 1025 && vector.last() == 1024;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if every builder method throws IllegalStateException once build was called
+	 */
+	private boolean testBuildEndsEditing() {
+		PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+
+		for (int i = 0; i < 100; i++) {
+			builder.add(i);
+		}
+
+		PersistentVector<Integer> built = builder.build();
+		List<Runnable> uses = Arrays.asList(() -> builder.add(1), () -> builder.set(0, 1), () -> builder.get(0),
+				() -> builder.build());
+
+		for (Runnable use : uses) {
+			try {
+				use.run();
+				return false;
+			} catch (IllegalStateException e) {
+				// expected
+			} catch (Exception e) {
+				e.printStackTrace();
+				return false;
+			}
+		}
+
+		return matches(built, range(100));
+	}
+
+	/**
+	 * @return true if get, set and add on a builder agree with the model and the result matches
+	 */
+	private boolean testBuilderReadsAndWrites() {
+		try {
+			PersistentVector.Builder<Integer> builder = PersistentVector.builder();
+			List<Integer> model = new ArrayList<Integer>();
+
+			for (int i = 0; i < 32768 + 40; i++) {
+				builder.add(i);
+				model.add(i);
+
+				if (i % 37 == 0) {
+					builder.set(i / 2, -i);
+					model.set(i / 2, -i);
+				}
+
+				if (builder.size() != model.size() || !builder.get(i / 3).equals(model.get(i / 3))) {
+					return false;
+				}
+			}
+
+			try {
+				builder.get(model.size());
+				return false;
+			} catch (IndexOutOfBoundsException e) {
+				// expected
+			}
+
+			return matches(builder.build(), model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if changing a builder made from a vector leaves the vector as it was
+	 */
+	private boolean testToBuilderLeavesSource() {
+		try {
+			List<Integer> model = range(5000);
+			PersistentVector<Integer> source = PersistentVector.copyOf(model);
+			PersistentVector.Builder<Integer> builder = source.toBuilder();
+			List<Integer> builderModel = new ArrayList<Integer>(model);
+
+			for (int i = 0; i < 5000; i += 7) {
+				builder.set(i, -i);
+				builderModel.set(i, -i);
+			}
+
+			for (int i = 0; i < 2000; i++) {
+				builder.add(i);
+				builderModel.add(i);
+			}
+
+			PersistentVector<Integer> built = builder.build();
+
+			return matches(source, model) && matches(built, builderModel);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Builds from one version while others share its nodes
+	 * @return true if neither the source nor the versions made from it change
+	 */
+	private boolean testToBuilderOfSharedVersions() {
+		try {
+			List<Integer> model = range(1100);
+			PersistentVector<Integer> source = PersistentVector.copyOf(model);
+			PersistentVector<Integer> sibling = source.withSet(3, -3);
+			PersistentVector.Builder<Integer> builder = sibling.toBuilder();
+
+			builder.set(3, 33).set(500, 55).add(1100);
+
+			List<Integer> siblingModel = new ArrayList<Integer>(model);
+			siblingModel.set(3, -3);
+
+			List<Integer> builtModel = new ArrayList<Integer>(siblingModel);
+			builtModel.set(3, 33);
+			builtModel.set(500, 55);
+			builtModel.add(1100);
+
+			return matches(builder.build(), builtModel) && matches(source, model) && matches(sibling, siblingModel);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Freezes one of the course lists into a vector
+	 * @param list empty list to fill and copy
+	 * @return true if the vector matches and later changes to the list do not reach it
+	 */
+	private boolean testCopyOf(IndexedUnsortedList<Integer> list) {
+		try {
+			List<Integer> model = range(3000);
+
+			for (Integer element : model) {
+				list.addToRear(element);
+			}
+
+			PersistentVector<Integer> vector = PersistentVector.copyOf(list);
+
+			list.set(5, -1);
+			list.removeLast();
+			list.addToFront(-2);
+
+			return matches(vector, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if copyOf takes java.util lists and plain Iterables, empty or not
+	 */
+	private boolean testCopyOfJavaTypes() {
+		try {
+			List<Integer> model = range(100);
+			Iterable<Integer> iterable = () -> model.iterator();
+
+			return matches(PersistentVector.copyOf(model), model)
+				&& matches(PersistentVector.copyOf(iterable), model)
+				&& PersistentVector.copyOf(new ArrayList<Integer>()).isEmpty();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if copying a vector returns it as it is
+	 */
+	private boolean testCopyOfVector() {
+		PersistentVector<Integer> vector = PersistentVector.copyOf(range(10));
+		PersistentVector<Number> widened = PersistentVector.<Number>copyOf(vector);
+
+		return PersistentVector.copyOf(vector) == vector && widened == (Object)vector;
+	}
+
+	/**
+	 * @return true if every mutator of the vector, its iterators and its views throws UnsupportedOperationException
+	 */
+	private boolean testMutatorsUnsupported() {
+		PersistentVector<Integer> vector = PersistentVector.copyOf(range(50));
+		List<Runnable> mutators = Arrays.asList(
+				() -> vector.addToFront(1),
+				() -> vector.addToRear(1),
+				() -> vector.add(1),
+				() -> vector.add(0, 1),
+				() -> vector.addAfter(1, 0),
+				() -> vector.removeFirst(),
+				() -> vector.removeLast(),
+				() -> vector.remove(Integer.valueOf(3)),
+				() -> vector.remove(0),
+				() -> vector.set(0, 1),
+				() -> vector.addAll(Arrays.asList(1)),
+				() -> vector.addAll(0, Arrays.asList(1)),
+				() -> vector.removeAll(Arrays.asList(1)),
+				() -> vector.retainAll(Arrays.asList(1)),
+				() -> vector.removeIf(element -> true),
+				() -> vector.replaceAll(element -> element),
+				() -> vector.clear(),
+				() -> {
+					Iterator<Integer> it = vector.iterator();
+					it.next();
+					it.remove();
+				},
+				() -> vector.listIterator().add(1),
+				() -> {
+					ListIterator<Integer> it = vector.listIterator();
+					it.next();
+					it.set(1);
+				},
+				() -> vector.subList(0, 3).add(1));
+
+		for (Runnable mutator : mutators) {
+			try {
+				mutator.run();
+				return false;
+			} catch (UnsupportedOperationException e) {
+				// expected
+			} catch (Exception e) {
+				e.printStackTrace();
+				return false;
+			}
+		}
+
+		return matches(vector, range(50)) && vector.subList(10, 20).toString().equals(range(50).subList(10, 20).toString());
+	}
+
+	/**
+	 * @return true if stepping an iterator past either end, or starting it out of range, throws
+	 */
+	private boolean testIteratorBounds() {
+		PersistentVector<Integer> vector = PersistentVector.copyOf(range(33));
+		List<Runnable> steps = Arrays.asList(
+				() -> vector.listIterator().previous(),
+				() -> vector.listIterator(33).next(),
+				() -> vector.listIterator(34),
+				() -> vector.listIterator(-1),
+				() -> PersistentVector.<Integer>empty().iterator().next());
+
+		for (Runnable step : steps) {
+			try {
+				step.run();
+				return false;
+			} catch (NoSuchElementException | IndexOutOfBoundsException e) {
+				// expected
+			}
+		}
+
+		ListIterator<Integer> it = vector.listIterator(32);
+
+		return it.previousIndex() == 31 && it.nextIndex() == 32 && it.next() == 32 && !it.hasNext();
+	}
+
+	/**
+	 * @return true if the vector holds the same elements as the model, by size, get, the ends,
+	 *         iteration both ways and sequential and parallel streams
+	 */
+	private static boolean matches(PersistentVector<Integer> vector, List<Integer> model) {
+		if (vector.size() != model.size() || vector.isEmpty() != model.isEmpty()) {
+			return false;
+		}
+
+		Iterator<Integer> it = vector.iterator();
+
+		for (int i = 0; i < model.size(); i++) {
+			if (!it.hasNext() || !it.next().equals(model.get(i)) || !vector.get(i).equals(model.get(i))) {
+				return false;
+			}
+		}
+
+		if (it.hasNext()) {
+			return false;
+		}
+
+		ListIterator<Integer> backward = vector.listIterator(model.size());
+
+		for (int i = model.size() - 1; i >= 0; i--) {
+			if (!backward.hasPrevious() || !backward.previous().equals(model.get(i))) {
+				return false;
+			}
+		}
+
+		if (!model.isEmpty() && (!vector.first().equals(model.get(0)) || !vector.last().equals(model.get(model.size() - 1)))) {
+			return false;
+		}
+
+		return vector.stream().collect(Collectors.toList()).equals(model)
+			&& vector.parallelStream().collect(Collectors.toList()).equals(model);
+	}
+}
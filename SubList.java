@@ -0,0 +1,624 @@
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.IntSupplier;
+
+/**
+ * Base class for subList views, backed by a range of a parent list
+ * A view only has to provide get, set, add and remove by index and a check against
+ * the parent's modification counter; everything else, including the iterators, is
+ * built on those. Changes made through a view are made to the parent, and any other
+ * structural change to the parent makes the view fail fast
+ *
+ * @param <T> - type of elements held in this collection
+ * @author The Boobies
+ */
+abstract class SubList<T> implements IndexedUnsortedList<T> {
+
+    /**
+     * Number of elements in the view
+     * @var int
+     */
+    int size;
+
+    /**
+     * Changes made through this view, so its iterators can fail fast
+     * @var int
+     */
+    int viewModCount;
+
+    /**
+     * Class constructor
+     * @param size  number of elements in the view
+     */
+    SubList(int size) {
+        this.size = size;
+        this.viewModCount = 0;
+    }
+
+    /**
+     * Throws if the parent was changed other than through this view since the view last looked
+     * @throws  ConcurrentModificationException thrown if the parent was modified
+     */
+    abstract void checkForComodification();
+
+    /**
+     * Gets the element at an index the caller has already checked, after checking for comodification
+     * @param   int     index   index in the view
+     * @return  T   element at the index
+     */
+    abstract T element(int index);
+
+    /**
+     * Gets the element at the given index of the view
+     * @param   int     index   index in the view
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  T   element at the index
+     */
+    @Override
+    public T get(int index) {
+        checkForComodification();
+        checkElementIndex(index);
+
+        return element(index);
+    }
+
+    /**
+     * Throws unless the index refers to an element of the view
+     * @param   int     index   index to check
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     */
+    void checkElementIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Throws unless the index is a place an element could be inserted
+     * @param   int     index   index to check
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     */
+    void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Adds an element to the front of the view
+     * @param   T   element element to add
+     */
+    @Override
+    public void addToFront(T element) {
+        add(0, element);
+    }
+
+    /**
+     * Adds an element to the rear of the view
+     * @param   T   element element to add
+     */
+    @Override
+    public void addToRear(T element) {
+        add(size, element);
+    }
+
+    /**
+     * Adds an element to the rear of the view
+     * @param   T   element element to add
+     */
+    @Override
+    public void add(T element) {
+        add(size, element);
+    }
+
+    /**
+     * Adds an element after the first occurrence of the target
+     * @param   T   element element to add
+     * @param   T   target  element to add after
+     * @throws  NoSuchElementException  thrown if the target is not in the view
+     */
+    @Override
+    public void addAfter(T element, T target) {
+        int index = indexOf(target);
+
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+
+        add(index + 1, element);
+    }
+
+    /**
+     * Removes the first element of the view
+     * @throws  NoSuchElementException  thrown if the view is empty
+     * @return  T   element removed
+     */
+    @Override
+    public T removeFirst() {
+        checkForComodification();
+
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return remove(0);
+    }
+
+    /**
+     * Removes the last element of the view
+     * @throws  NoSuchElementException  thrown if the view is empty
+     * @return  T   element removed
+     */
+    @Override
+    public T removeLast() {
+        checkForComodification();
+
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return remove(size - 1);
+    }
+
+    /**
+     * Removes the first occurrence of an element from the view
+     * @param   T   element element to remove
+     * @throws  NoSuchElementException  thrown if the element is not in the view
+     * @return  T   element removed
+     */
+    @Override
+    public T remove(T element) {
+        int index = indexOf(element);
+
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+
+        return remove(index);
+    }
+
+    /**
+     * Returns the index of the first element equal to the given one, or -1
+     * @param   T   element     element to look for
+     * @return  int     index of the element, or -1 if the view does not contain it
+     */
+    @Override
+    public int indexOf(T element) {
+        int index = 0;
+
+        for (T current : this) {
+            if (Objects.equals(current, element)) {
+                return index;
+            }
+
+            index++;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns the first element of the view
+     * @throws  NoSuchElementException  thrown if the view is empty
+     * @return  T   first element
+     */
+    @Override
+    public T first() {
+        checkForComodification();
+
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return get(0);
+    }
+
+    /**
+     * Returns the last element of the view
+     * @throws  NoSuchElementException  thrown if the view is empty
+     * @return  T   last element
+     */
+    @Override
+    public T last() {
+        checkForComodification();
+
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return get(size - 1);
+    }
+
+    /**
+     * Checks whether the view holds an element
+     * @param   T   target  element to look for
+     * @return  boolean     true if the view contains the element
+     */
+    @Override
+    public boolean contains(T target) {
+        return indexOf(target) >= 0;
+    }
+
+    /**
+     * @return  boolean     true if the view has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * @return  int     number of elements in the view
+     */
+    @Override
+    public int size() {
+        checkForComodification();
+
+        return size;
+    }
+
+    /**
+     * @return  Iterator<T>     iterator over the view
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new SubListIterator(0);
+    }
+
+    /**
+     * @return  ListIterator<T>     list iterator starting at the front of the view
+     */
+    @Override
+    public ListIterator<T> listIterator() {
+        return new SubListIterator(0);
+    }
+
+    /**
+     * @param   int     startingIndex   index of the element the first call to next returns
+     * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+     * @return  ListIterator<T>     list iterator starting at the index
+     */
+    @Override
+    public ListIterator<T> listIterator(int startingIndex) {
+        checkForComodification();
+        checkPositionIndex(startingIndex);
+
+        return new SubListIterator(startingIndex);
+    }
+
+    /**
+     * Returns a view of a range of this view
+     * The nested view watches this view's modification counter, and reading it checks this
+     * view against the parent first, so a change through this view or to the parent, even
+     * one that leaves the sizes as they were, makes the nested view fail fast
+     * @param   int     fromIndex   index in this view of the first element of the nested view
+     * @param   int     toIndex     index in this view just past the last element of the nested view
+     * @throws  IndexOutOfBoundsException   thrown if the range is out of bounds
+     * @return  IndexedUnsortedList<T>      view of the range
+     */
+    @Override
+    public IndexedUnsortedList<T> subList(int fromIndex, int toIndex) {
+        checkForComodification();
+
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        return new Forwarding<T>(this, fromIndex, toIndex, () -> {
+            checkForComodification();
+            return viewModCount;
+        });
+    }
+
+    /**
+     * Lists the elements of the view
+     * @return  String  elements of the view, in order
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder("[");
+
+        for (T element : this) {
+            result.append(result.length() == 1 ? "" : ", ").append(element);
+        }
+
+        return result.append("]").toString();
+    }
+
+    /**
+     * List iterator over the view, by index
+     * Each step checks once and reads the view by index, so it costs what the view's get costs
+     */
+    private class SubListIterator implements ListIterator<T> {
+
+        /**
+         * Index of the element next would return, index of the element last returned
+         * (-1 if none) and the view modification counter the iterator expects
+         * @var int
+         */
+        private int nextIndex, lastReturned, expectedViewModCount;
+
+        /**
+         * Class constructor
+         * @param startingIndex index of the element the first call to next returns
+         */
+        public SubListIterator(int startingIndex) {
+            nextIndex = startingIndex;
+            lastReturned = -1;
+            expectedViewModCount = viewModCount;
+        }
+
+        /**
+         * Throws if the view or its parent was changed other than through this iterator
+         * @throws  ConcurrentModificationException thrown if the view or its parent was modified
+         */
+        private void checkForComodification() {
+            if (expectedViewModCount != viewModCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            SubList.this.checkForComodification();
+        }
+
+        /**
+         * @return  boolean     true if there is a next element
+         */
+        @Override
+        public boolean hasNext() {
+            checkForComodification();
+
+            return nextIndex < size;
+        }
+
+        /**
+         * @return  boolean     true if there is a previous element
+         */
+        @Override
+        public boolean hasPrevious() {
+            checkForComodification();
+
+            return nextIndex > 0;
+        }
+
+        /**
+         * @throws  NoSuchElementException  thrown if there is no next element
+         * @return  T   next element
+         */
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = nextIndex++;
+
+            return element(lastReturned);
+        }
+
+        /**
+         * @throws  NoSuchElementException  thrown if there is no previous element
+         * @return  T   previous element
+         */
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = --nextIndex;
+
+            return element(lastReturned);
+        }
+
+        /**
+         * @return  int     index of the element next would return
+         */
+        @Override
+        public int nextIndex() {
+            checkForComodification();
+
+            return nextIndex;
+        }
+
+        /**
+         * @return  int     index of the element previous would return
+         */
+        @Override
+        public int previousIndex() {
+            checkForComodification();
+
+            return nextIndex - 1;
+        }
+
+        /**
+         * Removes the element last returned by next or previous
+         * @throws  IllegalStateException   thrown if there is no element to remove
+         */
+        @Override
+        public void remove() {
+            checkForComodification();
+
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+
+            SubList.this.remove(lastReturned);
+
+            if (lastReturned < nextIndex) {
+                nextIndex--;
+            }
+
+            lastReturned = -1;
+            expectedViewModCount = viewModCount;
+        }
+
+        /**
+         * Replaces the element last returned by next or previous
+         * @param   T   element replacement element
+         * @throws  IllegalStateException   thrown if there is no element to replace
+         */
+        @Override
+        public void set(T element) {
+            checkForComodification();
+
+            if (lastReturned < 0) {
+                throw new IllegalStateException();
+            }
+
+            SubList.this.set(lastReturned, element);
+            expectedViewModCount = viewModCount;
+        }
+
+        /**
+         * Inserts an element before the one next would return
+         * @param   T   element element to insert
+         */
+        @Override
+        public void add(T element) {
+            checkForComodification();
+
+            SubList.this.add(nextIndex++, element);
+            lastReturned = -1;
+            expectedViewModCount = viewModCount;
+        }
+    }
+
+    /**
+     * View over any IndexedUnsortedList, forwarding every call to the parent by index
+     * Lists with a modification counter hand it to the view, which then fails fast on
+     * any change to the parent; for any other list the interface default can only watch
+     * the parent's size, so a change that leaves the size as it was goes unnoticed
+     */
+    static final class Forwarding<T> extends SubList<T> {
+
+        /**
+         * List the view is backed by
+         * @var IndexedUnsortedList<T>
+         */
+        private final IndexedUnsortedList<T> parent;
+
+        /**
+         * Index in the parent of the first element of the view
+         * @var int
+         */
+        private final int offset;
+
+        /**
+         * Reads the parent's modification counter, or its size if it has none
+         * @var IntSupplier
+         */
+        private final IntSupplier parentModCount;
+
+        /**
+         * Value parentModCount should still read
+         * @var int
+         */
+        private int expectedParentModCount;
+
+        /**
+         * Class constructor for a parent without a modification counter
+         * @param parent    list to view
+         * @param fromIndex index in the parent of the first element of the view
+         * @param toIndex   index in the parent just past the last element of the view
+         */
+        Forwarding(IndexedUnsortedList<T> parent, int fromIndex, int toIndex) {
+            this(parent, fromIndex, toIndex, parent::size);
+        }
+
+        /**
+         * Class constructor
+         * @param parent            list to view
+         * @param fromIndex         index in the parent of the first element of the view
+         * @param toIndex           index in the parent just past the last element of the view
+         * @param parentModCount    reads the parent's modification counter
+         */
+        Forwarding(IndexedUnsortedList<T> parent, int fromIndex, int toIndex, IntSupplier parentModCount) {
+            super(toIndex - fromIndex);
+            this.parent = parent;
+            this.offset = fromIndex;
+            this.parentModCount = parentModCount;
+            this.expectedParentModCount = parentModCount.getAsInt();
+        }
+
+        /**
+         * Throws if the parent was modified other than through this view
+         * @throws  ConcurrentModificationException thrown if the parent was modified
+         */
+        @Override
+        void checkForComodification() {
+            if (parentModCount.getAsInt() != expectedParentModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Records a change made through the view
+         * @param   int     delta   change in the number of elements
+         */
+        private void changed(int delta) {
+            size += delta;
+            viewModCount++;
+            expectedParentModCount = parentModCount.getAsInt();
+        }
+
+        /**
+         * Gets the element at an index already checked
+         * @param   int     index   index in the view
+         * @return  T   element at the index
+         */
+        @Override
+        T element(int index) {
+            return parent.get(offset + index);
+        }
+
+        /**
+         * Sets the element at the given index of the view
+         * @param   int     index   index in the view
+         * @param   T       element element to store
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         */
+        @Override
+        public void set(int index, T element) {
+            checkForComodification();
+            checkElementIndex(index);
+
+            parent.set(offset + index, element);
+            changed(0);
+        }
+
+        /**
+         * Inserts an element at the given index of the view
+         * @param   int     index   index in the view
+         * @param   T       element element to insert
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         */
+        @Override
+        public void add(int index, T element) {
+            checkForComodification();
+            checkPositionIndex(index);
+
+            parent.add(offset + index, element);
+            changed(1);
+        }
+
+        /**
+         * Removes the element at the given index of the view
+         * @param   int     index   index in the view
+         * @throws  IndexOutOfBoundsException   thrown if the index is out of range
+         * @return  T   element removed
+         */
+        @Override
+        public T remove(int index) {
+            checkForComodification();
+            checkElementIndex(index);
+
+            T result = parent.remove(offset + index);
+            changed(-1);
+
+            return result;
+        }
+    }
+}
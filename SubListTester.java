@@ -0,0 +1,633 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Tests for subList views. Every view is checked against the matching view of a
+ * java.util.ArrayList: reads and writes pass through to the parent, structural changes
+ * made through the view show up in the parent, and a change made to the parent any
+ * other way makes the view fail fast.
+ * Run with: java SubListTester
+ *
+ * @author The Boobies
+ */
+public class SubListTester {
+
+	//tracking number of tests and test results
+	private int passes = 0;
+	private int failures = 0;
+	private int totalRun = 0;
+
+	/**
+	 * Size of the list whose range must be cleared in linear time
+	 * @var int
+	 */
+	private static final int LARGE = 200_000;
+
+	public static void main(String[] args) {
+		new SubListTester().runTests();
+	}
+
+	private void runTests() {
+		for (String name : ListFixtures.NAMES) {
+			Supplier<IndexedUnsortedList<Integer>> factory = () -> ListFixtures.newList(name);
+			// GoodList has no modification counter, so its view can only notice changes in size
+			boolean counted = !name.equals("GoodList");
+
+			printTest(name + "_reads", testReads(factory));
+			printTest(name + "_emptyView", testEmptyView(factory));
+			printTest(name + "_badRange_IOOBE", testBadRange(factory));
+			printTest(name + "_set_passesThrough", testSet(factory));
+			printTest(name + "_structuralChanges_reachParent", testStructuralChanges(factory));
+			printTest(name + "_viewAtEnds_keepsHeadAndTail", testViewAtEnds(factory));
+			printTest(name + "_rangeRemoval_keepsHeadAndTail", testRangeRemoval(factory));
+			printTest(name + "_listIterator_writesThrough", testListIterator(factory));
+			printTest(name + "_nestedView_writesThrough", testNestedView(factory));
+			printTest(name + "_nestedView_outerAddThenRemove_CME", testNestedViewChange(factory, (list, outer) -> {
+				outer.add(0, 100);
+				outer.remove(outer.size() - 1);
+			}));
+			printTest(name + "_nestedView_parentAdd_CME", testNestedViewChange(factory, (list, outer) -> list.add(1, 99)));
+			printTest(name + "_parentAdd_CME", testParentChange(factory, list -> list.add(1, 99)));
+			printTest(name + "_parentRemove_CME", testParentChange(factory, list -> list.removeLast()));
+			printTest(name + "_parentClear_CME", testParentChange(factory, list -> list.clear()));
+			if (counted) {
+				printTest(name + "_parentSet_CME", testParentChange(factory, list -> list.set(2, 99)));
+				printTest(name + "_parentRemoveThenAdd_CME", testParentChange(factory, list -> {
+					list.removeFirst();
+					list.addToRear(99);
+				}));
+			}
+			printTest(name + "_viewIterator_viewChange_CME", testIteratorAfterViewChange(factory));
+			printTest(name + "_randomOperations", testRandomOperations(factory, new Random(24)));
+		}
+
+		printTest("IUSingleLinkedList_viewClear_largeRange_linear", testClearLinear(() -> ListFixtures.newList("IUSingleLinkedList")));
+		printTest("IUSingleLinkedList_viewRemoveIf_largeRange_linear",
+				testRemoveIfLinear(() -> ListFixtures.newList("IUSingleLinkedList")));
+
+		System.out.printf("\nTotal Tests Run: %d,  Passed: %d (%.1f%%),  Failed: %d\n",
+				totalRun, passes, passes*100.0/totalRun, failures);
+	}
+
+	/**
+	 * Prints a test name and its result, and keeps count
+	 * @param testDesc name of the test
+	 * @param result whether the test passed
+	 */
+	private void printTest(String testDesc, boolean result) {
+		totalRun++;
+		if (result) { passes++; }
+		else { failures++; }
+		System.out.printf("%-52s\t%s\n", testDesc, (result ? "   PASS" : "***FAIL***"));
+	}
+
+	/**
+	 * @return true if every read through a view in the middle matches the model's view
+	 */
+	private boolean testReads(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 10);
+			IndexedUnsortedList<Integer> view = list.subList(3, 8);
+			List<Integer> modelView = model.subList(3, 8);
+
+			return ListFixtures.matches(view, modelView) && view.first() == 3 && view.last() == 7
+				&& view.indexOf(5) == 2 && view.indexOf(1) == -1 && view.indexOf(9) == -1
+				&& view.contains(7) && !view.contains(8) && view.toString().equals(modelView.toString());
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if an empty view reads as empty and can be added to
+	 */
+	private boolean testEmptyView(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 4);
+			IndexedUnsortedList<Integer> view = list.subList(2, 2);
+
+			if (!view.isEmpty() || view.size() != 0 || view.iterator().hasNext() || !view.toString().equals("[]")) {
+				return false;
+			}
+
+			try {
+				view.first();
+				return false;
+			} catch (NoSuchElementException e) {
+				// expected
+			}
+
+			view.addToRear(50);
+			model.add(2, 50);
+
+			return ListFixtures.matches(view, model.subList(2, 3)) && ListFixtures.matches(list, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if bad ranges and bad view indexes throw IndexOutOfBoundsException
+	 */
+	private boolean testBadRange(Supplier<IndexedUnsortedList<Integer>> factory) {
+		IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, new ArrayList<Integer>(), 5);
+		IndexedUnsortedList<Integer> view = list.subList(1, 4);
+		List<Runnable> attempts = Arrays.asList(
+				() -> list.subList(-1, 2),
+				() -> list.subList(0, 6),
+				() -> list.subList(3, 2),
+				() -> view.get(3),
+				() -> view.get(-1),
+				() -> view.set(3, 0),
+				() -> view.add(4, 0),
+				() -> view.remove(3),
+				() -> view.subList(0, 4));
+
+		for (Runnable attempt : attempts) {
+			try {
+				attempt.run();
+				return false;
+			} catch (IndexOutOfBoundsException e) {
+				// expected
+			} catch (Exception e) {
+				e.printStackTrace();
+				return false;
+			}
+		}
+
+		return view.size() == 3 && list.size() == 5;
+	}
+
+	/**
+	 * @return true if set through the view changes the parent, and the view stays usable
+	 */
+	private boolean testSet(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 8);
+			IndexedUnsortedList<Integer> view = list.subList(2, 6);
+
+			view.set(0, 20);
+			view.set(3, 50);
+			model.set(2, 20);
+			model.set(5, 50);
+
+			return ListFixtures.matches(view, model.subList(2, 6)) && ListFixtures.matches(list, model) && list.indexOf(50) == 5;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if every structural change made through the view is made to the parent
+	 */
+	private boolean testStructuralChanges(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 10);
+			IndexedUnsortedList<Integer> view = list.subList(3, 7);
+			List<Integer> modelView = model.subList(3, 7);
+
+			view.addToFront(30);
+			modelView.add(0, 30);
+			view.addToRear(70);
+			modelView.add(70);
+			view.add(2, 40);
+			modelView.add(2, 40);
+			view.addAfter(45, 40);
+			modelView.add(3, 45);
+
+			if (!ListFixtures.matches(view, modelView) || !ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			view.removeFirst();
+			modelView.remove(0);
+			view.removeLast();
+			modelView.remove(modelView.size() - 1);
+			view.remove(Integer.valueOf(45));
+			modelView.remove(Integer.valueOf(45));
+			view.remove(1);
+			modelView.remove(1);
+
+			if (!ListFixtures.matches(view, modelView) || !ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			view.clear();
+			modelView.clear();
+
+			return view.isEmpty() && ListFixtures.matches(list, model) && list.size() == 6;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Changes views that start at the head and end at the tail of the parent
+	 * @return true if the parent's first and last elements follow the changes
+	 */
+	private boolean testViewAtEnds(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 6);
+
+			IndexedUnsortedList<Integer> front = list.subList(0, 2);
+			front.removeFirst();
+			front.addToFront(-1);
+			model.set(0, -1);
+
+			IndexedUnsortedList<Integer> back = list.subList(4, 6);
+			back.removeLast();
+			back.addToRear(60);
+			back.addToRear(61);
+			model.set(5, 60);
+			model.add(61);
+
+			if (!ListFixtures.matches(list, model) || list.first() != -1 || list.last() != 61) {
+				return false;
+			}
+
+			list.subList(0, list.size()).clear();
+			list.addToRear(1);
+
+			return list.size() == 1 && list.first() == 1 && list.last() == 1;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if add, set and remove through a view's list iterator reach the parent
+	 */
+	private boolean testListIterator(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 10);
+			ListIterator<Integer> it = list.subList(2, 8).listIterator(1);
+			ListIterator<Integer> modelIt = model.subList(2, 8).listIterator(1);
+
+			it.next();
+			modelIt.next();
+			it.set(30);
+			modelIt.set(30);
+			it.add(35);
+			modelIt.add(35);
+			it.next();
+			modelIt.next();
+			it.remove();
+			modelIt.remove();
+			it.previous();
+			modelIt.previous();
+			it.remove();
+			modelIt.remove();
+
+			return it.nextIndex() == modelIt.nextIndex() && it.hasPrevious() && it.previous() == 30
+				&& ListFixtures.matches(list, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return true if a view of a view writes through to both the outer view and the parent
+	 */
+	private boolean testNestedView(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 12);
+			IndexedUnsortedList<Integer> outer = list.subList(2, 10);
+			IndexedUnsortedList<Integer> inner = outer.subList(2, 5);
+			List<Integer> modelOuter = model.subList(2, 10);
+			List<Integer> modelInner = modelOuter.subList(2, 5);
+
+			inner.add(1, 100);
+			modelInner.add(1, 100);
+			inner.removeLast();
+			modelInner.remove(modelInner.size() - 1);
+			inner.set(0, 40);
+			modelInner.set(0, 40);
+
+			return ListFixtures.matches(inner, modelInner) && ListFixtures.matches(outer, modelOuter) && ListFixtures.matches(list, model);
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Clears and filters views at the head, in the middle and at the tail of the parent
+	 * @return true if the parent matches its model and its ends follow the changes
+	 */
+	private boolean testRangeRemoval(Supplier<IndexedUnsortedList<Integer>> factory) {
+		try {
+			List<Integer> model = new ArrayList<Integer>();
+			IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, 12);
+
+			boolean changed = list.subList(8, 12).removeIf(element -> element % 2 == 1);
+			model.subList(8, 12).removeIf(element -> element % 2 == 1);
+			list.addToRear(99);
+			model.add(99);
+
+			if (!changed || !ListFixtures.matches(list, model) || list.subList(0, 3).removeIf(element -> element > 50)) {
+				return false;
+			}
+
+			list.subList(0, 3).removeIf(element -> element < 2);
+			model.subList(0, 3).removeIf(element -> element < 2);
+			list.addToFront(-1);
+			model.add(0, -1);
+			list.subList(3, 6).clear();
+			model.subList(3, 6).clear();
+
+			if (!ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			list.subList(list.size() - 2, list.size()).clear();
+			model.subList(model.size() - 2, model.size()).clear();
+			list.addToRear(98);
+			model.add(98);
+
+			if (!ListFixtures.matches(list, model)) {
+				return false;
+			}
+
+			list.subList(0, list.size()).removeIf(element -> true);
+			list.addToRear(1);
+
+			return list.size() == 1 && list.first() == 1 && list.last() == 1;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Times clearing all but the ends of a list through a view, at a tenth of the size and at full size
+	 * @return true if the full-size run takes less than forty times as long, and the result is right
+	 */
+	private boolean testClearLinear(Supplier<IndexedUnsortedList<Integer>> factory) {
+		return testRangeLinear(factory, view -> view.clear());
+	}
+
+	/**
+	 * Times removing every other element but the ends of a list through a view, at a tenth of the size and at full size
+	 * @return true if the full-size run takes less than forty times as long, and the result is right
+	 */
+	private boolean testRemoveIfLinear(Supplier<IndexedUnsortedList<Integer>> factory) {
+		return testRangeLinear(factory, view -> view.removeIf(element -> true));
+	}
+
+	/**
+	 * Times a change that empties a view over all but the ends of the list
+	 * A quadratic change takes about a hundred times longer at full size, a linear one about ten
+	 * @param empty change that leaves the view empty
+	 * @return true if the full-size run takes less than forty times as long, and the result is right
+	 */
+	private boolean testRangeLinear(Supplier<IndexedUnsortedList<Integer>> factory, Consumer<IndexedUnsortedList<Integer>> empty) {
+		try {
+			long small = Long.MAX_VALUE;
+			long large = Long.MAX_VALUE;
+
+			// best of several rounds, so the first runs pay for the JIT and not the comparison
+			for (int round = 0; round < 3; round++) {
+				small = Math.min(small, timeRange(factory, empty, LARGE / 10));
+				large = Math.min(large, timeRange(factory, empty, LARGE));
+			}
+
+			return large < 40 * small;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * @return nanoseconds the change took on a view over all but the ends of a list of the given size,
+	 *         or Long.MAX_VALUE if the result was wrong
+	 */
+	private static long timeRange(Supplier<IndexedUnsortedList<Integer>> factory, Consumer<IndexedUnsortedList<Integer>> empty, int size) {
+		IndexedUnsortedList<Integer> list = factory.get();
+
+		for (int i = 0; i < size; i++) {
+			list.addToRear(i);
+		}
+
+		IndexedUnsortedList<Integer> view = list.subList(1, size - 1);
+		long start = System.nanoTime();
+		empty.accept(view);
+		long elapsed = System.nanoTime() - start;
+
+		if (!view.isEmpty() || list.size() != 2 || list.first() != 0 || list.last() != size - 1) {
+			return Long.MAX_VALUE;
+		}
+
+		return elapsed;
+	}
+
+	/**
+	 * Changes the outer view or the parent while a view of the outer view is open
+	 * @param change change to make, given the parent and the outer view
+	 * @return true if every read through the nested view then throws ConcurrentModificationException
+	 */
+	private boolean testNestedViewChange(Supplier<IndexedUnsortedList<Integer>> factory,
+			BiConsumer<IndexedUnsortedList<Integer>, IndexedUnsortedList<Integer>> change) {
+		IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, new ArrayList<Integer>(), 12);
+		IndexedUnsortedList<Integer> outer = list.subList(0, 10);
+		IndexedUnsortedList<Integer> inner = outer.subList(2, 5);
+		List<Runnable> reads = Arrays.asList(() -> inner.get(0), () -> inner.size(), () -> inner.toString(),
+				() -> inner.set(0, 1), () -> inner.add(0, 1), () -> inner.remove(0));
+
+		inner.get(0);
+		change.accept(list, outer);
+
+		for (Runnable read : reads) {
+			try {
+				read.run();
+				return false;
+			} catch (ConcurrentModificationException e) {
+				// expected
+			} catch (Exception e) {
+				e.printStackTrace();
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Changes the parent directly while a view of it is open
+	 * @param change change to make to the parent
+	 * @return true if every read through the view then throws ConcurrentModificationException
+	 */
+	private boolean testParentChange(Supplier<IndexedUnsortedList<Integer>> factory, Consumer<IndexedUnsortedList<Integer>> change) {
+		IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, new ArrayList<Integer>(), 8);
+		IndexedUnsortedList<Integer> view = list.subList(1, 5);
+		List<Runnable> reads = Arrays.asList(() -> view.get(0), () -> view.size(), () -> view.iterator().next(),
+				() -> view.set(0, 1), () -> view.add(0, 1), () -> view.remove(0));
+
+		// bind the view first, so lazily bound views are tested after they have found their range
+		view.get(0);
+		change.accept(list);
+
+		for (Runnable read : reads) {
+			try {
+				read.run();
+				return false;
+			} catch (ConcurrentModificationException e) {
+				// expected
+			} catch (Exception e) {
+				e.printStackTrace();
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @return true if a view's iterator fails fast after the view itself is changed
+	 */
+	private boolean testIteratorAfterViewChange(Supplier<IndexedUnsortedList<Integer>> factory) {
+		IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, new ArrayList<Integer>(), 6);
+		IndexedUnsortedList<Integer> view = list.subList(1, 5);
+		Iterator<Integer> it = view.iterator();
+
+		it.next();
+		view.add(2, 7);
+
+		try {
+			it.next();
+			return false;
+		} catch (ConcurrentModificationException e) {
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+
+	/**
+	 * Applies random changes through a view and a view nested in it, checking the view,
+	 * the nested view and the parent after each
+	 * @return true if all three always match their models
+	 */
+	private boolean testRandomOperations(Supplier<IndexedUnsortedList<Integer>> factory, Random random) {
+		try {
+			for (int trial = 0; trial < 200; trial++) {
+				List<Integer> model = new ArrayList<Integer>();
+				IndexedUnsortedList<Integer> list = ListFixtures.filled(factory, model, random.nextInt(30));
+				int from = random.nextInt(model.size() + 1);
+				int to = from + random.nextInt(model.size() - from + 1);
+				IndexedUnsortedList<Integer> view = list.subList(from, to);
+				List<Integer> modelView = model.subList(from, to);
+				IndexedUnsortedList<Integer> inner = null;
+				List<Integer> modelInner = null;
+
+				for (int step = 0; step < 40; step++) {
+					boolean nested = inner != null && random.nextBoolean();
+					IndexedUnsortedList<Integer> target = nested ? inner : view;
+					List<Integer> modelTarget = nested ? modelInner : modelView;
+					int size = modelTarget.size();
+					Integer element = random.nextInt(20);
+					int operation = random.nextInt(9);
+
+					switch (operation) {
+					case 0: {
+						int index = random.nextInt(size + 1);
+						target.add(index, element);
+						modelTarget.add(index, element);
+						break;
+					}
+					case 1:
+						if (size > 0) {
+							int index = random.nextInt(size);
+							if (!Objects.equals(target.remove(index), modelTarget.remove(index))) {
+								return false;
+							}
+						}
+						break;
+					case 2:
+						if (size > 0) {
+							int index = random.nextInt(size);
+							target.set(index, element);
+							modelTarget.set(index, element);
+						}
+						break;
+					case 3:
+						target.addToFront(element);
+						modelTarget.add(0, element);
+						break;
+					case 4:
+						if (size > 0) {
+							target.removeLast();
+							modelTarget.remove(size - 1);
+						}
+						break;
+					case 5:
+						if (target.indexOf(element) != modelTarget.indexOf(element)) {
+							return false;
+						}
+						if (modelTarget.contains(element)) {
+							target.remove(element);
+							modelTarget.remove(element);
+						}
+						break;
+					case 6: {
+						int index = random.nextInt(size + 1);
+						target.addAll(index, Arrays.asList(element, element + 1));
+						modelTarget.addAll(index, Arrays.asList(element, element + 1));
+						break;
+					}
+					case 7:
+						target.removeIf(candidate -> candidate % 3 == 0);
+						modelTarget.removeIf(candidate -> candidate % 3 == 0);
+						break;
+					default:
+						if (!nested) {
+							int innerFrom = random.nextInt(size + 1);
+							int innerTo = innerFrom + random.nextInt(size - innerFrom + 1);
+							inner = view.subList(innerFrom, innerTo);
+							modelInner = modelView.subList(innerFrom, innerTo);
+						}
+					}
+
+					// any change through the outer view, even a set, leaves the nested view out of date
+					if (!nested && inner != null && operation < 8) {
+						inner = null;
+						modelInner = null;
+					}
+
+					if (!ListFixtures.matches(view, modelView) || !ListFixtures.matches(list, model) || (inner != null && !ListFixtures.matches(inner, modelInner))) {
+						return false;
+					}
+				}
+			}
+
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace();
+			return false;
+		}
+	}
+}
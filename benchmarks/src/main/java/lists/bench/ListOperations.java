@@ -0,0 +1,164 @@
+package lists.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import lists.IndexedUnsortedList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Average cost of every IndexedUnsortedList method, per implementation and list size
+ * Mutating methods are paired with their inverse so the list keeps its size across invocations;
+ * positional methods work at the middle of the list, the worst case for most implementations
+ *
+ * Run with: java -jar target/benchmarks.jar ListOperations -rf json -rff operations.json
+ * Narrow a run with -p impl=IUArrayList,IUDoubleLinkedList -p size=10,1000
+ *
+ * @author The Boobies
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ListOperations {
+
+    /**
+     * Implementation under test
+     * @var String
+     */
+    @Param({ "IUArrayList", "IUSingleLinkedList", "IUDoubleLinkedList", "GoodList", "WrappedDLL",
+        "IUTreeList", "IUUnrolledList", "IUIntArrayList" })
+    public String impl;
+
+    /**
+     * Number of elements held by the list between invocations
+     * @var int
+     */
+    @Param({ "10", "1000", "100000", "10000000" })
+    public int size;
+
+    /**
+     * List under test
+     * @var IndexedUnsortedList<Integer>
+     */
+    private IndexedUnsortedList<Integer> list;
+
+    /**
+     * Index of the middle element
+     * @var int
+     */
+    private int middle;
+
+    /**
+     * Element stored at the middle index, the same instance the list holds
+     * @var Integer
+     */
+    private Integer target;
+
+    /**
+     * Element added and removed again by the mutating benchmarks
+     * @var Integer
+     */
+    private Integer element;
+
+    /**
+     * Fills the list once per trial; every benchmark leaves it as it found it
+     */
+    @Setup
+    public void setUp() {
+        list = Lists.filled(impl, size);
+        middle = size / 2;
+        target = list.get(middle);
+        element = Integer.valueOf(-1);
+    }
+
+    @Benchmark
+    public Integer addToFrontRemoveFirst() {
+        list.addToFront(element);
+        return list.removeFirst();
+    }
+
+    @Benchmark
+    public Integer addToRearRemoveLast() {
+        list.addToRear(element);
+        return list.removeLast();
+    }
+
+    @Benchmark
+    public Integer addRemoveLast() {
+        list.add(element);
+        return list.removeLast();
+    }
+
+    @Benchmark
+    public Integer addAfterRemoveIndex() {
+        list.addAfter(element, target);
+        return list.remove(middle + 1);
+    }
+
+    @Benchmark
+    public Integer addIndexRemoveIndex() {
+        list.add(middle, element);
+        return list.remove(middle);
+    }
+
+    @Benchmark
+    public Integer removeElementAddIndex() {
+        Integer removed = list.remove(target);
+        list.add(middle, target);
+        return removed;
+    }
+
+    @Benchmark
+    public IndexedUnsortedList<Integer> set() {
+        list.set(middle, target);
+        return list;
+    }
+
+    @Benchmark
+    public Integer get() {
+        return list.get(middle);
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return list.indexOf(target);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return list.contains(target);
+    }
+
+    @Benchmark
+    public Integer first() {
+        return list.first();
+    }
+
+    @Benchmark
+    public Integer last() {
+        return list.last();
+    }
+
+    @Benchmark
+    public boolean isEmpty() {
+        return list.isEmpty();
+    }
+
+    @Benchmark
+    public int size() {
+        return list.size();
+    }
+}
@@ -0,0 +1,157 @@
+package lists.bench;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+import lists.IndexedUnsortedList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of whole-list passes: iterator, listIterator in both directions, and toString
+ * Divide the reported time by size for a per-element figure
+ * Implementations without a ListIterator (IUSingleLinkedList, GoodList, IUIntArrayList)
+ * are left out of the listIterator benchmarks by their own parameter set
+ *
+ * Run with: java -jar target/benchmarks.jar ListTraversal -rf json -rff traversal.json
+ *
+ * @author The Boobies
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class ListTraversal {
+
+    /**
+     * Lists walked with iterator and toString
+     */
+    @State(Scope.Benchmark)
+    public static class AnyList {
+
+        /**
+         * Implementation under test
+         * @var String
+         */
+        @Param({ "IUArrayList", "IUSingleLinkedList", "IUDoubleLinkedList", "GoodList", "WrappedDLL",
+            "IUTreeList", "IUUnrolledList", "IUIntArrayList" })
+        public String impl;
+
+        /**
+         * Number of elements in the list
+         * @var int
+         */
+        @Param({ "10", "1000", "100000", "10000000" })
+        public int size;
+
+        /**
+         * List under test
+         * @var IndexedUnsortedList<Integer>
+         */
+        IndexedUnsortedList<Integer> list;
+
+        @Setup
+        public void setUp() {
+            list = Lists.filled(impl, size);
+        }
+    }
+
+    /**
+     * Lists walked with listIterator
+     */
+    @State(Scope.Benchmark)
+    public static class ListIteratorList {
+
+        /**
+         * Implementation under test
+         * @var String
+         */
+        @Param({ "IUArrayList", "IUDoubleLinkedList", "WrappedDLL", "IUTreeList", "IUUnrolledList" })
+        public String impl;
+
+        /**
+         * Number of elements in the list
+         * @var int
+         */
+        @Param({ "10", "1000", "100000", "10000000" })
+        public int size;
+
+        /**
+         * List under test
+         * @var IndexedUnsortedList<Integer>
+         */
+        IndexedUnsortedList<Integer> list;
+
+        @Setup
+        public void setUp() {
+            list = Lists.filled(impl, size);
+        }
+    }
+
+    @Benchmark
+    public long iterator(AnyList state) {
+        long sum = 0;
+        Iterator<Integer> it = state.list.iterator();
+
+        while (it.hasNext()) {
+            sum += it.next();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long forEach(AnyList state) {
+        long sum = 0;
+
+        for (Integer value : state.list) {
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    /**
+     * Every implementation builds its string in one linear pass
+     */
+    @Benchmark
+    public String toStringPass(AnyList state) {
+        return state.list.toString();
+    }
+
+    @Benchmark
+    public long listIteratorForward(ListIteratorList state) {
+        long sum = 0;
+        ListIterator<Integer> it = state.list.listIterator();
+
+        while (it.hasNext()) {
+            sum += it.next();
+        }
+
+        return sum;
+    }
+
+    @Benchmark
+    public long listIteratorBackward(ListIteratorList state) {
+        long sum = 0;
+        ListIterator<Integer> it = state.list.listIterator(state.list.size());
+
+        while (it.hasPrevious()) {
+            sum += it.previous();
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,68 @@
+package lists.bench;
+
+import lists.GoodList;
+import lists.IUArrayList;
+import lists.IUDoubleLinkedList;
+import lists.IUIntArrayList;
+import lists.IUSingleLinkedList;
+import lists.IUTreeList;
+import lists.IUUnrolledList;
+import lists.IndexedUnsortedList;
+import lists.WrappedDLL;
+
+/**
+ * Builds the lists every benchmark runs against
+ * Implementations are named by their simple class name so they can be used as JMH parameters
+ *
+ * @author The Boobies
+ */
+final class Lists {
+
+    private Lists() {
+    }
+
+    /**
+     * Creates an empty list of the named implementation
+     * @param   String  name    simple class name of the implementation
+     * @return  IndexedUnsortedList<Integer>    new empty list
+     * @throws  IllegalArgumentException    if the name is not a known implementation
+     */
+    static IndexedUnsortedList<Integer> create(String name) {
+        switch (name) {
+            case "IUArrayList":
+                return new IUArrayList<Integer>();
+            case "IUSingleLinkedList":
+                return new IUSingleLinkedList<Integer>();
+            case "IUDoubleLinkedList":
+                return new IUDoubleLinkedList<Integer>();
+            case "GoodList":
+                return new GoodList<Integer>();
+            case "WrappedDLL":
+                return new WrappedDLL<Integer>();
+            case "IUTreeList":
+                return new IUTreeList<Integer>();
+            case "IUUnrolledList":
+                return new IUUnrolledList<Integer>();
+            case "IUIntArrayList":
+                return new IUIntArrayList().boxed();
+            default:
+                throw new IllegalArgumentException("Unknown list implementation: " + name);
+        }
+    }
+
+    /**
+     * Creates a list of the named implementation holding 0 through size - 1 in order
+     * @param   String  name    simple class name of the implementation
+     * @param   int     size    number of elements to add
+     * @return  IndexedUnsortedList<Integer>    filled list
+     */
+    static IndexedUnsortedList<Integer> filled(String name, int size) {
+        IndexedUnsortedList<Integer> list = create(name);
+
+        for (int i = 0; i < size; i++) {
+            list.addToRear(i);
+        }
+
+        return list;
+    }
+}
@@ -0,0 +1,121 @@
+package lists.bench;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import lists.IndexedUnsortedList;
+import lists.Sort;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Speedup of Sort.parallelSort as the pool grows, against Sort.sort as the single-core baseline
+ * Every invocation sorts a freshly filled list of random Integers; parallelism values above
+ * the machine's core count only add scheduling overhead
+ *
+ * Run with: java -jar target/benchmarks.jar ParallelSortBenchmark -p parallelism=1,2,4,8,16,32 -rf json
+ *
+ * @author The Boobies
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms8g", "-Xmx8g" })
+public class ParallelSortBenchmark {
+
+    /**
+     * Implementation under test; IUArrayList takes the in-place fast path
+     * @var String
+     */
+    @Param({ "IUArrayList", "IUDoubleLinkedList" })
+    public String impl;
+
+    /**
+     * Number of elements sorted per invocation
+     * @var int
+     */
+    @Param({ "1000000", "10000000" })
+    public int size;
+
+    /**
+     * Worker threads in the pool
+     * @var int
+     */
+    @Param({ "1", "2", "4", "8", "16", "32" })
+    public int parallelism;
+
+    /**
+     * Unsorted values every invocation starts from
+     * @var Integer array
+     */
+    private Integer[] values;
+
+    /**
+     * Pool the parallel sort runs on
+     * @var ForkJoinPool
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * List sorted by the next invocation
+     * @var IndexedUnsortedList<Integer>
+     */
+    private IndexedUnsortedList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        Random random = new Random(size);
+        values = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        list = Lists.create(impl);
+
+        for (Integer value : values) {
+            list.addToRear(value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public IndexedUnsortedList<Integer> parallelSort() {
+        Sort.parallelSort(list, Comparator.<Integer>naturalOrder(), pool);
+        return list;
+    }
+
+    /**
+     * Sequential baseline; it ignores the pool, so only the parallelism=1 rows are needed
+     */
+    @Benchmark
+    public IndexedUnsortedList<Integer> sequentialSort() {
+        Sort.sort(list);
+        return list;
+    }
+}
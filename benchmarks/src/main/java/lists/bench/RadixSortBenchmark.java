@@ -0,0 +1,96 @@
+package lists.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import lists.IndexedUnsortedList;
+import lists.Sort;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sort.sortByIntKey against the compareTo-based Sort.sort on lists of random Integers
+ * The 100M rows need a large heap; drop them with -p size=1000000,10000000 on smaller machines
+ *
+ * Run with: java -jar target/benchmarks.jar RadixSortBenchmark -rf json -rff radix.json
+ *
+ * @author The Boobies
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xms16g", "-Xmx16g" })
+public class RadixSortBenchmark {
+
+    /**
+     * Implementation under test
+     * @var String
+     */
+    @Param({ "IUArrayList", "IUDoubleLinkedList" })
+    public String impl;
+
+    /**
+     * Number of elements sorted per invocation
+     * @var int
+     */
+    @Param({ "1000000", "10000000", "100000000" })
+    public int size;
+
+    /**
+     * Unsorted values every invocation starts from, negatives included
+     * @var Integer array
+     */
+    private Integer[] values;
+
+    /**
+     * List sorted by the next invocation
+     * @var IndexedUnsortedList<Integer>
+     */
+    private IndexedUnsortedList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        Random random = new Random(size);
+        values = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        // let the previous list be collected before the next one is built
+        list = null;
+        list = Lists.create(impl);
+
+        for (Integer value : values) {
+            list.addToRear(value);
+        }
+    }
+
+    @Benchmark
+    public IndexedUnsortedList<Integer> sortByIntKey() {
+        Sort.sortByIntKey(list, Integer::intValue);
+        return list;
+    }
+
+    @Benchmark
+    public IndexedUnsortedList<Integer> comparisonSort() {
+        Sort.sort(list);
+        return list;
+    }
+}
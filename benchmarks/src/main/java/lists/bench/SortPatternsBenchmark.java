@@ -0,0 +1,120 @@
+package lists.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import lists.IndexedUnsortedList;
+import lists.Sort;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sort.sort and Sort.stableSort on the input shapes that break a first-element-pivot quicksort
+ * A pattern should cost no more than random input; a quadratic one stands out by orders of magnitude,
+ * and the adaptive stableSort should be far cheaper on the sorted, reversed and sawtooth shapes
+ *
+ * Run with: java -jar target/benchmarks.jar SortPatternsBenchmark -rf json -rff patterns.json
+ *
+ * @author The Boobies
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class SortPatternsBenchmark {
+
+    /**
+     * Implementation under test; WrappedDLL goes through the generic copy-out path
+     * @var String
+     */
+    @Param({ "IUArrayList", "WrappedDLL" })
+    public String impl;
+
+    /**
+     * Shape of the input: sorted, reversed, sawtooth (ascending runs of 1000), duplicates (4 distinct values) or random
+     * @var String
+     */
+    @Param({ "sorted", "reversed", "sawtooth", "duplicates", "random" })
+    public String pattern;
+
+    /**
+     * Number of elements sorted per invocation
+     * @var int
+     */
+    @Param({ "100000", "1000000" })
+    public int size;
+
+    /**
+     * Values every invocation starts from
+     * @var Integer array
+     */
+    private Integer[] values;
+
+    /**
+     * List sorted by the next invocation
+     * @var IndexedUnsortedList<Integer>
+     */
+    private IndexedUnsortedList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        Random random = new Random(size);
+        values = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            switch (pattern) {
+                case "sorted":
+                    values[i] = i;
+                    break;
+                case "reversed":
+                    values[i] = size - i;
+                    break;
+                case "sawtooth":
+                    values[i] = i % 1000;
+                    break;
+                case "duplicates":
+                    values[i] = random.nextInt(4);
+                    break;
+                case "random":
+                    values[i] = random.nextInt();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown pattern: " + pattern);
+            }
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void fill() {
+        list = Lists.create(impl);
+
+        for (Integer value : values) {
+            list.addToRear(value);
+        }
+    }
+
+    @Benchmark
+    public IndexedUnsortedList<Integer> sort() {
+        Sort.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public IndexedUnsortedList<Integer> stableSort() {
+        Sort.stableSort(list);
+        return list;
+    }
+}
@@ -0,0 +1,112 @@
+package lists.bench;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import lists.IndexedUnsortedList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling of a map/filter/reduce pipeline over parallelStream as the pool grows,
+ * against stream as the single-core baseline
+ * A parallel stream runs in the pool of the thread that starts its terminal operation,
+ * so the pipeline is submitted to a pool of the given parallelism. IUArrayList,
+ * IUSingleLinkedList and IUDoubleLinkedList split themselves; IUTreeList falls back to
+ * the interface's batching spliterator and shows what that costs
+ *
+ * Run with: java -jar target/benchmarks.jar StreamBenchmark -p parallelism=1,2,4,8,16 -rf json
+ *
+ * @author The Boobies
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms8g", "-Xmx8g" })
+public class StreamBenchmark {
+
+    /**
+     * Implementation under test
+     * @var String
+     */
+    @Param({ "IUArrayList", "IUSingleLinkedList", "IUDoubleLinkedList", "IUTreeList" })
+    public String impl;
+
+    /**
+     * Number of elements in the list
+     * @var int
+     */
+    @Param({ "10000000" })
+    public int size;
+
+    /**
+     * Worker threads in the pool
+     * @var int
+     */
+    @Param({ "1", "2", "4", "8", "16" })
+    public int parallelism;
+
+    /**
+     * Pool the parallel pipeline runs in
+     * @var ForkJoinPool
+     */
+    private ForkJoinPool pool;
+
+    /**
+     * List streamed by every invocation
+     * @var IndexedUnsortedList<Integer>
+     */
+    private IndexedUnsortedList<Integer> list;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        list = Lists.filled(impl, size);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long parallelStream() throws InterruptedException, ExecutionException {
+        return pool.submit(() -> pipeline(list, true)).get();
+    }
+
+    /**
+     * Sequential baseline; it ignores the pool, so only the parallelism=1 rows are needed
+     */
+    @Benchmark
+    public long sequentialStream() {
+        return pipeline(list, false);
+    }
+
+    /**
+     * Squares every element, keeps those not divisible by three and sums them
+     * @param   IndexedUnsortedList<Integer>    list        list to stream
+     * @param   boolean                         parallel    whether to use parallelStream
+     * @return  long    sum of the kept squares
+     */
+    private static long pipeline(IndexedUnsortedList<Integer> list, boolean parallel) {
+        return (parallel ? list.parallelStream() : list.stream())
+            .mapToLong(value -> (long)value * value)
+            .filter(square -> square % 3 != 0)
+            .sum();
+    }
+}